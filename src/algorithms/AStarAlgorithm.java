@@ -1,5 +1,8 @@
 package algorithms;
 
+import model.CsrGraph;
+import model.NodeAttributeStore;
+import model.RelationshipEdge;
 import model.SocialGraph;
 import model.UserNode;
 
@@ -9,15 +12,29 @@ import java.util.*;
  * A* (A-Star) Algoritması
  * İki düğüm arasındaki en kısa yolu bulur.
  * Heuristic fonksiyon kullanarak Dijkstra'dan daha verimli çalışır.
+ *
+ * İşaret noktası indeksi (LandmarkIndex) verilirse ALT kipinde çalışır:
+ * heuristic, işaret noktası sınırları ile özellik uzaklığının büyüğüdür.
+ * Sorgular indeksi yalnızca okur. Graf değiştikten sonra (veya görüntüsü
+ * hiç alınmamışsa) indeks eskidir: sorgu yine doğru cevaplanır ama yalnızca
+ * özellik uzaklığıyla (düz A*), ve isLandmarkIndexStale true döner. ALT hızı
+ * refreshLandmarks ile açıkça geri alınır.
  */
 public class AStarAlgorithm implements IGraphAlgorithm {
     private SocialGraph graph;
     private long executionTime;
+    private int settledCount;
+    private boolean landmarkIndexStale;
+    private volatile LandmarkIndex landmarks;
 
     public AStarAlgorithm() {
         // Constructor
     }
 
+    public AStarAlgorithm(LandmarkIndex landmarks) {
+        this.landmarks = landmarks;
+    }
+
     @Override
     public List<UserNode> execute(SocialGraph graph, UserNode startNode, UserNode endNode) {
         this.graph = graph;
@@ -27,6 +44,38 @@ public class AStarAlgorithm implements IGraphAlgorithm {
             throw new IllegalArgumentException("Başlangıç ve hedef düğümler null olamaz");
         }
 
+        // ALT: işaret noktası tabloları CSR ordinalleriyle indekslidir; sorgu
+        // görüntü kurmaz. İndeks grafın güncel görüntüsüne ait değilse düz A*
+        // (özellik uzaklığı tek başına da kabul edilebilir): güncel görüntü
+        // varsa onun üzerinde, yoksa doğrudan komşuluk listesinde
+        LandmarkIndex index = landmarks;
+        landmarkIndexStale = false;
+        UserNode start = graph.getNode(startNode.getId());
+        UserNode end = graph.getNode(endNode.getId());
+        if (index != null && startNode.getId() != endNode.getId() && start != null && end != null) {
+            CsrGraph csr = graph.getCachedSnapshot();
+            if (index.isFor(csr)) {
+                return findPath(csr, index, startNode, endNode);
+            }
+            if (csr != null) {
+                List<UserNode> path = findPath(csr, null, startNode, endNode);
+                landmarkIndexStale = true;
+                return path;
+            }
+            landmarkIndexStale = true;
+            DijkstraWorkspace workspace = search(graph, start, end);
+            settledCount = workspace.settledCount;
+            List<UserNode> path = new ArrayList<>();
+            if (workspace.settled(end.getOrdinal())) {
+                for (int v = end.getOrdinal(); v != -1; v = workspace.previous[v]) {
+                    path.add(graph.getNodeByOrdinal(v));
+                }
+                Collections.reverse(path);
+            }
+            executionTime = (System.nanoTime() - startTime) / 1_000_000;
+            return path;
+        }
+
         if (startNode.getId() == endNode.getId()) {
             return new ArrayList<>(Collections.singletonList(startNode));
         }
@@ -89,24 +138,117 @@ public class AStarAlgorithm implements IGraphAlgorithm {
         return new ArrayList<>(); // Boş liste döndür
     }
 
+    @Override
+    public List<UserNode> execute(CsrGraph graph, UserNode startNode, UserNode endNode) {
+        return findPath(graph, landmarks, startNode, endNode);
+    }
+
+    private List<UserNode> findPath(CsrGraph graph, LandmarkIndex index, UserNode startNode, UserNode endNode) {
+        long startTime = System.nanoTime();
+
+        if (startNode == null || endNode == null) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler null olamaz");
+        }
+        int start = graph.getOrdinal(startNode.getId());
+        int end = graph.getOrdinal(endNode.getId());
+        if (start < 0 || end < 0) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler graf içinde olmalıdır");
+        }
+
+        DijkstraWorkspace workspace = search(graph, index, start, end);
+        List<UserNode> path = new ArrayList<>();
+        if (workspace.settled(end)) {
+            for (int v = end; v != -1; v = workspace.previous[v]) {
+                path.add(graph.getNodeByOrdinal(v));
+            }
+            Collections.reverse(path);
+        }
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return path; // Yol bulunamadıysa boş
+    }
+
+    /**
+     * İki ordinal arasındaki en kısa yol uzunluğu, yol yoksa sonsuz.
+     */
+    public double distance(CsrGraph graph, int source, int target) {
+        DijkstraAlgorithm.checkOrdinals(graph, source, target);
+        return search(graph, landmarks, source, target).distanceOf(target);
+    }
+
+    private DijkstraWorkspace search(CsrGraph graph, LandmarkIndex index, int start, int end) {
+        landmarkIndexStale = index != null && !index.isFor(graph);
+        if (landmarkIndexStale) {
+            index = null; // Eski indeks: yalnızca özellik uzaklığı
+        }
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        // Tutarlı heuristic: kesinleşen düğüm bir daha açılmaz
+        DijkstraWorkspace workspace = DijkstraWorkspace.forThread(graph.getNodeCount());
+        workspace.relax(start, 0.0, heuristic(graph, index, start, end), -1);
+        while (!workspace.heap.isEmpty()) {
+            int current = workspace.settle();
+            if (current == end) {
+                break;
+            }
+            double gScore = workspace.distance[current];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                double tentativeGScore = gScore + weights[e];
+                if (workspace.improves(neighbor, tentativeGScore)) {
+                    workspace.relax(neighbor, tentativeGScore,
+                            tentativeGScore + heuristic(graph, index, neighbor, end), current);
+                }
+            }
+        }
+        settledCount = workspace.settledCount;
+        return workspace;
+    }
+
+    /**
+     * search'ün komşuluk listesi sürümü (yalnızca özellik uzaklığı); workspace
+     * grafın ordinalleriyle indekslenir. Eşzamanlı grafta arama başladıktan
+     * sonra eklenen düğümler atlanır.
+     */
+    private static DijkstraWorkspace search(SocialGraph graph, UserNode start, UserNode end) {
+        int n = graph.getNodeCount();
+        DijkstraWorkspace workspace = DijkstraWorkspace.forThread(n);
+        int goal = end.getOrdinal();
+
+        workspace.relax(start.getOrdinal(), 0.0, NodeAttributeStore.distance(start, end), -1);
+        while (!workspace.heap.isEmpty()) {
+            int current = workspace.settle();
+            if (current == goal) {
+                break;
+            }
+            double gScore = workspace.distance[current];
+            for (RelationshipEdge edge : graph.getEdges(graph.getNodeByOrdinal(current).getId())) {
+                UserNode neighbor = edge.getDestination();
+                int next = neighbor.getOrdinal();
+                double tentativeGScore = gScore + edge.getWeight();
+                if (next < n && workspace.improves(next, tentativeGScore)) {
+                    workspace.relax(next, tentativeGScore,
+                            tentativeGScore + NodeAttributeStore.distance(neighbor, end), current);
+                }
+            }
+        }
+        return workspace;
+    }
+
+    private static double heuristic(CsrGraph graph, LandmarkIndex index, int from, int to) {
+        double h = graph.featureDistance(from, to);
+        return index == null ? h : Math.max(h, index.lowerBound(from, to));
+    }
+
     /**
      * Heuristic fonksiyon: İki düğüm arasındaki tahmini maliyet
      * Özellik farklarına dayalı bir heuristic kullanıyoruz
      */
     private double heuristic(UserNode from, UserNode to) {
-        double diffActive = from.getActiveScore() - to.getActiveScore();
-        double diffInteraction = from.getInteractionScore() - to.getInteractionScore();
-        double diffConnection = from.getConnectionScore() - to.getConnectionScore();
-
-        double distance = Math.sqrt(
-            diffActive * diffActive +
-            diffInteraction * diffInteraction +
-            diffConnection * diffConnection
-        );
-
         // Heuristic değeri, özellik farklarına dayalı bir tahmin
-        // Benzer düğümler arası mesafe küçük olur
-        return distance;
+        // Benzer düğümler arası mesafe küçük olur (skorlar sütun deposundan okunur)
+        return NodeAttributeStore.distance(from, to);
     }
 
     /**
@@ -132,9 +274,46 @@ public class AStarAlgorithm implements IGraphAlgorithm {
         return executionTime;
     }
 
+    /**
+     * Son CSR sorgusunda kesinleşen düğüm sayısı
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    /**
+     * Son sorguda işaret noktası indeksi eski olduğu için ALT yerine düz A*
+     * kullanıldıysa true; refreshLandmarks ile giderilir.
+     */
+    public boolean isLandmarkIndexStale() {
+        return landmarkIndexStale;
+    }
+
+    public LandmarkIndex getLandmarks() {
+        return landmarks;
+    }
+
+    public void setLandmarks(LandmarkIndex landmarks) {
+        this.landmarks = landmarks;
+    }
+
+    /**
+     * İşaret noktası indeksini verilen görüntüye artımlı olarak yeniler
+     * (bkz. LandmarkIndex.refresh). Süren sorgular eski indeksi kullanmaya
+     * devam eder; yeni indeks yenileme bitince yayınlanır.
+     * @return Yeni indeks
+     */
+    public synchronized LandmarkIndex refreshLandmarks(CsrGraph graph) {
+        if (landmarks == null) {
+            throw new IllegalStateException("İşaret noktası indeksi yok");
+        }
+        landmarks = landmarks.refresh(graph);
+        return landmarks;
+    }
+
     @Override
     public String getName() {
-        return "A* (A-Star) Pathfinding";
+        return landmarks == null ? "A* (A-Star) Pathfinding" : "A* (ALT)";
     }
 
     /**
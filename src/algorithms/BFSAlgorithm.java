@@ -1,5 +1,6 @@
 package algorithms;
 
+import model.CsrGraph;
 import model.SocialGraph; // DÜZELTME: Graph değil SocialGraph
 import model.UserNode;
 // RelationshipEdge importuna gerek kalmadı ama dursa da zarar gelmez
@@ -7,42 +8,84 @@ import java.util.*;
 
 public class BFSAlgorithm implements IGraphAlgorithm {
 
+    /**
+     * Komşuluk listesi üzerinde, komşuları ekleme sırasıyla gezer (UI'nin
+     * gösterdiği ziyaret sırası); hedefe ulaşınca durur ve yalnızca ziyaret
+     * edilen kısım kadar iş yapar, CSR görüntüsü kurmaz. Ziyaret kümesi
+     * ordinallerle indekslenir, kimlikler kutulanmaz. Tüm grafı gezen büyük
+     * aramalar için ParallelBFS kullanın.
+     */
     @Override
     public List<UserNode> execute(SocialGraph graph, UserNode startNode, UserNode endNode) {
-        // Ziyaret sırasını tutacağımız liste
-        List<UserNode> visitedOrder = new ArrayList<>();
-
-        // Kuyruk (FIFO)
-        Queue<UserNode> queue = new LinkedList<>();
-
-        // Ziyaret edilenlerin ID seti
-        Set<Integer> visitedIds = new HashSet<>();
+        UserNode start = graph.getNode(startNode.getId());
+        if (start == null) {
+            // Graf dışındaki düğümün komşusu yok; yalnızca kendisi ziyaret edilir
+            return new ArrayList<>(Collections.singletonList(startNode));
+        }
 
-        // Başlangıç
-        queue.add(startNode);
-        visitedIds.add(startNode.getId());
+        // Kuyruk aynı zamanda ziyaret sırasıdır (her düğüm en fazla bir kez girer)
+        List<UserNode> queue = new ArrayList<>();
+        BitSet visited = new BitSet(); // Yalnızca ulaşılan en büyük ordinal kadar büyür
+        int head = 0;
 
-        while (!queue.isEmpty()) {
-            UserNode current = queue.poll();
-            visitedOrder.add(current);
+        queue.add(start);
+        visited.set(start.getOrdinal());
 
-            // Hedef kontrolü
+        while (head < queue.size()) {
+            UserNode current = queue.get(head++);
             if (endNode != null && current.getId() == endNode.getId()) {
                 break;
             }
+            for (UserNode neighbor : graph.getNeighbors(current)) {
+                if (!visited.get(neighbor.getOrdinal())) {
+                    visited.set(neighbor.getOrdinal());
+                    queue.add(neighbor);
+                }
+            }
+        }
+
+        // Sadece kuyruktan çıkan (işlenen) düğümler ziyaret sırasına girer
+        return new ArrayList<>(queue.subList(0, head));
+    }
 
-            // Komşuları al (Artık SocialGraph içinde bu metot var)
-            List<UserNode> neighbors = graph.getNeighbors(current);
+    /**
+     * CSR üzerinde; komşular satır sırasıyla (artan ordinal) gezilir, bu
+     * yüzden ziyaret sırası SocialGraph sürümünden farklı olabilir.
+     */
+    @Override
+    public List<UserNode> execute(CsrGraph graph, UserNode startNode, UserNode endNode) {
+        int start = graph.getOrdinal(startNode.getId());
+        if (start < 0) {
+            throw new IllegalArgumentException("Başlangıç düğümü graf içinde bulunamadı: " + startNode.getId());
+        }
+        int end = endNode == null ? -1 : graph.getOrdinal(endNode.getId());
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
 
-            for (UserNode neighbor : neighbors) {
-                if (!visitedIds.contains(neighbor.getId())) {
-                    visitedIds.add(neighbor.getId());
-                    queue.add(neighbor);
+        // Kuyruk aynı zamanda ziyaret sırasıdır (her düğüm en fazla bir kez girer)
+        int[] queue = new int[graph.getNodeCount()];
+        boolean[] visited = new boolean[graph.getNodeCount()];
+        int head = 0, tail = 0;
+
+        queue[tail++] = start;
+        visited[start] = true;
+
+        while (head < tail) {
+            int current = queue[head++];
+            if (current == end) {
+                break;
+            }
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                if (!visited[neighbor]) {
+                    visited[neighbor] = true;
+                    queue[tail++] = neighbor;
                 }
             }
         }
 
-        return visitedOrder;
+        // Sadece kuyruktan çıkan (işlenen) düğümler ziyaret sırasına girer
+        return graph.toNodes(queue, head);
     }
 
     @Override
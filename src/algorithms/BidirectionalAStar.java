@@ -0,0 +1,65 @@
+package algorithms;
+
+import model.CsrGraph;
+
+/**
+ * İki Yönlü A* Algoritması
+ * İki yönlü Dijkstra'ya özellik uzaklığı heuristic'ini ekler. Kenar
+ * ağırlığı 1 + özellik uzaklığı olduğundan bu uzaklık tutarlı bir alt
+ * sınırdır; iki yön ortalama potansiyelle aynı sınırı paylaşır.
+ * İşaret noktası indeksi verilirse (ALT) iki sınırın büyüğü kullanılır;
+ * indeks sorgularda yalnızca okunur. İndeks sorgulanan görüntüye ait
+ * değilse sorgu yalnızca özellik uzaklığıyla cevaplanır (isLandmarkIndexStale);
+ * graf değişince indeks refreshLandmarks ile açıkça yenilenir.
+ */
+public class BidirectionalAStar extends BidirectionalDijkstra {
+    private volatile LandmarkIndex landmarks;
+    private boolean landmarkIndexStale;
+
+    public BidirectionalAStar() {
+        // Constructor
+    }
+
+    public BidirectionalAStar(LandmarkIndex landmarks) {
+        this.landmarks = landmarks;
+    }
+
+    @Override
+    BidirectionalSearch.LowerBound lowerBound(CsrGraph graph) {
+        LandmarkIndex index = landmarks;
+        landmarkIndexStale = index != null && !index.isFor(graph);
+        if (index == null || landmarkIndexStale) {
+            return graph::featureDistance;
+        }
+        return (from, to) -> Math.max(graph.featureDistance(from, to), index.lowerBound(from, to));
+    }
+
+    /**
+     * Son sorguda işaret noktası indeksi eski olduğu için yalnızca özellik
+     * uzaklığı kullanıldıysa true; refreshLandmarks ile giderilir.
+     */
+    public boolean isLandmarkIndexStale() {
+        return landmarkIndexStale;
+    }
+
+    public LandmarkIndex getLandmarks() {
+        return landmarks;
+    }
+
+    /**
+     * İşaret noktası indeksini verilen görüntüye artımlı olarak yeniler.
+     * @return Yeni indeks
+     */
+    public synchronized LandmarkIndex refreshLandmarks(CsrGraph graph) {
+        if (landmarks == null) {
+            throw new IllegalStateException("İşaret noktası indeksi yok");
+        }
+        landmarks = landmarks.refresh(graph);
+        return landmarks;
+    }
+
+    @Override
+    public String getName() {
+        return landmarks == null ? "Bidirectional A*" : "Bidirectional ALT";
+    }
+}
@@ -0,0 +1,108 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.SocialGraph;
+import model.UserNode;
+
+import java.util.*;
+
+/**
+ * İki Yönlü Dijkstra Algoritması
+ * Kaynaktan ve hedeften aynı anda arar; aramalar ortada buluşur.
+ * Küçük dünya graflarında kesinleşen düğüm sayısı tek yönlü aramaya göre
+ * katlarca azalır (bkz. BidirectionalSearch).
+ */
+public class BidirectionalDijkstra implements IGraphAlgorithm {
+    private long executionTime;
+    private int settledCount;
+
+    public BidirectionalDijkstra() {
+        // Constructor
+    }
+
+    /**
+     * Grafın önbellekli CSR görüntüsü (freeze) üzerinde çalışır.
+     */
+    @Override
+    public List<UserNode> execute(SocialGraph graph, UserNode startNode, UserNode endNode) {
+        if (startNode == null || endNode == null) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler null olamaz");
+        }
+        if (graph.getNode(startNode.getId()) == null || graph.getNode(endNode.getId()) == null) {
+            executionTime = 0;
+            return new ArrayList<>(); // Graf dışındaki düğüme yol yok
+        }
+        return execute(graph.freeze(), startNode, endNode);
+    }
+
+    @Override
+    public List<UserNode> execute(CsrGraph graph, UserNode startNode, UserNode endNode) {
+        long startTime = System.nanoTime();
+
+        if (startNode == null || endNode == null) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler null olamaz");
+        }
+        int start = graph.getOrdinal(startNode.getId());
+        int end = graph.getOrdinal(endNode.getId());
+        if (start < 0 || end < 0) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler graf içinde olmalıdır");
+        }
+
+        BidirectionalSearch search = search(graph, start, end);
+        int[] ordinals = new int[search.pathLength()];
+        int length = search.copyPath(ordinals);
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return graph.toNodes(ordinals, length); // Yol bulunamadıysa boş
+    }
+
+    /**
+     * İki ordinal arasındaki en kısa yol uzunluğu, yol yoksa sonsuz.
+     */
+    public double distance(CsrGraph graph, int source, int target) {
+        DijkstraAlgorithm.checkOrdinals(graph, source, target);
+        return search(graph, source, target).distance;
+    }
+
+    /**
+     * En kısa yolu kaynaktan hedefe ordinaller olarak path dizisine yazar.
+     * @return Yoldaki düğüm sayısı, yol yoksa 0
+     */
+    public int shortestPath(CsrGraph graph, int source, int target, int[] path) {
+        DijkstraAlgorithm.checkOrdinals(graph, source, target);
+        return search(graph, source, target).copyPath(path);
+    }
+
+    private BidirectionalSearch search(CsrGraph graph, int source, int target) {
+        BidirectionalSearch search = new BidirectionalSearch(graph, source, target, lowerBound(graph));
+        search.run();
+        settledCount = search.getSettledCount();
+        return search;
+    }
+
+    /**
+     * Arama potansiyeli için alt sınır; Dijkstra'da yoktur.
+     */
+    BidirectionalSearch.LowerBound lowerBound(CsrGraph graph) {
+        return null;
+    }
+
+    /**
+     * Algoritmanın çalışma süresini getirir (milisaniye)
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Son sorguda iki yönde toplam kesinleşen düğüm sayısı
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    @Override
+    public String getName() {
+        return "Bidirectional Dijkstra";
+    }
+}
@@ -0,0 +1,134 @@
+package algorithms;
+
+import model.CsrGraph;
+
+/**
+ * İki yönlü en kısa yol araması (tek sorgunun durumu).
+ *
+ * İleri arama kaynaktan, geri arama hedeften yürür (graf yönsüzdür, geri
+ * arama aynı komşuluğu kullanır). Her adımda yığını küçük olan taraf
+ * genişletilir. Bir taraf, diğerinin dokunduğu düğüme kenar gevşettiğinde
+ * aday yol uzunluğu (mu) güncellenir; iki yığının tepe anahtarları
+ * toplamı mu'ya ulaşınca arama durur.
+ *
+ * Alt sınır (A*) verilirse ortalama potansiyel kullanılır:
+ * pF(v) = (h(v, hedef) - h(v, kaynak)) / 2, pB = -pF. İki taraf aynı
+ * indirgenmiş kenar maliyetlerini gördüğü için durma koşulu değişmez.
+ */
+final class BidirectionalSearch {
+
+    /**
+     * İki düğüm arasındaki en kısa yol için tutarlı (consistent) alt sınır.
+     */
+    interface LowerBound {
+        double estimate(int from, int to);
+    }
+
+    private final CsrGraph graph;
+    private final int source;
+    private final int target;
+    private final LowerBound bound;
+    final DijkstraWorkspace forward;
+    final DijkstraWorkspace backward;
+    double distance = Double.POSITIVE_INFINITY;
+    int meetForward = -1;  // yolun ileri ağaçtaki son düğümü
+    int meetBackward = -1; // yolun geri ağaçtaki ilk düğümü
+
+    BidirectionalSearch(CsrGraph graph, int source, int target, LowerBound bound) {
+        this.graph = graph;
+        this.source = source;
+        this.target = target;
+        this.bound = bound;
+        this.forward = DijkstraWorkspace.forThread(graph.getNodeCount(), DijkstraWorkspace.FORWARD);
+        this.backward = DijkstraWorkspace.forThread(graph.getNodeCount(), DijkstraWorkspace.BACKWARD);
+    }
+
+    int getSettledCount() {
+        return forward.settledCount + backward.settledCount;
+    }
+
+    void run() {
+        forward.relax(source, 0.0, potential(source), -1);
+        backward.relax(target, 0.0, -potential(target), -1);
+        if (source == target) {
+            distance = 0.0;
+            meetForward = source;
+            meetBackward = target;
+            return;
+        }
+        IndexedDaryHeap forwardHeap = forward.heap;
+        IndexedDaryHeap backwardHeap = backward.heap;
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()) {
+            if (forwardHeap.peekKey() + backwardHeap.peekKey() >= distance) {
+                break;
+            }
+            if (forwardHeap.size() <= backwardHeap.size()) {
+                expand(forward, backward, true);
+            } else {
+                expand(backward, forward, false);
+            }
+        }
+    }
+
+    private void expand(DijkstraWorkspace side, DijkstraWorkspace other, boolean isForward) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        int u = side.settle();
+        double du = side.distance[u];
+        for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+            int v = targets[e];
+            double dv = du + weights[e];
+            if (other.heap.touched(v)) {
+                double candidate = dv + other.distance[v];
+                if (candidate < distance) {
+                    distance = candidate;
+                    meetForward = isForward ? u : v;
+                    meetBackward = isForward ? v : u;
+                }
+            }
+            if (side.improves(v, dv)) {
+                double p = potential(v);
+                side.relax(v, dv, dv + (isForward ? p : -p), u);
+            }
+        }
+    }
+
+    private double potential(int v) {
+        if (bound == null) {
+            return 0.0;
+        }
+        return 0.5 * (bound.estimate(v, target) - bound.estimate(v, source));
+    }
+
+    /**
+     * Yoldaki düğüm sayısı, yol yoksa 0.
+     */
+    int pathLength() {
+        if (meetForward < 0) {
+            return 0;
+        }
+        return forward.pathLength(meetForward) + backward.pathLength(meetBackward)
+                - (meetForward == meetBackward ? 1 : 0);
+    }
+
+    /**
+     * Yolu kaynaktan hedefe ordinaller olarak yazar.
+     * @return Düğüm sayısı, yol yoksa 0
+     */
+    int copyPath(int[] path) {
+        int length = pathLength();
+        if (length == 0) {
+            return 0;
+        }
+        if (path.length < length) {
+            throw new IllegalArgumentException("Yol dizisi çok kısa: " + length + " düğüm gerekli");
+        }
+        int i = forward.copyPath(meetForward, path);
+        int v = meetForward == meetBackward ? backward.previous[meetBackward] : meetBackward;
+        for (; v != -1; v = backward.previous[v]) {
+            path[i++] = v;
+        }
+        return length;
+    }
+}
@@ -1,53 +1,90 @@
 package algorithms;
 
+import model.CsrGraph;
 import model.SocialGraph;
 import model.UserNode;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Bağlı Bileşenler (Connected Components) Algoritması
  * Graf içindeki ayrık toplulukları (bağlı bileşenleri) tespit eder.
  * Her bağlı bileşen, birbirine ulaşılabilen düğümlerin kümesidir.
+ *
+ * Etiketleme, CSR kenar listesi üzerinde paralel kilitsiz union-find ile
+ * yapılır (ParallelUnionFind); özyineleme olmadığından dev bileşenlerde
+ * yığın taşmaz. Bileşen ID'leri ve boyutları ilkel dizilerde tutulur.
  */
 public class ConnectedComponents {
     private SocialGraph graph;
+    private CsrGraph csrGraph; // CSR modunda kullanılır (graph null olur)
+    private final ForkJoinPool pool;
     private List<List<UserNode>> components;
-    private Map<Integer, Integer> nodeToComponentId;
+    // Son analizin CSR görüntüsü ve ordinal -> bileşen ID eşlemesi
+    private CsrGraph labeledGraph;
+    private int[] nodeToComponentId;
+    private int[] componentSizes;
     private long executionTime;
 
     public ConnectedComponents(SocialGraph graph) {
         this.graph = graph;
+        this.pool = ForkJoinPool.commonPool();
         this.components = new ArrayList<>();
-        this.nodeToComponentId = new HashMap<>();
     }
 
     /**
-     * Graf içindeki tüm bağlı bileşenleri bulur
+     * Değişmez CSR görüntüsü üzerinde çalışan bileşen analizi
+     */
+    public ConnectedComponents(CsrGraph csrGraph) {
+        this(csrGraph, ForkJoinPool.commonPool());
+    }
+
+    public ConnectedComponents(CsrGraph csrGraph, ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Havuz null olamaz");
+        }
+        this.csrGraph = csrGraph;
+        this.pool = pool;
+        this.components = new ArrayList<>();
+    }
+
+    /**
+     * Graf içindeki tüm bağlı bileşenleri bulur. SocialGraph modunda grafın
+     * önbellekli CSR görüntüsü (freeze) kullanılır.
      * @return Her bağlı bileşenin düğüm listesini içeren liste
      */
     public List<List<UserNode>> findConnectedComponents() {
         long startTime = System.nanoTime();
+        CsrGraph csr = csrGraph != null ? csrGraph : graph.freeze();
+        int n = csr.getNodeCount();
+
+        // Paralel union-find; etiket, bileşenin en küçük ordinalidir
+        int[] labels = ParallelUnionFind.components(csr, pool);
 
-        components.clear();
-        nodeToComponentId.clear();
-        Set<Integer> visited = new HashSet<>();
-
-        // Tüm düğümleri kontrol et
-        for (UserNode node : graph.getAllNodes()) {
-            if (!visited.contains(node.getId())) {
-                // Yeni bir bağlı bileşen bulundu
-                List<UserNode> component = new ArrayList<>();
-                dfsComponent(node, visited, component);
-                components.add(component);
-
-                // Her düğüme bileşen ID'si ata
-                int componentId = components.size() - 1;
-                for (UserNode n : component) {
-                    nodeToComponentId.put(n.getId(), componentId);
-                }
-            }
+        // Bileşenler en küçük ordinallerine göre numaralanır (önceki BFS sırasıyla aynı)
+        int[] componentOf = new int[n];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            componentOf[v] = labels[v] == v ? count++ : componentOf[labels[v]];
         }
+        int[] sizes = new int[count];
+        for (int v = 0; v < n; v++) {
+            sizes[componentOf[v]]++;
+        }
+
+        List<List<UserNode>> result = new ArrayList<>(count);
+        for (int c = 0; c < count; c++) {
+            result.add(new ArrayList<>(sizes[c]));
+        }
+        for (int v = 0; v < n; v++) {
+            result.get(componentOf[v]).add(csr.getNodeByOrdinal(v));
+        }
+
+        components = result;
+        labeledGraph = csr;
+        nodeToComponentId = componentOf;
+        componentSizes = sizes;
 
         long endTime = System.nanoTime();
         executionTime = (endTime - startTime) / 1_000_000; // milisaniye
@@ -55,35 +92,30 @@ public class ConnectedComponents {
         return new ArrayList<>(components);
     }
 
-    /**
-     * DFS kullanarak bir bağlı bileşendeki tüm düğümleri bulur
-     */
-    private void dfsComponent(UserNode node, Set<Integer> visited, List<UserNode> component) {
-        visited.add(node.getId());
-        component.add(node);
-
-        // Komşuları ziyaret et
-        List<UserNode> neighbors = graph.getNeighbors(node);
-        for (UserNode neighbor : neighbors) {
-            if (!visited.contains(neighbor.getId())) {
-                dfsComponent(neighbor, visited, component);
-            }
-        }
-    }
-
     /**
      * Belirli bir düğümün hangi bileşende olduğunu getirir
      * @param nodeId Düğüm ID'si
      * @return Bileşen listesi (null if node not found)
      */
     public List<UserNode> getComponentOfNode(int nodeId) {
-        Integer componentId = nodeToComponentId.get(nodeId);
-        if (componentId == null) {
+        int componentId = getComponentId(nodeId);
+        if (componentId < 0) {
             return null;
         }
         return new ArrayList<>(components.get(componentId));
     }
 
+    /**
+     * Düğümün bileşen ID'si; düğüm yoksa (veya analiz yapılmadıysa) -1
+     */
+    public int getComponentId(int nodeId) {
+        if (labeledGraph == null) {
+            return -1;
+        }
+        int ordinal = labeledGraph.getOrdinal(nodeId);
+        return ordinal < 0 ? -1 : nodeToComponentId[ordinal];
+    }
+
     /**
      * İki düğümün aynı bileşende olup olmadığını kontrol eder
      * @param nodeId1 İlk düğüm ID'si
@@ -91,9 +123,8 @@ public class ConnectedComponents {
      * @return Aynı bileşendeyse true
      */
     public boolean areInSameComponent(int nodeId1, int nodeId2) {
-        Integer comp1 = nodeToComponentId.get(nodeId1);
-        Integer comp2 = nodeToComponentId.get(nodeId2);
-        return comp1 != null && comp2 != null && comp1.equals(comp2);
+        int comp1 = getComponentId(nodeId1);
+        return comp1 >= 0 && comp1 == getComponentId(nodeId2);
     }
 
     /**
@@ -127,5 +158,27 @@ public class ConnectedComponents {
         }
         return sizes;
     }
+
+    /**
+     * Bileşen boyutları (indeks = bileşen ID'si); dizinin kendisi döner
+     */
+    public int[] getComponentSizeArray() {
+        return componentSizes == null ? new int[0] : componentSizes;
+    }
+
+    /**
+     * Son analizdeki CSR ordinali -> bileşen ID'si; dizinin kendisi döner
+     * (ordinaller getAnalyzedGraph() görüntüsüne aittir)
+     */
+    public int[] getComponentIdArray() {
+        return nodeToComponentId == null ? new int[0] : nodeToComponentId;
+    }
+
+    /**
+     * Son analizin yapıldığı CSR görüntüsü
+     */
+    public CsrGraph getAnalyzedGraph() {
+        return labeledGraph;
+    }
 }
 
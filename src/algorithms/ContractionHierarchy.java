@@ -0,0 +1,432 @@
+package algorithms;
+
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * Contraction Hierarchies (CH) indeksi.
+ *
+ * Düğümler önem sırasıyla "büzülür": büzülen düğüm v'nin iki komşusu a, b
+ * arasındaki en kısa yol yalnızca v üzerinden geçiyorsa (tanık araması
+ * daha kısa bir yol bulamazsa) a-b kısayolu eklenir. Her düğümün büzüldüğü
+ * andaki komşuluğu (hepsi ondan sonra büzülen düğümlerdir) "yukarı" kenar
+ * listesi olarak saklanır. Sorgu iki yönde yalnızca yukarı kenarlarda
+ * arar (bkz. ContractionHierarchyQuery).
+ *
+ * Sıralama: öncelik = kenar farkı (eklenecek kısayol - silinecek kenar)
+ * + büzülmüş komşu sayısı + seviye. Her turda önceliği tüm komşularından
+ * küçük olan düğümler (bağımsız küme) seçilir; bunların tanık aramaları
+ * paralel yapılır, kısayollar sonra sıralı eklenir. Tanık, v üzerinden
+ * geçen yoldan kesin olarak kısa olmalıdır: kümedeki başka bir düğümden
+ * geçen eşit uzunlukta bir tanık, o düğüm de aynı turda büzülürken
+ * yolun kaybolmasına yol açabilirdi.
+ *
+ * Sosyal graflarda son düğümler çok yoğunlaşır (kısayol sayısı patlar).
+ * Kalan grafın ortalama derecesi maxCoreDegree'yi aşınca büzme durur;
+ * kalan "çekirdek" düğümlerin listesi yalnızca çekirdek komşularını tutar
+ * ve sorgu çekirdekte iki yönlü Dijkstra ile devam eder.
+ */
+public final class ContractionHierarchy {
+    public static final int DEFAULT_MAX_CORE_DEGREE = 32;
+
+    // Tanık aramasında taranacak en fazla kenar: aşılırsa kısayol eklenir
+    // (fazladan kısayol doğruluğu bozmaz). Düğüm yerine kenar sayılır, çünkü
+    // merkez düğümün tek genişletmesi binlerce kenar tarayabilir.
+    private static final int WITNESS_SCAN_LIMIT = 1000;
+    private static final int SIMULATION_SCAN_LIMIT = 200;
+    // Bu dereceden büyük düğümlerin önceliği tanık araması yapılmadan tahmin edilir
+    private static final int SIMULATION_DEGREE_LIMIT = 24;
+    private static final int MAX_PRIORITY = Integer.MAX_VALUE / 4;
+
+    private final CsrGraph graph;
+    private final int maxCoreDegree;
+    final int[] upOffsets;
+    final int[] upTargets;    // her düğümün listesi hedefe göre sıralı
+    final double[] upWeights;
+    final int[] upMiddle;     // kısayolun ortadaki düğümü, özgün kenarda -1
+    final boolean[] core;     // büzülmeden kalan düğümler
+    private final int shortcutCount;
+    private final int coreSize;
+    private final int roundCount;
+    private final long preprocessingTime;
+
+    private ContractionHierarchy(CsrGraph graph, int maxCoreDegree, int[] upOffsets, int[] upTargets,
+                                 double[] upWeights, int[] upMiddle, boolean[] core, int coreSize,
+                                 int roundCount, long preprocessingTime) {
+        this.graph = graph;
+        this.maxCoreDegree = maxCoreDegree;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddle = upMiddle;
+        this.core = core;
+        this.coreSize = coreSize;
+        this.roundCount = roundCount;
+        this.preprocessingTime = preprocessingTime;
+        int shortcuts = 0;
+        for (int middle : upMiddle) {
+            if (middle >= 0) shortcuts++;
+        }
+        this.shortcutCount = shortcuts;
+    }
+
+    public static ContractionHierarchy build(CsrGraph graph) {
+        return build(graph, DEFAULT_MAX_CORE_DEGREE);
+    }
+
+    /**
+     * @param maxCoreDegree Kalan grafın ortalama derecesi bunu aşınca büzme durur
+     */
+    public static ContractionHierarchy build(CsrGraph graph, int maxCoreDegree) {
+        if (maxCoreDegree <= 0) {
+            throw new IllegalArgumentException("Çekirdek derecesi pozitif olmalıdır: " + maxCoreDegree);
+        }
+        long startTime = System.nanoTime();
+        Contraction contraction = new Contraction(graph);
+        contraction.run(maxCoreDegree);
+        return contraction.finish(maxCoreDegree, (System.nanoTime() - startTime) / 1_000_000);
+    }
+
+    /**
+     * x-y arasındaki yukarı kenarın indeksi (listesi alt sıradaki düğümde,
+     * çekirdekte ikisinde de bulunur), yoksa -1.
+     */
+    int findEdge(int x, int y) {
+        int e = Arrays.binarySearch(upTargets, upOffsets[x], upOffsets[x + 1], y);
+        if (e >= 0) {
+            return e;
+        }
+        e = Arrays.binarySearch(upTargets, upOffsets[y], upOffsets[y + 1], x);
+        return e >= 0 ? e : -1;
+    }
+
+    public CsrGraph getGraph() { return graph; }
+    public int getMaxCoreDegree() { return maxCoreDegree; }
+
+    /** Yukarı kenar sayısı (özgün kenarlar + kısayollar). */
+    public int getUpwardEdgeCount() { return upTargets.length; }
+    public int getShortcutCount() { return shortcutCount; }
+
+    /** Büzülmeden kalan çekirdek düğüm sayısı. */
+    public int getCoreSize() { return coreSize; }
+    public boolean isCore(int ordinal) { return core[ordinal]; }
+    public int getRoundCount() { return roundCount; }
+
+    /** Ön işleme süresi (milisaniye). */
+    public long getPreprocessingTime() { return preprocessingTime; }
+
+    /** İndeksin bayt cinsinden boyutu (CSR dizileri). */
+    public long getIndexBytes() {
+        return (long) Integer.BYTES * upOffsets.length + core.length
+                + (long) (Integer.BYTES * 2 + Double.BYTES) * upTargets.length;
+    }
+
+    /**
+     * Büzme sırasındaki değişken komşuluk listeleri ve öncelikler.
+     * Büzülen düğümün listesi artık değişmez ve yukarı kenar listesi olur.
+     */
+    private static final class Contraction {
+        final CsrGraph graph;
+        final int n;
+        final int[][] adjacency;
+        final double[][] weights;
+        final int[][] middles;
+        final int[] degree;
+        final int[] priority;
+        final int[] deletedNeighbors;
+        final int[] level;
+        final boolean[] contracted;
+        final ThreadLocal<int[]> targetMarks; // Tanık aramasının hedefleri (damgalı)
+        int[] remaining;
+        int remainingCount;
+        long remainingEdges;     // Kalan graftaki yönlü kenar sayısı
+        int rounds;
+
+        Contraction(CsrGraph graph) {
+            this.graph = graph;
+            this.n = graph.getNodeCount();
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            double[] csrWeights = graph.getWeights();
+            adjacency = new int[n][];
+            weights = new double[n][];
+            middles = new int[n][];
+            degree = new int[n];
+            for (int v = 0; v < n; v++) {
+                int from = offsets[v], to = offsets[v + 1];
+                adjacency[v] = Arrays.copyOfRange(targets, from, Math.max(to, from + 1));
+                weights[v] = Arrays.copyOfRange(csrWeights, from, Math.max(to, from + 1));
+                middles[v] = new int[adjacency[v].length];
+                Arrays.fill(middles[v], -1);
+                degree[v] = to - from;
+            }
+            priority = new int[n];
+            deletedNeighbors = new int[n];
+            level = new int[n];
+            contracted = new boolean[n];
+            targetMarks = ThreadLocal.withInitial(() -> new int[n + 1]);
+            remaining = new int[n];
+            for (int v = 0; v < n; v++) remaining[v] = v;
+            remainingCount = n;
+            remainingEdges = graph.getEdgeCount();
+        }
+
+        void run(int maxCoreDegree) {
+            IntStream.range(0, n).parallel().forEach(v -> priority[v] = computePriority(v));
+            int[] selected = new int[n];
+            boolean[] dirty = new boolean[n];
+            int[] touched = new int[n];
+            while (remainingCount > 0 && remainingEdges <= (long) maxCoreDegree * remainingCount) {
+                rounds++;
+                // Bağımsız küme: önceliği (eşitlikte karışık sırası) tüm komşularından küçük olanlar
+                int count = 0;
+                for (int i = 0; i < remainingCount; i++) {
+                    int v = remaining[i];
+                    if (isLocalMinimum(v)) selected[count++] = v;
+                }
+
+                Shortcuts[] found = new Shortcuts[count];
+                IntStream.range(0, count).parallel().forEach(i -> {
+                    Shortcuts shortcuts = new Shortcuts();
+                    findShortcuts(selected[i], shortcuts, WITNESS_SCAN_LIMIT);
+                    found[i] = shortcuts;
+                });
+
+                int touchedCount = 0;
+                for (int i = 0; i < count; i++) {
+                    int v = selected[i];
+                    contracted[v] = true;
+                    remainingEdges -= 2L * degree[v];
+                    for (int j = 0; j < degree[v]; j++) {
+                        int w = adjacency[v][j];
+                        removeNeighbor(w, v);
+                        deletedNeighbors[w]++;
+                        level[w] = Math.max(level[w], level[v] + 1);
+                        if (!dirty[w]) {
+                            dirty[w] = true;
+                            touched[touchedCount++] = w;
+                        }
+                    }
+                    Shortcuts shortcuts = found[i];
+                    for (int j = 0; j < shortcuts.size; j++) {
+                        addOrDecrease(shortcuts.from[j], shortcuts.to[j], shortcuts.weight[j], v);
+                        addOrDecrease(shortcuts.to[j], shortcuts.from[j], shortcuts.weight[j], v);
+                    }
+                }
+
+                // Komşuların öncelikleri yeniden hesaplanır (tembel güncelleme)
+                int[] update = Arrays.copyOf(touched, touchedCount);
+                for (int w : update) dirty[w] = false;
+                Arrays.stream(update).parallel().forEach(w -> priority[w] = computePriority(w));
+
+                int kept = 0;
+                for (int i = 0; i < remainingCount; i++) {
+                    if (!contracted[remaining[i]]) remaining[kept++] = remaining[i];
+                }
+                remainingCount = kept;
+            }
+        }
+
+        private boolean isLocalMinimum(int v) {
+            int pv = priority[v];
+            int hv = mix(v);
+            for (int j = 0; j < degree[v]; j++) {
+                int w = adjacency[v][j];
+                int pw = priority[w];
+                if (pw < pv || (pw == pv && (mix(w) < hv || (mix(w) == hv && w < v)))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        // Eşit önceliklerde ordinal sırasının bölgesel kümelenmesini önler
+        private static int mix(int v) {
+            int h = v * 0x9E3779B9;
+            return h ^ (h >>> 16);
+        }
+
+        private int computePriority(int v) {
+            int d = degree[v];
+            int shortcuts;
+            if (d > SIMULATION_DEGREE_LIMIT) {
+                shortcuts = (int) Math.min(MAX_PRIORITY, (long) d * (d - 1) / 2);
+            } else {
+                shortcuts = findShortcuts(v, null, SIMULATION_SCAN_LIMIT);
+            }
+            long value = (long) shortcuts - d + deletedNeighbors[v] + level[v];
+            return (int) Math.max(-MAX_PRIORITY, Math.min(MAX_PRIORITY, value));
+        }
+
+        /**
+         * v büzülürse gereken kısayolları bulur. Her komşu çifti bir kez
+         * (a listede b'den önce) değerlendirilir.
+         * @param out null değilse kısayollar eklenir
+         * @return Kısayol sayısı
+         */
+        int findShortcuts(int v, Shortcuts out, int scanLimit) {
+            int d = degree[v];
+            int[] neighbors = adjacency[v];
+            double[] neighborWeights = weights[v];
+            int[] mark = targetMarks.get();
+            int count = 0;
+            for (int i = 0; i + 1 < d; i++) {
+                int a = neighbors[i];
+                double wa = neighborWeights[i];
+                double maxWeight = 0;
+                int stamp = nextStamp(mark);
+                for (int j = i + 1; j < d; j++) {
+                    maxWeight = Math.max(maxWeight, neighborWeights[j]);
+                    mark[neighbors[j]] = stamp;
+                }
+                DijkstraWorkspace workspace = witnessSearch(a, v, wa + maxWeight, scanLimit, mark, stamp, d - i - 1);
+                for (int j = i + 1; j < d; j++) {
+                    double via = wa + neighborWeights[j];
+                    if (workspace.distanceOf(neighbors[j]) >= via) {
+                        count++;
+                        if (out != null) out.add(a, neighbors[j], via);
+                    }
+                }
+            }
+            return count;
+        }
+
+        // Son eleman damga sayacıdır; taşınca dizi sıfırlanır
+        private int nextStamp(int[] mark) {
+            if (++mark[n] == Integer.MAX_VALUE) {
+                Arrays.fill(mark, 0);
+                mark[n] = 1;
+            }
+            return mark[n];
+        }
+
+        /**
+         * v'yi atlayan sınırlı Dijkstra; işaretli hedeflerin hepsi
+         * kesinleşince durur. Kesinleşmemiş mesafeler de gerçek bir yolun
+         * uzunluğudur, tanık sayılır. maxDistance'ı aşan düğümler yığına hiç
+         * girmez (merkez düğümlerin binlerce komşusu yığını şişirmesin).
+         */
+        private DijkstraWorkspace witnessSearch(int source, int skip, double maxDistance, int scanLimit,
+                                                int[] mark, int stamp, int targetCount) {
+            DijkstraWorkspace workspace = DijkstraWorkspace.forThread(n);
+            workspace.relax(source, 0.0, -1);
+            IndexedDaryHeap heap = workspace.heap;
+            int scanned = 0;
+            while (!heap.isEmpty() && scanned < scanLimit && heap.peekKey() <= maxDistance) {
+                int u = workspace.settle();
+                if (mark[u] == stamp && --targetCount == 0) {
+                    break;
+                }
+                double du = workspace.distance[u];
+                int[] neighbors = adjacency[u];
+                double[] neighborWeights = weights[u];
+                int end = Math.min(degree[u], scanLimit - scanned);
+                scanned += end;
+                for (int j = 0; j < end; j++) {
+                    int x = neighbors[j];
+                    double dx = du + neighborWeights[j];
+                    if (dx <= maxDistance && x != skip) {
+                        workspace.relax(x, dx, u);
+                    }
+                }
+            }
+            return workspace;
+        }
+
+        private void removeNeighbor(int w, int v) {
+            int[] list = adjacency[w];
+            int last = --degree[w];
+            for (int j = 0; j <= last; j++) {
+                if (list[j] == v) {
+                    list[j] = list[last];
+                    weights[w][j] = weights[w][last];
+                    middles[w][j] = middles[w][last];
+                    return;
+                }
+            }
+            throw new IllegalStateException("Komşuluk listesi tutarsız: " + w + " -> " + v);
+        }
+
+        private void addOrDecrease(int a, int b, double weight, int middle) {
+            int[] list = adjacency[a];
+            for (int j = 0; j < degree[a]; j++) {
+                if (list[j] == b) {
+                    if (weight < weights[a][j]) {
+                        weights[a][j] = weight;
+                        middles[a][j] = middle;
+                    }
+                    return;
+                }
+            }
+            if (degree[a] == list.length) {
+                int capacity = list.length * 2;
+                adjacency[a] = Arrays.copyOf(list, capacity);
+                weights[a] = Arrays.copyOf(weights[a], capacity);
+                middles[a] = Arrays.copyOf(middles[a], capacity);
+            }
+            adjacency[a][degree[a]] = b;
+            weights[a][degree[a]] = weight;
+            middles[a][degree[a]] = middle;
+            degree[a]++;
+            remainingEdges++;
+        }
+
+        /**
+         * Listeleri hedefe göre sıralı yukarı CSR'ye dönüştürür.
+         */
+        ContractionHierarchy finish(int maxCoreDegree, long preprocessingTime) {
+            int[] offsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                offsets[v + 1] = offsets[v] + degree[v];
+            }
+            int m = offsets[n];
+            int[] targets = new int[m];
+            double[] upWeights = new double[m];
+            int[] upMiddle = new int[m];
+            IntStream.range(0, n).parallel().forEach(v -> {
+                long[] keys = new long[degree[v]];
+                for (int j = 0; j < keys.length; j++) {
+                    keys[j] = ((long) adjacency[v][j] << 32) | j;
+                }
+                Arrays.sort(keys);
+                for (int j = 0; j < keys.length; j++) {
+                    int source = (int) keys[j];
+                    targets[offsets[v] + j] = adjacency[v][source];
+                    upWeights[offsets[v] + j] = weights[v][source];
+                    upMiddle[offsets[v] + j] = middles[v][source];
+                }
+                adjacency[v] = null;
+                weights[v] = null;
+                middles[v] = null;
+            });
+            boolean[] core = new boolean[n];
+            for (int i = 0; i < remainingCount; i++) core[remaining[i]] = true;
+            return new ContractionHierarchy(graph, maxCoreDegree, offsets, targets, upWeights, upMiddle,
+                    core, remainingCount, rounds, preprocessingTime);
+        }
+    }
+
+    /**
+     * Bir düğümün büzülmesinde eklenecek kısayollar.
+     */
+    private static final class Shortcuts {
+        int[] from = new int[4];
+        int[] to = new int[4];
+        double[] weight = new double[4];
+        int size;
+
+        void add(int a, int b, double w) {
+            if (size == from.length) {
+                from = Arrays.copyOf(from, size * 2);
+                to = Arrays.copyOf(to, size * 2);
+                weight = Arrays.copyOf(weight, size * 2);
+            }
+            from[size] = a;
+            to[size] = b;
+            weight[size] = w;
+            size++;
+        }
+    }
+}
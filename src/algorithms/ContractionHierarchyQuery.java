@@ -0,0 +1,366 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.SocialGraph;
+import model.UserNode;
+
+import java.util.*;
+
+/**
+ * Contraction Hierarchies sorgusu.
+ * Kaynaktan ve hedeften yalnızca yukarı kenarlarda iki Dijkstra çalışır;
+ * en kısa yol en yüksek düğümünde buluşur. Bir taraf, yığınının tepesi en
+ * iyi aday yol uzunluğuna ulaşınca durur. Yukarıdan daha kısa ulaşılabilen
+ * düğümler genişletilmez (stall-on-demand). Hiyerarşinin büzülmemiş bir
+ * çekirdeği varsa, aramaların ulaştığı çekirdek düğümlerinden ikinci bir
+ * iki yönlü Dijkstra çekirdek içinde devam eder. Bulunan yoldaki kısayollar
+ * özgün kenarlara açılır; sonuç DijkstraAlgorithm ile aynı yoldur (eşit
+ * uzunlukta birden çok yol yoksa).
+ *
+ * İndeks kurulduğu CSR görüntüsüne bağlıdır. Sorgu hiyerarşiyi asla
+ * yeniden kurmaz: farklı bir görüntüyle sorgulanırsa IllegalStateException
+ * verir; graf değişince ContractionHierarchy.build ile yeni hiyerarşi
+ * kurulup yeni bir sorgu nesnesi oluşturulmalıdır.
+ */
+public class ContractionHierarchyQuery implements IGraphAlgorithm {
+    private final ContractionHierarchy hierarchy;
+    private long executionTime;
+    private int settledCount;
+    // Son aramanın ağaçları (aynı iş parçacığında bir sonraki aramaya kadar geçerli)
+    private DijkstraWorkspace forward;
+    private DijkstraWorkspace backward;
+    private DijkstraWorkspace coreForward;
+    private DijkstraWorkspace coreBackward;
+    private double best;
+    private int meetForward = -1;  // yolun ileri ağaçtaki son düğümü
+    private int meetBackward = -1; // yolun geri ağaçtaki ilk düğümü
+    private boolean meetInCore;
+    private final int[][] entries = {new int[16], new int[16]}; // Ulaşılan çekirdek düğümleri
+    private final int[] entryCount = new int[2];
+    private int[] packed = new int[64];   // Açılmamış yol (kısayollarla)
+    private int[] unpacked = new int[64]; // Açılmış yol
+    private int[] stack = new int[128];   // Açma için kenar çiftleri
+
+    public ContractionHierarchyQuery(ContractionHierarchy hierarchy) {
+        if (hierarchy == null) {
+            throw new IllegalArgumentException("Hiyerarşi null olamaz");
+        }
+        this.hierarchy = hierarchy;
+    }
+
+    /**
+     * Grafın önbellekteki CSR görüntüsü üzerinde çalışır; görüntü kurmaz.
+     * Hiyerarşi grafın güncel görüntüsüne ait değilse hata verir.
+     */
+    @Override
+    public List<UserNode> execute(SocialGraph graph, UserNode startNode, UserNode endNode) {
+        if (startNode == null || endNode == null) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler null olamaz");
+        }
+        if (graph.getNode(startNode.getId()) == null || graph.getNode(endNode.getId()) == null) {
+            executionTime = 0;
+            return new ArrayList<>(); // Graf dışındaki düğüme yol yok
+        }
+        return execute(hierarchyFor(graph.getCachedSnapshot()).getGraph(), startNode, endNode);
+    }
+
+    @Override
+    public List<UserNode> execute(CsrGraph graph, UserNode startNode, UserNode endNode) {
+        long startTime = System.nanoTime();
+
+        if (startNode == null || endNode == null) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler null olamaz");
+        }
+        int start = graph.getOrdinal(startNode.getId());
+        int end = graph.getOrdinal(endNode.getId());
+        if (start < 0 || end < 0) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler graf içinde olmalıdır");
+        }
+
+        ContractionHierarchy index = hierarchyFor(graph);
+        int length = Double.isInfinite(search(index, start, end)) ? 0 : unpack(index, packPath());
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return graph.toNodes(unpacked, length); // Yol bulunamadıysa boş
+    }
+
+    /**
+     * İki ordinal arasındaki en kısa yol uzunluğu, yol yoksa sonsuz.
+     */
+    public double distance(CsrGraph graph, int source, int target) {
+        DijkstraAlgorithm.checkOrdinals(graph, source, target);
+        return search(hierarchyFor(graph), source, target);
+    }
+
+    /**
+     * En kısa yolu (kısayollar açılmış olarak) kaynaktan hedefe ordinaller
+     * olarak path dizisine yazar.
+     * @return Yoldaki düğüm sayısı, yol yoksa 0
+     */
+    public int shortestPath(CsrGraph graph, int source, int target, int[] path) {
+        DijkstraAlgorithm.checkOrdinals(graph, source, target);
+        ContractionHierarchy index = hierarchyFor(graph);
+        if (Double.isInfinite(search(index, source, target))) {
+            return 0;
+        }
+        int length = unpack(index, packPath());
+        if (path.length < length) {
+            throw new IllegalArgumentException("Yol dizisi çok kısa: " + length + " düğüm gerekli");
+        }
+        System.arraycopy(unpacked, 0, path, 0, length);
+        return length;
+    }
+
+    // Sorgu yolunda hiyerarşi yalnızca okunur; eski indeks yeniden kurulmaz
+    private ContractionHierarchy hierarchyFor(CsrGraph graph) {
+        if (hierarchy.getGraph() != graph) {
+            throw new IllegalStateException("Hiyerarşi bu görüntü için kurulmamış; "
+                    + "ContractionHierarchy.build ile yeniden kurulmalıdır");
+        }
+        return hierarchy;
+    }
+
+    private double search(ContractionHierarchy index, int source, int target) {
+        int n = index.getGraph().getNodeCount();
+        forward = DijkstraWorkspace.forThread(n, DijkstraWorkspace.FORWARD);
+        backward = DijkstraWorkspace.forThread(n, DijkstraWorkspace.BACKWARD);
+        coreForward = DijkstraWorkspace.forThread(n, DijkstraWorkspace.CORE_FORWARD);
+        coreBackward = DijkstraWorkspace.forThread(n, DijkstraWorkspace.CORE_BACKWARD);
+        entryCount[0] = 0;
+        entryCount[1] = 0;
+        meetForward = -1;
+        meetBackward = -1;
+        meetInCore = false;
+        best = Double.POSITIVE_INFINITY;
+
+        touch(index, forward, 0, source, 0.0, -1);
+        touch(index, backward, 1, target, 0.0, -1);
+        upwardPhase(index);
+        if (entryCount[0] > 0 && entryCount[1] > 0) {
+            corePhase(index);
+        }
+        settledCount = forward.settledCount + backward.settledCount
+                + coreForward.settledCount + coreBackward.settledCount;
+        return best;
+    }
+
+    /**
+     * 1. aşama: iki yönde yukarı arama. Çekirdek düğümlere ulaşılır ama
+     * genişletilmez; bir taraf, yığın tepesi en iyi adaya ulaşınca durur.
+     */
+    private void upwardPhase(ContractionHierarchy index) {
+        while (true) {
+            boolean forwardOpen = !forward.heap.isEmpty() && forward.heap.peekKey() < best;
+            boolean backwardOpen = !backward.heap.isEmpty() && backward.heap.peekKey() < best;
+            if (!forwardOpen && !backwardOpen) {
+                break;
+            }
+            boolean isForward = forwardOpen
+                    && (!backwardOpen || forward.heap.peekKey() <= backward.heap.peekKey());
+            DijkstraWorkspace side = isForward ? forward : backward;
+            DijkstraWorkspace other = isForward ? backward : forward;
+            int u = side.settle();
+            double du = side.distance[u];
+            double candidate = du + other.distanceOf(u);
+            if (candidate < best) {
+                best = candidate;
+                meetForward = u;
+                meetBackward = u;
+            }
+            if (index.core[u] || stalled(index, side, u, du)) {
+                continue;
+            }
+            for (int e = index.upOffsets[u]; e < index.upOffsets[u + 1]; e++) {
+                touch(index, side, isForward ? 0 : 1, index.upTargets[e], du + index.upWeights[e], u);
+            }
+        }
+    }
+
+    // relax; çekirdek düğüme ilk kez ulaşılırsa giriş listesine eklenir
+    private void touch(ContractionHierarchy index, DijkstraWorkspace side, int direction,
+                       int node, double distance, int from) {
+        if (index.core[node] && !side.heap.touched(node)) {
+            if (entryCount[direction] == entries[direction].length) {
+                entries[direction] = Arrays.copyOf(entries[direction], entryCount[direction] * 2);
+            }
+            entries[direction][entryCount[direction]++] = node;
+        }
+        side.relax(node, distance, from);
+    }
+
+    /**
+     * 2. aşama: çekirdek girişlerinden (1. aşama mesafeleriyle) başlayan
+     * iki yönlü Dijkstra. Çekirdek kenarları iki yönde de saklandığından
+     * standart durma koşulu (iki tepe toplamı >= en iyi aday) geçerlidir.
+     * Sonuçlar 1. aşamanın adayıyla birlikte değerlendirilir.
+     */
+    private void corePhase(ContractionHierarchy index) {
+        seed(forward, coreForward, entries[0], entryCount[0]);
+        seed(backward, coreBackward, entries[1], entryCount[1]);
+        for (int i = 0; i < entryCount[0]; i++) {
+            int c = entries[0][i];
+            double candidate = coreForward.distanceOf(c) + coreBackward.distanceOf(c);
+            if (candidate < best) {
+                best = candidate;
+                meetForward = c;
+                meetBackward = c;
+                meetInCore = true;
+            }
+        }
+        IndexedDaryHeap forwardHeap = coreForward.heap;
+        IndexedDaryHeap backwardHeap = coreBackward.heap;
+        while (!forwardHeap.isEmpty() && !backwardHeap.isEmpty()
+                && forwardHeap.peekKey() + backwardHeap.peekKey() < best) {
+            boolean isForward = forwardHeap.size() <= backwardHeap.size();
+            DijkstraWorkspace side = isForward ? coreForward : coreBackward;
+            DijkstraWorkspace other = isForward ? coreBackward : coreForward;
+            int u = side.settle();
+            double du = side.distance[u];
+            for (int e = index.upOffsets[u]; e < index.upOffsets[u + 1]; e++) {
+                int v = index.upTargets[e];
+                double dv = du + index.upWeights[e];
+                if (other.heap.touched(v) && dv + other.distance[v] < best) {
+                    best = dv + other.distance[v];
+                    meetForward = isForward ? u : v;
+                    meetBackward = isForward ? v : u;
+                    meetInCore = true;
+                }
+                side.relax(v, dv, u);
+            }
+        }
+    }
+
+    // Girişler 1. aşamanın mesafeleriyle ve kök olarak (önceki -1) eklenir
+    private void seed(DijkstraWorkspace upward, DijkstraWorkspace core, int[] nodes, int count) {
+        for (int i = 0; i < count; i++) {
+            double distance = upward.distance[nodes[i]];
+            if (distance < best) {
+                core.relax(nodes[i], distance, -1);
+            }
+        }
+    }
+
+    // Üst düğümlerden birinden daha kısa ulaşılıyorsa u en kısa yukarı yolda değildir
+    private static boolean stalled(ContractionHierarchy index, DijkstraWorkspace side, int u, double du) {
+        for (int e = index.upOffsets[u]; e < index.upOffsets[u + 1]; e++) {
+            if (side.distanceOf(index.upTargets[e]) + index.upWeights[e] < du) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Buluşma noktasından arama ağaçlarını izleyerek kısayollu yolu packed
+     * dizisine yazar: kaynak -> (çekirdek girişi -> buluşma -> çekirdek çıkışı) -> hedef.
+     * @return Düğüm sayısı
+     */
+    private int packPath() {
+        int forwardEnd = meetForward;
+        int backwardEnd = meetBackward;
+        if (meetInCore) { // Çekirdek ağaçlarının kökleri 1. aşamaya bağlanır
+            forwardEnd = root(coreForward, meetForward);
+            backwardEnd = root(coreBackward, meetBackward);
+        }
+        int capacity = forward.pathLength(forwardEnd) + backward.pathLength(backwardEnd)
+                + (meetInCore ? coreForward.pathLength(meetForward) + coreBackward.pathLength(meetBackward) : 0);
+        if (packed.length < capacity) {
+            packed = new int[Math.max(capacity, packed.length * 2)];
+        }
+        int length = forward.copyPath(forwardEnd, packed);
+        if (meetInCore) {
+            length = append(coreForward.previous, meetForward, length - 1); // Giriş düğümü tekrar yazılır
+            int v = meetForward == meetBackward ? coreBackward.previous[meetBackward] : meetBackward;
+            for (; v != -1; v = coreBackward.previous[v]) {
+                packed[length++] = v;
+            }
+        }
+        for (int v = backward.previous[backwardEnd]; v != -1; v = backward.previous[v]) {
+            packed[length++] = v;
+        }
+        return length;
+    }
+
+    private static int root(DijkstraWorkspace workspace, int node) {
+        while (workspace.previous[node] != -1) {
+            node = workspace.previous[node];
+        }
+        return node;
+    }
+
+    // node'a giden ağaç yolunu (kökten başlayarak) packed[offset..] konumuna yazar
+    private int append(int[] previous, int node, int offset) {
+        int count = 0;
+        for (int v = node; v != -1; v = previous[v]) {
+            count++;
+        }
+        int i = offset + count;
+        for (int v = node; v != -1; v = previous[v]) {
+            packed[--i] = v;
+        }
+        return offset + count;
+    }
+
+    /**
+     * Kısayolları özgün kenarlara açar: x-y kısayolu, ortadaki m ile x-m ve m-y olur.
+     * @return unpacked dizisine yazılan düğüm sayısı
+     */
+    private int unpack(ContractionHierarchy index, int packedLength) {
+        int length = 0;
+        unpacked[length++] = packed[0];
+        for (int i = 0; i + 1 < packedLength; i++) {
+            int top = 0;
+            stack = push(stack, top, packed[i], packed[i + 1]);
+            top += 2;
+            while (top > 0) {
+                int y = stack[--top];
+                int x = stack[--top];
+                int middle = index.upMiddle[index.findEdge(x, y)];
+                if (middle < 0) {
+                    if (length == unpacked.length) {
+                        unpacked = Arrays.copyOf(unpacked, length * 2);
+                    }
+                    unpacked[length++] = y;
+                } else {
+                    stack = push(stack, top, middle, y);
+                    top += 2;
+                    stack = push(stack, top, x, middle);
+                    top += 2;
+                }
+            }
+        }
+        return length;
+    }
+
+    private static int[] push(int[] stack, int top, int x, int y) {
+        if (top + 2 > stack.length) {
+            stack = Arrays.copyOf(stack, stack.length * 2);
+        }
+        stack[top] = x;
+        stack[top + 1] = y;
+        return stack;
+    }
+
+    public ContractionHierarchy getHierarchy() {
+        return hierarchy;
+    }
+
+    /**
+     * Algoritmanın çalışma süresini getirir (milisaniye)
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Son sorguda iki yönde toplam kesinleşen düğüm sayısı
+     */
+    public int getSettledCount() {
+        return settledCount;
+    }
+
+    @Override
+    public String getName() {
+        return "Contraction Hierarchies";
+    }
+}
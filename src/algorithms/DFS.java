@@ -1,5 +1,6 @@
 package algorithms;
 
+import model.CsrGraph;
 import model.SocialGraph;
 import model.UserNode;
 
@@ -11,6 +12,8 @@ import java.util.*;
  */
 public class DFS {
     private SocialGraph graph;
+    private CsrGraph csrGraph; // CSR modunda kullanılır (graph null olur)
+    private int csrVisitedCount;
     private Set<Integer> visited;
     private List<UserNode> reachableNodes;
     private long executionTime;
@@ -21,12 +24,24 @@ public class DFS {
         this.reachableNodes = new ArrayList<>();
     }
 
+    /**
+     * Değişmez CSR görüntüsü üzerinde çalışan DFS
+     */
+    public DFS(CsrGraph csrGraph) {
+        this.csrGraph = csrGraph;
+        this.visited = new HashSet<>();
+        this.reachableNodes = new ArrayList<>();
+    }
+
     /**
      * Belirli bir düğümden erişilebilen tüm düğümleri bulur
      * @param startNodeId Başlangıç düğümü ID'si
      * @return Erişilebilen düğümlerin listesi
      */
     public List<UserNode> findReachableNodes(int startNodeId) {
+        if (csrGraph != null) {
+            return findReachableNodesCsr(startNodeId, true);
+        }
         long startTime = System.nanoTime();
         
         visited.clear();
@@ -67,6 +82,9 @@ public class DFS {
      * Iterative DFS implementasyonu (stack kullanarak)
      */
     public List<UserNode> findReachableNodesIterative(int startNodeId) {
+        if (csrGraph != null) {
+            return findReachableNodesCsr(startNodeId, false);
+        }
         long startTime = System.nanoTime();
         
         visited.clear();
@@ -105,6 +123,82 @@ public class DFS {
         return new ArrayList<>(reachableNodes);
     }
 
+    /**
+     * CSR üzerinde yığın (stack) taşması olmayan DFS.
+     * recursiveOrder true ise özyinelemeli sürümle aynı sırayı üretir
+     * (her düğüm için kaldığı kenar indeksi saklanır); false ise
+     * iteratif sürüm gibi tüm komşuları yığına atar.
+     */
+    private List<UserNode> findReachableNodesCsr(int startNodeId, boolean recursiveOrder) {
+        long startTime = System.nanoTime();
+
+        visited.clear();
+        reachableNodes.clear();
+
+        int start = csrGraph.getOrdinal(startNodeId);
+        if (start < 0) {
+            throw new IllegalArgumentException("Başlangıç düğümü graf içinde bulunamadı: " + startNodeId);
+        }
+
+        int[] offsets = csrGraph.getOffsets();
+        int[] targets = csrGraph.getTargets();
+        boolean[] seen = new boolean[csrGraph.getNodeCount()];
+        int[] order = new int[csrGraph.getNodeCount()];
+        int count = 0;
+
+        if (recursiveOrder) {
+            int[] stack = new int[csrGraph.getNodeCount()];
+            int[] cursor = new int[csrGraph.getNodeCount()];
+            int top = 0;
+            stack[0] = start;
+            cursor[0] = offsets[start];
+            seen[start] = true;
+            order[count++] = start;
+
+            while (top >= 0) {
+                int v = stack[top];
+                if (cursor[top] == offsets[v + 1]) {
+                    top--; // Komşular bitti, geri dön
+                    continue;
+                }
+                int neighbor = targets[cursor[top]++];
+                if (!seen[neighbor]) {
+                    seen[neighbor] = true;
+                    order[count++] = neighbor;
+                    top++;
+                    stack[top] = neighbor;
+                    cursor[top] = offsets[neighbor];
+                }
+            }
+        } else {
+            // Bir düğüm, derecesi kadar yığına girebilir
+            int[] stack = new int[csrGraph.getEdgeCount() + 1];
+            int top = 0;
+            stack[top++] = start;
+            while (top > 0) {
+                int v = stack[--top];
+                if (seen[v]) {
+                    continue;
+                }
+                seen[v] = true;
+                order[count++] = v;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    if (!seen[targets[e]]) {
+                        stack[top++] = targets[e];
+                    }
+                }
+            }
+        }
+
+        csrVisitedCount = count;
+        reachableNodes.addAll(csrGraph.toNodes(order, count));
+
+        long endTime = System.nanoTime();
+        executionTime = (endTime - startTime) / 1_000_000;
+
+        return new ArrayList<>(reachableNodes);
+    }
+
     /**
      * Algoritmanın çalışma süresini getirir (milisaniye)
      */
@@ -116,7 +210,7 @@ public class DFS {
      * Ziyaret edilen düğüm sayısını getirir
      */
     public int getVisitedCount() {
-        return visited.size();
+        return csrGraph != null ? csrVisitedCount : visited.size();
     }
 }
 
@@ -1,5 +1,7 @@
 package algorithms;
 
+import model.CsrGraph;
+import model.RelationshipEdge;
 import model.SocialGraph;
 import model.UserNode;
 
@@ -9,112 +11,191 @@ import java.util.*;
  * Dijkstra Algoritması
  * İki düğüm arasındaki en kısa yolu bulur.
  * Ağırlıklı graflarda en kısa yol problemlerini çözer.
+ *
+ * Arama CSR dizileri (değişen grafta doğrudan komşuluk listesi) üzerinde,
+ * indeksli 4'lü yığın (decrease-key) ve iş parçacığı başına yeniden
+ * kullanılan çalışma alanıyla yapılır (bkz. DijkstraWorkspace). distance ve shortestPath sorgu başına
+ * hiç nesne ayırmaz; execute yalnızca sonuç listesini oluşturur.
  */
 public class DijkstraAlgorithm implements IGraphAlgorithm {
     private long executionTime;
+    private int settledCount;
 
     public DijkstraAlgorithm() {
         // Constructor
     }
 
+    /**
+     * Graf son freeze()'den beri değişmediyse önbellekteki CSR üzerinde,
+     * değiştiyse CSR kurmadan doğrudan komşuluk listesi üzerinde arar:
+     * yazma yapılan bir grafta her sorgu O(n + m) yeniden kurulum ödemez.
+     */
     @Override
     public List<UserNode> execute(SocialGraph graph, UserNode startNode, UserNode endNode) {
-        long startTime = System.nanoTime();
-
         if (startNode == null || endNode == null) {
             throw new IllegalArgumentException("Başlangıç ve hedef düğümler null olamaz");
         }
-
         if (startNode.getId() == endNode.getId()) {
-            long endTime = System.nanoTime();
-            executionTime = (endTime - startTime) / 1_000_000;
+            executionTime = 0;
             return new ArrayList<>(Collections.singletonList(startNode));
         }
+        UserNode start = graph.getNode(startNode.getId());
+        UserNode end = graph.getNode(endNode.getId());
+        if (start == null || end == null) {
+            executionTime = 0;
+            return new ArrayList<>(); // Graf dışındaki düğüme yol yok
+        }
+        CsrGraph csr = graph.getCachedSnapshot();
+        if (csr != null) {
+            return execute(csr, startNode, endNode);
+        }
 
-        // Dijkstra algoritması için gerekli veri yapıları
-        Map<Integer, Double> distances = new HashMap<>(); // Başlangıçtan her düğüme olan en kısa mesafe
-        Map<Integer, UserNode> previous = new HashMap<>(); // Yol takibi için
-        Set<Integer> visited = new HashSet<>(); // Ziyaret edilen düğümler
-        PriorityQueue<DijkstraNode> priorityQueue = new PriorityQueue<>(
-            Comparator.comparingDouble(n -> distances.getOrDefault(n.nodeId, Double.POSITIVE_INFINITY))
-        );
-
-        // Tüm düğümlerin mesafelerini sonsuz olarak başlat
-        for (UserNode node : graph.getAllNodes()) {
-            distances.put(node.getId(), Double.POSITIVE_INFINITY);
+        long startTime = System.nanoTime();
+        DijkstraWorkspace workspace = search(graph, start, end);
+        settledCount = workspace.settledCount;
+        List<UserNode> path = new ArrayList<>();
+        if (workspace.settled(end.getOrdinal())) {
+            for (int v = end.getOrdinal(); v != -1; v = workspace.previous[v]) {
+                path.add(graph.getNodeByOrdinal(v));
+            }
+            Collections.reverse(path);
         }
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return path;
+    }
 
-        // Başlangıç düğümünü başlat
-        distances.put(startNode.getId(), 0.0);
-        priorityQueue.add(new DijkstraNode(startNode.getId()));
+    @Override
+    public List<UserNode> execute(CsrGraph graph, UserNode startNode, UserNode endNode) {
+        long startTime = System.nanoTime();
 
-        while (!priorityQueue.isEmpty()) {
-            DijkstraNode current = priorityQueue.poll();
-            int currentNodeId = current.nodeId;
+        if (startNode == null || endNode == null) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler null olamaz");
+        }
+        int start = graph.getOrdinal(startNode.getId());
+        int end = graph.getOrdinal(endNode.getId());
+        if (start < 0 || end < 0) {
+            throw new IllegalArgumentException("Başlangıç ve hedef düğümler graf içinde olmalıdır");
+        }
 
-            // Zaten ziyaret edildiyse atla
-            if (visited.contains(currentNodeId)) {
-                continue;
+        DijkstraWorkspace workspace = search(graph, start, end);
+        settledCount = workspace.settledCount;
+        List<UserNode> path = new ArrayList<>();
+        if (workspace.settled(end)) {
+            for (int v = end; v != -1; v = workspace.previous[v]) {
+                path.add(graph.getNodeByOrdinal(v));
             }
+            Collections.reverse(path);
+        }
 
-            visited.add(currentNodeId);
-
-            // Hedefe ulaşıldı mı?
-            if (currentNodeId == endNode.getId()) {
-                long endTime = System.nanoTime();
-                executionTime = (endTime - startTime) / 1_000_000; // milisaniye
-                return reconstructPath(previous, startNode, endNode);
-            }
+        long endTime = System.nanoTime();
+        executionTime = (endTime - startTime) / 1_000_000;
+        return path; // Yol bulunamadıysa boş
+    }
 
-            UserNode currentNode = graph.getNode(currentNodeId);
-            if (currentNode == null) {
-                continue;
-            }
+    /**
+     * İki ordinal arasındaki en kısa yol uzunluğu, yol yoksa sonsuz.
+     * Sorgu başına nesne ayırmaz.
+     */
+    public double distance(CsrGraph graph, int source, int target) {
+        checkOrdinals(graph, source, target);
+        DijkstraWorkspace workspace = search(graph, source, target);
+        settledCount = workspace.settledCount;
+        return workspace.distanceOf(target);
+    }
 
-            // Komşuları incele
-            List<UserNode> neighbors = graph.getNeighbors(currentNode);
-            for (UserNode neighbor : neighbors) {
-                int neighborId = neighbor.getId();
+    /**
+     * En kısa yolu kaynaktan hedefe ordinaller olarak path dizisine yazar.
+     * Sorgu başına nesne ayırmaz.
+     * @return Yoldaki düğüm sayısı, yol yoksa 0
+     */
+    public int shortestPath(CsrGraph graph, int source, int target, int[] path) {
+        checkOrdinals(graph, source, target);
+        DijkstraWorkspace workspace = search(graph, source, target);
+        settledCount = workspace.settledCount;
+        return workspace.settled(target) ? workspace.copyPath(target, path) : 0;
+    }
 
-                if (visited.contains(neighborId)) {
-                    continue; // Zaten ziyaret edildi
-                }
+    static void checkOrdinals(CsrGraph graph, int source, int target) {
+        int n = graph.getNodeCount();
+        if (source < 0 || source >= n || target < 0 || target >= n) {
+            throw new IllegalArgumentException("Geçersiz ordinal: " + source + " -> " + target);
+        }
+    }
 
-                // Mevcut düğümden komşuya olan mesafe
-                double edgeWeight = graph.getEdgeWeight(currentNode, neighbor);
-                double newDistance = distances.get(currentNodeId) + edgeWeight;
+    /**
+     * Hedef kesinleşene (ya da yığın boşalana) kadar arar. Sonuç, çağıran
+     * iş parçacığının çalışma alanındadır; bir sonraki aramaya kadar geçerlidir.
+     */
+    static DijkstraWorkspace search(CsrGraph graph, int source, int target) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        DijkstraWorkspace workspace = DijkstraWorkspace.forThread(graph.getNodeCount());
+        IndexedDaryHeap heap = workspace.heap;
+
+        workspace.relax(source, 0.0, -1);
+        while (!heap.isEmpty()) {
+            double currentDistance = heap.peekKey();
+            int current = workspace.settle();
+            if (current == target) {
+                break;
+            }
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                workspace.relax(targets[e], currentDistance + weights[e], current);
+            }
+        }
+        return workspace;
+    }
 
-                // Daha kısa bir yol bulundu mu?
-                if (newDistance < distances.get(neighborId)) {
-                    distances.put(neighborId, newDistance);
-                    previous.put(neighborId, currentNode);
-                    priorityQueue.add(new DijkstraNode(neighborId));
+    /**
+     * search'ün komşuluk listesi sürümü; workspace grafın ordinalleriyle
+     * indekslenir. Eşzamanlı grafta arama başladıktan sonra eklenen
+     * düğümler (ordinal >= başlangıçtaki düğüm sayısı) atlanır.
+     */
+    static DijkstraWorkspace search(SocialGraph graph, UserNode source, UserNode target) {
+        int n = graph.getNodeCount();
+        DijkstraWorkspace workspace = DijkstraWorkspace.forThread(n);
+        IndexedDaryHeap heap = workspace.heap;
+        int goal = target.getOrdinal();
+
+        workspace.relax(source.getOrdinal(), 0.0, -1);
+        while (!heap.isEmpty()) {
+            double currentDistance = heap.peekKey();
+            int current = workspace.settle();
+            if (current == goal) {
+                break;
+            }
+            for (RelationshipEdge edge : graph.getEdges(graph.getNodeByOrdinal(current).getId())) {
+                int next = edge.getDestination().getOrdinal();
+                if (next < n) {
+                    workspace.relax(next, currentDistance + edge.getWeight(), current);
                 }
             }
         }
-
-        // Yol bulunamadı
-        long endTime = System.nanoTime();
-        executionTime = (endTime - startTime) / 1_000_000;
-        return new ArrayList<>(); // Boş liste döndür
+        return workspace;
     }
 
     /**
-     * Yolu geri oluşturur (previous map'inden)
+     * Yolu ordinal tabanlı previous dizisinden geri oluşturur
      */
-    private List<UserNode> reconstructPath(Map<Integer, UserNode> previous, UserNode start, UserNode end) {
+    static List<UserNode> reconstructPath(CsrGraph graph, int[] previous, int end) {
         List<UserNode> path = new ArrayList<>();
-        UserNode current = end;
-
-        while (current != null) {
-            path.add(current);
-            current = previous.get(current.getId());
+        for (int v = end; v != -1; v = previous[v]) {
+            path.add(graph.getNodeByOrdinal(v));
         }
-
         Collections.reverse(path);
         return path;
     }
 
+    /**
+     * Çağıran iş parçacığının yol arama çalışma alanlarını bırakır (Dijkstra,
+     * A*, çift yönlü ve CH sorguları aynı alanları kullanır). Büyük bir
+     * grafta sorgu yapmış, uzun yaşayan iş parçacıkları için.
+     */
+    public static void releaseWorkspaces() {
+        DijkstraWorkspace.release();
+    }
+
     /**
      * Algoritmanın çalışma süresini getirir (milisaniye)
      */
@@ -122,33 +203,15 @@ public class DijkstraAlgorithm implements IGraphAlgorithm {
         return executionTime;
     }
 
-    @Override
-    public String getName() {
-        return "Dijkstra's Shortest Path";
-    }
-
     /**
-     * Dijkstra algoritması için node wrapper sınıfı
+     * Son sorguda kesinleşen (yığından çıkan) düğüm sayısı
      */
-    private static class DijkstraNode {
-        int nodeId;
-
-        DijkstraNode(int nodeId) {
-            this.nodeId = nodeId;
-        }
-
-        @Override
-        public boolean equals(Object o) {
-            if (this == o) return true;
-            if (o == null || getClass() != o.getClass()) return false;
-            DijkstraNode that = (DijkstraNode) o;
-            return nodeId == that.nodeId;
-        }
+    public int getSettledCount() {
+        return settledCount;
+    }
 
-        @Override
-        public int hashCode() {
-            return Objects.hash(nodeId);
-        }
+    @Override
+    public String getName() {
+        return "Dijkstra's Shortest Path";
     }
 }
-
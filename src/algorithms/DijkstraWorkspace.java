@@ -0,0 +1,154 @@
+package algorithms;
+
+import java.lang.ref.SoftReference;
+import java.util.Arrays;
+
+/**
+ * Dijkstra sorguları için yeniden kullanılan çalışma alanı.
+ *
+ * Her iş parçacığının kendi alanı vardır (forThread); diziler graf
+ * büyüdükçe genişler. Alanlar yalnızca kullanılan yuva (slot) için ve
+ * yumuşak referansla tutulur: bellek daraldığında GC bunları geri alabilir,
+ * release() ise çağıran iş parçacığının alanlarını hemen bırakır.
+ *
+ * begin() O(1)'dir: bir düğümün mesafesi yalnızca yığının bu turda ona
+ * dokunduğu (touched) durumda geçerlidir; diğerleri sonsuz sayılır. Böylece
+ * bir sorgu O(n) temizlik yapmaz ve hiç çöp üretmez.
+ */
+final class DijkstraWorkspace {
+    // İki yönlü aramalar için iş parçacığı başına alanlar (ileri, geri); CH
+    // sorgusu çekirdek aşaması için iki alan daha kullanır
+    static final int FORWARD = 0;
+    static final int BACKWARD = 1;
+    static final int CORE_FORWARD = 2;
+    static final int CORE_BACKWARD = 3;
+    private static final int SLOT_COUNT = 4;
+    private static final ThreadLocal<SoftReference<DijkstraWorkspace[]>> LOCAL = new ThreadLocal<>();
+
+    final IndexedDaryHeap heap;
+    double[] distance;
+    int[] previous;
+    int settledCount;
+
+    DijkstraWorkspace(int nodeCount) {
+        heap = new IndexedDaryHeap(nodeCount);
+        distance = new double[Math.max(nodeCount, 1)];
+        previous = new int[distance.length];
+    }
+
+    /**
+     * Çağıran iş parçacığının alanını en az nodeCount düğüme hazırlayıp
+     * yeni bir tura başlatır.
+     */
+    static DijkstraWorkspace forThread(int nodeCount) {
+        return forThread(nodeCount, FORWARD);
+    }
+
+    static DijkstraWorkspace forThread(int nodeCount, int slot) {
+        SoftReference<DijkstraWorkspace[]> reference = LOCAL.get();
+        DijkstraWorkspace[] slots = reference != null ? reference.get() : null;
+        if (slots == null) {
+            slots = new DijkstraWorkspace[SLOT_COUNT];
+            LOCAL.set(new SoftReference<>(slots));
+        }
+        DijkstraWorkspace workspace = slots[slot];
+        if (workspace == null) {
+            workspace = new DijkstraWorkspace(nodeCount);
+            slots[slot] = workspace;
+        }
+        workspace.ensureCapacity(nodeCount);
+        workspace.begin();
+        return workspace;
+    }
+
+    /**
+     * Çağıran iş parçacığının tüm alanlarını bırakır; sonraki sorgu yeniden ayırır.
+     */
+    static void release() {
+        LOCAL.remove();
+    }
+
+    void ensureCapacity(int nodeCount) {
+        if (nodeCount > distance.length) {
+            heap.ensureCapacity(nodeCount);
+            distance = Arrays.copyOf(distance, nodeCount);
+            previous = Arrays.copyOf(previous, nodeCount);
+        }
+    }
+
+    void begin() {
+        heap.clear();
+        settledCount = 0;
+    }
+
+    /**
+     * Yığından en yakın düğümü çıkarıp kesinleştirir.
+     */
+    int settle() {
+        settledCount++;
+        return heap.poll();
+    }
+
+    double distanceOf(int node) {
+        return heap.touched(node) ? distance[node] : Double.POSITIVE_INFINITY;
+    }
+
+    boolean settled(int node) {
+        return heap.wasRemoved(node);
+    }
+
+    /**
+     * relax'ın düğümü güncelleyip güncellemeyeceği (anahtar hesaplamadan önce).
+     */
+    boolean improves(int node, double newDistance) {
+        return !heap.touched(node) || (!heap.wasRemoved(node) && newDistance < distance[node]);
+    }
+
+    /**
+     * Daha kısa bir mesafe bulunduysa kaydeder ve yığını günceller.
+     * Kesinleşmiş düğümler değişmez.
+     */
+    boolean relax(int node, double newDistance, int from) {
+        return relax(node, newDistance, newDistance, from);
+    }
+
+    /**
+     * Yığın anahtarı mesafeden farklı olan aramalar için (A*: mesafe + potansiyel).
+     */
+    boolean relax(int node, double newDistance, double key, int from) {
+        if (!improves(node, newDistance)) {
+            return false;
+        }
+        distance[node] = newDistance;
+        previous[node] = from;
+        heap.insertOrDecrease(node, key);
+        return true;
+    }
+
+    /**
+     * Kaynaktan hedefe yol uzunluğu (düğüm sayısı); previous zinciri izlenir.
+     */
+    int pathLength(int target) {
+        int length = 0;
+        for (int v = target; v != -1; v = previous[v]) {
+            length++;
+        }
+        return length;
+    }
+
+    /**
+     * Yolu kaynaktan hedefe doğru path dizisine yazar.
+     * @return Yazılan düğüm sayısı
+     */
+    int copyPath(int target, int[] path) {
+        int length = pathLength(target);
+        if (path.length < length) {
+            throw new IllegalArgumentException("Yol dizisi çok kısa: " + length + " düğüm gerekli");
+        }
+        int i = length;
+        for (int v = target; v != -1; v = previous[v]) {
+            path[--i] = v;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,164 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.SocialGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * Çoktan çoğa (N kaynak x M hedef) en kısa yol mesafe matrisi.
+ *
+ * Her satır tek bir birden-çoğa Dijkstra'dır: arama, tüm hedefler
+ * kesinleşince durur. Satırlar ForkJoin havuzunda (iş çalma) paralel
+ * hesaplanır; her iş parçacığı kendi DijkstraWorkspace'ini kullandığından
+ * satır başına yalnızca sonuç dizisi ayrılır. Graf yönsüz olduğundan
+ * hedef sayısı kaynaktan azsa aramalar hedeflerden başlatılıp matris
+ * devrik yazılır.
+ */
+public class DistanceMatrix {
+    // Hedef işaretleri (damgalı); son eleman damga sayacıdır
+    private static final ThreadLocal<int[]> TARGET_MARKS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final ForkJoinPool pool;
+    private long executionTime;
+    private long settledCount;
+
+    public DistanceMatrix() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public DistanceMatrix(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Havuz null olamaz");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Kullanıcı ID'leri ile; grafın önbellekli CSR görüntüsü (freeze) kullanılır.
+     * Graf dışındaki ID'lerin satır/sütunu sonsuzdur.
+     */
+    public double[][] compute(SocialGraph graph, int[] sourceIds, int[] targetIds) {
+        CsrGraph csr = graph.freeze();
+        int[] sources = ordinals(csr, sourceIds);
+        int[] targets = ordinals(csr, targetIds);
+        return run(csr, sources, targets);
+    }
+
+    /**
+     * Ordinaller ile. matrix[i][j] = d(sources[i], targets[j]), yol yoksa sonsuz.
+     */
+    public double[][] compute(CsrGraph graph, int[] sources, int[] targets) {
+        for (int s : sources) {
+            DijkstraAlgorithm.checkOrdinals(graph, s, s);
+        }
+        for (int t : targets) {
+            DijkstraAlgorithm.checkOrdinals(graph, t, t);
+        }
+        return run(graph, sources, targets);
+    }
+
+    private double[][] run(CsrGraph graph, int[] sources, int[] targets) {
+        long startTime = System.nanoTime();
+        boolean transpose = targets.length < sources.length;
+        int[] roots = transpose ? targets : sources;
+        int[] goals = transpose ? sources : targets;
+
+        double[][] rows = new double[roots.length][];
+        AtomicLong settled = new AtomicLong();
+        pool.submit(() -> IntStream.range(0, roots.length).parallel().forEach(i -> {
+            double[] row = new double[goals.length];
+            if (roots[i] < 0) {
+                Arrays.fill(row, Double.POSITIVE_INFINITY);
+            } else {
+                settled.addAndGet(searchRow(graph, roots[i], goals, row));
+            }
+            rows[i] = row;
+        })).join();
+
+        double[][] matrix = rows;
+        if (transpose) {
+            matrix = new double[sources.length][targets.length];
+            for (int j = 0; j < targets.length; j++) {
+                for (int i = 0; i < sources.length; i++) {
+                    matrix[i][j] = rows[j][i];
+                }
+            }
+        }
+        settledCount = settled.get();
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return matrix;
+    }
+
+    /**
+     * Kaynaktan, tüm hedefler kesinleşene kadar Dijkstra.
+     * @return Kesinleşen düğüm sayısı
+     */
+    private static int searchRow(CsrGraph graph, int source, int[] goals, double[] row) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+
+        int[] mark = TARGET_MARKS.get();
+        if (mark.length < n + 1) {
+            mark = new int[n + 1];
+            TARGET_MARKS.set(mark);
+        }
+        if (++mark[n] == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            mark[n] = 1;
+        }
+        int stamp = mark[n];
+        int remaining = 0;
+        for (int goal : goals) {
+            if (goal >= 0 && mark[goal] != stamp) {
+                mark[goal] = stamp;
+                remaining++;
+            }
+        }
+
+        DijkstraWorkspace workspace = DijkstraWorkspace.forThread(n);
+        IndexedDaryHeap heap = workspace.heap;
+        workspace.relax(source, 0.0, -1);
+        while (remaining > 0 && !heap.isEmpty()) {
+            double currentDistance = heap.peekKey();
+            int current = workspace.settle();
+            if (mark[current] == stamp) {
+                remaining--;
+            }
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                workspace.relax(targets[e], currentDistance + weights[e], current);
+            }
+        }
+        for (int j = 0; j < goals.length; j++) {
+            row[j] = goals[j] < 0 ? Double.POSITIVE_INFINITY : workspace.distanceOf(goals[j]);
+        }
+        return workspace.settledCount;
+    }
+
+    private static int[] ordinals(CsrGraph graph, int[] ids) {
+        int[] ordinals = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            ordinals[i] = graph.getOrdinal(ids[i]);
+        }
+        return ordinals;
+    }
+
+    /**
+     * Son hesaplamanın süresi (milisaniye)
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Son hesaplamada tüm aramalarda kesinleşen toplam düğüm sayısı
+     */
+    public long getSettledCount() {
+        return settledCount;
+    }
+}
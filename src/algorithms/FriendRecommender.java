@@ -0,0 +1,296 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.SocialGraph;
+import model.UserNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Arkadaşın arkadaşı (2 atlama) önerileri: "X kiminle bağlantı kurmalı?"
+ *
+ * Adaylar X'in komşularının komşularıdır (X ve mevcut arkadaşları hariç).
+ * Puanlar, ortak komşu z'ler üzerinden toplanır:
+ * - COMMON_NEIGHBOURS: ortak komşu sayısı
+ * - JACCARD: ortak / |N(X) ∪ N(c)|
+ * - ADAMIC_ADAR: Σ 1 / ln(derece(z))
+ * - WEIGHTED: Σ 1 / (w(X,z) + w(z,c)); kenar ağırlığı (RelationshipEdge.getWeight)
+ *   küçük, yani benzer kullanıcılar üzerinden geçen kısa yollar daha değerlidir.
+ *
+ * Merkez (hub) kullanıcılar için 2 atlama kümesi oluşturulmaz: X'in ve her
+ * z'nin en fazla maxFanout komşusu adımlı örneklemeyle gezilir ve katkılar
+ * örnekleme oranıyla ölçeklenir (tahmin). Böylece sorgu başına iş
+ * O(maxFanout²) ile sınırlıdır. Puanlar iş parçacığı başına yoğun dizilerde
+ * (damgalı) biriktirilir; en iyi k aday sınırlı bir min-yığında tutulur.
+ */
+public class FriendRecommender {
+    public static final int COMMON_NEIGHBOURS = 0;
+    public static final int JACCARD = 1;
+    public static final int ADAMIC_ADAR = 2;
+    public static final int WEIGHTED = 3;
+    public static final int DEFAULT_MAX_FANOUT = 256;
+
+    private static final ThreadLocal<Workspace> LOCAL = ThreadLocal.withInitial(() -> new Workspace(0));
+
+    private final ForkJoinPool pool;
+    private final int maxFanout;
+    private long executionTime;
+
+    public FriendRecommender() {
+        this(ForkJoinPool.commonPool(), DEFAULT_MAX_FANOUT);
+    }
+
+    public FriendRecommender(ForkJoinPool pool) {
+        this(pool, DEFAULT_MAX_FANOUT);
+    }
+
+    public FriendRecommender(ForkJoinPool pool, int maxFanout) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Havuz null olamaz");
+        }
+        if (maxFanout < 1) {
+            throw new IllegalArgumentException("Komşu sınırı pozitif olmalıdır: " + maxFanout);
+        }
+        this.pool = pool;
+        this.maxFanout = maxFanout;
+    }
+
+    /**
+     * Grafın önbellekli CSR görüntüsü (freeze) üzerinde; en iyi k öneri, puanı
+     * azalan sırada. Graf dışındaki kullanıcı için boş liste.
+     */
+    public List<UserNode> recommend(SocialGraph graph, UserNode user, int k, int scoring) {
+        checkArguments(k, scoring);
+        CsrGraph csr = graph.freeze();
+        int ordinal = csr.getOrdinal(user.getId());
+        if (ordinal < 0) {
+            return new ArrayList<>();
+        }
+        int[] result = new int[k];
+        int count = recommend(csr, ordinal, k, scoring, result, null);
+        return csr.toNodes(result, count);
+    }
+
+    /**
+     * Tek sorgu. Aday ordinalleri (ve istenirse puanları) puanı azalan,
+     * eşitlikte ordinali artan sırada yazılır.
+     * @param scores null olabilir
+     * @return Yazılan öneri sayısı (en fazla k)
+     */
+    public int recommend(CsrGraph graph, int user, int k, int scoring, int[] candidates, double[] scores) {
+        checkArguments(k, scoring);
+        DijkstraAlgorithm.checkOrdinals(graph, user, user);
+        if (candidates.length < k || (scores != null && scores.length < k)) {
+            throw new IllegalArgumentException("Sonuç dizileri en az k uzunluğunda olmalıdır");
+        }
+        long startTime = System.nanoTime();
+        int count = Workspace.forThread(graph.getNodeCount()).query(graph, user, k, scoring, maxFanout, candidates, scores);
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return count;
+    }
+
+    /**
+     * Toplu sorgu; kullanıcılar ForkJoin havuzunda paralel işlenir.
+     * @return result[i]: users[i] için en fazla k öneri (ordinal)
+     */
+    public int[][] recommendAll(CsrGraph graph, int[] users, int k, int scoring) {
+        checkArguments(k, scoring);
+        for (int user : users) {
+            DijkstraAlgorithm.checkOrdinals(graph, user, user);
+        }
+        long startTime = System.nanoTime();
+        int[][] result = new int[users.length][];
+        pool.submit(() -> IntStream.range(0, users.length).parallel().forEach(i -> {
+            int[] candidates = new int[k];
+            int count = Workspace.forThread(graph.getNodeCount())
+                    .query(graph, users[i], k, scoring, maxFanout, candidates, null);
+            result[i] = count == k ? candidates : Arrays.copyOf(candidates, count);
+        })).join();
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return result;
+    }
+
+    private static void checkArguments(int k, int scoring) {
+        if (k < 0) {
+            throw new IllegalArgumentException("k negatif olamaz: " + k);
+        }
+        if (scoring < COMMON_NEIGHBOURS || scoring > WEIGHTED) {
+            throw new IllegalArgumentException("Bilinmeyen puanlama: " + scoring);
+        }
+    }
+
+    public int getMaxFanout() {
+        return maxFanout;
+    }
+
+    /**
+     * Son çalıştırmanın süresi (milisaniye)
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * İş parçacığı başına puan dizileri. mark[v] == stamp: v bu sorguda aday;
+     * mark[v] == stamp + 1: v, X'in kendisi veya arkadaşı.
+     */
+    private static final class Workspace {
+        int[] mark;
+        int stamp;
+        double[] score;
+        int[] touched;
+        // Sınırlı min-yığın (kök en kötü aday)
+        double[] heapKeys = new double[16];
+        int[] heapNodes = new int[16];
+
+        Workspace(int nodeCount) {
+            mark = new int[nodeCount];
+            score = new double[nodeCount];
+            touched = new int[nodeCount];
+        }
+
+        static Workspace forThread(int nodeCount) {
+            Workspace workspace = LOCAL.get();
+            if (workspace.mark.length < nodeCount) {
+                workspace = new Workspace(nodeCount);
+                LOCAL.set(workspace);
+            }
+            if (workspace.stamp >= Integer.MAX_VALUE - 2) {
+                Arrays.fill(workspace.mark, 0);
+                workspace.stamp = 0;
+            }
+            workspace.stamp += 2;
+            return workspace;
+        }
+
+        int query(CsrGraph graph, int x, int k, int scoring, int maxFanout, int[] candidates, double[] scores) {
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            double[] weights = graph.getWeights();
+            int candidate = stamp;
+            int excluded = stamp + 1;
+
+            mark[x] = excluded;
+            for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                mark[targets[e]] = excluded;
+            }
+
+            int touchedCount = 0;
+            int degreeX = offsets[x + 1] - offsets[x];
+            int strideX = Math.max(1, (degreeX + maxFanout - 1) / maxFanout);
+            int firstX = strideX == 1 ? 0 : Math.floorMod(mix(x), strideX);
+            int sampledX = (degreeX - firstX + strideX - 1) / strideX;
+            for (int i = firstX; i < degreeX; i += strideX) {
+                int ex = offsets[x] + i;
+                int z = targets[ex];
+                int degreeZ = offsets[z + 1] - offsets[z];
+                if (degreeZ <= 1) {
+                    continue; // z'nin tek komşusu X
+                }
+                int strideZ = Math.max(1, (degreeZ + maxFanout - 1) / maxFanout);
+                int firstZ = strideZ == 1 ? 0 : Math.floorMod(mix(x ^ z), strideZ);
+                int sampledZ = (degreeZ - firstZ + strideZ - 1) / strideZ;
+                // Örneklenen kenarın katkısı, örneklenme olasılığının tersiyle ölçeklenir
+                double scale = (double) degreeX / sampledX * degreeZ / sampledZ;
+                double base = scoring == ADAMIC_ADAR ? scale / Math.log(degreeZ) : scale;
+                for (int j = firstZ; j < degreeZ; j += strideZ) {
+                    int ez = offsets[z] + j;
+                    int c = targets[ez];
+                    if (mark[c] == excluded) {
+                        continue;
+                    }
+                    if (mark[c] != candidate) {
+                        mark[c] = candidate;
+                        score[c] = 0;
+                        touched[touchedCount++] = c;
+                    }
+                    score[c] += scoring == WEIGHTED ? base / (weights[ex] + weights[ez]) : base;
+                }
+            }
+
+            int size = 0;
+            if (heapKeys.length < k) {
+                heapKeys = new double[k];
+                heapNodes = new int[k];
+            }
+            for (int t = 0; t < touchedCount; t++) {
+                int c = touched[t];
+                double value = score[c];
+                if (scoring == JACCARD) {
+                    // Ortak komşu tahmini birleşim boyutunu aşmamalı
+                    int degreeC = offsets[c + 1] - offsets[c];
+                    value = value / (degreeX + degreeC - Math.min(value, Math.min(degreeX, degreeC)));
+                }
+                if (size < k) {
+                    heapKeys[size] = value;
+                    heapNodes[size] = c;
+                    siftUp(size++);
+                } else if (k > 0 && better(value, c, heapKeys[0], heapNodes[0])) {
+                    heapKeys[0] = value;
+                    heapNodes[0] = c;
+                    siftDown(0, size);
+                }
+            }
+
+            // Yığından en kötüden en iyiye çıkarılır, sonuç sondan doldurulur
+            for (int i = size - 1; i >= 0; i--) {
+                candidates[i] = heapNodes[0];
+                if (scores != null) {
+                    scores[i] = heapKeys[0];
+                }
+                heapKeys[0] = heapKeys[i];
+                heapNodes[0] = heapNodes[i];
+                siftDown(0, i);
+            }
+            return size;
+        }
+
+        // a, b'den daha iyi bir aday mı (puan büyük, eşitlikte ordinal küçük)
+        private static boolean better(double scoreA, int a, double scoreB, int b) {
+            return scoreA > scoreB || (scoreA == scoreB && a < b);
+        }
+
+        private void siftUp(int i) {
+            double key = heapKeys[i];
+            int node = heapNodes[i];
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (!better(heapKeys[parent], heapNodes[parent], key, node)) break;
+                heapKeys[i] = heapKeys[parent];
+                heapNodes[i] = heapNodes[parent];
+                i = parent;
+            }
+            heapKeys[i] = key;
+            heapNodes[i] = node;
+        }
+
+        private void siftDown(int i, int size) {
+            double key = heapKeys[i];
+            int node = heapNodes[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && better(heapKeys[child], heapNodes[child],
+                        heapKeys[child + 1], heapNodes[child + 1])) {
+                    child++;
+                }
+                if (!better(key, node, heapKeys[child], heapNodes[child])) break;
+                heapKeys[i] = heapKeys[child];
+                heapNodes[i] = heapNodes[child];
+                i = child;
+            }
+            heapKeys[i] = key;
+            heapNodes[i] = node;
+        }
+
+        private static int mix(int x) {
+            x = (x ^ (x >>> 16)) * 0x45d9f3b;
+            x = (x ^ (x >>> 16)) * 0x45d9f3b;
+            return x ^ (x >>> 16);
+        }
+    }
+}
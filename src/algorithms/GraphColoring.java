@@ -0,0 +1,290 @@
+package algorithms;
+
+import model.CsrGraph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * CSR üzerinde graf renklendirme motoru; sonuçlar ordinal başına renk
+ * (0, 1, 2...) içeren int[]'tir.
+ *
+ * - greedy: Welsh-Powell sırasıyla (derece azalan, eşitlikte ordinal) ilk
+ *   uygun renk. Bir düğümün yasak renkleri iş parçacığı başına yeniden
+ *   kullanılan bit kümesinde işaretlenir; toplam O(n + m). Sonuç,
+ *   Welsh-Powell'in tur tur boyamasıyla aynıdır.
+ * - jonesPlassmann: öncelik (derece, karışık özet) ile paralel; bir düğüm,
+ *   daha öncelikli tüm komşuları boyanınca boyanır. Sonuç iş parçacığı
+ *   sayısından bağımsızdır.
+ * - speculative: tüm düğümler paralel olarak iyimser boyanır, çakışan
+ *   kenarlarda Welsh-Powell sırasında sonra gelen uç bir sonraki turda
+ *   yeniden boyanır (çakışma kalmayana kadar). Renkler iş parçacıklarının
+ *   zamanlamasına göre değişebilir; tek iş parçacığında greedy ile aynıdır.
+ */
+public class GraphColoring {
+    private static final int CHUNK = 1024;
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(int[].class);
+    private static final ThreadLocal<long[]> FORBIDDEN = ThreadLocal.withInitial(() -> new long[1]);
+
+    private final ForkJoinPool pool;
+    private int colorCount;
+    private int roundCount;
+    private long executionTime;
+
+    public GraphColoring() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public GraphColoring(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Havuz null olamaz");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Sıralı açgözlü boyama (Welsh-Powell sırası).
+     */
+    public int[] greedy(CsrGraph graph) {
+        long startTime = System.nanoTime();
+        int[] colors = new int[graph.getNodeCount()];
+        Arrays.fill(colors, -1);
+        for (int v : welshPowellOrder(graph)) {
+            colors[v] = firstFreeColor(graph, v, colors);
+        }
+        finish(colors, 1, startTime);
+        return colors;
+    }
+
+    /**
+     * Paralel Jones-Plassmann (büyük derece önce, eşitlikte özet).
+     */
+    public int[] jonesPlassmann(CsrGraph graph) {
+        long startTime = System.nanoTime();
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+
+        // Öncelik: (derece, özet, ordinal) sözlük sırası; tek long'da
+        long[] priority = new long[n];
+        parallel(n, v -> priority[v] = ((long) graph.getDegree(v) << 32) | (mix(v) & 0xFFFFFFFFL));
+
+        // waiting[v]: henüz boyanmamış, v'den öncelikli komşu sayısı
+        int[] waiting = new int[n];
+        int[] initial = new int[n];
+        AtomicInteger tail = new AtomicInteger();
+        parallel(n, v -> {
+            int count = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (precedes(priority, targets[e], v)) count++;
+            }
+            waiting[v] = count;
+            if (count == 0) {
+                initial[tail.getAndIncrement()] = v;
+            }
+        });
+
+        int[] frontier = initial;
+        int[] next = new int[n];
+        int size = tail.get();
+        int rounds = 0;
+        while (size > 0) {
+            int[] current = frontier;
+            int[] nextFrontier = next;
+            tail.set(0);
+            parallel(size, i -> {
+                int v = current[i];
+                colors[v] = firstFreeColor(graph, v, colors);
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = targets[e];
+                    if (precedes(priority, v, u) && (int) COUNTS.getAndAdd(waiting, u, -1) == 1) {
+                        nextFrontier[tail.getAndIncrement()] = u;
+                    }
+                }
+            });
+            frontier = nextFrontier;
+            next = current;
+            size = tail.get();
+            rounds++;
+        }
+        finish(colors, rounds, startTime);
+        return colors;
+    }
+
+    /**
+     * Paralel iyimser boyama ve çakışma onarımı.
+     */
+    public int[] speculative(CsrGraph graph) {
+        long startTime = System.nanoTime();
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] order = welshPowellOrder(graph);
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[order[i]] = i;
+        }
+        int[] colors = new int[n];
+        Arrays.fill(colors, -1);
+
+        int[] work = order;
+        int[] spare = new int[n];
+        int size = n;
+        int rounds = 0;
+        AtomicInteger tail = new AtomicInteger();
+        while (size > 0) {
+            int[] current = work;
+            int[] found = spare;
+            // Bloklar sırayla (paralel içinde): yüksek dereceliler önce boyanır,
+            // böylece renk sayısı sıralı greedy'ye yakın kalır
+            int block = CHUNK * pool.getParallelism();
+            for (int from = 0; from < size; from += block) {
+                int first = from;
+                parallel(Math.min(block, size - from), i -> {
+                    int v = current[first + i];
+                    colors[v] = firstFreeColor(graph, v, colors);
+                });
+            }
+            // Aynı turda boyanan komşular çakışabilir; sırada sonra gelen uç yeniden boyanır
+            tail.set(0);
+            parallel(size, i -> {
+                int v = current[i];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = targets[e];
+                    if (colors[u] == colors[v] && rank[u] < rank[v]) {
+                        found[tail.getAndIncrement()] = v;
+                        break;
+                    }
+                }
+            });
+            size = tail.get();
+            int conflictCount = size;
+            parallel(conflictCount, i -> colors[found[i]] = -1);
+            work = found;
+            spare = current;
+            rounds++;
+        }
+        finish(colors, rounds, startTime);
+        return colors;
+    }
+
+    // u, v'den önce boyanır mı (Jones-Plassmann önceliği)
+    private static boolean precedes(long[] priority, int u, int v) {
+        return priority[u] > priority[v] || (priority[u] == priority[v] && u < v);
+    }
+
+    private static int mix(int x) {
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        x = (x ^ (x >>> 16)) * 0x45d9f3b;
+        return x ^ (x >>> 16);
+    }
+
+    /**
+     * Derece azalan, eşitlikte ordinal artan sıra (sayma sıralaması, O(n)).
+     */
+    static int[] welshPowellOrder(CsrGraph graph) {
+        int n = graph.getNodeCount();
+        int maxDegree = 0;
+        for (int v = 0; v < n; v++) {
+            maxDegree = Math.max(maxDegree, graph.getDegree(v));
+        }
+        int[] start = new int[maxDegree + 2];
+        for (int v = 0; v < n; v++) {
+            start[maxDegree - graph.getDegree(v) + 1]++;
+        }
+        for (int d = 0; d <= maxDegree; d++) {
+            start[d + 1] += start[d];
+        }
+        int[] order = new int[n];
+        for (int v = 0; v < n; v++) {
+            order[start[maxDegree - graph.getDegree(v)]++] = v;
+        }
+        return order;
+    }
+
+    // Komşuların renklerini bit kümesinde işaretleyip ilk boş rengi bulur (O(derece))
+    private static int firstFreeColor(CsrGraph graph, int v, int[] colors) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int degree = offsets[v + 1] - offsets[v];
+        int words = (degree >>> 6) + 1; // Renk en fazla derece kadar olabilir
+        long[] forbidden = FORBIDDEN.get();
+        if (forbidden.length < words) {
+            forbidden = new long[Math.max(words, forbidden.length * 2)];
+            FORBIDDEN.set(forbidden);
+        }
+        for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+            int c = colors[targets[e]];
+            if (c >= 0 && c <= degree) {
+                forbidden[c >>> 6] |= 1L << c;
+            }
+        }
+        int color = -1;
+        for (int w = 0; w < words; w++) {
+            if (color < 0 && forbidden[w] != -1L) {
+                color = (w << 6) | Long.numberOfTrailingZeros(~forbidden[w]);
+            }
+            forbidden[w] = 0;
+        }
+        return color;
+    }
+
+    private void parallel(int count, IntConsumer body) {
+        if (count <= CHUNK) {
+            for (int i = 0; i < count; i++) body.accept(i);
+        } else {
+            pool.submit(() -> IntStream.range(0, count).parallel().forEach(body)).join();
+        }
+    }
+
+    private void finish(int[] colors, int rounds, long startTime) {
+        int max = -1;
+        for (int c : colors) max = Math.max(max, c);
+        colorCount = max + 1;
+        roundCount = rounds;
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    /**
+     * Son boyamada kullanılan renk sayısı
+     */
+    public int getColorCount() {
+        return colorCount;
+    }
+
+    /**
+     * Son boyamanın tur sayısı (greedy için 1)
+     */
+    public int getRoundCount() {
+        return roundCount;
+    }
+
+    /**
+     * Son boyamanın süresi (milisaniye)
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Renklendirme geçerliyse (hiçbir kenarın iki ucu aynı renkte değilse) true
+     */
+    public static boolean isValid(CsrGraph graph, int[] colors) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        for (int v = 0; v < graph.getNodeCount(); v++) {
+            if (colors[v] < 0) return false;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (colors[targets[e]] == colors[v]) return false;
+            }
+        }
+        return true;
+    }
+}
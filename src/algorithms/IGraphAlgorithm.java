@@ -1,12 +1,41 @@
 package algorithms;
 
+import model.CsrGraph;
 import model.SocialGraph; // Graph yerine SocialGraph kullanıyoruz
 import model.UserNode;
+
+import java.util.ArrayList;
 import java.util.List;
 
 public interface IGraphAlgorithm {
     // Algoritma SocialGraph türünde bir graf kabul etmeli
     List<UserNode> execute(SocialGraph graph, UserNode startNode, UserNode endNode);
 
+    /**
+     * Aynı algoritma, büyük graflar için değişmez CSR görüntüsü üzerinde.
+     * Varsayılan uyarlama görüntüden geçici bir SocialGraph kurar (O(n + m))
+     * ve sonucu görüntünün düğümlerine çevirir; bu ağaçtaki algoritmalar
+     * doğrudan CSR üzerinde çalışan sürümle ezer.
+     */
+    default List<UserNode> execute(CsrGraph graph, UserNode startNode, UserNode endNode) {
+        SocialGraph copy = SocialGraph.fromSnapshot(graph);
+        List<UserNode> result = execute(copy, inCopy(copy, startNode), inCopy(copy, endNode));
+        List<UserNode> nodes = new ArrayList<>(result.size());
+        for (UserNode node : result) {
+            int ordinal = graph.getOrdinal(node.getId());
+            nodes.add(ordinal >= 0 ? graph.getNodeByOrdinal(ordinal) : node);
+        }
+        return nodes;
+    }
+
+    // Kopyadaki aynı ID'li düğüm; yoksa (graf dışı düğüm) kendisi
+    private static UserNode inCopy(SocialGraph copy, UserNode node) {
+        if (node == null) {
+            return null;
+        }
+        UserNode copied = copy.getNode(node.getId());
+        return copied != null ? copied : node;
+    }
+
     String getName();
-}
\ No newline at end of file
+}
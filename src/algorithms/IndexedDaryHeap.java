@@ -0,0 +1,163 @@
+package algorithms;
+
+import java.util.Arrays;
+
+/**
+ * Gerçek decrease-key destekli, indeksli d'li (4'lü) min-yığın.
+ *
+ * Elemanlar 0..capacity-1 arası düğüm ordinalleridir; her düğüm yığında en
+ * fazla bir kez bulunur. Anahtarlar yığın sırasında düğümlerin yanında
+ * tutulur (karşılaştırmalar ayrı bir diziye sıçramaz). 4'lü ağaç ikili
+ * yığından sığdır: poll daha az seviye iner, çocuklar aynı önbellek
+ * satırındadır.
+ *
+ * clear() O(1)'dir: konumlar bir tur (epoch) damgasıyla geçerli sayılır,
+ * eski turdan kalan konumlar okunmaz.
+ */
+final class IndexedDaryHeap {
+    private static final int ARITY = 4;
+
+    private int[] nodes;       // yığın sırasında düğümler
+    private double[] keys;     // yığın sırasında anahtarlar
+    private int[] position;    // düğüm -> yığın indeksi (-1: bu turda çıkarıldı)
+    private int[] stamp;       // düğüm -> position'ın geçerli olduğu tur
+    private int epoch = 1;
+    private int size;
+
+    IndexedDaryHeap(int capacity) {
+        nodes = new int[Math.max(capacity, 1)];
+        keys = new double[nodes.length];
+        position = new int[nodes.length];
+        stamp = new int[nodes.length];
+    }
+
+    /**
+     * Kapasiteyi en az verilen düğüm sayısına çıkarır.
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity > position.length) {
+            nodes = Arrays.copyOf(nodes, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+            position = Arrays.copyOf(position, capacity);
+            stamp = Arrays.copyOf(stamp, capacity);
+        }
+    }
+
+    /**
+     * Yığını boşaltır ve tüm düğümleri "hiç eklenmemiş" sayar.
+     */
+    void clear() {
+        size = 0;
+        if (++epoch == Integer.MAX_VALUE) { // Taşmadan önce damgaları sıfırla
+            Arrays.fill(stamp, 0);
+            epoch = 1;
+        }
+    }
+
+    boolean isEmpty() { return size == 0; }
+
+    int size() { return size; }
+
+    /** Düğüm bu turda eklendi mi (yığında ya da çıkarılmış)? */
+    boolean touched(int node) {
+        return stamp[node] == epoch;
+    }
+
+    /** Düğüm şu an yığında mı? */
+    boolean contains(int node) {
+        return stamp[node] == epoch && position[node] >= 0;
+    }
+
+    /** Düğüm bu turda eklenip çıkarıldı mı? */
+    boolean wasRemoved(int node) {
+        return stamp[node] == epoch && position[node] < 0;
+    }
+
+    double key(int node) {
+        return keys[position[node]];
+    }
+
+    int peek() { return nodes[0]; }
+
+    double peekKey() { return keys[0]; }
+
+    /**
+     * Düğümü ekler ya da anahtarını küçültür. Anahtar mevcut anahtardan
+     * küçük değilse hiçbir şey yapmaz. Bu turda çıkarılmış düğüm tekrar eklenebilir.
+     */
+    void insertOrDecrease(int node, double key) {
+        int index;
+        if (stamp[node] == epoch && position[node] >= 0) {
+            index = position[node];
+            if (key >= keys[index]) {
+                return;
+            }
+        } else {
+            stamp[node] = epoch;
+            index = size++;
+        }
+        siftUp(index, node, key);
+    }
+
+    /**
+     * En küçük anahtarlı düğümü çıkarır.
+     */
+    int poll() {
+        int top = nodes[0];
+        position[top] = -1;
+        int last = --size;
+        if (last > 0) {
+            siftDown(0, nodes[last], keys[last]);
+        }
+        return top;
+    }
+
+    private void siftUp(int index, int node, double key) {
+        while (index > 0) {
+            int parent = (index - 1) / ARITY;
+            if (keys[parent] <= key) {
+                break;
+            }
+            move(parent, index);
+            index = parent;
+        }
+        place(index, node, key);
+    }
+
+    private void siftDown(int index, int node, double key) {
+        while (true) {
+            int first = index * ARITY + 1;
+            if (first >= size) {
+                break;
+            }
+            int last = Math.min(first + ARITY, size);
+            int best = first;
+            double bestKey = keys[first];
+            for (int child = first + 1; child < last; child++) {
+                if (keys[child] < bestKey) {
+                    best = child;
+                    bestKey = keys[child];
+                }
+            }
+            if (key <= bestKey) {
+                break;
+            }
+            move(best, index);
+            index = best;
+        }
+        place(index, node, key);
+    }
+
+    private void move(int from, int to) {
+        int node = nodes[from];
+        nodes[to] = node;
+        keys[to] = keys[from];
+        position[node] = to;
+    }
+
+    private void place(int index, int node, double key) {
+        nodes[index] = node;
+        keys[index] = key;
+        position[node] = index;
+    }
+}
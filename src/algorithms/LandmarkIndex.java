@@ -0,0 +1,471 @@
+package algorithms;
+
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * ALT (A*, Landmarks, Triangle inequality) için işaret noktası tabloları.
+ *
+ * k işaret noktasının (landmark) her düğüme en kısa yol uzunluğu saklanır.
+ * Üçgen eşitsizliğinden her L için |d(L,t) - d(L,v)| <= d(v,t) olur; bu
+ * sınırların en büyüğü tutarlı bir A* heuristic'idir ve özellik uzaklığının
+ * yok saydığı kenar başına +1 maliyeti de içerir.
+ *
+ * Tablo düğüm öncelikli tutulur (table[v * k + i]): bir düğümün tüm sınırları
+ * aynı önbellek satırlarındadır. İndeks değişmezdir ve kurulduğu CsrGraph'a
+ * bağlıdır; graf değişince refresh yeni görüntü için yeni bir indeks döner.
+ * Sorgular eski indeksi kendiliğinden yenilemez; eski indeksle gelen sorgu
+ * yalnızca özellik uzaklığı heuristic'iyle (düz A*) cevaplanır.
+ */
+public final class LandmarkIndex {
+    /** En uzak seçim: her yeni nokta seçilenlere (atlama sayısıyla) en uzak düğümdür. */
+    public static final int FARTHEST = 0;
+    /** Avoid seçimi: mevcut sınırların en zayıf kaldığı bölgelerin yaprakları seçilir. */
+    public static final int AVOID = 1;
+
+    private static final double TIGHT_EPSILON = 1e-9;
+
+    private final CsrGraph graph;
+    private final int[] landmarks;   // ordinaller
+    private final double[] table;    // düğüm -> k mesafe
+    private final int recomputedCount; // son refresh'te baştan hesaplanan nokta sayısı
+
+    private LandmarkIndex(CsrGraph graph, int[] landmarks, double[] table) {
+        this(graph, landmarks, table, 0);
+    }
+
+    private LandmarkIndex(CsrGraph graph, int[] landmarks, double[] table, int recomputedCount) {
+        this.graph = graph;
+        this.landmarks = landmarks;
+        this.table = table;
+        this.recomputedCount = recomputedCount;
+    }
+
+    /**
+     * İşaret noktalarını seçer ve mesafe tablolarını hesaplar.
+     * FARTHEST seçimi ucuz BFS ile yapılır, tablolar paralel hesaplanır;
+     * AVOID seçimi her adımda önceki tablolara bakar, bu yüzden sıralıdır.
+     * @param strategy FARTHEST ya da AVOID
+     */
+    public static LandmarkIndex build(CsrGraph graph, int count, int strategy) {
+        int n = graph.getNodeCount();
+        if (count <= 0 || n == 0) {
+            throw new IllegalArgumentException("İşaret noktası sayısı ve graf boyutu pozitif olmalıdır");
+        }
+        count = Math.min(count, n);
+        if ((long) n * count > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("İşaret noktası tablosu çok büyük: " + n + " x " + count);
+        }
+        switch (strategy) {
+            case FARTHEST: {
+                int[] landmarks = selectFarthest(graph, count);
+                double[] table = new double[n * count];
+                int k = count;
+                IntStream.range(0, count).parallel().forEach(i -> fillColumn(graph, landmarks[i], table, i, k));
+                return new LandmarkIndex(graph, landmarks, table);
+            }
+            case AVOID:
+                return selectAvoid(graph, count);
+            default:
+                throw new IllegalArgumentException("Bilinmeyen seçim stratejisi: " + strategy);
+        }
+    }
+
+    /**
+     * Hazır tablodan indeks kurar (dosyadan yükleme için). Dizi kopyalanmaz.
+     */
+    public static LandmarkIndex of(CsrGraph graph, int[] landmarks, double[] table) {
+        if (landmarks.length == 0 || table.length != (long) graph.getNodeCount() * landmarks.length) {
+            throw new IllegalArgumentException("İşaret noktası tablosu boyutu tutarsız");
+        }
+        for (int landmark : landmarks) {
+            if (landmark < 0 || landmark >= graph.getNodeCount()) {
+                throw new IllegalArgumentException("Geçersiz işaret noktası: " + landmark);
+            }
+        }
+        return new LandmarkIndex(graph, landmarks, table);
+    }
+
+    // --- SEÇİM ---
+
+    private static int[] selectFarthest(CsrGraph graph, int count) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] hops = new int[n];
+        Arrays.fill(hops, Integer.MAX_VALUE); // Seçilenlere en küçük atlama sayısı
+        int[] level = new int[n];
+        int[] queue = new int[n];
+        int[] landmarks = new int[count];
+
+        int next = 0;
+        for (int v = 1; v < n; v++) { // İlk nokta: en yüksek dereceli düğümden en uzak düğüm
+            if (graph.getDegree(v) > graph.getDegree(next)) next = v;
+        }
+        next = bfs(offsets, targets, next, level, queue, null);
+        for (int i = 0; i < count; i++) {
+            landmarks[i] = next;
+            bfs(offsets, targets, next, level, queue, hops);
+            // Erişilemeyen (başka bileşendeki) düğüm en uzak sayılır
+            int best = -1;
+            for (int v = 0; v < n; v++) {
+                if (best < 0 || hops[v] > hops[best]) best = v;
+            }
+            next = best;
+        }
+        return landmarks;
+    }
+
+    /**
+     * Atlama sayılı BFS. minHops verilirse düğüm başına en küçük değer güncellenir.
+     * @return Son ziyaret edilen (en uzak) düğüm
+     */
+    private static int bfs(int[] offsets, int[] targets, int source, int[] level, int[] queue, int[] minHops) {
+        Arrays.fill(level, -1);
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        level[source] = 0;
+        while (head < tail) {
+            int v = queue[head++];
+            if (minHops != null && level[v] < minHops[v]) minHops[v] = level[v];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                if (level[u] < 0) {
+                    level[u] = level[v] + 1;
+                    queue[tail++] = u;
+                }
+            }
+        }
+        return queue[tail - 1];
+    }
+
+    /**
+     * Goldberg-Harrelson "avoid": rastgele bir kökten en kısa yol ağacı
+     * kurulur; düğüm ağırlığı gerçek mesafe ile mevcut alt sınırın farkıdır.
+     * Alt ağacında işaret noktası olmayan en ağır dallar izlenerek bir
+     * yaprağa inilir ve o yaprak yeni işaret noktası olur.
+     */
+    private static LandmarkIndex selectAvoid(CsrGraph graph, int count) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] landmarks = new int[count];
+        double[] table = new double[n * count];
+        double[] rootDistance = new double[n];
+        int[] parent = new int[n];
+        int[] order = new int[n];
+        double[] size = new double[n];
+        int[] heaviestChild = new int[n];
+        boolean[] isLandmark = new boolean[n];
+        Random random = new Random(n);
+
+        for (int i = 0; i < count; i++) {
+            int root = random.nextInt(n);
+            int reached = shortestPathTree(graph, root, rootDistance, parent, order);
+            Arrays.fill(heaviestChild, -1);
+            // Ters kesinleşme sırası: çocuklar ebeveynlerinden önce işlenir.
+            // İşaret noktası içeren alt ağaçlar -sonsuz olur (toplamla yukarı taşınır).
+            for (int j = reached - 1; j >= 0; j--) {
+                int v = order[j];
+                double gap = rootDistance[v] - lowerBound(table, i, root, v, count);
+                size[v] = isLandmark[v] ? Double.NEGATIVE_INFINITY : size[v] + Math.max(gap, 0);
+                int p = parent[v];
+                if (p >= 0) {
+                    size[p] += size[v];
+                    if (heaviestChild[p] < 0 || size[v] > size[heaviestChild[p]]) heaviestChild[p] = v;
+                }
+            }
+            int v = root;
+            while (heaviestChild[v] >= 0 && size[heaviestChild[v]] > 0) {
+                v = heaviestChild[v];
+            }
+            if (isLandmark[v]) { // Ağaç tükendi: seçilmemiş rastgele düğüm
+                do {
+                    v = random.nextInt(n);
+                } while (isLandmark[v]);
+            }
+            isLandmark[v] = true;
+            landmarks[i] = v;
+            fillColumn(graph, v, table, i, count);
+            Arrays.fill(size, 0);
+        }
+        return new LandmarkIndex(graph, landmarks, table);
+    }
+
+    private static double lowerBound(double[] table, int filled, int u, int v, int k) {
+        double best = 0;
+        for (int i = 0; i < filled; i++) {
+            double a = table[u * k + i];
+            double b = table[v * k + i];
+            if (a != b) best = Math.max(best, Math.abs(a - b));
+        }
+        return best;
+    }
+
+    /**
+     * Kökten tam Dijkstra: mesafeler, ebeveynler ve kesinleşme sırası.
+     * @return Ulaşılan düğüm sayısı
+     */
+    private static int shortestPathTree(CsrGraph graph, int root, double[] distance, int[] parent, int[] order) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        DijkstraWorkspace workspace = DijkstraWorkspace.forThread(graph.getNodeCount());
+        workspace.relax(root, 0.0, -1);
+        int reached = 0;
+        while (!workspace.heap.isEmpty()) {
+            int u = workspace.settle();
+            order[reached++] = u;
+            double du = workspace.distance[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                workspace.relax(targets[e], du + weights[e], u);
+            }
+        }
+        for (int v = 0; v < graph.getNodeCount(); v++) {
+            distance[v] = workspace.distanceOf(v);
+            parent[v] = workspace.heap.touched(v) ? workspace.previous[v] : -1;
+        }
+        return reached;
+    }
+
+    /**
+     * column. sütuna kaynaktan tüm düğümlere mesafeleri yazar.
+     */
+    private static void fillColumn(CsrGraph graph, int source, double[] table, int column, int k) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        DijkstraWorkspace workspace = DijkstraWorkspace.forThread(graph.getNodeCount());
+        workspace.relax(source, 0.0, -1);
+        while (!workspace.heap.isEmpty()) {
+            int u = workspace.settle();
+            double du = workspace.distance[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                workspace.relax(targets[e], du + weights[e], u);
+            }
+        }
+        for (int v = 0; v < graph.getNodeCount(); v++) {
+            table[v * k + column] = workspace.distanceOf(v);
+        }
+    }
+
+    // --- ARTIMLI YENİLEME ---
+
+    /**
+     * Tabloları grafın yeni görüntüsüne taşır. Düğümler kullanıcı ID'si ile
+     * eşlenir; yeni düğümler sonsuzdan başlar.
+     * <ul>
+     *   <li>Ağırlığı artan (ya da silinen) kenar bir noktanın en kısa yol
+     *       ağacında sıkı (d(u) + w = d(v)) ise o nokta baştan hesaplanır.</li>
+     *   <li>Diğer noktalarda eski mesafeler hâlâ geçerli üst sınırdır; yalnızca
+     *       yeni ya da ağırlığı azalan kenarların uçlarından başlayan bir
+     *       Dijkstra ile düşen mesafeler yayılır.</li>
+     * </ul>
+     * Noktalar paralel işlenir. Graf değişmediyse aynı indeks döner.
+     */
+    public LandmarkIndex refresh(CsrGraph current) {
+        if (current == graph) {
+            return this;
+        }
+        int k = landmarks.length;
+        int oldN = graph.getNodeCount();
+        int n = current.getNodeCount();
+        if (n == 0 || (long) n * k > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Yeni graf için işaret noktası tablosu kurulamaz");
+        }
+        int[] oldToNew = new int[oldN];
+        int[] newToOld = new int[n];
+        Arrays.fill(newToOld, -1);
+        for (int v = 0; v < oldN; v++) {
+            oldToNew[v] = current.getOrdinal(graph.getId(v));
+            if (oldToNew[v] >= 0) newToOld[oldToNew[v]] = v;
+        }
+
+        // Ağırlığı artan ya da kaybolan eski kenarlar (eski ordinallerle)
+        IntList increased = new IntList();
+        int[] oldOffsets = graph.getOffsets();
+        int[] oldTargets = graph.getTargets();
+        double[] oldWeights = graph.getWeights();
+        for (int u = 0; u < oldN; u++) {
+            for (int e = oldOffsets[u]; e < oldOffsets[u + 1]; e++) {
+                int nu = oldToNew[u];
+                int nv = oldToNew[oldTargets[e]];
+                double w = nu < 0 || nv < 0 ? Double.POSITIVE_INFINITY : current.getEdgeWeight(nu, nv);
+                if (w > oldWeights[e]) increased.add(e);
+            }
+        }
+        // Yeni ya da ağırlığı azalan kenarlar (yeni ordinallerle)
+        IntList decreased = new IntList();
+        int[] offsets = current.getOffsets();
+        int[] targets = current.getTargets();
+        double[] weights = current.getWeights();
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int ou = newToOld[u];
+                int ov = newToOld[targets[e]];
+                double w = ou < 0 || ov < 0 ? Double.POSITIVE_INFINITY : graph.getEdgeWeight(ou, ov);
+                if (weights[e] < w) decreased.add(e);
+            }
+        }
+        int[] edgeSources = sourcesOf(graph, increased);
+
+        int[] newLandmarks = new int[k];
+        double[] newTable = new double[n * k];
+        boolean[] recomputed = new boolean[k];
+        IntStream.range(0, k).parallel().forEach(i -> {
+            newLandmarks[i] = oldToNew[landmarks[i]];
+            boolean full = newLandmarks[i] < 0;
+            for (int j = 0; j < increased.size && !full; j++) {
+                int e = increased.values[j];
+                double du = table[edgeSources[j] * k + i];
+                double dv = table[oldTargets[e] * k + i];
+                full = Math.abs(du + oldWeights[e] - dv) <= TIGHT_EPSILON * Math.max(1, dv);
+            }
+            if (full) {
+                if (newLandmarks[i] < 0) newLandmarks[i] = replacementLandmark(current, newLandmarks, i);
+                fillColumn(current, newLandmarks[i], newTable, i, k);
+                recomputed[i] = true;
+            } else {
+                propagateDecreases(current, newTable, i, k, newToOld, decreased);
+            }
+        });
+
+        int recomputedCount = 0;
+        for (boolean full : recomputed) {
+            if (full) recomputedCount++;
+        }
+        return new LandmarkIndex(current, newLandmarks, newTable, recomputedCount);
+    }
+
+    /**
+     * İndeks bu görüntüye mi ait? Sorgular indeksi yalnızca okur; başka bir
+     * görüntüye aitse yenilemez, yalnızca özellik uzaklığıyla devam eder
+     * (yenileme açıkça refresh ile yapılır).
+     */
+    boolean isFor(CsrGraph current) {
+        return current == graph;
+    }
+
+    private void propagateDecreases(CsrGraph current, double[] newTable, int column, int k,
+                                    int[] newToOld, IntList decreased) {
+        int n = current.getNodeCount();
+        int[] offsets = current.getOffsets();
+        int[] targets = current.getTargets();
+        double[] weights = current.getWeights();
+        double[] distance = new double[n];
+        for (int v = 0; v < n; v++) {
+            distance[v] = newToOld[v] < 0 ? Double.POSITIVE_INFINITY : table[newToOld[v] * k + column];
+        }
+        int[] decreasedSources = sourcesOf(current, decreased);
+        IndexedDaryHeap heap = DijkstraWorkspace.forThread(n).heap;
+        for (int j = 0; j < decreased.size; j++) {
+            int e = decreased.values[j];
+            int u = decreasedSources[j];
+            int v = targets[e];
+            double candidate = distance[u] + weights[e];
+            if (candidate < distance[v]) {
+                distance[v] = candidate;
+                heap.insertOrDecrease(v, candidate);
+            }
+        }
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            double du = distance[u];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                double candidate = du + weights[e];
+                if (candidate < distance[v]) {
+                    distance[v] = candidate;
+                    heap.insertOrDecrease(v, candidate);
+                }
+            }
+        }
+        for (int v = 0; v < n; v++) {
+            newTable[v * k + column] = distance[v];
+        }
+    }
+
+    // Silinen işaret noktasının yerine diğerlerinden farklı en yüksek dereceli düğüm
+    private static int replacementLandmark(CsrGraph current, int[] chosen, int slot) {
+        int best = -1;
+        for (int v = 0; v < current.getNodeCount(); v++) {
+            boolean taken = false;
+            for (int j = 0; j < chosen.length && !taken; j++) {
+                taken = j != slot && chosen[j] == v;
+            }
+            if (!taken && (best < 0 || current.getDegree(v) > current.getDegree(best))) best = v;
+        }
+        return best;
+    }
+
+    // Kenar indekslerinin kaynak düğümleri (offsets üzerinde ikili arama)
+    private static int[] sourcesOf(CsrGraph graph, IntList edges) {
+        int[] offsets = graph.getOffsets();
+        int[] sources = new int[edges.size];
+        for (int j = 0; j < edges.size; j++) {
+            int idx = Arrays.binarySearch(offsets, edges.values[j]);
+            if (idx < 0) {
+                idx = -idx - 2;
+            } else {
+                while (idx + 1 < offsets.length && offsets[idx + 1] == edges.values[j]) idx++; // Boş satırları atla
+            }
+            sources[j] = idx;
+        }
+        return sources;
+    }
+
+    // --- SORGULAR ---
+
+    /**
+     * u'dan v'ye en kısa yol için işaret noktası alt sınırı.
+     * Farklı bileşenlerdeki düğümler için sonsuz döner.
+     */
+    public double lowerBound(int u, int v) {
+        int k = landmarks.length;
+        int a = u * k;
+        int b = v * k;
+        double best = 0;
+        for (int i = 0; i < k; i++) {
+            double du = table[a + i];
+            double dv = table[b + i];
+            if (du != dv) { // İkisi de sonsuzsa (NaN yerine) atlanır
+                double bound = Math.abs(du - dv);
+                if (bound > best) best = bound;
+            }
+        }
+        return best;
+    }
+
+    public CsrGraph getGraph() { return graph; }
+    public int getLandmarkCount() { return landmarks.length; }
+
+    /** i. işaret noktasının ordinali. */
+    public int getLandmark(int i) { return landmarks[i]; }
+
+    /**
+     * Ham tablo (table[v * k + i]). Kopyalanmadan döner; DEĞİŞTİRİLMEMELİDİR.
+     */
+    public double[] getTable() { return table; }
+
+    /** Bu indeksi üreten refresh'te baştan hesaplanan işaret noktası sayısı. */
+    public int getRecomputedCount() { return recomputedCount; }
+
+    /** Tablonun bayt cinsinden boyutu. */
+    public long getTableBytes() { return (long) Double.BYTES * table.length; }
+
+    /**
+     * Büyüyen int dizisi (değişen kenar listeleri için).
+     */
+    private static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+}
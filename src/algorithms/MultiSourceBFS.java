@@ -0,0 +1,267 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.SocialGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Çok kaynaklı, bit paralel BFS (MS-BFS): k atlama komşulukları.
+ *
+ * Kaynaklar 64'lük gruplara ayrılır; grup içindeki her kaynak bir bit
+ * şeridine karşılık gelir. Düğüm başına seen / visit / next kelimeleri
+ * tutulur ve bir sınır düğümünün kenarları, o düğüme aynı seviyede ulaşan
+ * tüm kaynaklar için tek seferde taranır (ortak komşuluklar bir kez
+ * gezilir). Gruplar ForkJoin havuzunda paralel çalışır; kelime dizileri iş
+ * parçacığı başına yeniden kullanılır ve yalnızca dokunulan düğümler
+ * temizlenir.
+ *
+ * Sonuçlar kaynak sırasıyladır; kaynağın kendisi komşuluğa dahil değildir.
+ */
+public class MultiSourceBFS {
+    static final int LANES = Long.SIZE;
+    private static final ThreadLocal<Lanes> LOCAL = ThreadLocal.withInitial(() -> new Lanes(0));
+
+    private final ForkJoinPool pool;
+    private long executionTime;
+
+    public MultiSourceBFS() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public MultiSourceBFS(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Havuz null olamaz");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Kullanıcı ID'leri ile; grafın önbellekli CSR görüntüsü (freeze) kullanılır.
+     * Sonuçlar da kullanıcı ID'leridir; graf dışındaki kaynağın komşuluğu boştur.
+     */
+    public int[][] neighbourhoods(SocialGraph graph, int[] sourceIds, int maxHops) {
+        CsrGraph csr = graph.freeze();
+        int[] sources = new int[sourceIds.length];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = csr.getOrdinal(sourceIds[i]);
+        }
+        int[][] result = new int[sources.length][];
+        run(csr, sources, maxHops, result, null);
+        for (int[] row : result) {
+            for (int j = 0; j < row.length; j++) {
+                row[j] = csr.getId(row[j]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Her kaynaktan en fazla maxHops atlamada ulaşılan düğümlerin ordinalleri;
+     * atlama sayısına göre artan sırada (aynı atlamadakiler arasında sıra yok).
+     */
+    public int[][] neighbourhoods(CsrGraph graph, int[] sources, int maxHops) {
+        checkSources(graph, sources);
+        int[][] result = new int[sources.length][];
+        run(graph, sources, maxHops, result, null);
+        return result;
+    }
+
+    /**
+     * counts[i][h]: i. kaynaktan tam h atlamadaki düğüm sayısı (h = 0..maxHops;
+     * counts[i][0] = 1). Komşuluklar oluşturulmaz.
+     */
+    public int[][] hopCounts(CsrGraph graph, int[] sources, int maxHops) {
+        checkSources(graph, sources);
+        int[][] counts = new int[sources.length][];
+        run(graph, sources, maxHops, null, counts);
+        return counts;
+    }
+
+    private static void checkSources(CsrGraph graph, int[] sources) {
+        for (int s : sources) {
+            DijkstraAlgorithm.checkOrdinals(graph, s, s);
+        }
+    }
+
+    private void run(CsrGraph graph, int[] sources, int maxHops, int[][] lists, int[][] counts) {
+        if (maxHops < 0) {
+            throw new IllegalArgumentException("Atlama sınırı negatif olamaz: " + maxHops);
+        }
+        long startTime = System.nanoTime();
+        // Kaynaklar ordinale göre gruplanır: yakın ordinaller (topluluk
+        // sıralı graflarda) komşuluk paylaşır ve aynı grupta birlikte gezilir
+        long[] keys = new long[sources.length];
+        for (int i = 0; i < sources.length; i++) {
+            keys[i] = ((long) sources[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[sources.length];
+        int[] sorted = new int[sources.length];
+        for (int i = 0; i < keys.length; i++) {
+            order[i] = (int) keys[i];
+            sorted[i] = sources[order[i]];
+        }
+        int groups = (sources.length + LANES - 1) / LANES;
+        pool.submit(() -> IntStream.range(0, groups).parallel().forEach(g -> {
+            int first = g * LANES;
+            int width = Math.min(LANES, sources.length - first);
+            Lanes lanes = Lanes.forThread(graph.getNodeCount());
+            lanes.search(graph, sorted, order, first, width, maxHops, lists, counts);
+        })).join();
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    /**
+     * Son çalıştırmanın süresi (milisaniye)
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Bir iş parçacığının şerit kelimeleri ve sınır listeleri. Dizilerin
+     * tamamı her grup sonunda sıfırdır.
+     */
+    private static final class Lanes {
+        // Düğüm u için words[2u] = seen, words[2u + 1] = next: kenar başına
+        // okunan iki kelime aynı önbellek satırındadır
+        long[] words;
+        long[] visit;
+        int[] frontier;
+        int[] nextFrontier;
+        int[] touched;
+
+        Lanes(int nodeCount) {
+            words = new long[2 * nodeCount];
+            visit = new long[nodeCount];
+            frontier = new int[nodeCount];
+            nextFrontier = new int[nodeCount];
+            touched = new int[nodeCount];
+        }
+
+        static Lanes forThread(int nodeCount) {
+            Lanes lanes = LOCAL.get();
+            if (lanes.visit.length < nodeCount) {
+                lanes = new Lanes(nodeCount);
+                LOCAL.set(lanes);
+            }
+            return lanes;
+        }
+
+        // sources ordinale göre sıralıdır; sonuçlar order[i] konumuna yazılır
+        void search(CsrGraph graph, int[] sources, int[] order, int first, int width, int maxHops,
+                    int[][] lists, int[][] counts) {
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            long[] words = this.words;
+            int[][] found = null;
+            int[] sizes = null;
+            if (lists != null) {
+                found = new int[width][];
+                sizes = new int[width];
+                for (int i = 0; i < width; i++) {
+                    found[i] = sources[first + i] < 0 ? new int[0] : new int[16];
+                }
+            }
+            if (counts != null) {
+                for (int i = 0; i < width; i++) {
+                    counts[order[first + i]] = new int[maxHops + 1];
+                    counts[order[first + i]][0] = 1;
+                }
+            }
+
+            // counts için şerit başına sayaçların bit dilimleri: slices[j], her
+            // şeridin sayacının j. biti
+            long[] slices = new long[Integer.SIZE - 1];
+            int frontierSize = 0;
+            int touchedSize = 0;
+            for (int i = 0; i < width; i++) {
+                int s = sources[first + i];
+                if (s < 0) {
+                    continue;
+                }
+                if (words[2 * s] == 0) {
+                    frontier[frontierSize++] = s;
+                    touched[touchedSize++] = s;
+                }
+                words[2 * s] |= 1L << i;
+                visit[s] = words[2 * s];
+            }
+
+            for (int hop = 1; hop <= maxHops && frontierSize > 0; hop++) {
+                int nextSize = 0;
+                for (int f = 0; f < frontierSize; f++) {
+                    int v = frontier[f];
+                    long bits = visit[v];
+                    visit[v] = 0;
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int u = targets[e];
+                        long reached = bits & ~words[2 * u];
+                        if (reached != 0) {
+                            if (words[2 * u + 1] == 0) {
+                                nextFrontier[nextSize++] = u;
+                            }
+                            words[2 * u + 1] |= reached;
+                        }
+                    }
+                }
+                for (int f = 0; f < nextSize; f++) {
+                    int u = nextFrontier[f];
+                    long reached = words[2 * u + 1];
+                    words[2 * u + 1] = 0;
+                    if (words[2 * u] == 0) {
+                        touched[touchedSize++] = u;
+                    }
+                    words[2 * u] |= reached;
+                    visit[u] = reached;
+                    if (found == null) {
+                        // Bit dilimli sayaca ekle (64 şerit birden, taşıma zinciri)
+                        for (int j = 0; reached != 0; j++) {
+                            long carry = slices[j] & reached;
+                            slices[j] ^= reached;
+                            reached = carry;
+                        }
+                        continue;
+                    }
+                    while (reached != 0) {
+                        int lane = Long.numberOfTrailingZeros(reached);
+                        reached &= reached - 1;
+                        if (sizes[lane] == found[lane].length) {
+                            found[lane] = Arrays.copyOf(found[lane], sizes[lane] * 2);
+                        }
+                        found[lane][sizes[lane]++] = u;
+                    }
+                }
+                if (counts != null) {
+                    for (int lane = 0; lane < width; lane++) {
+                        int count = 0;
+                        for (int j = 0; j < slices.length; j++) {
+                            count |= (int) ((slices[j] >>> lane) & 1) << j;
+                        }
+                        counts[order[first + lane]][hop] = count;
+                    }
+                    Arrays.fill(slices, 0L);
+                }
+                int[] swap = frontier;
+                frontier = nextFrontier;
+                nextFrontier = swap;
+                frontierSize = nextSize;
+            }
+
+            for (int f = 0; f < frontierSize; f++) {
+                visit[frontier[f]] = 0;
+            }
+            for (int t = 0; t < touchedSize; t++) {
+                words[2 * touched[t]] = 0;
+            }
+            if (found != null) {
+                for (int i = 0; i < width; i++) {
+                    lists[order[first + i]] = sizes[i] == found[i].length ? found[i] : Arrays.copyOf(found[i], sizes[i]);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.SocialGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * PageRank etki puanı: paralel, çekme (pull) tabanlı kuvvet yinelemesi.
+ *
+ * Modlar:
+ * - UNWEIGHTED: her komşuya eşit pay.
+ * - WEIGHTED: pay, kenar ağırlığının (RelationshipEdge.getWeight) tersiyle
+ *   orantılı; benzer kullanıcılar (küçük ağırlık) birbirine daha çok aktarır.
+ * - Kişiselleştirilmiş: teleport kümesi verilirse sıçrama yalnızca o
+ *   kullanıcılara yapılır (her iki modla birlikte kullanılabilir).
+ *
+ * Her turda düğüm v, komşularının önceki turdaki katkılarını okur (yazma
+ * çakışması yok, atomik işlem gerekmez). Komşusu olmayan düğümlerin puanı
+ * teleport dağılımıyla paylaştırılır. Fark (L1) tolerans altına inince ya da
+ * tur sınırında durulur.
+ *
+ * Isıl başlangıç: önceki puanlar (ordinal dizisi) verilirse yineleme
+ * onlardan başlar; yeni eklenen düğümler eşit puanla katılır. SocialGraph
+ * sürümü son sonucu saklar ve graf değiştiyse (freeze yeni görüntü
+ * döndürdüyse) kendiliğinden ondan başlar.
+ */
+public class PageRank {
+    public static final int UNWEIGHTED = 0;
+    public static final int WEIGHTED = 1;
+    public static final double DEFAULT_DAMPING = 0.85;
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+    private static final int CHUNK = 4096;
+
+    private final ForkJoinPool pool;
+    private final double damping;
+    private final double tolerance;
+    private final int maxIterations;
+
+    private int iterationCount;
+    private double residual;
+    private long executionTime;
+
+    // SocialGraph sürümü için son sonuç (ısıl başlangıç)
+    private CsrGraph lastGraph;
+    private int lastMode = -1;
+    private int[] lastTeleport;
+    private double[] lastScores;
+
+    public PageRank() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public PageRank(ForkJoinPool pool) {
+        this(pool, DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    public PageRank(ForkJoinPool pool, double damping, double tolerance, int maxIterations) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Havuz null olamaz");
+        }
+        if (!(damping > 0 && damping < 1)) {
+            throw new IllegalArgumentException("Sönüm katsayısı (0, 1) aralığında olmalıdır: " + damping);
+        }
+        if (!(tolerance > 0)) {
+            throw new IllegalArgumentException("Tolerans pozitif olmalıdır: " + tolerance);
+        }
+        if (maxIterations < 1) {
+            throw new IllegalArgumentException("Tur sınırı pozitif olmalıdır: " + maxIterations);
+        }
+        this.pool = pool;
+        this.damping = damping;
+        this.tolerance = tolerance;
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Grafın önbellekli CSR görüntüsü (freeze) üzerinde; puanlar ordinal ile
+     * indekslidir. Aynı mod ve teleport kümesiyle tekrar çağrılırsa: graf
+     * değişmediyse son sonuç döner, değiştiyse ondan ısıl başlangıç yapılır.
+     * @param teleportIds Kişiselleştirme için kullanıcı ID'leri; null ise tüm düğümler
+     */
+    public synchronized double[] rank(SocialGraph graph, int mode, int[] teleportIds) {
+        CsrGraph csr = graph.freeze();
+        int[] teleport = null;
+        if (teleportIds != null) {
+            teleport = new int[teleportIds.length];
+            for (int i = 0; i < teleport.length; i++) {
+                teleport[i] = csr.getOrdinal(teleportIds[i]);
+                if (teleport[i] < 0) {
+                    throw new IllegalArgumentException("Teleport kullanıcısı grafta yok: " + teleportIds[i]);
+                }
+            }
+        }
+        boolean sameQuery = mode == lastMode && Arrays.equals(teleport, lastTeleport);
+        if (sameQuery && csr == lastGraph) {
+            finish(0, residual, System.nanoTime());
+            return lastScores.clone();
+        }
+        double[] scores = rank(csr, mode, teleport, sameQuery ? lastScores : null);
+        lastGraph = csr;
+        lastMode = mode;
+        lastTeleport = teleport;
+        lastScores = scores;
+        return scores.clone();
+    }
+
+    public double[] rank(CsrGraph graph, int mode) {
+        return rank(graph, mode, null, null);
+    }
+
+    /**
+     * @param teleport Teleport kümesinin ordinalleri; null ise tüm düğümler
+     * @param initial Isıl başlangıç puanları (ordinal dizisi, graftan kısa
+     *                olabilir); null ise eşit başlangıç
+     * @return Toplamı 1 olan puanlar (ordinal ile indeksli)
+     */
+    public double[] rank(CsrGraph graph, int mode, int[] teleport, double[] initial) {
+        if (mode != UNWEIGHTED && mode != WEIGHTED) {
+            throw new IllegalArgumentException("Bilinmeyen PageRank modu: " + mode);
+        }
+        long startTime = System.nanoTime();
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        if (n == 0) {
+            finish(0, 0, startTime);
+            return new double[0];
+        }
+
+        double[] jump = teleportVector(graph, teleport);
+
+        // outScale[u]: u'nun puanının kenar başına payı (ağırlıklıda 1/ağırlık ile çarpılır)
+        double[] outScale = new double[n];
+        parallel(n, u -> {
+            double total;
+            if (mode == UNWEIGHTED) {
+                total = offsets[u + 1] - offsets[u];
+            } else {
+                total = 0;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) total += 1.0 / weights[e];
+            }
+            outScale[u] = total > 0 ? 1.0 / total : 0;
+        });
+
+        double[] scores = new double[n];
+        double[] next = new double[n];
+        initialScores(scores, initial, n);
+        // contribution[u] = scores[u] * outScale[u]
+        double[] contribution = new double[n];
+        parallel(n, u -> contribution[u] = scores[u] * outScale[u]);
+        double dangling = danglingMass(scores, outScale);
+
+        int iterations = 0;
+        double delta = Double.POSITIVE_INFINITY;
+        double[] current = scores;
+        while (iterations < maxIterations && delta > tolerance) {
+            double base = (1 - damping) + damping * dangling;
+            double[] previous = current;
+            double[] result = next;
+            parallel(n, v -> {
+                double sum = 0;
+                if (mode == UNWEIGHTED) {
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) sum += contribution[targets[e]];
+                } else {
+                    // Ağırlık simetrik: weights[e], v->u ve u->v için aynıdır
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) sum += contribution[targets[e]] / weights[e];
+                }
+                result[v] = base * jump[v] + damping * sum;
+            });
+            // Fark, yeni katkılar ve sarkan kütle parça başına tek geçişte
+            int chunks = (n + CHUNK - 1) / CHUNK;
+            double[] partialDelta = new double[chunks];
+            double[] partialDangling = new double[chunks];
+            parallel(chunks, c -> {
+                double d = 0, lost = 0;
+                for (int v = c * CHUNK, end = Math.min(n, v + CHUNK); v < end; v++) {
+                    d += Math.abs(result[v] - previous[v]);
+                    contribution[v] = result[v] * outScale[v];
+                    if (outScale[v] == 0) lost += result[v];
+                }
+                partialDelta[c] = d;
+                partialDangling[c] = lost;
+            });
+            delta = 0;
+            dangling = 0;
+            for (int c = 0; c < chunks; c++) {
+                delta += partialDelta[c];
+                dangling += partialDangling[c];
+            }
+            next = previous;
+            current = result;
+            iterations++;
+        }
+        finish(iterations, delta, startTime);
+        return current;
+    }
+
+    // Teleport olasılıkları: tüm düğümlere ya da kümeye eşit
+    private static double[] teleportVector(CsrGraph graph, int[] teleport) {
+        int n = graph.getNodeCount();
+        double[] jump = new double[n];
+        if (teleport == null) {
+            Arrays.fill(jump, 1.0 / n);
+            return jump;
+        }
+        if (teleport.length == 0) {
+            throw new IllegalArgumentException("Teleport kümesi boş olamaz");
+        }
+        int distinct = 0;
+        for (int t : teleport) {
+            DijkstraAlgorithm.checkOrdinals(graph, t, t);
+            if (jump[t] == 0) {
+                jump[t] = 1;
+                distinct++;
+            }
+        }
+        for (int t : teleport) {
+            jump[t] = 1.0 / distinct;
+        }
+        return jump;
+    }
+
+    // Önceki puanlar kopyalanır, yeni düğümler 1/n alır; toplam 1'e ölçeklenir
+    private static void initialScores(double[] scores, double[] initial, int n) {
+        int known = initial == null ? 0 : Math.min(initial.length, n);
+        double total = 0;
+        for (int v = 0; v < known; v++) {
+            scores[v] = initial[v];
+            total += scores[v];
+        }
+        for (int v = known; v < n; v++) {
+            scores[v] = 1.0 / n;
+            total += scores[v];
+        }
+        if (!(total > 0)) {
+            Arrays.fill(scores, 1.0 / n);
+            return;
+        }
+        for (int v = 0; v < n; v++) {
+            scores[v] /= total;
+        }
+    }
+
+    private static double danglingMass(double[] scores, double[] outScale) {
+        double mass = 0;
+        for (int v = 0; v < scores.length; v++) {
+            if (outScale[v] == 0) mass += scores[v];
+        }
+        return mass;
+    }
+
+    private void parallel(int count, IntConsumer body) {
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(body)).join();
+    }
+
+    private void finish(int iterations, double delta, long startTime) {
+        iterationCount = iterations;
+        residual = delta;
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+    }
+
+    /**
+     * Son çalıştırmadaki tur sayısı
+     */
+    public int getIterationCount() {
+        return iterationCount;
+    }
+
+    /**
+     * Son turdaki puan farkı (L1)
+     */
+    public double getResidual() {
+        return residual;
+    }
+
+    /**
+     * Son çalıştırmanın süresi (milisaniye, hazırlık dahil)
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    /**
+     * Tur başına ortalama süre (milisaniye, hazırlık dahil)
+     */
+    public double getTimePerIteration() {
+        return iterationCount == 0 ? 0 : (double) executionTime / iterationCount;
+    }
+}
@@ -0,0 +1,417 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.SocialGraph;
+import model.UserNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Yön değiştiren (direction-optimizing) paralel BFS.
+ *
+ * Küçük sınırlar seyrek int kuyruğu olarak yukarıdan aşağı (sınırdaki
+ * düğümlerin komşuları) genişletilir; ziyaret bit kümesi CAS ile
+ * sahiplenir. Sınırın kenar sayısı ziyaret edilmemiş kenarların
+ * 1/ALPHA'sını aşınca sınır yoğun bit kümesine çevrilir ve aşağıdan
+ * yukarı (ziyaret edilmemiş her düğüm sınırda bir komşu arar, ilkinde
+ * durur) geçilir; sınır n/BETA'nın altına inince geri dönülür (Beamer).
+ * Her iki adım da ForkJoin havuzunda parça parça paralel çalışır.
+ *
+ * Sonuç, ilkel seviye (atlama sayısı) ve ebeveyn dizileridir. Graf
+ * yönsüz olmalıdır (aşağıdan yukarı adım komşuluğun simetrik olduğunu
+ * varsayar). execute, BFSAlgorithm'in CSR sürümüyle aynı ziyaret sırasını
+ * döner.
+ */
+public class ParallelBFS implements IGraphAlgorithm {
+    static final int ALPHA = 14;
+    static final int BETA = 24;
+    // Yukarıdan aşağı parçası (sınır düğümü) ve aşağıdan yukarı parçası
+    // (düğüm; 64'ün katı, böylece her bit kümesi kelimesi tek parçaya düşer)
+    private static final int TOP_DOWN_CHUNK = 256;
+    private static final int BOTTOM_UP_CHUNK = 64 * 64;
+    private static final int BUFFER_SIZE = 1024;
+    private static final ThreadLocal<int[]> BUFFER = ThreadLocal.withInitial(() -> new int[BUFFER_SIZE]);
+
+    private final ForkJoinPool pool;
+    private long executionTime;
+
+    public ParallelBFS() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ParallelBFS(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Havuz null olamaz");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Grafın önbellekli CSR görüntüsü (freeze) üzerinde çalışır; komşular
+     * ordinal sırasıyla gezildiğinden sıra BFSAlgorithm'in SocialGraph
+     * sürümünden (ekleme sırası) farklı olabilir.
+     */
+    @Override
+    public List<UserNode> execute(SocialGraph graph, UserNode startNode, UserNode endNode) {
+        if (graph.getNode(startNode.getId()) == null) {
+            executionTime = 0;
+            return new ArrayList<>(Collections.singletonList(startNode));
+        }
+        return execute(graph.freeze(), startNode, endNode);
+    }
+
+    /**
+     * Ziyaret sırası BFSAlgorithm'in CSR sürümüyle aynıdır: her seviyedeki düğümler,
+     * önceki seviyedeki ilk (sırada en öndeki) komşularının sırasına, eşitlikte
+     * ordinale göre dizilir. Hedef verilmişse hedefe kadar (dahil) döner.
+     */
+    @Override
+    public List<UserNode> execute(CsrGraph graph, UserNode startNode, UserNode endNode) {
+        int start = graph.getOrdinal(startNode.getId());
+        if (start < 0) {
+            throw new IllegalArgumentException("Başlangıç düğümü graf içinde bulunamadı: " + startNode.getId());
+        }
+        int end = endNode == null ? -1 : graph.getOrdinal(endNode.getId());
+        Result result = search(graph, start, end);
+        long startTime = System.nanoTime();
+        int[] order = new int[result.visitedCount];
+        int length = visitOrder(graph, result, end, order);
+        List<UserNode> nodes = graph.toNodes(order, length);
+        executionTime += (System.nanoTime() - startTime) / 1_000_000;
+        return nodes;
+    }
+
+    /**
+     * Kaynaktan tüm bileşeni gezer.
+     */
+    public Result search(CsrGraph graph, int source) {
+        return search(graph, source, -1);
+    }
+
+    /**
+     * Kaynaktan BFS; target >= 0 ise hedefin seviyesi tamamlanınca durur.
+     */
+    public Result search(CsrGraph graph, int source, int target) {
+        int n = graph.getNodeCount();
+        if (source < 0 || source >= n || target >= n) {
+            throw new IllegalArgumentException("Geçersiz düğüm: " + source + " -> " + target);
+        }
+        long startTime = System.nanoTime();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int words = (n + 63) >>> 6;
+
+        int[] level = new int[n];
+        int[] parent = new int[n];
+        Arrays.fill(level, -1);
+        Arrays.fill(parent, -1);
+        AtomicLongArray visited = new AtomicLongArray(words);
+
+        level[source] = 0;
+        visited.set(source >>> 6, 1L << source);
+        int[] queue = new int[n];
+        int[] nextQueue = new int[n];
+        long[] bits = null;
+        long[] nextBits = null;
+        queue[0] = source;
+        int frontierSize = 1;
+        long frontierEdges = graph.getDegree(source);
+        long unvisitedEdges = graph.getEdgeCount() - frontierEdges;
+        boolean bottomUp = false;
+        boolean growing = true;
+        int visitedCount = 1;
+        int depth = 0;
+        int topDownSteps = 0, bottomUpSteps = 0;
+
+        while (frontierSize > 0 && (target < 0 || level[target] < 0)) {
+            if (!bottomUp && frontierEdges > unvisitedEdges / ALPHA) {
+                // Seyrek -> yoğun
+                if (bits == null) {
+                    bits = new long[words];
+                    nextBits = new long[words];
+                } else {
+                    Arrays.fill(bits, 0L);
+                }
+                for (int i = 0; i < frontierSize; i++) {
+                    int v = queue[i];
+                    bits[v >>> 6] |= 1L << v;
+                }
+                bottomUp = true;
+            } else if (bottomUp && !growing && frontierSize < n / BETA) {
+                // Yoğun -> seyrek
+                int count = 0;
+                for (int w = 0; w < words; w++) {
+                    long word = bits[w];
+                    while (word != 0) {
+                        queue[count++] = (w << 6) | Long.numberOfTrailingZeros(word);
+                        word &= word - 1;
+                    }
+                }
+                bottomUp = false;
+            }
+
+            long[] stepEdges = new long[1];
+            int discovered;
+            if (bottomUp) {
+                discovered = bottomUpStep(offsets, targets, n, depth, level, parent, visited, bits, nextBits, stepEdges);
+                long[] swap = bits;
+                bits = nextBits;
+                nextBits = swap;
+                bottomUpSteps++;
+            } else {
+                discovered = topDownStep(offsets, targets, queue, frontierSize, depth, level, parent, visited,
+                        nextQueue, stepEdges);
+                int[] swap = queue;
+                queue = nextQueue;
+                nextQueue = swap;
+                topDownSteps++;
+            }
+            growing = discovered >= frontierSize;
+            frontierSize = discovered;
+            frontierEdges = stepEdges[0];
+            unvisitedEdges -= frontierEdges;
+            visitedCount += discovered;
+            if (discovered > 0) {
+                depth++;
+            }
+        }
+
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return new Result(source, level, parent, visitedCount, depth, topDownSteps, bottomUpSteps);
+    }
+
+    // Sınırdaki her düğümün komşularını sahiplenir; yeni düğümler nextQueue'ya yazılır
+    private int topDownStep(int[] offsets, int[] targets, int[] queue, int frontierSize, int depth,
+                            int[] level, int[] parent, AtomicLongArray visited, int[] nextQueue, long[] stepEdges) {
+        AtomicInteger tail = new AtomicInteger();
+        AtomicLong edges = new AtomicLong();
+        int chunks = (frontierSize + TOP_DOWN_CHUNK - 1) / TOP_DOWN_CHUNK;
+        parallel(chunks, c -> {
+            int[] buffer = BUFFER.get();
+            int count = 0;
+            long degreeSum = 0;
+            int to = Math.min(frontierSize, (c + 1) * TOP_DOWN_CHUNK);
+            for (int i = c * TOP_DOWN_CHUNK; i < to; i++) {
+                int u = queue[i];
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    int v = targets[e];
+                    if (level[v] >= 0 || !claim(visited, v)) {
+                        continue;
+                    }
+                    level[v] = depth + 1;
+                    parent[v] = u;
+                    degreeSum += offsets[v + 1] - offsets[v];
+                    if (count == BUFFER_SIZE) {
+                        System.arraycopy(buffer, 0, nextQueue, tail.getAndAdd(count), count);
+                        count = 0;
+                    }
+                    buffer[count++] = v;
+                }
+            }
+            if (count > 0) {
+                System.arraycopy(buffer, 0, nextQueue, tail.getAndAdd(count), count);
+            }
+            edges.addAndGet(degreeSum);
+        });
+        stepEdges[0] = edges.get();
+        return tail.get();
+    }
+
+    // Ziyaret edilmemiş her düğüm sınırda bir komşu arar; kelimeler parçalara ait olduğundan kilit gerekmez
+    private int bottomUpStep(int[] offsets, int[] targets, int n, int depth, int[] level, int[] parent,
+                             AtomicLongArray visited, long[] bits, long[] nextBits, long[] stepEdges) {
+        AtomicInteger discovered = new AtomicInteger();
+        AtomicLong edges = new AtomicLong();
+        int chunks = (n + BOTTOM_UP_CHUNK - 1) / BOTTOM_UP_CHUNK;
+        parallel(chunks, c -> {
+            int count = 0;
+            long degreeSum = 0;
+            int fromWord = c * (BOTTOM_UP_CHUNK >>> 6);
+            int toWord = Math.min((n + 63) >>> 6, fromWord + (BOTTOM_UP_CHUNK >>> 6));
+            for (int w = fromWord; w < toWord; w++) {
+                long seen = visited.get(w);
+                long unseen = ~seen;
+                if ((w << 6) + 64 > n) {
+                    unseen &= (1L << (n & 63)) - 1;
+                }
+                long found = 0;
+                while (unseen != 0) {
+                    int bit = Long.numberOfTrailingZeros(unseen);
+                    unseen &= unseen - 1;
+                    int v = (w << 6) | bit;
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int u = targets[e];
+                        if ((bits[u >>> 6] & (1L << u)) != 0) {
+                            level[v] = depth + 1;
+                            parent[v] = u;
+                            found |= 1L << bit;
+                            degreeSum += offsets[v + 1] - offsets[v];
+                            count++;
+                            break;
+                        }
+                    }
+                }
+                nextBits[w] = found;
+                if (found != 0) {
+                    visited.set(w, seen | found);
+                }
+            }
+            discovered.addAndGet(count);
+            edges.addAndGet(degreeSum);
+        });
+        stepEdges[0] = edges.get();
+        return discovered.get();
+    }
+
+    // Bitin sahibi bu iş parçacığı olduysa true
+    private static boolean claim(AtomicLongArray visited, int v) {
+        int w = v >>> 6;
+        long bit = 1L << v;
+        long word = visited.get(w);
+        while ((word & bit) == 0) {
+            if (visited.compareAndSet(w, word, word | bit)) {
+                return true;
+            }
+            word = visited.get(w);
+        }
+        return false;
+    }
+
+    private void parallel(int chunks, IntConsumer body) {
+        if (chunks == 1) {
+            body.accept(0);
+        } else {
+            pool.submit(() -> IntStream.range(0, chunks).parallel().forEach(body)).join();
+        }
+    }
+
+    /**
+     * Seviye dizisinden sıralı BFS'in ziyaret sırasını kurar. Her seviye
+     * (önceki seviyedeki ilk komşunun sırası, ordinal) anahtarıyla sıralanır;
+     * CSR satırları sıralı olduğundan bu, kuyruklu BFS'in sırasıdır.
+     * @return Yazılan uzunluk (hedef varsa hedef dahil)
+     */
+    int visitOrder(CsrGraph graph, Result result, int end, int[] order) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] level = result.levels;
+        int n = level.length;
+        int lastLevel = end >= 0 && level[end] >= 0 ? level[end] : result.depth;
+
+        // Seviyelere göre kova (seviye içi sıra sonra düzeltilir)
+        int[] start = new int[lastLevel + 2];
+        for (int v = 0; v < n; v++) {
+            if (level[v] >= 0 && level[v] <= lastLevel) {
+                start[level[v] + 1]++;
+            }
+        }
+        for (int l = 0; l <= lastLevel; l++) {
+            start[l + 1] += start[l];
+        }
+        int[] fill = Arrays.copyOf(start, lastLevel + 1);
+        for (int v = 0; v < n; v++) {
+            if (level[v] >= 0 && level[v] <= lastLevel) {
+                order[fill[level[v]]++] = v;
+            }
+        }
+
+        // Henüz sıralanmamış düğümler MAX_VALUE; v'nin komşuları önceki, kendi ve
+        // sonraki seviyededir, yalnızca önceki seviye sıralanmış olduğundan
+        // en küçük konum doğrudan ilk ebeveyni verir
+        int[] position = new int[n];
+        Arrays.fill(position, Integer.MAX_VALUE);
+        position[result.source] = 0;
+        for (int l = 1; l <= lastLevel; l++) {
+            int from = start[l];
+            int size = start[l + 1] - from;
+            long[] keys = new long[size];
+            parallel((size + BOTTOM_UP_CHUNK - 1) / BOTTOM_UP_CHUNK, c -> {
+                int to = Math.min(size, (c + 1) * BOTTOM_UP_CHUNK);
+                for (int i = c * BOTTOM_UP_CHUNK; i < to; i++) {
+                    int v = order[from + i];
+                    int first = Integer.MAX_VALUE;
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        first = Math.min(first, position[targets[e]]);
+                    }
+                    keys[i] = ((long) first << 32) | v;
+                }
+            });
+            if (size > BOTTOM_UP_CHUNK) {
+                pool.submit(() -> Arrays.parallelSort(keys)).join();
+            } else {
+                Arrays.sort(keys);
+            }
+            for (int i = 0; i < size; i++) {
+                int v = (int) keys[i];
+                order[from + i] = v;
+                position[v] = from + i;
+            }
+        }
+        return end >= 0 && level[end] >= 0 ? position[end] + 1 : start[lastLevel + 1];
+    }
+
+    /**
+     * Son çalıştırmanın süresi (milisaniye)
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+
+    @Override
+    public String getName() {
+        return "Paralel BFS (yön değiştiren)";
+    }
+
+    /**
+     * BFS sonucu: ordinal başına seviye (ulaşılamayan -1) ve BFS ağacındaki
+     * ebeveyn (kaynak ve ulaşılamayanlar -1). Paralel adımlarda aynı seviyedeki
+     * birden çok aday arasından hangisinin ebeveyn olacağı belirsizdir.
+     */
+    public static final class Result {
+        private final int source;
+        private final int[] levels;
+        private final int[] parents;
+        private final int visitedCount;
+        private final int depth;
+        private final int topDownSteps;
+        private final int bottomUpSteps;
+
+        Result(int source, int[] levels, int[] parents, int visitedCount, int depth,
+               int topDownSteps, int bottomUpSteps) {
+            this.source = source;
+            this.levels = levels;
+            this.parents = parents;
+            this.visitedCount = visitedCount;
+            this.depth = depth;
+            this.topDownSteps = topDownSteps;
+            this.bottomUpSteps = bottomUpSteps;
+        }
+
+        public int getSource() { return source; }
+        public int getLevel(int ordinal) { return levels[ordinal]; }
+        public int getParent(int ordinal) { return parents[ordinal]; }
+
+        /** Seviye dizisinin kendisi (kopya değil) */
+        public int[] getLevels() { return levels; }
+
+        /** Ebeveyn dizisinin kendisi (kopya değil) */
+        public int[] getParents() { return parents; }
+
+        public int getVisitedCount() { return visitedCount; }
+
+        /** En büyük seviye */
+        public int getDepth() { return depth; }
+
+        public int getTopDownSteps() { return topDownSteps; }
+        public int getBottomUpSteps() { return bottomUpSteps; }
+    }
+}
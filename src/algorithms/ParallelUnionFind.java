@@ -0,0 +1,166 @@
+package algorithms;
+
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.stream.IntStream;
+
+/**
+ * Kilitsiz, paralel union-find (birleşim-bul).
+ *
+ * Ebeveynler düz int[]'tedir; okumalar sıradan, yazmalar VarHandle CAS'tır.
+ * Birleştirme, büyük indeksli kökü küçük indeksli köke CAS ile bağlar
+ * (kaybeden iş parçacığı yeniden dener); eski bir okuma yalnızca CAS'ın
+ * başarısız olmasına yol açar. Bul işlemi yol yarılaması ile sıkıştırır. Kök her zaman kümesindeki en
+ * küçük indekstir; bu yüzden sonuç iş parçacığı sayısından bağımsızdır.
+ *
+ * components(), CSR kenar listesi üzerinde Afforest yöntemidir: önce her
+ * düğümün ilk NEIGHBOR_ROUNDS komşusu bağlanır, örneklemeyle en büyük
+ * (dev) bileşen bulunur ve kalan kenarlar yalnızca dev bileşen dışındaki
+ * düğümler için işlenir. Özyineleme yoktur; yığın derinliği bileşen
+ * boyutundan bağımsızdır.
+ */
+public final class ParallelUnionFind {
+    static final int NEIGHBOR_ROUNDS = 2;
+    private static final int SAMPLE_SIZE = 1024;
+
+    private static final VarHandle PARENT = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final int[] parent;
+
+    public ParallelUnionFind(int size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Boyut negatif olamaz: " + size);
+        }
+        parent = new int[size];
+        Arrays.setAll(parent, i -> i);
+    }
+
+    public int size() {
+        return parent.length;
+    }
+
+    /**
+     * x'in kökü (kümedeki en küçük indeks); yol yarılaması uygular.
+     */
+    public int find(int x) {
+        int p = parent[x];
+        while (p != x) {
+            int grand = parent[p];
+            if (grand != p) {
+                PARENT.compareAndSet(parent, x, p, grand);
+            }
+            x = p;
+            p = grand;
+        }
+        return x;
+    }
+
+    /**
+     * a ve b'nin kümelerini birleştirir; eşzamanlı çağrılabilir.
+     * @return Kümeler ayrıysa (bu çağrı bağladıysa) true
+     */
+    public boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return false;
+            }
+            int high = Math.max(rootA, rootB);
+            int low = Math.min(rootA, rootB);
+            if (PARENT.compareAndSet(parent, high, high, low)) {
+                return true;
+            }
+        }
+    }
+
+    public boolean connected(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) {
+                return true;
+            }
+            // rootA hâlâ kökse eşzamanlı bir birleşim araya girmemiştir
+            if ((int) PARENT.getVolatile(parent, rootA) == rootA) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Tüm düğümleri doğrudan köklerine bağlar (eşzamanlı birleşim olmamalı).
+     * @return labels[x] = x'in kökü
+     */
+    public int[] labels(ForkJoinPool pool) {
+        int[] labels = new int[size()];
+        pool.submit(() -> IntStream.range(0, labels.length).parallel().forEach(x -> {
+            int root = find(x);
+            parent[x] = root;
+            labels[x] = root;
+        })).join();
+        return labels;
+    }
+
+    /**
+     * CSR grafının bağlı bileşen etiketleri (Afforest). Graf yönsüz olmalıdır.
+     * @return labels[v] = v'nin bileşenindeki en küçük ordinal
+     */
+    public static int[] components(CsrGraph graph, ForkJoinPool pool) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        ParallelUnionFind sets = new ParallelUnionFind(n);
+
+        // 1. Her düğümün ilk komşuları (çoğu bileşen burada birleşir)
+        for (int round = 0; round < NEIGHBOR_ROUNDS; round++) {
+            int r = round;
+            pool.submit(() -> IntStream.range(0, n).parallel().forEach(u -> {
+                if (offsets[u] + r < offsets[u + 1]) {
+                    sets.union(u, targets[offsets[u] + r]);
+                }
+            })).join();
+        }
+        if (n == 0) {
+            return new int[0];
+        }
+        int[] labels = sets.labels(pool);
+
+        // 2. Dev bileşen örneklemeyle bulunur; onun düğümlerinin kenarları atlanır
+        int giant = mostFrequent(labels);
+
+        // 3. Kalan kenarlar (yönsüz olduğundan dev bileşene giden kenar diğer uçtan işlenir)
+        pool.submit(() -> IntStream.range(0, n).parallel().forEach(u -> {
+            if (labels[u] == giant) {
+                return;
+            }
+            for (int e = offsets[u] + NEIGHBOR_ROUNDS; e < offsets[u + 1]; e++) {
+                sets.union(u, targets[e]);
+            }
+        })).join();
+        return sets.labels(pool);
+    }
+
+    private static int mostFrequent(int[] labels) {
+        Random random = new Random(labels.length);
+        int[] sample = new int[SAMPLE_SIZE];
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            sample[i] = labels[random.nextInt(labels.length)];
+        }
+        Arrays.sort(sample);
+        int best = sample[0], bestCount = 0;
+        for (int i = 0, j; i < SAMPLE_SIZE; i = j) {
+            for (j = i; j < SAMPLE_SIZE && sample[j] == sample[i]; j++) { }
+            if (j - i > bestCount) {
+                bestCount = j - i;
+                best = sample[i];
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,233 @@
+package algorithms;
+
+import model.CsrGraph;
+import model.SocialGraph;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+/**
+ * Paralel üçgen sayımı ve yerel kümelenme katsayıları.
+ *
+ * Her kenar düşük dereceli uçtan yüksek dereceli uca yönlendirilir
+ * (eşitlikte ordinal); böylece her üçgen tam bir kez, en düşük sıralı
+ * köşesinden bulunur ve çıkış dereceleri O(√m) ile sınırlı kalır. Yönlü
+ * satırlar CSR'den süzülerek kurulur ve ordinale göre sıralı kalır; (v, u)
+ * kenarı için out(v) ∩ out(u) kesişimi birleştirme ile, boyutlar çok farklıysa
+ * dörtnala (galloping) arama ile hesaplanır.
+ *
+ * İş, düğümlere değil yönlü kenarlara göre eşit parçalara bölünür; çok
+ * yüksek dereceli düğümler tek bir iş parçacığına yığılmaz. Düğüm başına
+ * sayaçlar VarHandle ile atomik artırılır.
+ */
+public class TriangleCounting {
+    private static final int EDGE_CHUNK = 4096;
+    // Boyut oranı bunu aşarsa birleştirme yerine dörtnala arama
+    private static final int GALLOP_RATIO = 32;
+    private static final VarHandle COUNTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final ForkJoinPool pool;
+    private long triangleCount;
+    private long executionTime;
+
+    public TriangleCounting() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TriangleCounting(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Havuz null olamaz");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Grafın önbellekli CSR görüntüsü (freeze) üzerinde; sonuç ordinal ile
+     * indekslidir.
+     */
+    public long[] countTriangles(SocialGraph graph) {
+        return countTriangles(graph.freeze());
+    }
+
+    /**
+     * triangles[v]: v'nin dahil olduğu üçgen sayısı. Toplam sayı
+     * getTriangleCount() ile alınır.
+     */
+    public long[] countTriangles(CsrGraph graph) {
+        long startTime = System.nanoTime();
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        // Yönlü (düşükten yükseğe) satırlar
+        int[] outOffsets = new int[n + 1];
+        parallel(n, v -> {
+            int count = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (precedes(offsets, v, targets[e])) count++;
+            }
+            outOffsets[v + 1] = count;
+        });
+        for (int v = 0; v < n; v++) {
+            outOffsets[v + 1] += outOffsets[v];
+        }
+        int[] outTargets = new int[outOffsets[n]];
+        parallel(n, v -> {
+            int position = outOffsets[v];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (precedes(offsets, v, targets[e])) outTargets[position++] = targets[e];
+            }
+        });
+
+        long[] triangles = new long[n];
+        int edgeCount = outTargets.length;
+        int chunks = (edgeCount + EDGE_CHUNK - 1) / EDGE_CHUNK;
+        parallel(chunks, chunk -> {
+            int from = chunk * EDGE_CHUNK;
+            int to = Math.min(edgeCount, from + EDGE_CHUNK);
+            int v = sourceOf(outOffsets, from);
+            long local = 0;
+            for (int e = from; e < to; e++) {
+                while (outOffsets[v + 1] <= e) {
+                    if (local != 0) COUNTS.getAndAdd(triangles, v, local);
+                    local = 0;
+                    v++;
+                }
+                int u = outTargets[e];
+                long found = intersect(outTargets, outOffsets[v], outOffsets[v + 1],
+                        outOffsets[u], outOffsets[u + 1], triangles);
+                if (found != 0) {
+                    local += found;
+                    COUNTS.getAndAdd(triangles, u, found);
+                }
+            }
+            if (local != 0) COUNTS.getAndAdd(triangles, v, local);
+        });
+
+        long total = 0;
+        for (long t : triangles) total += t;
+        triangleCount = total / 3;
+        executionTime = (System.nanoTime() - startTime) / 1_000_000;
+        return triangles;
+    }
+
+    /**
+     * Yerel kümelenme katsayıları: 2·T(v) / (d(v)·(d(v) - 1)); derecesi 2'den
+     * küçük düğümler için 0.
+     */
+    public static double[] clusteringCoefficients(CsrGraph graph, long[] triangles) {
+        double[] coefficients = new double[graph.getNodeCount()];
+        for (int v = 0; v < coefficients.length; v++) {
+            long degree = graph.getDegree(v);
+            if (degree >= 2) {
+                coefficients[v] = 2.0 * triangles[v] / (degree * (degree - 1));
+            }
+        }
+        return coefficients;
+    }
+
+    /**
+     * Kümelenme katsayılarının ortalaması (tüm düğümler üzerinden)
+     */
+    public static double averageClustering(double[] coefficients) {
+        double sum = 0;
+        for (double c : coefficients) sum += c;
+        return coefficients.length == 0 ? 0 : sum / coefficients.length;
+    }
+
+    // u, v'den sonra mı gelir (derece, ordinal)
+    private static boolean precedes(int[] offsets, int v, int u) {
+        int degreeV = offsets[v + 1] - offsets[v];
+        int degreeU = offsets[u + 1] - offsets[u];
+        return degreeV < degreeU || (degreeV == degreeU && v < u);
+    }
+
+    // e kenarının kaynağı: outOffsets[v] <= e < outOffsets[v + 1] (ikili arama)
+    private static int sourceOf(int[] outOffsets, int e) {
+        int low = 0, high = outOffsets.length - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (outOffsets[mid] <= e) low = mid;
+            else high = mid - 1;
+        }
+        return low;
+    }
+
+    // Sıralı iki aralığın kesişimi; ortak her w için triangles[w] artırılır
+    private static long intersect(int[] values, int a, int aEnd, int b, int bEnd, long[] triangles) {
+        int sizeA = aEnd - a, sizeB = bEnd - b;
+        if (sizeA > sizeB) {
+            int t = a; a = b; b = t;
+            t = aEnd; aEnd = bEnd; bEnd = t;
+            t = sizeA; sizeA = sizeB; sizeB = t;
+        }
+        long found = 0;
+        if (sizeA == 0) {
+            return 0;
+        }
+        if ((long) sizeA * GALLOP_RATIO < sizeB) {
+            for (int i = a; i < aEnd && b < bEnd; i++) {
+                b = gallop(values, b, bEnd, values[i]);
+                if (b < bEnd && values[b] == values[i]) {
+                    COUNTS.getAndAdd(triangles, values[i], 1L);
+                    found++;
+                    b++;
+                }
+            }
+            return found;
+        }
+        while (a < aEnd && b < bEnd) {
+            int x = values[a], y = values[b];
+            if (x < y) {
+                a++;
+            } else if (x > y) {
+                b++;
+            } else {
+                COUNTS.getAndAdd(triangles, x, 1L);
+                found++;
+                a++;
+                b++;
+            }
+        }
+        return found;
+    }
+
+    // [from, to) içinde key'e eşit ya da büyük ilk konum (üstel + ikili arama)
+    private static int gallop(int[] values, int from, int to, int key) {
+        int step = 1;
+        int low = from, high = from;
+        while (high < to && values[high] < key) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        high = Math.min(high, to);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < key) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    private void parallel(int count, IntConsumer body) {
+        pool.submit(() -> IntStream.range(0, count).parallel().forEach(body)).join();
+    }
+
+    /**
+     * Son sayımdaki toplam üçgen sayısı
+     */
+    public long getTriangleCount() {
+        return triangleCount;
+    }
+
+    /**
+     * Son sayımın süresi (milisaniye)
+     */
+    public long getExecutionTime() {
+        return executionTime;
+    }
+}
@@ -1,5 +1,6 @@
 package algorithms;
 
+import model.CsrGraph;
 import model.SocialGraph;
 import model.UserNode;
 
@@ -9,59 +10,27 @@ public class WelshPowellAlgorithm {
 
     /**
      * Algoritmayı çalıştırır ve her düğüm için bir Renk ID'si (0, 1, 2...) döner.
+     * Grafın önbellekli CSR görüntüsü (freeze) üzerinde çalışır.
      * @param graph Renklendirilecek graf
      * @return Düğüm -> Renk ID eşleşmesi
      */
     public Map<UserNode, Integer> execute(SocialGraph graph) {
-        // Sonuç haritası: Hangi düğüm hangi renge boyandı?
-        Map<UserNode, Integer> nodeColors = new HashMap<>();
-
-        // 1. ADIM: Düğümleri derecelerine (komşu sayılarına) göre BÜYÜKTEN KÜÇÜĞE sırala
-        List<UserNode> sortedNodes = new ArrayList<>(graph.getAllNodes());
-
-        // Lambda ile sıralama: (b'nin komşu sayısı - a'nın komşu sayısı)
-        sortedNodes.sort((a, b) ->
-                graph.getNeighbors(b).size() - graph.getNeighbors(a).size()
-        );
-
-        int currentColorId = 0;
-
-        // Tüm düğümler boyanana kadar devam et
-        while (nodeColors.size() < sortedNodes.size()) {
-            // Bu turda (bu renkte) boyananları geçici olarak tutalım
-            // ki aynı turda birbirine komşu olanları boyamayalım.
-            List<UserNode> coloredInThisRound = new ArrayList<>();
-
-            for (UserNode node : sortedNodes) {
-                // Eğer düğüm zaten boyanmışsa atla
-                if (nodeColors.containsKey(node)) {
-                    continue;
-                }
-
-                // Bu düğüm, şu anki renge (currentColorId) boyanabilir mi?
-                // Kural: Şu anki renge sahip hiçbir komşusu olmamalı.
-                if (canBeColored(node, coloredInThisRound, graph)) {
-                    nodeColors.put(node, currentColorId);
-                    coloredInThisRound.add(node);
-                }
-            }
-
-            // Bir sonraki renk için ID'yi artır
-            currentColorId++;
-        }
-
-        return nodeColors;
+        return execute(graph.freeze());
     }
 
-    // Yardımcı Metot: Bir düğüm, o turdaki listeyle çakışıyor mu?
-    private boolean canBeColored(UserNode node, List<UserNode> currentRoundNodes, SocialGraph graph) {
-        for (UserNode coloredNode : currentRoundNodes) {
-            // Eğer aday düğümümüz, o turda boyanmış herhangi bir düğümle komşuysa BOYAYAMAZSIN.
-            if (graph.hasEdge(node.getId(), coloredNode.getId())) {
-                return false;
-            }
+    /**
+     * Aynı algoritmanın CSR görüntüsü üzerindeki sürümü.
+     * Tur tur boyama, aynı sırada (derece azalan) ilk uygun renk seçimiyle
+     * aynı sonucu verir; bu yüzden GraphColoring.greedy ile O(n + m)'de
+     * hesaplanır.
+     */
+    public Map<UserNode, Integer> execute(CsrGraph graph) {
+        int[] colors = new GraphColoring().greedy(graph);
+        Map<UserNode, Integer> nodeColors = new HashMap<>();
+        for (int i = 0; i < colors.length; i++) {
+            nodeColors.put(graph.getNodeByOrdinal(i), colors[i]);
         }
-        return true;
+        return nodeColors;
     }
 
     public String getName() {
@@ -0,0 +1,101 @@
+package benchmark;
+
+import algorithms.BFSAlgorithm;
+import algorithms.ParallelBFS;
+import model.CsrGraph;
+import model.UserNode;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Tam graf BFS ölçümü: BFSAlgorithm (sıralı CSR kuyruğu) ile yön
+ * değiştiren ParallelBFS 1, 2, 4, ... çekirdeğe kadar karşılaştırılır.
+ * Seviyeler sıralı BFS ile, execute'un ziyaret sırası BFSAlgorithm ile
+ * doğrulanır.
+ *
+ * Kullanım: java benchmark.BfsBenchmark [düğümSayısı] [ortalamaDerece] [tekrar]
+ */
+public class BfsBenchmark {
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int repeats = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, false, 3);
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar%n", graph.getNodeCount(), graph.getEdgeCount());
+        UserNode start = graph.getNodeByOrdinal(0);
+
+        BFSAlgorithm sequential = new BFSAlgorithm();
+        List<UserNode> expectedOrder = null;
+        double best = Double.MAX_VALUE;
+        for (int r = 0; r <= repeats; r++) { // İlk tur JIT ısınması
+            long t0 = System.nanoTime();
+            expectedOrder = sequential.execute(graph, start, null);
+            if (r > 0) best = Math.min(best, (System.nanoTime() - t0) / 1e6);
+        }
+        int[] expectedLevels = levels(graph, 0);
+        double baseMs = best;
+        System.out.printf("%-28s %9.1f ms  %,d ziyaret%n", "BFSAlgorithm (sıralı)", baseMs, expectedOrder.size());
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                ParallelBFS bfs = new ParallelBFS(pool);
+                ParallelBFS.Result result = null;
+                best = Double.MAX_VALUE;
+                for (int r = 0; r <= repeats; r++) {
+                    long t0 = System.nanoTime();
+                    result = bfs.search(graph, 0);
+                    if (r > 0) best = Math.min(best, (System.nanoTime() - t0) / 1e6);
+                }
+                if (!Arrays.equals(expectedLevels, result.getLevels())) {
+                    throw new IllegalStateException("Seviyeler uyuşmuyor");
+                }
+                System.out.printf("ParallelBFS seviye (%2d iş p.) %9.1f ms  x%5.2f  derinlik %d, %d yukarıdan aşağı + %d aşağıdan yukarı adım%n",
+                        threads, best, baseMs / best, result.getDepth(), result.getTopDownSteps(), result.getBottomUpSteps());
+
+                best = Double.MAX_VALUE;
+                List<UserNode> order = null;
+                for (int r = 0; r <= repeats; r++) {
+                    long t0 = System.nanoTime();
+                    order = bfs.execute(graph, start, null);
+                    if (r > 0) best = Math.min(best, (System.nanoTime() - t0) / 1e6);
+                }
+                if (!order.equals(expectedOrder)) {
+                    throw new IllegalStateException("Ziyaret sırası uyuşmuyor");
+                }
+                System.out.printf("ParallelBFS sıra   (%2d iş p.) %9.1f ms  x%5.2f%n", threads, best, baseMs / best);
+            } finally {
+                pool.shutdown();
+            }
+            if (threads == cores) break;
+        }
+    }
+
+    // Doğrulama için sıralı seviye hesabı
+    private static int[] levels(CsrGraph graph, int source) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] level = new int[n];
+        Arrays.fill(level, -1);
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        level[source] = 0;
+        queue[tail++] = source;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                if (level[targets[e]] < 0) {
+                    level[targets[e]] = level[u] + 1;
+                    queue[tail++] = targets[e];
+                }
+            }
+        }
+        return level;
+    }
+}
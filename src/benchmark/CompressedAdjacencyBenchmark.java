@@ -0,0 +1,176 @@
+package benchmark;
+
+import model.CompressedGraph;
+import model.CsrGraph;
+
+/**
+ * CSR ile sıkıştırılmış komşuluğun (CompressedGraph) karşılaştırması.
+ *
+ * Her iki düzen için kenar başına bit ve gezinti verimi (kenar/s) ölçülür:
+ * tüm düğümlerden başlatılan BFS ve ağırlıklar dahil tam kenar taraması.
+ * Sıkıştırma oranı ordinal yerleşimine bağlı olduğu için graf hem topluluk
+ * sırasında hem de karıştırılmış ordinallerle denenir. Ölçümden önce her
+ * satır CSR ile karşılaştırılır (ID, derece, komşular ve skorlardan yeniden
+ * hesaplanan ağırlıklar); uyuşmazlıkta ölçüm yapılmaz.
+ *
+ * Kullanım: java benchmark.CompressedAdjacencyBenchmark [düğümSayısı] [ortalamaDerece]
+ */
+public class CompressedAdjacencyBenchmark {
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+
+        for (boolean shuffle : new boolean[]{false, true}) {
+            CsrGraph csr = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, shuffle, 42);
+            long start = System.nanoTime();
+            CompressedGraph compressed = CompressedGraph.from(csr);
+            double buildMs = (System.nanoTime() - start) / 1e6;
+
+            long m = csr.getEdgeCount();
+            long csrBytes = 4L * (csr.getNodeCount() + 1) + 4L * m + 8L * m;
+            System.out.printf("%n%s ordinaller: %,d düğüm, %,d yönlü kenar (sıkıştırma %.0f ms)%n",
+                    shuffle ? "Karıştırılmış" : "Topluluk sıralı", csr.getNodeCount(), m, buildMs);
+            System.out.printf("  CSR          : %,12d bayt  %6.2f bit/kenar%n", csrBytes, 8.0 * csrBytes / m);
+            System.out.printf("  Sıkıştırılmış: %,12d bayt  %6.2f bit/kenar (ağırlıklar skorlardan)%n",
+                    compressed.getAdjacencyBytes(), compressed.getBitsPerEdge());
+
+            verify(csr, compressed);
+
+            double csrScan = 0, compressedScan = 0, csrBfs = 0, compressedBfs = 0;
+            for (int round = 0; round < ROUNDS; round++) { // İlk turlar JIT ısınması
+                csrScan = measure(() -> scanCsr(csr), m);
+                compressedScan = measure(() -> scanCompressed(compressed), m);
+                csrBfs = measure(() -> bfsCsr(csr), m);
+                compressedBfs = measure(() -> bfsCompressed(compressed), m);
+            }
+            System.out.printf("  Tarama (ağırlıklı): CSR %,14.0f  sıkıştırılmış %,14.0f kenar/s%n", csrScan, compressedScan);
+            System.out.printf("  BFS               : CSR %,14.0f  sıkıştırılmış %,14.0f kenar/s%n", csrBfs, compressedBfs);
+        }
+    }
+
+    // Çözülen her satırı CSR satırıyla karşılaştırır; uyuşmazlıkta durur
+    private static void verify(CsrGraph csr, CompressedGraph compressed) {
+        int n = csr.getNodeCount();
+        if (compressed.getNodeCount() != n || compressed.getEdgeCount() != csr.getEdgeCount()) {
+            throw new IllegalStateException("Boyutlar uyuşmuyor: " + compressed.getNodeCount() + " düğüm, "
+                    + compressed.getEdgeCount() + " kenar");
+        }
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        double[] weights = csr.getWeights();
+        CompressedGraph.NeighborCursor cursor = compressed.cursor(0);
+        for (int v = 0; v < n; v++) {
+            if (compressed.getId(v) != csr.getId(v) || compressed.getOrdinal(csr.getId(v)) != v) {
+                throw new IllegalStateException("ID uyuşmuyor: ordinal " + v);
+            }
+            if (compressed.getDegree(v) != csr.getDegree(v)) {
+                throw new IllegalStateException("Derece uyuşmuyor: ordinal " + v + ", "
+                        + compressed.getDegree(v) + " != " + csr.getDegree(v));
+            }
+            cursor.reset(v);
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = cursor.next();
+                if (u != targets[e]) {
+                    throw new IllegalStateException("Komşu uyuşmuyor: " + v + " satırı, " + u + " != " + targets[e]);
+                }
+                if (cursor.weight() != weights[e]) {
+                    throw new IllegalStateException("Ağırlık uyuşmuyor: " + v + " -> " + u + ", "
+                            + cursor.weight() + " != " + weights[e]);
+                }
+            }
+            if (cursor.next() != -1) {
+                throw new IllegalStateException("Satır fazla komşu içeriyor: " + v);
+            }
+        }
+        System.out.printf("  Doğrulama    : %,d satır (komşular, dereceler, ağırlıklar) CSR ile doğru%n", n);
+    }
+
+    private interface Traversal {
+        double run();
+    }
+
+    private static double sink;
+
+    private static double measure(Traversal traversal, long edges) {
+        long start = System.nanoTime();
+        sink += traversal.run();
+        return edges / ((System.nanoTime() - start) / 1e9);
+    }
+
+    private static double scanCsr(CsrGraph graph) {
+        double[] weights = graph.getWeights();
+        int[] targets = graph.getTargets();
+        double total = 0;
+        for (int e = 0; e < targets.length; e++) {
+            total += weights[e] + targets[e];
+        }
+        return total;
+    }
+
+    private static double scanCompressed(CompressedGraph graph) {
+        CompressedGraph.NeighborCursor cursor = graph.cursor(0);
+        double total = 0;
+        for (int v = 0; v < graph.getNodeCount(); v++) {
+            cursor.reset(v);
+            for (int u = cursor.next(); u >= 0; u = cursor.next()) {
+                total += cursor.weight() + u;
+            }
+        }
+        return total;
+    }
+
+    // Tüm bileşenleri kapsayan BFS (her kenar bir kez incelenir)
+    private static double bfsCsr(CsrGraph graph) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        long visits = 0;
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) continue;
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            visited[s] = true;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = targets[e];
+                    if (!visited[u]) {
+                        visited[u] = true;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+            visits += tail;
+        }
+        return visits;
+    }
+
+    private static double bfsCompressed(CompressedGraph graph) {
+        int n = graph.getNodeCount();
+        CompressedGraph.NeighborCursor cursor = graph.cursor(0);
+        boolean[] visited = new boolean[n];
+        int[] queue = new int[n];
+        long visits = 0;
+        for (int s = 0; s < n; s++) {
+            if (visited[s]) continue;
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            visited[s] = true;
+            while (head < tail) {
+                cursor.reset(queue[head++]);
+                for (int u = cursor.next(); u >= 0; u = cursor.next()) {
+                    if (!visited[u]) {
+                        visited[u] = true;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+            visits += tail;
+        }
+        return visits;
+    }
+}
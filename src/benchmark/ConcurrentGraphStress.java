@@ -0,0 +1,179 @@
+package benchmark;
+
+import algorithms.ConnectedComponents;
+import model.ConcurrentSocialGraph;
+import model.CsrGraph;
+import model.GraphSnapshot;
+import model.RelationshipEdge;
+import model.SocialGraph;
+import model.UserNode;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ConcurrentSocialGraph stres testi.
+ *
+ * Arka planda yazar iş parçacıkları sürekli kenar eklerken, okuyucu sayısı
+ * 1'den çekirdek sayısına kadar artırılarak okuma verimi (sorgu/s) ölçülür.
+ * Ardından yazma ve skor güncellemeleri sürerken bir anlık görüntü
+ * (snapshot) üzerindeki analizin kararlı olduğu, sonunda da komşulukların simetrik ve kenar indeksinin
+ * tutarlı olduğu doğrulanır.
+ *
+ * Kullanım: java benchmark.ConcurrentGraphStress [düğümSayısı] [başlangıçKenarSayısı] [süreMs]
+ */
+public class ConcurrentGraphStress {
+
+    public static void main(String[] args) throws InterruptedException {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int initialEdges = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        long durationMs = args.length > 2 ? Long.parseLong(args[2]) : 2_000;
+        int writerCount = 2;
+
+        ConcurrentSocialGraph graph = new ConcurrentSocialGraph();
+        Random random = new Random(42);
+        for (int i = 0; i < nodeCount; i++) {
+            graph.addNode(i, random.nextInt(100), random.nextInt(100), random.nextInt(100));
+        }
+        for (int i = 0; i < initialEdges; i++) {
+            int a = random.nextInt(nodeCount), b = random.nextInt(nodeCount);
+            if (a != b) graph.addEdge(graph.getNode(a), graph.getNode(b));
+        }
+        System.out.printf("Graf: %d düğüm, %d kenar, %d yazar%n", nodeCount, graph.getAllEdges().size(), writerCount);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int readers = 1; readers < cores; readers *= 2) {
+            runRound(graph, nodeCount, readers, writerCount, durationMs);
+        }
+        runRound(graph, nodeCount, cores, writerCount, durationMs);
+
+        verifySnapshot(graph, nodeCount);
+        verify(graph);
+    }
+
+    /**
+     * Yazarlar çalışırken sabitlenmiş görüntü üzerinde bileşen analizini iki kez
+     * çalıştırır; sonuçlar aynı olmalı ve görüntünün kenar sayısı değişmemelidir.
+     */
+    private static void verifySnapshot(ConcurrentSocialGraph graph, int nodeCount) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread writer = new Thread(() -> {
+            ThreadLocalRandom r = ThreadLocalRandom.current();
+            for (long k = 1; running.get(); k++) {
+                int a = r.nextInt(nodeCount), b = r.nextInt(nodeCount);
+                if (a != b) graph.addEdge(graph.getNode(a), graph.getNode(b));
+                if (k % 1000 == 0) {
+                    updateRandomScores(graph, nodeCount, r);
+                }
+            }
+        });
+        writer.start();
+        try (GraphSnapshot snapshot = graph.openSnapshot()) {
+            int edgesBefore = snapshot.getAllEdges().size();
+            // CSR görüntüsü iki kez, arada yazmalar sürerken kurulur
+            CsrGraph firstCsr = CsrGraph.from(snapshot);
+            int first = new ConnectedComponents(firstCsr).findConnectedComponents().size();
+            CsrGraph secondCsr = CsrGraph.from(snapshot);
+            int second = new ConnectedComponents(secondCsr).findConnectedComponents().size();
+            int edgesAfter = snapshot.getAllEdges().size();
+            if (first != second || edgesBefore != edgesAfter
+                    || !Arrays.equals(firstCsr.getWeights(), secondCsr.getWeights())) {
+                throw new IllegalStateException("Anlık görüntü tutarsız: " + first + "/" + second
+                        + " bileşen, " + edgesBefore + "/" + edgesAfter + " kenar");
+            }
+            System.out.printf("Anlık görüntü (epoch %d): %d bileşen, %d kenar; güncel epoch %d%n",
+                    snapshot.getEpoch(), first, edgesBefore, graph.getEpoch());
+        } finally {
+            running.set(false);
+            writer.join();
+        }
+    }
+
+    // Rastgele 64 düğümün skorlarını toplu günceller (kenar ağırlıkları yeni sürüm alır)
+    private static void updateRandomScores(ConcurrentSocialGraph graph, int nodeCount, ThreadLocalRandom r) {
+        int batch = 64;
+        int[] ids = new int[batch];
+        double[] active = new double[batch], interaction = new double[batch], connection = new double[batch];
+        for (int i = 0; i < batch; i++) {
+            ids[i] = r.nextInt(nodeCount);
+            active[i] = r.nextInt(100);
+            interaction[i] = r.nextInt(100);
+            connection[i] = r.nextInt(100);
+        }
+        graph.updateScores(ids, active, interaction, connection);
+    }
+
+    private static void runRound(SocialGraph graph, int nodeCount, int readerCount, int writerCount,
+                                 long durationMs) throws InterruptedException {
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reads = new AtomicLong();
+        AtomicLong writes = new AtomicLong();
+
+        Thread[] threads = new Thread[readerCount + writerCount];
+        for (int t = 0; t < writerCount; t++) {
+            threads[t] = new Thread(() -> {
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                long local = 0;
+                while (running.get()) {
+                    int a = r.nextInt(nodeCount), b = r.nextInt(nodeCount);
+                    if (a != b) {
+                        graph.addEdge(graph.getNode(a), graph.getNode(b));
+                        local++;
+                    }
+                }
+                writes.addAndGet(local);
+            });
+        }
+        for (int t = 0; t < readerCount; t++) {
+            threads[writerCount + t] = new Thread(() -> {
+                ThreadLocalRandom r = ThreadLocalRandom.current();
+                long local = 0;
+                long sink = 0;
+                while (running.get()) {
+                    // 2 adımlık komşuluk gezintisi + nokta sorguları
+                    for (UserNode neighbor : graph.getNeighbors(r.nextInt(nodeCount))) {
+                        sink += graph.getNeighbors(neighbor).size();
+                    }
+                    for (int k = 0; k < 16; k++) {
+                        if (graph.hasEdge(r.nextInt(nodeCount), r.nextInt(nodeCount))) sink++;
+                    }
+                    local++;
+                }
+                if (sink == -1) System.out.print(""); // JIT'in döngüyü silmesini engelle
+                reads.addAndGet(local);
+            });
+        }
+
+        for (Thread thread : threads) thread.start();
+        Thread.sleep(durationMs);
+        running.set(false);
+        for (Thread thread : threads) thread.join();
+
+        double seconds = durationMs / 1000.0;
+        System.out.printf("okuyucu=%2d  okuma=%,12.0f sorgu/s  yazma=%,12.0f kenar/s%n",
+                readerCount, reads.get() / seconds, writes.get() / seconds);
+    }
+
+    private static void verify(SocialGraph graph) {
+        List<RelationshipEdge> edges = graph.getAllEdges();
+        long adjacencyEntries = 0;
+        for (UserNode node : graph.getAllNodes()) {
+            for (RelationshipEdge edge : graph.getEdges(node.getId())) {
+                adjacencyEntries++;
+                int a = edge.getSource().getId(), b = edge.getDestination().getId();
+                if (!graph.hasEdge(a, b) || !graph.hasEdge(b, a)
+                        || graph.getEdgeWeight(a, b) != graph.getEdgeWeight(b, a)) {
+                    throw new IllegalStateException("Tutarsız kenar: " + a + " - " + b);
+                }
+            }
+        }
+        if (adjacencyEntries != 2L * edges.size()) {
+            throw new IllegalStateException("Komşuluk sayısı uyuşmuyor: " + adjacencyEntries + " != 2 * " + edges.size());
+        }
+        System.out.println("Doğrulama başarılı: " + edges.size() + " kenar tutarlı.");
+    }
+}
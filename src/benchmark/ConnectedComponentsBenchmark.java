@@ -0,0 +1,96 @@
+package benchmark;
+
+import algorithms.ConnectedComponents;
+import algorithms.ParallelUnionFind;
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Bağlı bileşen ölçümü: sıralı kuyruklu BFS etiketleme ile paralel
+ * union-find (Afforest) 1, 2, 4, ... çekirdeğe kadar karşılaştırılır;
+ * ardından ConnectedComponents'in (bileşen listeleri dahil) toplam süresi
+ * yazdırılır. Varsayılan graf tek dev bileşenli 10M düğümdür.
+ *
+ * Kullanım: java benchmark.ConnectedComponentsBenchmark [düğümSayısı] [ortalamaDerece]
+ */
+public class ConnectedComponentsBenchmark {
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, true, 3);
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar%n", graph.getNodeCount(), graph.getEdgeCount());
+
+        int[] expected = null;
+        double best = Double.MAX_VALUE;
+        for (int r = 0; r < 3; r++) { // İlk tur JIT ısınması
+            long t0 = System.nanoTime();
+            expected = bfsLabels(graph);
+            if (r > 0) best = Math.min(best, (System.nanoTime() - t0) / 1e6);
+        }
+        double baseMs = best;
+        int[] sizes = new int[nodeCount];
+        int count = 0, largest = 0;
+        for (int v = 0; v < nodeCount; v++) {
+            if (sizes[expected[v]]++ == 0) count++;
+            largest = Math.max(largest, sizes[expected[v]]);
+        }
+        System.out.printf("%-30s %9.1f ms  %,d bileşen, en büyüğü %,d düğüm%n", "Sıralı BFS etiketleme", baseMs, count, largest);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                int[] labels = null;
+                best = Double.MAX_VALUE;
+                for (int r = 0; r < 3; r++) {
+                    long t0 = System.nanoTime();
+                    labels = ParallelUnionFind.components(graph, pool);
+                    if (r > 0) best = Math.min(best, (System.nanoTime() - t0) / 1e6);
+                }
+                if (!Arrays.equals(expected, labels)) {
+                    throw new IllegalStateException("Etiketler uyuşmuyor");
+                }
+                System.out.printf("Union-find (%2d iş p.)          %9.1f ms  x%5.2f%n", threads, best, baseMs / best);
+
+                ConnectedComponents components = new ConnectedComponents(graph, pool);
+                components.findConnectedComponents();
+                components.findConnectedComponents();
+                System.out.printf("ConnectedComponents (%2d iş p.) %9d ms  (bileşen listeleri dahil)%n",
+                        threads, components.getExecutionTime());
+            } finally {
+                pool.shutdown();
+            }
+            if (threads == cores) break;
+        }
+    }
+
+    // Etiket: bileşenin en küçük ordinali (union-find ile aynı)
+    private static int[] bfsLabels(CsrGraph graph) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] label = new int[n];
+        Arrays.fill(label, -1);
+        int[] queue = new int[n];
+        for (int root = 0; root < n; root++) {
+            if (label[root] >= 0) continue;
+            int head = 0, tail = 0;
+            queue[tail++] = root;
+            label[root] = root;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    if (label[targets[e]] < 0) {
+                        label[targets[e]] = root;
+                        queue[tail++] = targets[e];
+                    }
+                }
+            }
+        }
+        return label;
+    }
+}
@@ -0,0 +1,107 @@
+package benchmark;
+
+import algorithms.BidirectionalDijkstra;
+import algorithms.ContractionHierarchy;
+import algorithms.ContractionHierarchyQuery;
+import algorithms.DijkstraAlgorithm;
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Contraction Hierarchies ölçümü: ön işleme süresi, indeks boyutu ve
+ * sorgu gecikmesi (ortalama, p50, p99).
+ *
+ * Aynı rastgele çiftlerde Dijkstra ve iki yönlü Dijkstra ile
+ * karşılaştırılır; CH mesafeleri Dijkstra ile doğrulanır ve açılmış
+ * yolların Dijkstra'nın yoluyla aynı olduğu sayılır.
+ *
+ * Kullanım: java benchmark.ContractionHierarchyBenchmark [düğümSayısı] [ortalamaDerece] [sorgu] [çekirdekDerecesi]
+ */
+public class ContractionHierarchyBenchmark {
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int maxCoreDegree = args.length > 3 ? Integer.parseInt(args[3]) : ContractionHierarchy.DEFAULT_MAX_CORE_DEGREE;
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, false, 3);
+        long csrBytes = (long) Integer.BYTES * (graph.getNodeCount() + 1)
+                + (long) (Integer.BYTES + Double.BYTES) * graph.getEdgeCount();
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar (CSR %,d MB), %d sorgu%n",
+                graph.getNodeCount(), graph.getEdgeCount(), csrBytes >> 20, queries);
+
+        ContractionHierarchy hierarchy = ContractionHierarchy.build(graph, maxCoreDegree);
+        System.out.printf("Ön işleme: %,d ms, %d tur, çekirdek %,d düğüm (%.1f%%)%n",
+                hierarchy.getPreprocessingTime(), hierarchy.getRoundCount(), hierarchy.getCoreSize(),
+                100.0 * hierarchy.getCoreSize() / graph.getNodeCount());
+        System.out.printf("İndeks: %,d yukarı kenar (%,d kısayol), %,d MB%n",
+                hierarchy.getUpwardEdgeCount(), hierarchy.getShortcutCount(), hierarchy.getIndexBytes() >> 20);
+
+        Random random = new Random(5);
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            sources[q] = random.nextInt(nodeCount);
+            targets[q] = random.nextInt(nodeCount);
+        }
+
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        BidirectionalDijkstra bidirectional = new BidirectionalDijkstra();
+        ContractionHierarchyQuery query = new ContractionHierarchyQuery(hierarchy);
+        int[] expectedPath = new int[nodeCount];
+        int[] path = new int[nodeCount];
+
+        for (int round = 0; round < 2; round++) { // İlk tur JIT ısınması
+            long[] dijkstraTimes = new long[queries];
+            long[] bidirectionalTimes = new long[queries];
+            long[] hierarchyTimes = new long[queries];
+            long dijkstraSettled = 0, bidirectionalSettled = 0, hierarchySettled = 0;
+            int samePaths = 0;
+            for (int q = 0; q < queries; q++) {
+                int s = sources[q], t = targets[q];
+                long start = System.nanoTime();
+                int expectedLength = dijkstra.shortestPath(graph, s, t, expectedPath);
+                dijkstraTimes[q] = System.nanoTime() - start;
+                dijkstraSettled += dijkstra.getSettledCount();
+                double expected = dijkstra.distance(graph, s, t);
+
+                start = System.nanoTime();
+                bidirectional.distance(graph, s, t);
+                bidirectionalTimes[q] = System.nanoTime() - start;
+                bidirectionalSettled += bidirectional.getSettledCount();
+
+                start = System.nanoTime();
+                int length = query.shortestPath(graph, s, t, path);
+                hierarchyTimes[q] = System.nanoTime() - start;
+                hierarchySettled += query.getSettledCount();
+
+                double d = query.distance(graph, s, t);
+                if (Math.abs(d - expected) > 1e-9 * Math.max(1, expected)) {
+                    throw new IllegalStateException("CH mesafesi uyuşmuyor: " + d + " != " + expected);
+                }
+                if (length == expectedLength
+                        && Arrays.equals(path, 0, length, expectedPath, 0, expectedLength)) {
+                    samePaths++;
+                }
+            }
+            if (round == 1) {
+                report("Dijkstra", dijkstraTimes, dijkstraSettled);
+                report("İki yönlü Dijkstra", bidirectionalTimes, bidirectionalSettled);
+                report("CH (yol açılmış)", hierarchyTimes, hierarchySettled);
+                System.out.printf("Dijkstra ile aynı yol: %d / %d%n", samePaths, queries);
+            }
+        }
+    }
+
+    private static void report(String name, long[] times, long settled) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        double mean = Arrays.stream(sorted).average().orElse(0) / 1e3;
+        System.out.printf("%-20s ort %,10.1f µs  p50 %,10.1f µs  p99 %,10.1f µs  %,10d kesinleşen düğüm/sorgu%n",
+                name, mean, sorted[sorted.length / 2] / 1e3, sorted[(int) (sorted.length * 0.99)] / 1e3,
+                settled / sorted.length);
+    }
+}
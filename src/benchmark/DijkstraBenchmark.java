@@ -0,0 +1,164 @@
+package benchmark;
+
+import algorithms.DijkstraAlgorithm;
+import model.CsrGraph;
+import model.SocialGraph;
+import model.UserNode;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+/**
+ * Dijkstra sorgu veriminin (sorgu/s) ve sorgu başına bellek ayırmanın ölçümü.
+ *
+ * Karşılaştırılanlar:
+ * <ul>
+ *   <li>Eski SocialGraph yolu: HashMap mesafeler (her sorguda tüm düğümler
+ *       sonsuzla doldurulur), sarmalayıcı nesneli PriorityQueue ve kenar
+ *       başına getEdgeWeight araması. Karşılaştırma için burada korunmuştur.</li>
+ *   <li>Eski CSR yolu: her sorguda O(n) dizi ayırma + PriorityQueue.</li>
+ *   <li>Yeni motor: indeksli 4'lü yığın, iş parçacığı başına çalışma alanı
+ *       (DijkstraAlgorithm.distance).</li>
+ * </ul>
+ * Ayırma ölçümü com.sun.management.ThreadMXBean ile yapılır.
+ *
+ * Kullanım: java -Xmx4g benchmark.DijkstraBenchmark [düğümSayısı] [ortalamaDerece] [sorgu]
+ */
+public class DijkstraBenchmark {
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int legacyQueries = Math.max(3, queries / 20);
+
+        CsrGraph csr = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, false, 3);
+        SocialGraph graph = SocialGraph.fromSnapshot(csr);
+        csr = graph.freeze(); // Aynı UserNode nesneleri
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar%n", csr.getNodeCount(), csr.getEdgeCount());
+
+        Random random = new Random(5);
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            sources[q] = random.nextInt(nodeCount);
+            targets[q] = random.nextInt(nodeCount);
+        }
+
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        CsrGraph g = csr;
+        double[] expected = new double[legacyQueries];
+        for (int round = 0; round < 2; round++) { // İlk tur JIT ısınması
+            Result legacyMap = measure(legacyQueries, q -> expected[q] = legacySocialGraph(graph,
+                    g.getNodeByOrdinal(sources[q]), g.getNodeByOrdinal(targets[q])));
+            Result legacyCsr = measure(legacyQueries, q -> check(expected[q], legacyCsr(g, sources[q], targets[q])));
+            Result engine = measure(queries, q -> {
+                double d = dijkstra.distance(g, sources[q], targets[q]);
+                if (q < legacyQueries) check(expected[q], d);
+                return d;
+            });
+            if (round == 0) continue;
+            System.out.printf("Eski SocialGraph (HashMap) : %10.1f sorgu/s  %,14d bayt/sorgu%n", legacyMap.qps, legacyMap.bytes);
+            System.out.printf("Eski CSR (PriorityQueue)   : %10.1f sorgu/s  %,14d bayt/sorgu%n", legacyCsr.qps, legacyCsr.bytes);
+            System.out.printf("Yeni motor (4'lü yığın)    : %10.1f sorgu/s  %,14d bayt/sorgu%n", engine.qps, engine.bytes);
+            System.out.printf("Hızlanma: HashMap'e göre x%.1f, eski CSR'a göre x%.1f%n",
+                    engine.qps / legacyMap.qps, engine.qps / legacyCsr.qps);
+        }
+    }
+
+    private interface Query {
+        double run(int index);
+    }
+
+    private static final class Result {
+        double qps;
+        long bytes;
+    }
+
+    private static double sink;
+
+    private static Result measure(int count, Query query) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int q = 0; q < count; q++) {
+            sink += query.run(q);
+        }
+        long elapsed = System.nanoTime() - start;
+        Result result = new Result();
+        result.qps = count / (elapsed / 1e9);
+        result.bytes = (threads.getThreadAllocatedBytes(thread) - allocated) / count;
+        return result;
+    }
+
+    private static double check(double expected, double actual) {
+        if (Math.abs(expected - actual) > 1e-9 * Math.max(1, expected)
+                && !(Double.isInfinite(expected) && Double.isInfinite(actual))) {
+            throw new IllegalStateException("Mesafe uyuşmuyor: " + expected + " != " + actual);
+        }
+        return actual;
+    }
+
+    // --- ESKİ UYGULAMALAR (karşılaştırma için) ---
+
+    private static double legacySocialGraph(SocialGraph graph, UserNode startNode, UserNode endNode) {
+        Map<Integer, Double> distances = new HashMap<>();
+        Set<Integer> visited = new HashSet<>();
+        PriorityQueue<Integer> queue = new PriorityQueue<>(
+                Comparator.comparingDouble(id -> distances.getOrDefault(id, Double.POSITIVE_INFINITY)));
+        for (UserNode node : graph.getAllNodes()) {
+            distances.put(node.getId(), Double.POSITIVE_INFINITY);
+        }
+        distances.put(startNode.getId(), 0.0);
+        queue.add(startNode.getId());
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            if (!visited.add(current)) continue;
+            if (current == endNode.getId()) return distances.get(current);
+            UserNode currentNode = graph.getNode(current);
+            for (UserNode neighbor : graph.getNeighbors(currentNode)) {
+                if (visited.contains(neighbor.getId())) continue;
+                double newDistance = distances.get(current) + graph.getEdgeWeight(currentNode, neighbor);
+                if (newDistance < distances.get(neighbor.getId())) {
+                    distances.put(neighbor.getId(), newDistance);
+                    queue.add(neighbor.getId());
+                }
+            }
+        }
+        return Double.POSITIVE_INFINITY;
+    }
+
+    private static double legacyCsr(CsrGraph graph, int start, int end) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double[] distances = new double[n];
+        int[] previous = new int[n];
+        boolean[] visited = new boolean[n];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Arrays.fill(previous, -1);
+        PriorityQueue<double[]> queue = new PriorityQueue<>(Comparator.comparingDouble(entry -> entry[0]));
+        distances[start] = 0.0;
+        queue.add(new double[]{0.0, start});
+        while (!queue.isEmpty()) {
+            int current = (int) queue.poll()[1];
+            if (visited[current]) continue;
+            visited[current] = true;
+            if (current == end) break;
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int neighbor = targets[e];
+                if (visited[neighbor]) continue;
+                double newDistance = distances[current] + weights[e];
+                if (newDistance < distances[neighbor]) {
+                    distances[neighbor] = newDistance;
+                    previous[neighbor] = current;
+                    queue.add(new double[]{newDistance, neighbor});
+                }
+            }
+        }
+        return distances[end];
+    }
+}
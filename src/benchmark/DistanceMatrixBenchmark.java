@@ -0,0 +1,88 @@
+package benchmark;
+
+import algorithms.DijkstraAlgorithm;
+import algorithms.DistanceMatrix;
+import model.CsrGraph;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Çoktan çoğa mesafe matrisi ölçümü.
+ *
+ * Önce çift başına ayrı Dijkstra sorgusunun maliyeti bir örnekten
+ * kestirilir; ardından DistanceMatrix 1, 2, 4, ... çekirdeğe kadar
+ * iş parçacıklı havuzlarla çalıştırılıp çift/s ve hızlanma yazdırılır.
+ * Tüm matrisler tek iş parçacıklı sonuçla karşılaştırılır.
+ *
+ * Kullanım: java benchmark.DistanceMatrixBenchmark [düğümSayısı] [ortalamaDerece] [kaynak] [hedef]
+ */
+public class DistanceMatrixBenchmark {
+    private static final int NAIVE_SAMPLE = 10;
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int sourceCount = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+        int targetCount = args.length > 3 ? Integer.parseInt(args[3]) : 256;
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, false, 3);
+        Random random = new Random(11);
+        int[] sources = new int[sourceCount];
+        int[] targets = new int[targetCount];
+        for (int i = 0; i < sourceCount; i++) sources[i] = random.nextInt(nodeCount);
+        for (int j = 0; j < targetCount; j++) targets[j] = random.nextInt(nodeCount);
+        long pairs = (long) sourceCount * targetCount;
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar; matris %d x %d (%,d çift)%n",
+                graph.getNodeCount(), graph.getEdgeCount(), sourceCount, targetCount, pairs);
+
+        // Çift başına ayrı sorgu (örnekten kestirim)
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        for (int i = 0; i < NAIVE_SAMPLE; i++) { // JIT ısınması
+            dijkstra.distance(graph, sources[i % sourceCount], targets[i % targetCount]);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < NAIVE_SAMPLE; i++) {
+            dijkstra.distance(graph, sources[i % sourceCount], targets[(i * 7) % targetCount]);
+        }
+        double naivePairsPerSecond = NAIVE_SAMPLE / ((System.nanoTime() - start) / 1e9);
+        System.out.printf("%-24s %12.1f çift/s (tahmini toplam %,.1f s)%n",
+                "Çift başına Dijkstra", naivePairsPerSecond, pairs / naivePairsPerSecond);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        double[][] reference = null;
+        double baseRate = 0;
+        for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                DistanceMatrix matrix = new DistanceMatrix(pool);
+                matrix.compute(graph, sources, targets); // JIT ısınması
+                start = System.nanoTime();
+                double[][] result = matrix.compute(graph, sources, targets);
+                double seconds = (System.nanoTime() - start) / 1e9;
+                if (reference == null) {
+                    reference = result;
+                } else {
+                    verify(reference, result);
+                }
+                double rate = pairs / seconds;
+                if (threads == 1) baseRate = rate;
+                System.out.printf("DistanceMatrix (%2d iş p.) %12.1f çift/s  %8.2f s  x%5.2f  %,d kesinleşen düğüm/kaynak%n",
+                        threads, rate, seconds, rate / baseRate, matrix.getSettledCount() / Math.min(sourceCount, targetCount));
+            } finally {
+                pool.shutdown();
+            }
+            if (threads == cores) break;
+        }
+    }
+
+    private static void verify(double[][] expected, double[][] actual) {
+        for (int i = 0; i < expected.length; i++) {
+            for (int j = 0; j < expected[i].length; j++) {
+                if (Double.compare(expected[i][j], actual[i][j]) != 0) {
+                    throw new IllegalStateException("Matris uyuşmuyor: [" + i + "][" + j + "]");
+                }
+            }
+        }
+    }
+}
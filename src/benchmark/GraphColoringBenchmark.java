@@ -0,0 +1,61 @@
+package benchmark;
+
+import algorithms.GraphColoring;
+import model.CsrGraph;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Graf renklendirme ölçümü: sıralı greedy (Welsh-Powell sırası) ile paralel
+ * Jones-Plassmann ve iyimser boyama, 1, 2, 4, ... çekirdeğe kadar. Süre,
+ * renk sayısı ve tur sayısı yazdırılır; tüm sonuçlar geçerlilik için
+ * denetlenir.
+ *
+ * Kullanım: java benchmark.GraphColoringBenchmark [düğümSayısı] [ortalamaDerece]
+ */
+public class GraphColoringBenchmark {
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, false, 3);
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar%n", graph.getNodeCount(), graph.getEdgeCount());
+
+        GraphColoring sequential = new GraphColoring();
+        double baseMs = measure(graph, sequential, 0);
+        System.out.printf("%-32s %9.1f ms  %4d renk%n", "Greedy (sıralı)", baseMs, sequential.getColorCount());
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                GraphColoring coloring = new GraphColoring(pool);
+                double ms = measure(graph, coloring, 1);
+                System.out.printf("Jones-Plassmann (%2d iş p.)        %9.1f ms  %4d renk  %5d tur  x%5.2f%n",
+                        threads, ms, coloring.getColorCount(), coloring.getRoundCount(), baseMs / ms);
+                ms = measure(graph, coloring, 2);
+                System.out.printf("İyimser + onarım (%2d iş p.)       %9.1f ms  %4d renk  %5d tur  x%5.2f%n",
+                        threads, ms, coloring.getColorCount(), coloring.getRoundCount(), baseMs / ms);
+            } finally {
+                pool.shutdown();
+            }
+            if (threads == cores) break;
+        }
+    }
+
+    // En iyi süre (ms); ilk çalıştırma JIT ısınmasıdır
+    private static double measure(CsrGraph graph, GraphColoring coloring, int mode) {
+        double best = Double.MAX_VALUE;
+        for (int r = 0; r < 4; r++) {
+            long t0 = System.nanoTime();
+            int[] colors = mode == 0 ? coloring.greedy(graph)
+                    : mode == 1 ? coloring.jonesPlassmann(graph) : coloring.speculative(graph);
+            if (r > 0) best = Math.min(best, (System.nanoTime() - t0) / 1e6);
+            if (!GraphColoring.isValid(graph, colors)) {
+                throw new IllegalStateException("Geçersiz renklendirme");
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,110 @@
+package benchmark;
+
+import algorithms.BFSAlgorithm;
+import algorithms.MultiSourceBFS;
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Toplu k atlama komşuluğu ölçümü (kaynak/s).
+ *
+ * Karşılaştırılanlar: kaynak başına BFSAlgorithm.execute (örnekten
+ * kestirilir), kaynak başına derinlik sınırlı sıralı BFS ve MultiSourceBFS
+ * (1, 2, 4, ... çekirdeğe kadar). Atlama sayıları sıralı BFS ile doğrulanır.
+ *
+ * Kullanım: java benchmark.MultiSourceBfsBenchmark [düğümSayısı] [ortalamaDerece] [kaynak] [atlama]
+ */
+public class MultiSourceBfsBenchmark {
+    private static final int FULL_BFS_SAMPLE = 5;
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int sourceCount = args.length > 2 ? Integer.parseInt(args[2]) : 4096;
+        int maxHops = args.length > 3 ? Integer.parseInt(args[3]) : 3;
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, false, 3);
+        Random random = new Random(17);
+        int[] sources = new int[sourceCount];
+        for (int i = 0; i < sourceCount; i++) sources[i] = random.nextInt(nodeCount);
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar; %,d kaynak, %d atlama%n",
+                graph.getNodeCount(), graph.getEdgeCount(), sourceCount, maxHops);
+
+        // Kaynak başına tam BFSAlgorithm (örnekten kestirim)
+        BFSAlgorithm bfs = new BFSAlgorithm();
+        bfs.execute(graph, graph.getNodeByOrdinal(sources[0]), null); // JIT ısınması
+        long start = System.nanoTime();
+        for (int i = 0; i < FULL_BFS_SAMPLE; i++) {
+            bfs.execute(graph, graph.getNodeByOrdinal(sources[i % sourceCount]), null);
+        }
+        double fullRate = FULL_BFS_SAMPLE / ((System.nanoTime() - start) / 1e9);
+        System.out.printf("%-30s %12.1f kaynak/s%n", "BFSAlgorithm (kaynak başına)", fullRate);
+
+        // Kaynak başına derinlik sınırlı sıralı BFS
+        int[][] expected = new int[sourceCount][];
+        int[] level = new int[nodeCount];
+        Arrays.fill(level, -1);
+        int[] queue = new int[nodeCount];
+        for (int round = 0; round < 2; round++) { // İlk tur JIT ısınması
+            start = System.nanoTime();
+            for (int i = 0; i < sourceCount; i++) {
+                expected[i] = limitedBfs(graph, sources[i], maxHops, level, queue);
+            }
+        }
+        double sequentialRate = sourceCount / ((System.nanoTime() - start) / 1e9);
+        System.out.printf("%-30s %12.1f kaynak/s%n", "Sıralı BFS (derinlik sınırlı)", sequentialRate);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                MultiSourceBFS multi = new MultiSourceBFS(pool);
+                int[][] counts = null;
+                for (int round = 0; round < 2; round++) {
+                    start = System.nanoTime();
+                    counts = multi.hopCounts(graph, sources, maxHops);
+                }
+                double rate = sourceCount / ((System.nanoTime() - start) / 1e9);
+                for (int i = 0; i < sourceCount; i++) {
+                    if (!Arrays.equals(expected[i], counts[i])) {
+                        throw new IllegalStateException("Atlama sayıları uyuşmuyor: kaynak " + sources[i]);
+                    }
+                }
+                System.out.printf("MultiSourceBFS (%2d iş p.)      %12.1f kaynak/s  x%5.2f sıralıya göre%n",
+                        threads, rate, rate / sequentialRate);
+            } finally {
+                pool.shutdown();
+            }
+            if (threads == cores) break;
+        }
+    }
+
+    // Atlama başına düğüm sayıları; level ve queue çağrılar arasında yeniden kullanılır
+    private static int[] limitedBfs(CsrGraph graph, int source, int maxHops, int[] level, int[] queue) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] counts = new int[maxHops + 1];
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        level[source] = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            counts[level[u]]++;
+            if (level[u] == maxHops) continue;
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                int v = targets[e];
+                if (level[v] < 0) {
+                    level[v] = level[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        for (int i = 0; i < tail; i++) {
+            level[queue[i]] = -1;
+        }
+        return counts;
+    }
+}
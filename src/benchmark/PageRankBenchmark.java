@@ -0,0 +1,175 @@
+package benchmark;
+
+import algorithms.PageRank;
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * PageRank ölçümü: tur sayısı, son fark (L1), tur başına süre.
+ *
+ * Varsayılan graf ~100M yönlü kenardır (6,4M düğüm, ortalama derece 16;
+ * -Xmx4g yeterlidir). Ağırlıksız mod 1, 2, 4, ... çekirdekle, ağırlıklı ve
+ * kişiselleştirilmiş modlar tüm çekirdeklerle çalıştırılır. Son olarak
+ * düğümlerin %1'inin kenar ağırlıkları değiştirilir (skor güncellemesi
+ * taklidi) ve soğuk başlangıç ile önceki puanlardan ısıl başlangıç
+ * karşılaştırılır.
+ *
+ * Ölçümden önce üç mod, ayrı ve küçük bir graf üzerinde yoğun (sıralı,
+ * itmeli) bir başvuru uyarlamasıyla doğrulanır; L1 hatası yazdırılır.
+ *
+ * Kullanım: java benchmark.PageRankBenchmark [düğümSayısı] [ortalamaDerece] [tolerans]
+ */
+public class PageRankBenchmark {
+    private static final int TELEPORT_SIZE = 100;
+    private static final int VERIFY_NODE_COUNT = 20_000;
+    private static final int REFERENCE_ITERATIONS = 500;
+    private static final double VERIFY_TOLERANCE = 1e-9;
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 6_400_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : 1e-6;
+
+        long start = System.nanoTime();
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, true, 11);
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar (%d ms'de üretildi); tolerans %.0e%n",
+                graph.getNodeCount(), graph.getEdgeCount(), (System.nanoTime() - start) / 1_000_000, tolerance);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        verify(Math.min(nodeCount, VERIFY_NODE_COUNT), averageDegree, cores);
+
+        for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                PageRank pageRank = new PageRank(pool, PageRank.DEFAULT_DAMPING, tolerance, PageRank.DEFAULT_MAX_ITERATIONS);
+                pageRank.rank(graph, PageRank.UNWEIGHTED);
+                report("Ağırlıksız (" + threads + " iş p.)", pageRank);
+            } finally {
+                pool.shutdown();
+            }
+            if (threads == cores) break;
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(cores);
+        try {
+            PageRank pageRank = new PageRank(pool, PageRank.DEFAULT_DAMPING, tolerance, PageRank.DEFAULT_MAX_ITERATIONS);
+            double[] weighted = pageRank.rank(graph, PageRank.WEIGHTED, null, null);
+            report("Ağırlıklı", pageRank);
+
+            Random random = new Random(29);
+            int[] teleport = new int[TELEPORT_SIZE];
+            for (int i = 0; i < TELEPORT_SIZE; i++) teleport[i] = random.nextInt(nodeCount);
+            pageRank.rank(graph, PageRank.UNWEIGHTED, teleport, null);
+            report("Kişiselleştirilmiş (" + TELEPORT_SIZE + " düğüm)", pageRank);
+
+            perturbWeights(graph, random, nodeCount / 100);
+            double[] cold = pageRank.rank(graph, PageRank.WEIGHTED, null, null);
+            report("Değişiklik sonrası soğuk", pageRank);
+            double[] warm = pageRank.rank(graph, PageRank.WEIGHTED, null, weighted);
+            report("Değişiklik sonrası ısıl", pageRank);
+            double difference = 0;
+            for (int v = 0; v < nodeCount; v++) difference += Math.abs(cold[v] - warm[v]);
+            System.out.printf("Soğuk / ısıl puan farkı (L1): %.2e%n", difference);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void report(String label, PageRank pageRank) {
+        System.out.printf("%-34s %4d tur  fark %.2e  %8.1f ms/tur  toplam %,d ms%n", label,
+                pageRank.getIterationCount(), pageRank.getResidual(), pageRank.getTimePerIteration(),
+                pageRank.getExecutionTime());
+    }
+
+    // Küçük bir grafta PageRank'i başvuru uyarlamasıyla karşılaştırır; uyuşmazlıkta durur
+    private static void verify(int nodeCount, int averageDegree, int cores) {
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, true, 13);
+        Random random = new Random(31);
+        int[] teleport = new int[Math.min(TELEPORT_SIZE, nodeCount)];
+        for (int i = 0; i < teleport.length; i++) teleport[i] = random.nextInt(nodeCount);
+        String[] labels = {"ağırlıksız", "ağırlıklı", "kişiselleştirilmiş"};
+        int[] modes = {PageRank.UNWEIGHTED, PageRank.WEIGHTED, PageRank.UNWEIGHTED};
+        int[][] teleports = {null, null, teleport};
+
+        ForkJoinPool pool = new ForkJoinPool(cores);
+        try {
+            PageRank pageRank = new PageRank(pool, PageRank.DEFAULT_DAMPING, 1e-12, 1_000);
+            for (int i = 0; i < labels.length; i++) {
+                double[] ranks = pageRank.rank(graph, modes[i], teleports[i], null);
+                double[] expected = reference(graph, modes[i], teleports[i]);
+                double error = 0;
+                for (int v = 0; v < nodeCount; v++) error += Math.abs(ranks[v] - expected[v]);
+                boolean correct = error <= VERIFY_TOLERANCE;
+                System.out.printf("Doğrulama (%,d düğüm, %s): L1 hata %.2e, %s%n",
+                        nodeCount, labels[i], error, correct ? "doğru" : "HATALI");
+                if (!correct) {
+                    throw new IllegalStateException("PageRank başvuru sonucuyla uyuşmuyor (" + labels[i] + "): " + error);
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Yoğun, sıralı itmeli PageRank; sabit tur sayısı, sarkan düğüm kütlesi sıçrama dağılımına
+    private static double[] reference(CsrGraph graph, int mode, int[] teleport) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double damping = PageRank.DEFAULT_DAMPING;
+        double[] jump = new double[n];
+        if (teleport == null) {
+            Arrays.fill(jump, 1.0 / n);
+        } else {
+            int distinct = 0;
+            for (int t : teleport) {
+                if (jump[t] == 0) {
+                    jump[t] = 1;
+                    distinct++;
+                }
+            }
+            for (int v = 0; v < n; v++) jump[v] /= distinct;
+        }
+        double[] ranks = new double[n];
+        Arrays.fill(ranks, 1.0 / n);
+        for (int iteration = 0; iteration < REFERENCE_ITERATIONS; iteration++) {
+            double[] next = new double[n];
+            double dangling = 0;
+            for (int u = 0; u < n; u++) {
+                double total = 0;
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) total += mode == PageRank.WEIGHTED ? 1 / weights[e] : 1;
+                if (total == 0) {
+                    dangling += ranks[u];
+                    continue;
+                }
+                for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                    double share = mode == PageRank.WEIGHTED ? 1 / weights[e] : 1;
+                    next[targets[e]] += damping * ranks[u] * share / total;
+                }
+            }
+            for (int v = 0; v < n; v++) next[v] += (1 - damping + damping * dangling) * jump[v];
+            ranks = next;
+        }
+        return ranks;
+    }
+
+    // Seçilen düğümlerin kenar ağırlıkları (iki yönde de) ölçeklenir
+    private static void perturbWeights(CsrGraph graph, Random random, int count) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        for (int i = 0; i < count; i++) {
+            int v = random.nextInt(graph.getNodeCount());
+            double factor = 0.5 + random.nextDouble();
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int reverse = graph.findEdge(targets[e], v);
+                weights[e] *= factor;
+                weights[reverse] = weights[e];
+            }
+        }
+    }
+}
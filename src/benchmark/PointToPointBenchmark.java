@@ -0,0 +1,115 @@
+package benchmark;
+
+import algorithms.AStarAlgorithm;
+import algorithms.BidirectionalAStar;
+import algorithms.BidirectionalDijkstra;
+import algorithms.DijkstraAlgorithm;
+import algorithms.LandmarkIndex;
+import model.CsrGraph;
+
+import java.util.Random;
+
+/**
+ * Tek çift (point-to-point) en kısa yol sorgularının karşılaştırması.
+ *
+ * Her algoritma için aynı rastgele çiftlerde sorgu/s ve sorgu başına
+ * ortalama kesinleşen düğüm sayısı ölçülür; mesafeler Dijkstra ile
+ * karşılaştırılarak doğrulanır. ALT varyantları için işaret noktası
+ * tablolarının kurulum süresi ve boyutu ayrıca yazdırılır.
+ *
+ * Kullanım: java benchmark.PointToPointBenchmark [düğümSayısı] [ortalamaDerece] [sorgu] [işaretNoktası]
+ */
+public class PointToPointBenchmark {
+
+    private interface Algorithm {
+        double distance(CsrGraph graph, int source, int target);
+        int settled();
+    }
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 50;
+        int landmarkCount = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, false, 3);
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar, %d sorgu%n",
+                graph.getNodeCount(), graph.getEdgeCount(), queries);
+
+        Random random = new Random(5);
+        int[] sources = new int[queries];
+        int[] targets = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            sources[q] = random.nextInt(nodeCount);
+            targets[q] = random.nextInt(nodeCount);
+        }
+
+        long buildStart = System.nanoTime();
+        LandmarkIndex landmarks = LandmarkIndex.build(graph, landmarkCount, LandmarkIndex.AVOID);
+        System.out.printf("İşaret noktaları: %d nokta, kurulum %.2f s, tablo %,d MB%n",
+                landmarks.getLandmarkCount(), (System.nanoTime() - buildStart) / 1e9,
+                landmarks.getTableBytes() >> 20);
+
+        DijkstraAlgorithm dijkstra = new DijkstraAlgorithm();
+        AStarAlgorithm aStar = new AStarAlgorithm();
+        AStarAlgorithm alt = new AStarAlgorithm(landmarks);
+        BidirectionalDijkstra bidirectional = new BidirectionalDijkstra();
+        BidirectionalAStar bidirectionalAStar = new BidirectionalAStar();
+        BidirectionalAStar bidirectionalAlt = new BidirectionalAStar(landmarks);
+        String[] names = {"Dijkstra", "A* (özellik)", "A* ALT", "İki yönlü Dijkstra", "İki yönlü A*", "İki yönlü ALT"};
+        Algorithm[] algorithms = {
+                wrap(dijkstra::distance, dijkstra::getSettledCount),
+                wrap(aStar::distance, aStar::getSettledCount),
+                wrap(alt::distance, alt::getSettledCount),
+                wrap(bidirectional::distance, bidirectional::getSettledCount),
+                wrap(bidirectionalAStar::distance, bidirectionalAStar::getSettledCount),
+                wrap(bidirectionalAlt::distance, bidirectionalAlt::getSettledCount)
+        };
+
+        double[] expected = new double[queries];
+        double baseQps = 0;
+        for (int round = 0; round < 2; round++) { // İlk tur JIT ısınması
+            for (int a = 0; a < algorithms.length; a++) {
+                long settled = 0;
+                long start = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    double d = algorithms[a].distance(graph, sources[q], targets[q]);
+                    settled += algorithms[a].settled();
+                    if (a == 0) {
+                        expected[q] = d;
+                    } else if (Math.abs(d - expected[q]) > 1e-9 * Math.max(1, d)) {
+                        throw new IllegalStateException(names[a] + " mesafesi uyuşmuyor: " + d + " != " + expected[q]);
+                    }
+                }
+                double qps = queries / ((System.nanoTime() - start) / 1e9);
+                if (a == 0) baseQps = qps;
+                if (round == 1) {
+                    System.out.printf("%-20s %10.1f sorgu/s (x%6.1f)  %,12d kesinleşen düğüm/sorgu%n",
+                            names[a], qps, qps / baseQps, settled / queries);
+                }
+            }
+        }
+    }
+
+    private interface Distance {
+        double distance(CsrGraph graph, int source, int target);
+    }
+
+    private interface Counter {
+        int get();
+    }
+
+    private static Algorithm wrap(Distance distance, Counter settled) {
+        return new Algorithm() {
+            @Override
+            public double distance(CsrGraph graph, int source, int target) {
+                return distance.distance(graph, source, target);
+            }
+
+            @Override
+            public int settled() {
+                return settled.get();
+            }
+        };
+    }
+}
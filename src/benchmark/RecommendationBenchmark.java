@@ -0,0 +1,170 @@
+package benchmark;
+
+import algorithms.FriendRecommender;
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Arkadaş önerisi ölçümü: sorgu başına gecikme dağılımı (ortalama, p50,
+ * p99, en kötü) ve toplu öneri verimi (sorgu/s, 1, 2, 4, ... çekirdek).
+ *
+ * Komşu sınırı olmadan (tam 2 atlama) ve varsayılan sınırla karşılaştırılır;
+ * merkez düğümlere yakın kullanıcılar sınırsız durumda kuyruğu belirler.
+ * Sınırsız öneriler, kullanıcıların bir örneğinde kaba kuvvetle hesaplanan
+ * 2 atlama puanlarıyla karşılaştırılarak doğrulanır.
+ *
+ * Kullanım: java benchmark.RecommendationBenchmark [düğümSayısı] [ortalamaDerece] [kullanıcı] [k]
+ */
+public class RecommendationBenchmark {
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int userCount = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+        int k = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, true, 5);
+        Random random = new Random(23);
+        int[] users = new int[userCount];
+        for (int i = 0; i < userCount; i++) users[i] = random.nextInt(nodeCount);
+        int maxDegree = 0;
+        for (int v = 0; v < nodeCount; v++) maxDegree = Math.max(maxDegree, graph.getDegree(v));
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar, en büyük derece %,d; %,d kullanıcı, k = %d%n",
+                graph.getNodeCount(), graph.getEdgeCount(), maxDegree, userCount, k);
+
+        String[] names = {"ortak komşu", "Jaccard", "Adamic-Adar", "ağırlıklı"};
+        int verified = Math.min(userCount, 1_000);
+        for (int scoring = FriendRecommender.COMMON_NEIGHBOURS; scoring <= FriendRecommender.WEIGHTED; scoring++) {
+            verify(graph, users, verified, k, scoring, names[scoring]);
+        }
+        System.out.printf("Doğrulama: %,d kullanıcı, 4 puanlama, kaba kuvvet ile doğru%n", verified);
+
+        int[] fanouts = {Integer.MAX_VALUE, FriendRecommender.DEFAULT_MAX_FANOUT};
+        for (int fanout : fanouts) {
+            String label = fanout == Integer.MAX_VALUE ? "sınırsız" : "sınır " + fanout;
+            ForkJoinPool single = new ForkJoinPool(1);
+            try {
+                FriendRecommender recommender = new FriendRecommender(single, fanout);
+                for (int scoring = FriendRecommender.COMMON_NEIGHBOURS; scoring <= FriendRecommender.WEIGHTED; scoring++) {
+                    long[] latencies = latencies(recommender, graph, users, k, scoring);
+                    System.out.printf("%-10s %-12s ort %8.1f µs  p50 %8.1f µs  p99 %9.1f µs  en kötü %9.1f µs%n",
+                            label, names[scoring], mean(latencies) / 1e3, latencies[latencies.length / 2] / 1e3,
+                            latencies[(int) (latencies.length * 0.99)] / 1e3, latencies[latencies.length - 1] / 1e3);
+                }
+            } finally {
+                single.shutdown();
+            }
+        }
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                FriendRecommender recommender = new FriendRecommender(pool);
+                recommender.recommendAll(graph, users, k, FriendRecommender.ADAMIC_ADAR); // JIT ısınması
+                long start = System.nanoTime();
+                recommender.recommendAll(graph, users, k, FriendRecommender.ADAMIC_ADAR);
+                double rate = userCount / ((System.nanoTime() - start) / 1e9);
+                System.out.printf("Toplu Adamic-Adar (%2d iş p.) %12.1f sorgu/s%n", threads, rate);
+            } finally {
+                pool.shutdown();
+            }
+            if (threads == cores) break;
+        }
+    }
+
+    // Sınırsız önerileri kaba kuvvet 2 atlama puanlarıyla karşılaştırır: aynı
+    // sayıda aday, her sırada aynı puan ve önerilen adayın kendi puanı tutmalı
+    private static void verify(CsrGraph graph, int[] users, int count, int k, int scoring, String name) {
+        FriendRecommender recommender = new FriendRecommender(ForkJoinPool.commonPool(), Integer.MAX_VALUE);
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] weights = graph.getWeights();
+        double[] score = new double[n];
+        int[] common = new int[n];
+        int[] mark = new int[n]; // mark[v] == i + 1: i. kullanıcının arkadaşı veya kendisi
+        int[] candidates = new int[k];
+        double[] scores = new double[k];
+        for (int i = 0; i < count; i++) {
+            int x = users[i];
+            mark[x] = i + 1;
+            for (int e = offsets[x]; e < offsets[x + 1]; e++) mark[targets[e]] = i + 1;
+            int[] touched = new int[0];
+            int touchedCount = 0;
+            for (int e = offsets[x]; e < offsets[x + 1]; e++) {
+                int z = targets[e];
+                for (int f = offsets[z]; f < offsets[z + 1]; f++) {
+                    int c = targets[f];
+                    if (mark[c] == i + 1) continue;
+                    if (common[c]++ == 0) {
+                        if (touchedCount == touched.length) touched = Arrays.copyOf(touched, Math.max(16, touchedCount * 2));
+                        touched[touchedCount++] = c;
+                    }
+                    if (scoring == FriendRecommender.ADAMIC_ADAR) {
+                        score[c] += 1 / Math.log(offsets[z + 1] - offsets[z]);
+                    } else if (scoring == FriendRecommender.WEIGHTED) {
+                        score[c] += 1 / (weights[e] + weights[f]);
+                    } else {
+                        score[c] += 1;
+                    }
+                }
+            }
+            double[][] expected = new double[touchedCount][];
+            for (int t = 0; t < touchedCount; t++) {
+                int c = touched[t];
+                if (scoring == FriendRecommender.JACCARD) {
+                    score[c] = common[c] / (double) (graph.getDegree(x) + graph.getDegree(c) - common[c]);
+                }
+                expected[t] = new double[]{score[c], c};
+            }
+            Arrays.sort(expected, (p, q) -> p[0] != q[0] ? Double.compare(q[0], p[0]) : Double.compare(p[1], q[1]));
+
+            int written = recommender.recommend(graph, x, k, scoring, candidates, scores);
+            if (written != Math.min(k, touchedCount)) {
+                throw new IllegalStateException(name + " öneri sayısı uyuşmuyor: kullanıcı " + x
+                        + ", " + written + " != " + Math.min(k, touchedCount));
+            }
+            for (int r = 0; r < written; r++) {
+                double own = common[candidates[r]] == 0 || mark[candidates[r]] == i + 1
+                        ? Double.NaN : score[candidates[r]];
+                if (!close(scores[r], expected[r][0]) || !close(scores[r], own)) {
+                    throw new IllegalStateException(name + " puanı uyuşmuyor: kullanıcı " + x + ", sıra " + r
+                            + ", " + scores[r] + " != " + expected[r][0]);
+                }
+            }
+            for (int t = 0; t < touchedCount; t++) {
+                score[touched[t]] = 0;
+                common[touched[t]] = 0;
+            }
+        }
+    }
+
+    private static boolean close(double a, double b) {
+        return Math.abs(a - b) <= 1e-9 * Math.max(1, Math.abs(b));
+    }
+
+    // Sıralı gecikmeler (ns, artan sırada); ilk tur JIT ısınması
+    private static long[] latencies(FriendRecommender recommender, CsrGraph graph, int[] users, int k, int scoring) {
+        int[] candidates = new int[k];
+        double[] scores = new double[k];
+        long[] latencies = new long[users.length];
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < users.length; i++) {
+                long start = System.nanoTime();
+                recommender.recommend(graph, users[i], k, scoring, candidates, scores);
+                latencies[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(latencies);
+        return latencies;
+    }
+
+    private static double mean(long[] values) {
+        double sum = 0;
+        for (long v : values) sum += v;
+        return sum / values.length;
+    }
+}
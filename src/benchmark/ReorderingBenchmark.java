@@ -0,0 +1,96 @@
+package benchmark;
+
+import algorithms.BFSAlgorithm;
+import algorithms.DijkstraAlgorithm;
+import model.CompressedGraph;
+import model.CsrGraph;
+import model.NodeOrdering;
+import model.UserNode;
+
+import java.util.Random;
+
+/**
+ * Düğüm yeniden sıralamanın (NodeOrdering) gezinti hızına etkisi.
+ *
+ * Ordinalleri karıştırılmış (kullanıcı ID'si sırası gibi) sentetik bir graf
+ * önce olduğu gibi, sonra derece, BFS ve RCM sıralarıyla ölçülür: tam BFS
+ * ve rastgele çiftler arası Dijkstra sorguları. Aynı kullanıcı ID'leri
+ * sorgulandığı için tüm düzenlerde sonuçlar aynıdır.
+ *
+ * Kullanım: java benchmark.ReorderingBenchmark [düğümSayısı] [ortalamaDerece] [dijkstraSorgu]
+ */
+public class ReorderingBenchmark {
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+
+        CsrGraph original = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, true, 7);
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar (ordinaller karıştırılmış)%n",
+                original.getNodeCount(), original.getEdgeCount());
+
+        // Sorgular kullanıcı ID'si ile seçilir: her düzende aynı çiftler
+        Random random = new Random(1);
+        int[] sourceIds = new int[queries];
+        int[] targetIds = new int[queries];
+        for (int q = 0; q < queries; q++) {
+            sourceIds[q] = original.getId(random.nextInt(nodeCount));
+            targetIds[q] = original.getId(random.nextInt(nodeCount));
+        }
+
+        double baseBfs = 0, baseDijkstra = 0;
+        String[] names = {"Orijinal", "Derece", "BFS", "RCM"};
+        for (int layout = 0; layout < names.length; layout++) {
+            long start = System.nanoTime();
+            CsrGraph graph;
+            switch (layout) {
+                case 1: graph = original.permute(NodeOrdering.byDegree(original)); break;
+                case 2: graph = original.permute(NodeOrdering.byBfs(original)); break;
+                case 3: graph = original.permute(NodeOrdering.reverseCuthillMcKee(original)); break;
+                default: graph = original;
+            }
+            double reorderMs = (System.nanoTime() - start) / 1e6;
+
+            double bfsMs = Double.MAX_VALUE, dijkstraMs = Double.MAX_VALUE;
+            double checksum = 0;
+            for (int round = 0; round < ROUNDS; round++) { // En iyi tur (JIT ısınması hariç)
+                long t0 = System.nanoTime();
+                checksum = fullBfs(graph);
+                bfsMs = Math.min(bfsMs, (System.nanoTime() - t0) / 1e6);
+
+                t0 = System.nanoTime();
+                for (int q = 0; q < queries; q++) {
+                    UserNode source = graph.getNodeByOrdinal(graph.getOrdinal(sourceIds[q]));
+                    UserNode target = graph.getNodeByOrdinal(graph.getOrdinal(targetIds[q]));
+                    checksum += new DijkstraAlgorithm().execute(graph, source, target).size();
+                }
+                dijkstraMs = Math.min(dijkstraMs, (System.nanoTime() - t0) / 1e6);
+            }
+            if (layout == 0) {
+                baseBfs = bfsMs;
+                baseDijkstra = dijkstraMs;
+            }
+            double bits = CompressedGraph.from(graph).getBitsPerEdge();
+            System.out.printf("%-9s sıralama %7.0f ms | tam BFS %7.1f ms (x%.2f) | %d Dijkstra %8.1f ms (x%.2f) | sıkıştırılmış %5.2f bit/kenar  [%.0f]%n",
+                    names[layout], reorderMs, bfsMs, baseBfs / bfsMs, queries, dijkstraMs, baseDijkstra / dijkstraMs,
+                    bits, checksum);
+        }
+    }
+
+    // Her bileşenden BFSAlgorithm (CSR yolu) çalıştırır; ziyaret sayısını döner
+    private static double fullBfs(CsrGraph graph) {
+        boolean[] seen = new boolean[graph.getNodeCount()];
+        BFSAlgorithm bfs = new BFSAlgorithm();
+        long visited = 0;
+        for (int v = 0; v < graph.getNodeCount(); v++) {
+            if (seen[v]) continue;
+            for (UserNode node : bfs.execute(graph, graph.getNodeByOrdinal(v), null)) {
+                seen[graph.getOrdinal(node.getId())] = true;
+                visited++;
+            }
+        }
+        return visited;
+    }
+}
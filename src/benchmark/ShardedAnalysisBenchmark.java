@@ -0,0 +1,142 @@
+package benchmark;
+
+import cluster.GraphPartitioner;
+import cluster.ShardedGraph;
+import model.CsrGraph;
+import storage.GraphFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * Parçalı (çok JVM'li) BFS ve bağlantılı bileşen analizinin ölçümü.
+ *
+ * Aynı graf hash ve greedy bölümleyicilerle parçalanır; her biri için
+ * kesilen kenar oranı, süper adım başına iletişim hacmi ve toplam süre
+ * yazdırılır. Sonuçlar tek süreçli hesaplamayla karşılaştırılır.
+ *
+ * Kullanım: java benchmark.ShardedAnalysisBenchmark [düğümSayısı] [ortalamaDerece] [parçaSayısı] [işçiHeap]
+ */
+public class ShardedAnalysisBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+        int shardCount = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        String workerHeap = args.length > 3 ? args[3] : "512m";
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, true, 11);
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar, %d işçi JVM%n",
+                graph.getNodeCount(), graph.getEdgeCount(), shardCount);
+
+        // Koordinatör parçaları dosyadan akıtır; CSR burada yalnızca bölümleme
+        // ve tek süreçli doğrulama için tutulur
+        Path file = Files.createTempFile("sharded", ".sgrf");
+        GraphFile.save(graph, file);
+
+        int sourceId = graph.getId(0);
+        int[] expectedLevels = localBfs(graph, 0);
+        int[] expectedLabels = localComponents(graph);
+
+        String[] names = {"hash", "greedy"};
+        try {
+            for (String name : names) {
+                run(name, graph, file, shardCount, workerHeap, sourceId, expectedLevels, expectedLabels);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static void run(String name, CsrGraph graph, Path file, int shardCount, String workerHeap,
+                            int sourceId, int[] expectedLevels, int[] expectedLabels) throws IOException {
+        long start = System.nanoTime();
+        int[] owner = name.equals("hash")
+                ? GraphPartitioner.hash(graph, shardCount)
+                : GraphPartitioner.greedy(graph, shardCount, 0.05);
+        double partitionMs = (System.nanoTime() - start) / 1e6;
+
+        start = System.nanoTime();
+        try (ShardedGraph sharded = ShardedGraph.launch(file, owner, shardCount,
+                Collections.singletonList("-Xmx" + workerHeap))) {
+            double launchMs = (System.nanoTime() - start) / 1e6;
+            System.out.printf("%n[%s] bölümleme %.0f ms, başlatma+yükleme %.0f ms%n  %s%n",
+                    name, partitionMs, launchMs, sharded.getPartitionStats());
+
+            start = System.nanoTime();
+            int[] levels = sharded.bfs(sourceId);
+            double bfsMs = (System.nanoTime() - start) / 1e6;
+            report("BFS", bfsMs, sharded, Arrays.equals(levels, expectedLevels));
+
+            start = System.nanoTime();
+            int[] labels = sharded.connectedComponents();
+            double ccMs = (System.nanoTime() - start) / 1e6;
+            report("Bileşenler", ccMs, sharded, Arrays.equals(labels, expectedLabels));
+        }
+    }
+
+    private static void report(String analysis, double millis, ShardedGraph sharded, boolean correct) {
+        long bytes = 0;
+        for (ShardedGraph.SuperstepStats step : sharded.getLastRunStats()) {
+            bytes += step.getBytes();
+        }
+        System.out.printf("  %s: %.0f ms, %d süper adım, toplam %,d bayt, sonuç %s%n",
+                analysis, millis, sharded.getLastRunStats().size(), bytes, correct ? "doğru" : "HATALI");
+        for (ShardedGraph.SuperstepStats step : sharded.getLastRunStats()) {
+            System.out.println("    " + step);
+        }
+    }
+
+    private static int[] localBfs(CsrGraph graph, int source) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] level = new int[n];
+        Arrays.fill(level, -1);
+        int[] queue = new int[n];
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        level[source] = 0;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                if (level[u] < 0) {
+                    level[u] = level[v] + 1;
+                    queue[tail++] = u;
+                }
+            }
+        }
+        return level;
+    }
+
+    // Artan ordinal sırasıyla BFS: her bileşenin etiketi en küçük ordinalidir
+    private static int[] localComponents(CsrGraph graph) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] label = new int[n];
+        Arrays.fill(label, -1);
+        int[] queue = new int[n];
+        for (int s = 0; s < n; s++) {
+            if (label[s] >= 0) continue;
+            int head = 0, tail = 0;
+            queue[tail++] = s;
+            label[s] = s;
+            while (head < tail) {
+                int v = queue[head++];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = targets[e];
+                    if (label[u] < 0) {
+                        label[u] = s;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+        }
+        return label;
+    }
+}
@@ -0,0 +1,93 @@
+package benchmark;
+
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Benchmark'lar için sosyal graf benzeri sentetik CSR üreticisi.
+ *
+ * Kenarların bir kısmı topluluk içidir (ordinal penceresi içinde komşu),
+ * kalanı düşük ordinallere eğilimli uzak bağlantılardır (yüksek dereceli
+ * merkez düğümler oluşur). shuffle true ise ordinaller rastgele karıştırılır;
+ * bu, kullanıcı ID'lerinin / ekleme sırasının topluluk yapısıyla ilgisiz
+ * olduğu gerçek durumu taklit eder.
+ */
+final class SyntheticGraphs {
+    private static final int COMMUNITY_WINDOW = 256;
+
+    private SyntheticGraphs() {
+    }
+
+    static CsrGraph generate(int nodeCount, int averageDegree, double localFraction, boolean shuffle, long seed) {
+        Random random = new Random(seed);
+        int n = nodeCount;
+        int[] label = new int[n];
+        for (int i = 0; i < n; i++) label[i] = i;
+        if (shuffle) {
+            for (int i = n - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int t = label[i]; label[i] = label[j]; label[j] = t;
+            }
+        }
+
+        // Yönsüz çiftler (küçük << 32 | büyük) olarak üretilip tekilleştirilir
+        int perNode = Math.max(1, averageDegree / 2);
+        long[] pairs = new long[n * perNode];
+        int count = 0;
+        for (int v = 0; v < n; v++) {
+            for (int k = 0; k < perNode; k++) {
+                int u;
+                if (random.nextDouble() < localFraction) {
+                    u = v + random.nextInt(2 * COMMUNITY_WINDOW + 1) - COMMUNITY_WINDOW;
+                    if (u < 0 || u >= n) continue;
+                } else {
+                    double r = random.nextDouble();
+                    u = (int) (n * r * r);
+                }
+                if (u == v) continue;
+                int a = label[v], b = label[u];
+                pairs[count++] = ((long) Math.min(a, b) << 32) | Math.max(a, b);
+            }
+        }
+        Arrays.parallelSort(pairs, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || pairs[i] != pairs[unique - 1]) pairs[unique++] = pairs[i];
+        }
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < unique; i++) {
+            offsets[(int) (pairs[i] >>> 32) + 1]++;
+            offsets[(int) pairs[i] + 1]++;
+        }
+        for (int v = 0; v < n; v++) offsets[v + 1] += offsets[v];
+        int[] targets = new int[offsets[n]];
+        int[] fill = Arrays.copyOf(offsets, n);
+        for (int i = 0; i < unique; i++) {
+            int a = (int) (pairs[i] >>> 32), b = (int) pairs[i];
+            targets[fill[a]++] = b;
+            targets[fill[b]++] = a;
+        }
+        for (int v = 0; v < n; v++) Arrays.sort(targets, offsets[v], offsets[v + 1]);
+
+        int[] ids = new int[n];
+        double[] active = new double[n], interaction = new double[n], connection = new double[n];
+        for (int v = 0; v < n; v++) {
+            ids[v] = v * 7 + 3; // Ordinalden farklı kullanıcı ID'leri
+            active[v] = random.nextInt(100);
+            interaction[v] = random.nextInt(100);
+            connection[v] = random.nextInt(100);
+        }
+        // Ağırlıklar CSR'ın kendi formülüyle doldurulur (dizi kopyalanmaz)
+        double[] weights = new double[targets.length];
+        CsrGraph graph = CsrGraph.of(ids, active, interaction, connection, offsets, targets, weights);
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                weights[e] = 1.0 + graph.featureDistance(v, targets[e]);
+            }
+        }
+        return graph;
+    }
+}
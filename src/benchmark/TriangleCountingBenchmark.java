@@ -0,0 +1,79 @@
+package benchmark;
+
+import algorithms.TriangleCounting;
+import model.CsrGraph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Üçgen sayımı ölçümü: yönlendirmesiz sıralı düğüm yineleyici (komşu
+ * işaretleme, O(Σ d²)) ile TriangleCounting (1, 2, 4, ... çekirdek).
+ * Düğüm başına sayılar sıralı sonuçla doğrulanır.
+ *
+ * Kullanım: java benchmark.TriangleCountingBenchmark [düğümSayısı] [ortalamaDerece]
+ */
+public class TriangleCountingBenchmark {
+    public static void main(String[] args) {
+        int nodeCount = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int averageDegree = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+
+        CsrGraph graph = SyntheticGraphs.generate(nodeCount, averageDegree, 0.8, false, 9);
+        int maxDegree = 0;
+        for (int v = 0; v < nodeCount; v++) maxDegree = Math.max(maxDegree, graph.getDegree(v));
+        System.out.printf("Graf: %,d düğüm, %,d yönlü kenar, en büyük derece %,d%n",
+                graph.getNodeCount(), graph.getEdgeCount(), maxDegree);
+
+        long start = System.nanoTime();
+        long[] expected = nodeIterator(graph);
+        long sequentialMs = (System.nanoTime() - start) / 1_000_000;
+        long total = 0;
+        for (long t : expected) total += t;
+        System.out.printf("%-32s %8d ms  %,d üçgen%n", "Sıralı düğüm yineleyici", sequentialMs, total / 3);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        for (int threads = 1; threads <= cores; threads = threads < cores && threads * 2 > cores ? cores : threads * 2) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                TriangleCounting counting = new TriangleCounting(pool);
+                long[] triangles = null;
+                for (int round = 0; round < 2; round++) { // İlk tur JIT ısınması
+                    triangles = counting.countTriangles(graph);
+                }
+                if (!Arrays.equals(expected, triangles)) {
+                    throw new IllegalStateException("Üçgen sayıları uyuşmuyor");
+                }
+                double average = TriangleCounting.averageClustering(
+                        TriangleCounting.clusteringCoefficients(graph, triangles));
+                System.out.printf("TriangleCounting (%2d iş p.)       %8d ms  x%5.2f  ort. kümelenme %.4f%n",
+                        threads, counting.getExecutionTime(),
+                        (double) sequentialMs / Math.max(1, counting.getExecutionTime()), average);
+            } finally {
+                pool.shutdown();
+            }
+            if (threads == cores) break;
+        }
+    }
+
+    // Her v için komşuları işaretlenir, komşuların komşuları sayılır (her üçgen 2 kez)
+    private static long[] nodeIterator(CsrGraph graph) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] mark = new int[n];
+        Arrays.fill(mark, -1);
+        long[] triangles = new long[n];
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) mark[targets[e]] = v;
+            long count = 0;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int u = targets[e];
+                for (int f = offsets[u]; f < offsets[u + 1]; f++) {
+                    if (mark[targets[f]] == v) count++;
+                }
+            }
+            triangles[v] = count / 2;
+        }
+        return triangles;
+    }
+}
@@ -0,0 +1,342 @@
+package cluster;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Tek bir parçayı (shard) tutan işçi süreci. ShardedGraph tarafından ayrı
+ * bir JVM olarak başlatılır.
+ *
+ * Yerel indeksler: 0..ownedCount-1 sahip olunan düğümler, ownedCount+g ise
+ * g. hayalet (başka parçaya ait komşu) düğümdür. Hayaletlerin yalnızca
+ * sahibi ve sahibindeki yerel indeksi bilinir; kenarları tutulmaz.
+ *
+ * Analizler toplu eşzamanlı (BSP) süper adımlarla yürür: yerel hesap,
+ * her komşu parçaya tek bir toplu mesaj (boş olsa bile), her parçadan tek
+ * toplu mesajın alınması, koordinatöre rapor ve DEVAM/DUR beklemek.
+ */
+public final class ShardWorker {
+    private int shard;
+    private int shardCount;
+    private int ownedCount;
+    private int ghostCount;
+    private int[] ghostGlobal;
+    private int[] ghostOwner;
+    private int[] ghostRemoteIndex;
+    private int[] ownedGlobal;
+    private int[] offsets;
+    private int[] targets;
+
+    private final ServerSocket server;
+    private DataInputStream coordinatorIn;
+    private DataOutputStream coordinatorOut;
+    private DataOutputStream[] peerOut;
+    private List<BlockingQueue<int[]>> peerInbox;
+    private Wire.IntList[] outbox;
+    private int[][] inbound;
+    private long sentInts;
+    private long sentBytes;
+
+    private ShardWorker(ServerSocket server) {
+        this.server = server;
+    }
+
+    public static void main(String[] args) throws IOException {
+        ServerSocket server = new ServerSocket(0, 64, InetAddress.getLoopbackAddress());
+        // Koordinatör portu stdout'tan okur
+        System.out.println("PORT " + server.getLocalPort());
+        System.out.flush();
+        new ShardWorker(server).serve();
+    }
+
+    private void serve() throws IOException {
+        try (Socket coordinator = server.accept()) {
+            coordinator.setTcpNoDelay(true);
+            coordinatorIn = new DataInputStream(new BufferedInputStream(coordinator.getInputStream(), 1 << 16));
+            coordinatorOut = new DataOutputStream(new BufferedOutputStream(coordinator.getOutputStream(), 1 << 16));
+            while (true) {
+                int command = coordinatorIn.readInt();
+                switch (command) {
+                    case Wire.LOAD: load(); break;
+                    case Wire.PEERS: connectPeers(); break;
+                    case Wire.BFS: bfs(coordinatorIn.readInt()); break;
+                    case Wire.COMPONENTS: components(); break;
+                    case Wire.SHUTDOWN: return;
+                    default: throw new IOException("Bilinmeyen komut: " + command);
+                }
+            }
+        } finally {
+            server.close();
+        }
+    }
+
+    private void load() throws IOException {
+        shard = coordinatorIn.readInt();
+        shardCount = coordinatorIn.readInt();
+        ownedGlobal = Wire.readArray(coordinatorIn);
+        offsets = Wire.readArray(coordinatorIn);
+        targets = Wire.readArray(coordinatorIn);
+        // Hayaletler satırlar akıtılırken belirlenir, en sonda gelir
+        ghostGlobal = Wire.readArray(coordinatorIn);
+        ghostOwner = Wire.readArray(coordinatorIn);
+        ghostRemoteIndex = Wire.readArray(coordinatorIn);
+        ownedCount = ownedGlobal.length;
+        ghostCount = ghostOwner.length;
+        coordinatorOut.writeInt(Wire.READY);
+        coordinatorOut.flush();
+    }
+
+    /**
+     * Küçük indeksli parçalara bağlanır, büyük indeksli olanları kabul eder.
+     * Her bağlantı için gelen toplu mesajları kuyruğa aktaran bir okuyucu başlar.
+     */
+    private void connectPeers() throws IOException {
+        int[] ports = Wire.readArray(coordinatorIn);
+        peerOut = new DataOutputStream[shardCount];
+        peerInbox = new ArrayList<>(shardCount);
+        outbox = new Wire.IntList[shardCount];
+        inbound = new int[shardCount][];
+        for (int j = 0; j < shardCount; j++) {
+            peerInbox.add(new LinkedBlockingQueue<>());
+            outbox[j] = new Wire.IntList();
+        }
+        for (int j = 0; j < shard; j++) {
+            Socket socket = new Socket(InetAddress.getLoopbackAddress(), ports[j]);
+            startPeer(socket, j);
+            peerOut[j].writeInt(shard);
+            peerOut[j].flush();
+        }
+        for (int k = shard + 1; k < shardCount; k++) {
+            Socket socket = server.accept();
+            int j = new DataInputStream(socket.getInputStream()).readInt();
+            startPeer(socket, j);
+        }
+        coordinatorOut.writeInt(Wire.READY);
+        coordinatorOut.flush();
+    }
+
+    private void startPeer(Socket socket, int peer) throws IOException {
+        socket.setTcpNoDelay(true);
+        peerOut[peer] = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 1 << 16));
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 1 << 16));
+        BlockingQueue<int[]> inbox = peerInbox.get(peer);
+        Thread reader = new Thread(() -> {
+            try {
+                while (true) {
+                    inbox.put(Wire.readArray(in));
+                }
+            } catch (IOException | InterruptedException e) {
+                // Bağlantı kapandı: işçi kapanıyor
+            }
+        }, "shard-" + shard + "-peer-" + peer);
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    // --- BFS ---
+
+    /**
+     * Seviye eşzamanlı BFS. Bir hayalete ilk ulaşıldığında sahibine tek
+     * mesaj gider; sonraki ulaşmalar daha büyük seviye olacağından atlanır.
+     * @param sourceLocal Kaynak bu parçadaysa yerel indeksi, değilse -1
+     */
+    private void bfs(int sourceLocal) throws IOException {
+        int[] level = new int[ownedCount];
+        Arrays.fill(level, -1);
+        boolean[] ghostReached = new boolean[ghostCount];
+        int[] frontier = new int[ownedCount];
+        int[] next = new int[ownedCount];
+        int frontierSize = 0;
+        if (sourceLocal >= 0) {
+            level[sourceLocal] = 0;
+            frontier[frontierSize++] = sourceLocal;
+        }
+
+        for (int step = 0; ; step++) {
+            int nextSize = 0;
+            for (int i = 0; i < frontierSize; i++) {
+                int v = frontier[i];
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = targets[e];
+                    if (u < ownedCount) {
+                        if (level[u] < 0) {
+                            level[u] = step + 1;
+                            next[nextSize++] = u;
+                        }
+                    } else if (!ghostReached[u - ownedCount]) {
+                        int g = u - ownedCount;
+                        ghostReached[g] = true;
+                        outbox[ghostOwner[g]].add(ghostRemoteIndex[g]);
+                    }
+                }
+            }
+            exchange();
+            for (int j = 0; j < shardCount; j++) {
+                if (j == shard) continue;
+                for (int u : inbound[j]) {
+                    if (level[u] < 0) {
+                        level[u] = step + 1;
+                        next[nextSize++] = u;
+                    }
+                }
+            }
+            int[] swap = frontier;
+            frontier = next;
+            next = swap;
+            frontierSize = nextSize;
+            if (!report(frontierSize)) {
+                break;
+            }
+        }
+        finish(level);
+    }
+
+    // --- BAĞLANTILI BİLEŞENLER ---
+
+    /**
+     * HashMin: her düğümün etiketi bileşenindeki en küçük global ordinaldir.
+     * Parça içinde etiketler yerel sabit noktaya kadar yayılır; hayaletin
+     * bilinen son etiketi tutulduğu için yalnızca iyileşen etiketler gönderilir.
+     */
+    private void components() throws IOException {
+        int[] label = Arrays.copyOf(ownedGlobal, ownedCount);
+        // Hayaletin sahibindeki başlangıç etiketi kendi ordinalidir
+        int[] ghostLabel = Arrays.copyOf(ghostGlobal, ghostCount);
+        boolean[] ghostDirty = new boolean[ghostCount];
+        int[] dirty = new int[ghostCount];
+        int[] queue = new int[ownedCount];
+        long[] changed = new long[ownedCount];
+        boolean[] pending = new boolean[ownedCount];
+        int changedCount = ownedCount;
+        for (int v = 0; v < ownedCount; v++) {
+            changed[v] = v;
+        }
+
+        while (true) {
+            // Değişenler artan etiketle yayılır: her düğüm adım başına en
+            // fazla bir kez güncellenir (daha küçük etiket önce ulaşır)
+            for (int c = 0; c < changedCount; c++) {
+                int v = (int) changed[c];
+                pending[v] = false;
+                changed[c] = ((long) label[v] << 32) | v;
+            }
+            Arrays.sort(changed, 0, changedCount);
+            int dirtyCount = 0;
+            for (int c = 0; c < changedCount; c++) {
+                int start = (int) changed[c];
+                int l = (int) (changed[c] >>> 32);
+                if (label[start] != l) continue; // Bu adımda daha küçük etiket aldı
+                int head = 0, tail = 0;
+                queue[tail++] = start;
+                while (head < tail) {
+                    int v = queue[head++];
+                    for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                        int u = targets[e];
+                        if (u < ownedCount) {
+                            if (l < label[u]) {
+                                label[u] = l;
+                                queue[tail++] = u;
+                            }
+                        } else if (l < ghostLabel[u - ownedCount]) {
+                            int g = u - ownedCount;
+                            ghostLabel[g] = l;
+                            if (!ghostDirty[g]) {
+                                ghostDirty[g] = true;
+                                dirty[dirtyCount++] = g;
+                            }
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < dirtyCount; i++) {
+                int g = dirty[i];
+                ghostDirty[g] = false;
+                outbox[ghostOwner[g]].add(ghostRemoteIndex[g]);
+                outbox[ghostOwner[g]].add(ghostLabel[g]);
+            }
+            exchange();
+            changedCount = 0;
+            for (int j = 0; j < shardCount; j++) {
+                if (j == shard) continue;
+                int[] batch = inbound[j];
+                for (int i = 0; i < batch.length; i += 2) {
+                    int u = batch[i];
+                    int l = batch[i + 1];
+                    if (l < label[u]) {
+                        label[u] = l;
+                        if (!pending[u]) {
+                            pending[u] = true;
+                            changed[changedCount++] = u;
+                        }
+                    }
+                }
+            }
+            if (!report(changedCount)) {
+                break;
+            }
+        }
+        finish(label);
+    }
+
+    // --- SÜPER ADIM ALTYAPISI ---
+
+    /**
+     * Giden kutuları tüm komşu parçalara yollar ve her birinden bu adımın
+     * toplu mesajını alır (bariyer). Bir parça, koordinatör DEVAM demeden
+     * sonraki adıma geçemediği için kuyrukta en fazla bir mesaj bulunur.
+     */
+    private void exchange() throws IOException {
+        sentInts = 0;
+        sentBytes = 0;
+        for (int j = 0; j < shardCount; j++) {
+            if (j == shard) continue;
+            Wire.IntList box = outbox[j];
+            Wire.writeArray(peerOut[j], box.values, box.size);
+            peerOut[j].flush();
+            sentInts += box.size;
+            sentBytes += Integer.BYTES * (1L + box.size);
+            box.clear();
+        }
+        try {
+            for (int j = 0; j < shardCount; j++) {
+                if (j == shard) continue;
+                inbound[j] = peerInbox.get(j).take();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Süper adım kesildi", e);
+        }
+    }
+
+    /**
+     * Adım sonucunu bildirir ve koordinatörün kararını bekler.
+     * @return Devam edilecekse true
+     */
+    private boolean report(int active) throws IOException {
+        coordinatorOut.writeInt(active);
+        coordinatorOut.writeLong(sentInts);
+        coordinatorOut.writeLong(sentBytes);
+        coordinatorOut.flush();
+        int decision = coordinatorIn.readInt();
+        if (decision != Wire.CONTINUE && decision != Wire.HALT) {
+            throw new IOException("Beklenmeyen karar: " + decision);
+        }
+        return decision == Wire.CONTINUE;
+    }
+
+    private void finish(int[] result) throws IOException {
+        Wire.writeInts(coordinatorOut, result, ownedCount);
+        coordinatorOut.flush();
+    }
+}
@@ -0,0 +1,439 @@
+package cluster;
+
+import storage.GraphFile;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Birden çok yerel işçi JVM'ine (ShardWorker) bölünmüş graf.
+ *
+ * Her işçi yalnızca kendi düğümlerinin komşuluk satırlarını ve sınırdaki
+ * komşular için hayalet (ghost) kayıtlarını tutar. İşçiler birbirine
+ * loopback soketleriyle bağlanır; bu sınıf koordinatördür ve süper
+ * adımların bariyerini yönetir: tüm parçalar raporunu verince aktif düğüm
+ * kalmadıysa DUR, kaldıysa DEVAM gönderir.
+ *
+ * Graf koordinatörde kurulmaz: parçalar GraphFile'dan satır satır okunup
+ * işçilere akıtılır. Koordinatörde yalnızca ID -> ordinal tablosu ve
+ * parçaların ordinal listeleri (O(n)) kalır.
+ *
+ * Sonuçlar global ordinal (dosyadaki ordinal) ile indekslenir.
+ * Her çalıştırmanın süper adım başına iletişim hacmi getLastRunStats() ile,
+ * bölümleme kalitesi getPartitionStats() ile okunur.
+ */
+public class ShardedGraph implements AutoCloseable {
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+    private static final int STREAM_CHUNK_INTS = 1 << 14;
+
+    private final int nodeCount;
+    private final int shardCount;
+    private final long[] idIndex;      // (ID << 32) | ordinal, ID'ye göre sıralı
+    private final int[][] ownedGlobal; // parça -> yerel indeks -> global ordinal (artan)
+    private GraphPartitioner.Stats partitionStats;
+    private final List<Process> processes = new ArrayList<>();
+    private final Socket[] sockets;
+    private final DataInputStream[] in;
+    private final DataOutputStream[] out;
+    private List<SuperstepStats> lastRunStats = Collections.emptyList();
+    private boolean closed;
+
+    private ShardedGraph(int[] ids, int shardCount) {
+        this.nodeCount = ids.length;
+        this.shardCount = shardCount;
+        this.idIndex = new long[ids.length];
+        for (int v = 0; v < ids.length; v++) {
+            idIndex[v] = ((long) ids[v] << 32) | v;
+        }
+        Arrays.sort(idIndex);
+        this.ownedGlobal = new int[shardCount][];
+        this.sockets = new Socket[shardCount];
+        this.in = new DataInputStream[shardCount];
+        this.out = new DataOutputStream[shardCount];
+    }
+
+    public static ShardedGraph launch(Path graphFile, int[] owner, int shardCount) throws IOException {
+        return launch(graphFile, owner, shardCount, Collections.emptyList());
+    }
+
+    /**
+     * İşçi süreçlerini başlatır, parçaları yükler ve işçileri birbirine bağlar.
+     * Graf belleğe kurulmaz: her parçanın satırları GraphFile'dan okunup
+     * doğrudan işçisine akıtılır; koordinatörde yalnızca O(n) tablolar kalır.
+     * @param graphFile GraphFile.save ile yazılmış graf
+     * @param owner owner[ordinal] = parça (bkz. GraphPartitioner); yalnızca yüklemede kullanılır
+     * @param jvmOptions İşçi JVM seçenekleri (örn. "-Xmx2g")
+     */
+    public static ShardedGraph launch(Path graphFile, int[] owner, int shardCount,
+                                      List<String> jvmOptions) throws IOException {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Parça sayısı pozitif olmalıdır");
+        }
+        for (int shard : owner) {
+            if (shard < 0 || shard >= shardCount) {
+                throw new IllegalArgumentException("Geçersiz parça indeksi: " + shard);
+            }
+        }
+
+        try (GraphFile.Reader reader = GraphFile.open(graphFile)) {
+            if (owner.length != reader.getNodeCount()) {
+                throw new IllegalArgumentException("Bölümleme uzunluğu düğüm sayısına eşit olmalıdır");
+            }
+            ShardedGraph sharded = new ShardedGraph(reader.getIds(), shardCount);
+            try {
+                int[] ports = sharded.startWorkers(jvmOptions);
+                int[] localIndex = sharded.assignLocalIndices(owner);
+                int[] ghostSlot = new int[owner.length];
+                Arrays.fill(ghostSlot, -1);
+                int maxDegree = 0;
+                for (int v = 0; v < owner.length; v++) {
+                    maxDegree = Math.max(maxDegree, reader.getDegree(v));
+                }
+                int[] row = new int[maxDegree];
+                long[] totals = new long[2]; // kesilen kenar, hayalet
+                for (int s = 0; s < shardCount; s++) {
+                    sharded.loadShard(reader, owner, localIndex, s, ghostSlot, row, totals);
+                }
+                long[] sizes = new long[shardCount];
+                for (int s = 0; s < shardCount; s++) {
+                    sizes[s] = sharded.ownedGlobal[s].length;
+                }
+                sharded.partitionStats = new GraphPartitioner.Stats(shardCount, sizes,
+                        reader.getEdgeCount() / 2, totals[0], totals[1], owner.length);
+                for (int s = 0; s < shardCount; s++) {
+                    sharded.expectReady(s);
+                }
+                for (int s = 0; s < shardCount; s++) {
+                    sharded.out[s].writeInt(Wire.PEERS);
+                    Wire.writeArray(sharded.out[s], ports, ports.length);
+                    sharded.out[s].flush();
+                }
+                for (int s = 0; s < shardCount; s++) {
+                    sharded.expectReady(s);
+                }
+            } catch (IOException | RuntimeException e) {
+                sharded.destroy();
+                throw e;
+            }
+            return sharded;
+        }
+    }
+
+    private int[] startWorkers(List<String> jvmOptions) throws IOException {
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        int[] ports = new int[shardCount];
+        for (int s = 0; s < shardCount; s++) {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.addAll(jvmOptions);
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(ShardWorker.class.getName());
+            Process process = new ProcessBuilder(command)
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            processes.add(process);
+        }
+        // Tüm JVM'ler paralel açılır; portlar sırayla okunur
+        for (int s = 0; s < shardCount; s++) {
+            BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(processes.get(s).getInputStream(), StandardCharsets.UTF_8));
+            String line = reader.readLine();
+            if (line == null || !line.startsWith("PORT ")) {
+                throw new IOException("İşçi " + s + " başlatılamadı: " + line);
+            }
+            ports[s] = Integer.parseInt(line.substring(5).trim());
+            sockets[s] = new Socket(InetAddress.getLoopbackAddress(), ports[s]);
+            sockets[s].setTcpNoDelay(true);
+            in[s] = new DataInputStream(new BufferedInputStream(sockets[s].getInputStream(), 1 << 16));
+            out[s] = new DataOutputStream(new BufferedOutputStream(sockets[s].getOutputStream(), 1 << 16));
+        }
+        return ports;
+    }
+
+    // Yerel indeksler ordinal sırasıyla verilir: ownedGlobal satırları artan kalır
+    private int[] assignLocalIndices(int[] owner) {
+        int[] localIndex = new int[owner.length];
+        int[] sizes = new int[shardCount];
+        for (int v = 0; v < owner.length; v++) {
+            localIndex[v] = sizes[owner[v]]++;
+        }
+        for (int s = 0; s < shardCount; s++) {
+            ownedGlobal[s] = new int[sizes[s]];
+        }
+        for (int v = 0; v < owner.length; v++) {
+            ownedGlobal[owner[v]][localIndex[v]] = v;
+        }
+        return localIndex;
+    }
+
+    /**
+     * Parçanın yerel CSR'ını dosyadan satır satır okuyup işçiye akıtır.
+     * Parça dışı komşular ilk görüldükleri sırayla hayalet indeksi alır;
+     * hayalet tabloları satırlardan sonra gönderilir.
+     * @param ghostSlot Tümü -1 olan çalışma dizisi; dönüşte yine -1'e çekilir
+     * @param totals    [0] += kesilen kenar, [1] += hayalet sayısı
+     */
+    private void loadShard(GraphFile.Reader reader, int[] owner, int[] localIndex, int shard,
+                           int[] ghostSlot, int[] row, long[] totals) throws IOException {
+        int[] owned = ownedGlobal[shard];
+        int ownedCount = owned.length;
+
+        int[] localOffsets = new int[ownedCount + 1];
+        for (int i = 0; i < ownedCount; i++) {
+            localOffsets[i + 1] = localOffsets[i] + reader.getDegree(owned[i]);
+        }
+
+        DataOutputStream stream = out[shard];
+        stream.writeInt(Wire.LOAD);
+        stream.writeInt(shard);
+        stream.writeInt(shardCount);
+        Wire.writeArray(stream, owned, ownedCount);
+        Wire.writeArray(stream, localOffsets, ownedCount + 1);
+
+        stream.writeInt(localOffsets[ownedCount]);
+        int[] chunk = new int[STREAM_CHUNK_INTS];
+        int fill = 0;
+        Wire.IntList ghosts = new Wire.IntList();
+        for (int v : owned) {
+            int degree = reader.readRow(v, row);
+            for (int i = 0; i < degree; i++) {
+                int u = row[i];
+                if (owner[u] == shard) {
+                    chunk[fill++] = localIndex[u];
+                } else {
+                    if (u > v) totals[0]++;
+                    if (ghostSlot[u] < 0) {
+                        ghostSlot[u] = ghosts.size;
+                        ghosts.add(u);
+                    }
+                    chunk[fill++] = ownedCount + ghostSlot[u];
+                }
+                if (fill == chunk.length) {
+                    Wire.writeInts(stream, chunk, fill);
+                    fill = 0;
+                }
+            }
+        }
+        Wire.writeInts(stream, chunk, fill);
+
+        int ghostCount = ghosts.size;
+        int[] ghostOwner = new int[ghostCount];
+        int[] ghostRemote = new int[ghostCount];
+        for (int g = 0; g < ghostCount; g++) {
+            ghostOwner[g] = owner[ghosts.values[g]];
+            ghostRemote[g] = localIndex[ghosts.values[g]];
+            ghostSlot[ghosts.values[g]] = -1;
+        }
+        totals[1] += ghostCount;
+        Wire.writeArray(stream, ghosts.values, ghostCount);
+        Wire.writeArray(stream, ghostOwner, ghostCount);
+        Wire.writeArray(stream, ghostRemote, ghostCount);
+        stream.flush();
+    }
+
+    private void expectReady(int shard) throws IOException {
+        int reply = in[shard].readInt();
+        if (reply != Wire.READY) {
+            throw new IOException("İşçi " + shard + " beklenmeyen yanıt verdi: " + reply);
+        }
+    }
+
+    // --- ANALİZLER ---
+
+    /**
+     * Kaynaktan BFS seviyeleri (atlama sayısı).
+     * @return ordinal -> seviye, ulaşılamayan düğümler için -1
+     */
+    public synchronized int[] bfs(int sourceId) throws IOException {
+        int source = ordinalOf(sourceId);
+        if (source < 0) {
+            throw new IllegalArgumentException("Düğüm bulunamadı: " + sourceId);
+        }
+        ensureOpen();
+        for (int s = 0; s < shardCount; s++) {
+            int local = Arrays.binarySearch(ownedGlobal[s], source);
+            out[s].writeInt(Wire.BFS);
+            out[s].writeInt(local >= 0 ? local : -1);
+        }
+        return runSupersteps();
+    }
+
+    // ID -> global ordinal; yoksa -1
+    private int ordinalOf(int id) {
+        int low = 0, high = idIndex.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midId = (int) (idIndex[mid] >> 32);
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return (int) idIndex[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Bağlantılı bileşenler (HashMin etiket yayılımı).
+     * @return ordinal -> bileşenindeki en küçük ordinal
+     */
+    public synchronized int[] connectedComponents() throws IOException {
+        ensureOpen();
+        for (int s = 0; s < shardCount; s++) {
+            out[s].writeInt(Wire.COMPONENTS);
+        }
+        return runSupersteps();
+    }
+
+    /**
+     * Süper adım bariyeri: tüm raporları toplar, karar verir; durulunca
+     * parçaların sonuçlarını global dizide birleştirir.
+     */
+    private int[] runSupersteps() throws IOException {
+        List<SuperstepStats> stats = new ArrayList<>();
+        for (int s = 0; s < shardCount; s++) {
+            out[s].flush();
+        }
+        long start = System.nanoTime();
+        while (true) {
+            long active = 0, messages = 0, bytes = 0;
+            for (int s = 0; s < shardCount; s++) {
+                active += in[s].readInt();
+                messages += in[s].readLong();
+                bytes += in[s].readLong();
+            }
+            long now = System.nanoTime();
+            stats.add(new SuperstepStats(stats.size(), active, messages, bytes, (now - start) / 1e6));
+            start = now;
+            int decision = active > 0 ? Wire.CONTINUE : Wire.HALT;
+            for (int s = 0; s < shardCount; s++) {
+                out[s].writeInt(decision);
+                out[s].flush();
+            }
+            if (decision == Wire.HALT) {
+                break;
+            }
+        }
+        lastRunStats = Collections.unmodifiableList(stats);
+
+        int[] result = new int[nodeCount];
+        for (int s = 0; s < shardCount; s++) {
+            int[] owned = ownedGlobal[s];
+            int[] values = Wire.readInts(in[s], owned.length);
+            for (int i = 0; i < owned.length; i++) {
+                result[owned[i]] = values[i];
+            }
+        }
+        return result;
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Parçalı graf kapatılmış");
+        }
+    }
+
+    // --- İSTATİSTİKLER ---
+    public int getShardCount() { return shardCount; }
+    public GraphPartitioner.Stats getPartitionStats() { return partitionStats; }
+
+    /** Son analizin süper adım istatistikleri. */
+    public synchronized List<SuperstepStats> getLastRunStats() { return lastRunStats; }
+
+    /**
+     * İşçilere kapanma komutu gönderir ve süreçlerin bitmesini bekler.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (int s = 0; s < shardCount; s++) {
+                out[s].writeInt(Wire.SHUTDOWN);
+                out[s].flush();
+            }
+            for (Process process : processes) {
+                if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            destroy();
+        }
+    }
+
+    private void destroy() {
+        closed = true;
+        for (Socket socket : sockets) {
+            if (socket == null) continue;
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Kapanışta hata önemsiz
+            }
+        }
+        for (Process process : processes) {
+            if (process.isAlive()) process.destroyForcibly();
+        }
+    }
+
+    /**
+     * Bir süper adımın toplamları (tüm parçalar).
+     */
+    public static class SuperstepStats {
+        private final int superstep;
+        private final long activeNodes;
+        private final long messages;
+        private final long bytes;
+        private final double millis;
+
+        SuperstepStats(int superstep, long activeNodes, long messages, long bytes, double millis) {
+            this.superstep = superstep;
+            this.activeNodes = activeNodes;
+            this.messages = messages;
+            this.bytes = bytes;
+            this.millis = millis;
+        }
+
+        public int getSuperstep() { return superstep; }
+
+        /** Adım sonunda bir sonraki adımda işlenecek düğüm sayısı. */
+        public long getActiveNodes() { return activeNodes; }
+
+        /** Parçalar arası gönderilen int sayısı (BFS: düğüm, CC: düğüm+etiket). */
+        public long getMessages() { return messages; }
+
+        /** Parçalar arası gönderilen bayt (toplu mesaj başlıkları dahil). */
+        public long getBytes() { return bytes; }
+
+        public double getMillis() { return millis; }
+
+        @Override
+        public String toString() {
+            return String.format("adım %d: aktif %,d, mesaj %,d int, %,d bayt, %.1f ms",
+                    superstep, activeNodes, messages, bytes, millis);
+        }
+    }
+}
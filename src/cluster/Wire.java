@@ -0,0 +1,76 @@
+package cluster;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Koordinatör ve işçiler arasındaki soket protokolü: komut kodları ve
+ * int dizilerinin toplu (bulk) yazılıp okunması.
+ */
+final class Wire {
+    static final int LOAD = 1;
+    static final int PEERS = 2;
+    static final int BFS = 3;
+    static final int COMPONENTS = 4;
+    static final int CONTINUE = 5;
+    static final int HALT = 6;
+    static final int SHUTDOWN = 7;
+    static final int READY = 8;
+
+    private static final int CHUNK_INTS = 1 << 14;
+
+    private Wire() {
+    }
+
+    static void writeInts(DataOutputStream out, int[] values, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES * Math.min(length, CHUNK_INTS));
+        for (int done = 0; done < length; done += CHUNK_INTS) {
+            int count = Math.min(CHUNK_INTS, length - done);
+            buffer.clear();
+            buffer.asIntBuffer().put(values, done, count);
+            out.write(buffer.array(), 0, Integer.BYTES * count);
+        }
+    }
+
+    static int[] readInts(DataInputStream in, int length) throws IOException {
+        int[] values = new int[length];
+        byte[] bytes = new byte[Integer.BYTES * Math.min(length, CHUNK_INTS)];
+        for (int done = 0; done < length; done += CHUNK_INTS) {
+            int count = Math.min(CHUNK_INTS, length - done);
+            in.readFully(bytes, 0, Integer.BYTES * count);
+            ByteBuffer.wrap(bytes, 0, Integer.BYTES * count).asIntBuffer().get(values, done, count);
+        }
+        return values;
+    }
+
+    // Uzunluk önekli dizi
+    static void writeArray(DataOutputStream out, int[] values, int length) throws IOException {
+        out.writeInt(length);
+        writeInts(out, values, length);
+    }
+
+    static int[] readArray(DataInputStream in) throws IOException {
+        return readInts(in, in.readInt());
+    }
+
+    /**
+     * Büyüyen int dizisi (giden mesaj kutuları için).
+     */
+    static final class IntList {
+        int[] values = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = java.util.Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Graf değiştikçe canlı tutulan bağlı bileşenler (artımlı union-find).
+ *
+ * SocialGraph.trackComponents() ile açılır ve değişiklik dinleyicisi olarak
+ * çalışır: yeni düğüm yeni bir bileşendir, yeni kenar iki ucun bileşenini
+ * birleştirir (boyuta göre birleşim, yol yarılaması). Graf yalnızca
+ * büyüdüğü (silme olmadığı) için yazma yolunda hiçbir zaman tam yeniden
+ * hesaplama yapılmaz; sorgular ve güncellemeler amortize O(α(n))'dir.
+ * Bileşen sayısı ve boyutları her birleşimde güncellenir.
+ *
+ * Düğümler ordinal ile indekslenir. Tüm işlemler bu nesne üzerinde
+ * senkronizedir; ConcurrentSocialGraph yazarlarıyla birlikte kullanılabilir.
+ *
+ * Canlı sorgular yalnızca bu sınıftan yapılır; ConnectedComponents ise son
+ * findConnectedComponents çalışmasının görüntüsünü cevaplamaya devam eder.
+ */
+public final class ComponentTracker implements GraphChangeListener {
+    private final SocialGraph graph;
+
+    // parent[o] == -1: ordinal henüz eklenmedi; kökte size[o] bileşen boyutudur
+    private int[] parent = new int[0];
+    private int[] size = new int[0];
+    private int nodeCount;
+    private int componentCount;
+    private int largestSize;
+
+    ComponentTracker(SocialGraph graph) {
+        this.graph = graph;
+    }
+
+    /**
+     * Mevcut düğüm ve kenarları bir kez işler (takip açılırken).
+     */
+    synchronized void seed() {
+        for (UserNode node : graph.getAllNodes()) {
+            add(node.getOrdinal());
+        }
+        for (RelationshipEdge edge : graph.getAllEdges()) {
+            union(edge.getSource().getOrdinal(), edge.getDestination().getOrdinal());
+        }
+    }
+
+    @Override
+    public synchronized void onNodeAdded(UserNode node) {
+        add(node.getOrdinal());
+    }
+
+    @Override
+    public synchronized void onEdgeAdded(RelationshipEdge edge) {
+        union(edge.getSource().getOrdinal(), edge.getDestination().getOrdinal());
+    }
+
+    /**
+     * İki kullanıcı aynı bileşendeyse true (graf dışındaki ID için false)
+     */
+    public boolean areInSameComponent(int nodeId1, int nodeId2) {
+        UserNode first = graph.getNode(nodeId1);
+        UserNode second = graph.getNode(nodeId2);
+        if (first == null || second == null) {
+            return false;
+        }
+        synchronized (this) {
+            int a = first.getOrdinal(), b = second.getOrdinal();
+            return isPresent(a) && isPresent(b) && find(a) == find(b);
+        }
+    }
+
+    /**
+     * Düğümün bileşeninin boyutu; düğüm yoksa 0
+     */
+    public int getComponentSize(int nodeId) {
+        UserNode node = graph.getNode(nodeId);
+        if (node == null) {
+            return 0;
+        }
+        synchronized (this) {
+            int o = node.getOrdinal();
+            return isPresent(o) ? size[find(o)] : 0;
+        }
+    }
+
+    /**
+     * Bileşenin temsilci düğümünün ordinali (aynı bileşendekiler için aynı,
+     * birleşimlerle değişebilir); düğüm yoksa -1
+     */
+    public int getRepresentative(int nodeId) {
+        UserNode node = graph.getNode(nodeId);
+        if (node == null) {
+            return -1;
+        }
+        synchronized (this) {
+            int o = node.getOrdinal();
+            return isPresent(o) ? find(o) : -1;
+        }
+    }
+
+    public synchronized int getComponentCount() {
+        return componentCount;
+    }
+
+    public synchronized int getLargestComponentSize() {
+        return largestSize;
+    }
+
+    /**
+     * Tüm bileşenlerin boyutları (azalan sırada). O(n); sorgu yolunda değil,
+     * raporlama içindir.
+     */
+    public synchronized int[] getComponentSizes() {
+        int[] sizes = new int[componentCount];
+        int count = 0;
+        for (int o = 0; o < nodeCount; o++) {
+            if (parent[o] == o) {
+                sizes[count++] = size[o];
+            }
+        }
+        Arrays.sort(sizes);
+        for (int i = 0, j = count - 1; i < j; i++, j--) {
+            int t = sizes[i];
+            sizes[i] = sizes[j];
+            sizes[j] = t;
+        }
+        return sizes;
+    }
+
+    private boolean isPresent(int o) {
+        return o < nodeCount && parent[o] >= 0;
+    }
+
+    private void add(int o) {
+        if (o >= parent.length) {
+            int capacity = Math.max(o + 1, parent.length * 2);
+            int old = parent.length;
+            parent = Arrays.copyOf(parent, capacity);
+            size = Arrays.copyOf(size, capacity);
+            Arrays.fill(parent, old, capacity, -1);
+        }
+        if (parent[o] >= 0) {
+            return; // Zaten eklendi (ör. seed ile olay çakıştı)
+        }
+        parent[o] = o;
+        size[o] = 1;
+        nodeCount = Math.max(nodeCount, o + 1);
+        componentCount++;
+        largestSize = Math.max(largestSize, 1);
+    }
+
+    private int find(int x) {
+        while (parent[x] != x) {
+            parent[x] = parent[parent[x]];
+            x = parent[x];
+        }
+        return x;
+    }
+
+    private void union(int a, int b) {
+        add(a);
+        add(b);
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) {
+            return;
+        }
+        if (size[rootA] < size[rootB]) {
+            int t = rootA;
+            rootA = rootB;
+            rootB = t;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        componentCount--;
+        largestSize = Math.max(largestSize, size[rootA]);
+    }
+}
@@ -0,0 +1,337 @@
+package model;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * Sıkıştırılmış, değişmez komşuluk görüntüsü (çok büyük graflar için).
+ *
+ * Her satır hedef ordinaline göre sıralıdır ve değişken uzunluklu tamsayı
+ * (varint, 7 bit/bayt) ile kodlanır:
+ * <pre>
+ *   derece, zigzag(ilkHedef - kaynak), (hedef[i] - hedef[i-1] - 1)...
+ * </pre>
+ * Sosyal graflarda komşular yakın ordinallerde toplandığı için aralıklar
+ * küçüktür ve çoğu kenar 1-2 bayt tutar. Ağırlıklar saklanmaz: kenar
+ * ağırlığı iki ucun skorlarının saf fonksiyonu olduğu için (RelationshipEdge
+ * ile aynı formül) gezinirken skorlardan yeniden hesaplanır.
+ *
+ * Veri 1 GB'lık sayfalarda tutulur; bir satır hiçbir zaman iki sayfaya
+ * bölünmez. Gezinti NeighborCursor ile yerinde çözülerek yapılır.
+ */
+public final class CompressedGraph {
+    private static final int PAGE_BITS = 30;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+    private final int[] ids;
+    private final int[] sortedIds;
+    private final int[] sortedOrdinals;
+    private final long[] rowStarts;   // ordinal -> (sayfa << 30) | sayfa içi konum
+    private final byte[][] pages;
+    private final long edgeCount;     // yönlü kenar sayısı
+    private final long dataBytes;
+    // Skorlar düğüm başına ardışık (aktiflik, etkileşim, bağlantı): ağırlık
+    // hesabı her komşu için tek önbellek satırı okur
+    private final double[] scores;
+
+    // Satır kaynağı: ordinalin hedeflerini sıralı olarak döner
+    private interface RowSource {
+        int[] row(int ordinal);
+    }
+
+    private CompressedGraph(int[] ids, double[] active, double[] interaction, double[] connection, RowSource source) {
+        int n = ids.length;
+        this.ids = ids;
+        this.scores = new double[3 * n];
+        for (int i = 0; i < n; i++) {
+            scores[3 * i] = active[i];
+            scores[3 * i + 1] = interaction[i];
+            scores[3 * i + 2] = connection[i];
+        }
+
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            keys[i] = ((long) ids[i] << 32) | i;
+        }
+        Arrays.parallelSort(keys);
+        this.sortedIds = new int[n];
+        this.sortedOrdinals = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortedIds[i] = (int) (keys[i] >> 32);
+            sortedOrdinals[i] = (int) keys[i];
+        }
+
+        // 1. Geçiş (paralel): satır boyutları
+        int[] rowBytes = new int[n];
+        IntStream.range(0, n).parallel().forEach(v -> rowBytes[v] = encodedSize(v, source.row(v)));
+        for (int v = 0; v < n; v++) {
+            if (rowBytes[v] > PAGE_SIZE) {
+                throw new IllegalArgumentException("Satır bir sayfaya sığmıyor: " + v);
+            }
+        }
+
+        // 2. Geçiş: sayfa yerleşimi (satırlar sayfa sınırını aşmaz)
+        this.rowStarts = new long[n];
+        List<Integer> pageSizes = new ArrayList<>();
+        int page = 0;
+        int used = 0;
+        long total = 0;
+        for (int v = 0; v < n; v++) {
+            if (used + (long) rowBytes[v] > PAGE_SIZE) {
+                pageSizes.add(used);
+                page++;
+                used = 0;
+            }
+            rowStarts[v] = ((long) page << PAGE_BITS) | used;
+            used += rowBytes[v];
+            total += rowBytes[v];
+        }
+        pageSizes.add(used);
+        this.pages = new byte[pageSizes.size()][];
+        for (int p = 0; p < pages.length; p++) {
+            pages[p] = new byte[pageSizes.get(p)];
+        }
+        this.dataBytes = total;
+
+        // 3. Geçiş (paralel): kodlama
+        long[] edgeCounts = new long[n];
+        IntStream.range(0, n).parallel().forEach(v -> {
+            int[] row = source.row(v);
+            edgeCounts[v] = row.length;
+            encodeRow(v, row, pages[(int) (rowStarts[v] >>> PAGE_BITS)], (int) (rowStarts[v] & (PAGE_SIZE - 1)));
+        });
+        long edges = 0;
+        for (long count : edgeCounts) edges += count;
+        this.edgeCount = edges;
+    }
+
+    /**
+     * CSR görüntüsünü sıkıştırır. Ordinaller aynı kalır.
+     */
+    public static CompressedGraph from(CsrGraph csr) {
+        int n = csr.getNodeCount();
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) ids[i] = csr.getId(i);
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        return new CompressedGraph(ids, csr.getActiveScores(), csr.getInteractionScores(),
+                csr.getConnectionScores(), v -> Arrays.copyOfRange(targets, offsets[v], offsets[v + 1]));
+    }
+
+    /**
+     * Grafı ara CSR görüntüsü oluşturmadan sıkıştırır (büyük graflarda
+     * int hedef ve double ağırlık dizileri hiç ayrılmaz). Yazma süren bir
+     * ConcurrentSocialGraph için openSnapshot() ile alınan görüntü verilmelidir.
+     */
+    public static CompressedGraph from(SocialGraph graph) {
+        int n = graph.getNodeCount();
+        UserNode[] nodes = new UserNode[n];
+        int[] ids = new int[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = graph.getNodeByOrdinal(i);
+            ids[i] = nodes[i].getId();
+        }
+        NodeAttributeStore store = graph.getAttributeStore();
+        return new CompressedGraph(ids, store.copyActive(n), store.copyInteraction(n), store.copyConnection(n), v -> {
+            Collection<RelationshipEdge> edges = graph.getEdges(nodes[v].getId());
+            int[] row = new int[edges.size()];
+            int i = 0;
+            for (RelationshipEdge edge : edges) {
+                row[i++] = edge.getDestination().getOrdinal();
+            }
+            Arrays.sort(row);
+            return row;
+        });
+    }
+
+    // --- KODLAMA ---
+
+    private static int encodedSize(int source, int[] row) {
+        int size = varintSize(row.length);
+        for (int i = 0; i < row.length; i++) {
+            size += varintSize(i == 0 ? zigzag(row[0] - source) : row[i] - row[i - 1] - 1);
+        }
+        return size;
+    }
+
+    private static void encodeRow(int source, int[] row, byte[] page, int position) {
+        position = writeVarint(page, position, row.length);
+        for (int i = 0; i < row.length; i++) {
+            position = writeVarint(page, position, i == 0 ? zigzag(row[0] - source) : row[i] - row[i - 1] - 1);
+        }
+    }
+
+    // İşaretli farkı işaretsize çevirir: 0, -1, 1, -2... -> 0, 1, 2, 3...
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varintSize(int value) {
+        int size = 1;
+        while ((value & ~0x7F) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private static int writeVarint(byte[] page, int position, int value) {
+        while ((value & ~0x7F) != 0) {
+            page[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        page[position++] = (byte) value;
+        return position;
+    }
+
+    // --- BOYUTLAR ---
+
+    public int getNodeCount() { return ids.length; }
+
+    /** Yönlü kenar sayısı (her yönsüz ilişki iki kez sayılır). */
+    public long getEdgeCount() { return edgeCount; }
+
+    /**
+     * Komşuluk verisinin bayt cinsinden boyutu (satır başlangıç tablosu dahil).
+     */
+    public long getAdjacencyBytes() {
+        return dataBytes + (long) Long.BYTES * rowStarts.length;
+    }
+
+    /**
+     * Yönlü kenar başına bit (satır başlangıç tablosu dahil).
+     */
+    public double getBitsPerEdge() {
+        return edgeCount == 0 ? 0 : 8.0 * getAdjacencyBytes() / edgeCount;
+    }
+
+    // --- ORDINAL <-> ID DÖNÜŞÜMLERİ ---
+
+    public int getOrdinal(int nodeId) {
+        int idx = Arrays.binarySearch(sortedIds, nodeId);
+        return idx >= 0 ? sortedOrdinals[idx] : -1;
+    }
+
+    public int getId(int ordinal) { return ids[ordinal]; }
+
+    // --- KOMŞULUK ---
+
+    public int getDegree(int ordinal) {
+        byte[] page = pages[(int) (rowStarts[ordinal] >>> PAGE_BITS)];
+        int position = (int) (rowStarts[ordinal] & (PAGE_SIZE - 1));
+        int value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = page[position++];
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+    }
+
+    /**
+     * u ile v arasındaki kenar ağırlığı; skorlardan hesaplanır.
+     */
+    public double weight(int u, int v) {
+        return weightOf(u, v);
+    }
+
+    // RelationshipEdge ile aynı formül ve aynı işlem sırası (sonuç bit düzeyinde aynı)
+    private double weightOf(int u, int v) {
+        double diffActive = scores[3 * u] - scores[3 * v];
+        double diffInteraction = scores[3 * u + 1] - scores[3 * v + 1];
+        double diffConnection = scores[3 * u + 2] - scores[3 * v + 2];
+        return 1.0 + Math.sqrt(diffActive * diffActive +
+                diffInteraction * diffInteraction +
+                diffConnection * diffConnection);
+    }
+
+    public boolean hasEdge(int u, int v) {
+        NeighborCursor cursor = cursor(u);
+        for (int target = cursor.next(); target >= 0 && target <= v; target = cursor.next()) {
+            if (target == v) return true;
+        }
+        return false;
+    }
+
+    /**
+     * u -> v kenarının ağırlığı, kenar yoksa sonsuz.
+     */
+    public double getEdgeWeight(int u, int v) {
+        return hasEdge(u, v) ? weight(u, v) : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Verilen düğümün komşuları üzerinde konumlanmış yeni imleç.
+     * Sıcak döngülerde tek imleç oluşturulup reset ile tekrar kullanılmalıdır.
+     */
+    public NeighborCursor cursor(int ordinal) {
+        return new NeighborCursor().reset(ordinal);
+    }
+
+    /**
+     * Bir satırı yerinde çözen imleç. Komşular artan ordinal sırasıyla döner.
+     * İş parçacığı güvenli değildir; her iş parçacığı kendi imlecini kullanır.
+     */
+    public final class NeighborCursor {
+        private byte[] page;
+        private int position;
+        private int remaining;
+        private int source;
+        private int current;
+        private boolean first;
+
+        private NeighborCursor() {
+        }
+
+        public NeighborCursor reset(int ordinal) {
+            long start = rowStarts[ordinal];
+            page = pages[(int) (start >>> PAGE_BITS)];
+            position = (int) (start & (PAGE_SIZE - 1));
+            remaining = readVarint();
+            source = ordinal;
+            first = true;
+            return this;
+        }
+
+        /**
+         * Sıradaki komşunun ordinali, satır bittiyse -1.
+         */
+        public int next() {
+            if (remaining == 0) {
+                return -1;
+            }
+            remaining--;
+            int value = readVarint();
+            if (first) {
+                first = false;
+                current = source + unzigzag(value);
+            } else {
+                current += value + 1;
+            }
+            return current;
+        }
+
+        /**
+         * Son dönen komşuya giden kenarın ağırlığı.
+         */
+        public double weight() {
+            return weightOf(source, current);
+        }
+
+        private int readVarint() {
+            byte[] data = page;
+            int pos = position;
+            int b = data[pos++];
+            int value = b & 0x7F;
+            for (int shift = 7; b < 0; shift += 7) {
+                b = data[pos++];
+                value |= (b & 0x7F) << shift;
+            }
+            position = pos;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,813 @@
+package model;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongFunction;
+
+/**
+ * Eşzamanlı yazma ve sorgulara izin veren, sürümlü (MVCC) SocialGraph.
+ *
+ * Yazarlar (addEdge) iki ucun kilit şeridini (striped lock) sabit sırayla
+ * alır; farklı düğümlere yapılan yazmalar birbirini beklemez. Okuyucular
+ * (getNeighbors, hasEdge, BFS, Dijkstra...) hiç kilit almaz.
+ *
+ * Sürümleme: her değişiklik kilitler altında yeni bir epoch numarası alır ve
+ * eklediği her kayıt bu numarayla damgalanır. Değişiklik tamamlanınca
+ * visibleEpoch sırayla ilerletilir (commit). Okumalar o anki visibleEpoch'a
+ * göre yapılır; bu yüzden her işlem commit anında doğrusallaştırılır.
+ * openSnapshot() bir epoch'u sabitler (pin): dönen görüntü, arka planda
+ * ekleme sürerken bile grafı o andaki haliyle gösterir. Kayıtlar yalnızca
+ * sona eklendiği için görüntü kopya gerektirmez, maliyeti O(1)'dir.
+ *
+ * Skor güncellemesi (updateScores) etkilenen kenarların yeni sürümlerini
+ * ekler; eski sürüm yerini alanın epoch'unda emekliye ayrılır (retired).
+ * Eski sürümler ve skorlar, ne açık bir görüntünün ne de güncel okumanın
+ * göremeyeceği hale gelince (reclaim horizon) geri kazanılır. Görüntüdeki
+ * UserNode nesneleri güncel skorları gösterir; sürüme uygun skorlar için
+ * görüntünün CSR'ı (freeze) kullanılmalıdır.
+ */
+public class ConcurrentSocialGraph extends SocialGraph {
+    private static final int STRIPE_COUNT = 64;
+
+    private final ConcurrentHashMap<Integer, UserNode> nodes = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Integer, Adjacency> adjacency = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPE_COUNT];
+
+    // Eklenme sırasıyla kenar uçları ve epoch'ları; edgeLog üzerinde senkronize.
+    // Ağırlık sürüme göre değiştiği için kenar nesnesi komşuluktan çözülür.
+    private final Object edgeLog = new Object();
+    private int[] edgeSources = new int[16];
+    private int[] edgeDestinations = new int[16];
+    private long[] edgeEpochs = new long[16];
+    private int edgeCount;
+
+    // Düğüm ekleme seyrek olduğu için tek kilit: skor deposu ve ordinal tabloları
+    private final Object nodeLock = new Object();
+    private volatile UserNode[] nodesByOrdinal = new UserNode[16];
+    private volatile long[] nodeEpochs = new long[16];
+    private volatile int nodeCount;
+
+    // Epoch sayaçları: epochCounter dağıtılan son numara, visibleEpoch commit edilen son numara
+    private final AtomicLong epochCounter = new AtomicLong();
+    private volatile long visibleEpoch;
+    // Sırası gelmeden tamamlanan epoch'lar; commitLock altında
+    private final Object commitLock = new Object();
+    private final Set<Long> finishedEpochs = new HashSet<>();
+    // Skor olaylarını epoch sırasıyla yayar; nodeLock bırakılmadan alınır
+    private final ReentrantLock scoreEventLock = new ReentrantLock();
+
+    // Sabitlenmiş (pinned) epoch -> okuyucu sayısı; kendi üzerinde senkronize
+    private final TreeMap<Long, Integer> pinnedEpochs = new TreeMap<>();
+
+    // Eski skorlar: ordinal -> en yeni eski değer (nodeLock altında değişir)
+    private final ConcurrentHashMap<Integer, ScoreVersion> scoreHistory = new ConcurrentHashMap<>();
+    // Segmentinde emekli sürüm veya kesilmemiş sürüm zinciri olan düğümler
+    private final Set<Integer> retiredNodes = ConcurrentHashMap.newKeySet();
+    // Geri kazanım sırasında tek, bitince çift (seqlock); reclaimLock altında artar
+    private final Object reclaimLock = new Object();
+    private volatile long reclaimSequence;
+
+    private volatile CsrCache csrCache;
+
+    public ConcurrentSocialGraph() {
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Bir kenarın belirli bir epoch'ta oluşturulmuş sürümü.
+     */
+    static final class EdgeVersion {
+        final RelationshipEdge edge;
+        final long epoch;
+        volatile EdgeVersion previous; // Aynı kenarın daha eski sürümü
+        volatile long retiredEpoch = Long.MAX_VALUE; // Yerini yeni sürüme bıraktığı epoch
+
+        EdgeVersion(RelationshipEdge edge, long epoch, EdgeVersion previous) {
+            this.edge = edge;
+            this.epoch = epoch;
+            this.previous = previous;
+        }
+    }
+
+    /**
+     * Değişmez (dizi, boyut) çifti. Dizi yalnızca [0, size) aralığında okunur;
+     * yeni eleman sona yazılıp yeni Segment yayınlanır.
+     */
+    private static final class Segment {
+        static final Segment EMPTY = new Segment(new EdgeVersion[0], 0);
+        final EdgeVersion[] array;
+        final int size;
+
+        Segment(EdgeVersion[] array, int size) {
+            this.array = array;
+            this.size = size;
+        }
+    }
+
+    /**
+     * Bir düğümün komşuluğu: O(1) arama için indeks (hedef -> en yeni sürüm)
+     * ve kilitsiz gezinti için epoch sırasına göre büyüyen dizi.
+     */
+    private static final class Adjacency {
+        final ConcurrentHashMap<Integer, EdgeVersion> index = new ConcurrentHashMap<>();
+        volatile Segment segment = Segment.EMPTY;
+
+        // Sadece düğümün şerit kilidi tutulurken çağrılır
+        void append(EdgeVersion version) {
+            Segment current = segment;
+            EdgeVersion[] array = current.array;
+            if (current.size == array.length) {
+                array = Arrays.copyOf(array, Math.max(4, array.length * 2));
+            }
+            array[current.size] = version;
+            segment = new Segment(array, current.size + 1);
+        }
+    }
+
+    /**
+     * Bir düğümün retiredEpoch'a kadar geçerli olmuş eski skorları.
+     */
+    private static final class ScoreVersion {
+        final double active;
+        final double interaction;
+        final double connection;
+        final long retiredEpoch;
+        ScoreVersion previous;
+
+        ScoreVersion(double active, double interaction, double connection, long retiredEpoch, ScoreVersion previous) {
+            this.active = active;
+            this.interaction = interaction;
+            this.connection = connection;
+            this.retiredEpoch = retiredEpoch;
+            this.previous = previous;
+        }
+    }
+
+    private static final class CsrCache {
+        final CsrGraph graph;
+        final long epoch;
+
+        CsrCache(CsrGraph graph, long epoch) {
+            this.graph = graph;
+            this.epoch = epoch;
+        }
+    }
+
+    // --- EPOCH / COMMIT ---
+
+    /**
+     * Epoch'u tamamlanmış işaretler. Önceki epoch'un sahibi henüz bitmediyse
+     * epoch beklemeye alınır ve o yazar commit ettiğinde kesintisiz biten
+     * epoch'ların hepsini birlikte yayınlar; yazarlar birbirini sırayla
+     * döndürmez, görünürlük yine de epoch sırasıyla ilerler. Çağıran, kendi
+     * yazdığını okuyabilmesi için epoch'u görünür olana kadar bekler.
+     *
+     * Epoch alındıktan sonra hata oluşsa bile finally'den çağrılmalıdır; aksi
+     * halde o epoch hiç yayınlanmaz ve sonraki tüm yazarlar sonsuza dek bekler.
+     */
+    private void commit(long epoch) {
+        synchronized (commitLock) {
+            if (visibleEpoch == epoch - 1) {
+                long last = epoch;
+                while (finishedEpochs.remove(last + 1)) {
+                    last++;
+                }
+                visibleEpoch = last;
+            } else {
+                finishedEpochs.add(epoch);
+            }
+        }
+        awaitVisible(epoch);
+    }
+
+    // Önceki epoch'ların sahipleri kilitlerini bırakıp commit'e ilerlediği için bekleme sonlanır
+    private void awaitVisible(long epoch) {
+        int spins = 0;
+        while (visibleEpoch < epoch) {
+            if (++spins < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+    }
+
+    /**
+     * Son commit edilen epoch.
+     */
+    public long getEpoch() {
+        return visibleEpoch;
+    }
+
+    // --- ANLIK GÖRÜNTÜ (SNAPSHOT) ---
+
+    /**
+     * Grafın şu anki sürümünü sabitleyen salt okunur görünüm açar.
+     * Görünüm kapatılana (close) kadar o sürüm okunabilir kalır.
+     */
+    public GraphSnapshot openSnapshot() {
+        return new GraphSnapshot(this, pin());
+    }
+
+    long pin() {
+        synchronized (pinnedEpochs) {
+            long epoch = visibleEpoch;
+            pinnedEpochs.merge(epoch, 1, Integer::sum);
+            return epoch;
+        }
+    }
+
+    void unpin(long epoch) {
+        synchronized (pinnedEpochs) {
+            pinnedEpochs.computeIfPresent(epoch, (key, count) -> count == 1 ? null : count - 1);
+        }
+        reclaim();
+    }
+
+    /**
+     * Açık anlık görüntü sayısı (izleme için).
+     */
+    public int getOpenSnapshotCount() {
+        synchronized (pinnedEpochs) {
+            int total = 0;
+            for (int count : pinnedEpochs.values()) total += count;
+            return total;
+        }
+    }
+
+    // --- DÜĞÜM EKLEME ---
+
+    @Override
+    public void addNode(UserNode node) {
+        long epoch = 0; // 0: epoch alınmadı (sayaç 1'den başlar)
+        try {
+            synchronized (nodeLock) {
+                if (nodes.containsKey(node.getId())) {
+                    throw new IllegalArgumentException("Düğüm zaten mevcut: " + node.getId());
+                }
+                checkDetached(node);
+                epoch = epochCounter.incrementAndGet();
+                int ordinal = getAttributeStore().add(node.getActiveScore(), node.getInteractionScore(), node.getConnectionScore());
+                node.attach(getAttributeStore(), ordinal);
+                publishNode(node, ordinal, epoch);
+            }
+        } finally {
+            if (epoch != 0) commit(epoch);
+        }
+        fireNodeAdded(node);
+    }
+
+    @Override
+    public UserNode addNode(int id, double active, double interaction, double connection) {
+        long epoch = 0;
+        UserNode node;
+        try {
+            synchronized (nodeLock) {
+                if (nodes.containsKey(id)) {
+                    throw new IllegalArgumentException("Düğüm zaten mevcut: " + id);
+                }
+                epoch = epochCounter.incrementAndGet();
+                int ordinal = getAttributeStore().add(active, interaction, connection);
+                node = new UserNode(id, getAttributeStore(), ordinal);
+                publishNode(node, ordinal, epoch);
+            }
+        } finally {
+            if (epoch != 0) commit(epoch);
+        }
+        fireNodeAdded(node);
+        return node;
+    }
+
+    // nodeLock tutulurken çağrılır: ordinal sırası = epoch sırası
+    private void publishNode(UserNode node, int ordinal, long epoch) {
+        UserNode[] table = nodesByOrdinal;
+        long[] epochs = nodeEpochs;
+        if (ordinal == table.length) {
+            table = Arrays.copyOf(table, table.length * 2);
+            epochs = Arrays.copyOf(epochs, epochs.length * 2);
+        }
+        table[ordinal] = node;
+        epochs[ordinal] = epoch;
+        nodesByOrdinal = table;
+        nodeEpochs = epochs;
+        nodeCount = ordinal + 1;
+        adjacency.put(node.getId(), new Adjacency());
+        nodes.put(node.getId(), node);
+    }
+
+    // --- KENAR EKLEME ---
+
+    @Override
+    public void addEdge(UserNode source, UserNode destination) {
+        if (source.getId() == destination.getId()) {
+            throw new IllegalArgumentException("Self-loop'a izin verilmez");
+        }
+        insertEdge(source.getId(), destination.getId());
+    }
+
+    @Override
+    public int addEdges(int[] sourceIds, int[] destinationIds) {
+        if (sourceIds.length != destinationIds.length) {
+            throw new IllegalArgumentException("Kaynak ve hedef dizileri aynı uzunlukta olmalıdır");
+        }
+        int count = sourceIds.length;
+        for (int i = 0; i < count; i++) {
+            if (sourceIds[i] == destinationIds[i]) {
+                throw new IllegalArgumentException("Self-loop'a izin verilmez");
+            }
+            if (!nodes.containsKey(sourceIds[i]) || !nodes.containsKey(destinationIds[i])) {
+                throw new IllegalArgumentException("Düğümler graf içinde olmalıdır");
+            }
+        }
+        // Ağırlıklar kilit altında hesaplanır: eşzamanlı skor güncellemesiyle
+        // eski skorlardan hesaplanmış bir ağırlık yayınlanamaz
+        int added = 0;
+        for (int i = 0; i < count; i++) {
+            if (insertEdge(sourceIds[i], destinationIds[i])) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    /**
+     * İki ucun şerit kilidi altında kenarı ekler. Kenar zaten varsa false döner.
+     * Uçlar ID ile grafın kendi düğümlerine çözülür (çağıranın nesnesi değil).
+     */
+    private boolean insertEdge(int sourceId, int destinationId) {
+        UserNode source = nodes.get(sourceId);
+        UserNode destination = nodes.get(destinationId);
+        if (source == null || destination == null) {
+            throw new IllegalArgumentException("Düğümler graf içinde olmalıdır");
+        }
+        int low = Math.min(sourceId, destinationId);
+        int high = Math.max(sourceId, destinationId);
+        int first = stripeOf(low);
+        int second = stripeOf(high);
+        long epoch = 0;
+        long existingEpoch = 0;
+        RelationshipEdge edge;
+        try {
+            lockPair(first, second);
+            try {
+                Adjacency lowAdjacency = adjacency.get(low);
+                EdgeVersion existing = lowAdjacency.index.get(high);
+                if (existing != null) {
+                    existingEpoch = existing.epoch;
+                    return false;
+                }
+                Adjacency highAdjacency = adjacency.get(high);
+                epoch = epochCounter.incrementAndGet();
+
+                double weight = 1.0 + NodeAttributeStore.distance(source, destination);
+                RelationshipEdge edge1 = new RelationshipEdge(source, destination, weight);
+                RelationshipEdge edge2 = new RelationshipEdge(destination, source, weight);
+                EdgeVersion lowVersion = new EdgeVersion(source.getId() == low ? edge1 : edge2, epoch, null);
+                EdgeVersion highVersion = new EdgeVersion(source.getId() == low ? edge2 : edge1, epoch, null);
+
+                lowAdjacency.index.put(high, lowVersion);
+                highAdjacency.index.put(low, highVersion);
+                lowAdjacency.append(lowVersion);
+                highAdjacency.append(highVersion);
+                synchronized (edgeLog) {
+                    if (edgeCount == edgeEpochs.length) {
+                        edgeSources = Arrays.copyOf(edgeSources, edgeCount * 2);
+                        edgeDestinations = Arrays.copyOf(edgeDestinations, edgeCount * 2);
+                        edgeEpochs = Arrays.copyOf(edgeEpochs, edgeCount * 2);
+                    }
+                    edgeSources[edgeCount] = source.getId();
+                    edgeDestinations[edgeCount] = destination.getId();
+                    edgeEpochs[edgeCount] = epoch;
+                    edgeCount++;
+                }
+                edge = edge1;
+            } finally {
+                unlockPair(first, second);
+            }
+        } finally {
+            if (epoch != 0) {
+                commit(epoch);
+            } else if (existingEpoch != 0) {
+                // Kenar var ama henüz commit edilmemiş olabilir: "zaten var"
+                // yanıtından sonra çağıranın hasEdge'i de true dönmeli
+                awaitVisible(existingEpoch);
+            }
+        }
+        fireEdgeAdded(edge);
+        return true;
+    }
+
+    // --- SKOR GÜNCELLEME ---
+
+    /**
+     * Skorları tek bir epoch'ta günceller. Etkilenen her kenarın iki yönü
+     * için yeni sürüm eklenir; açık görüntüler eski ağırlıkları görmeye devam
+     * eder. Güncelleme seyrek olduğu için tüm şeritler kilitlenir: aynı anda
+     * eklenen bir kenar ya eski skorları ya da yeni skorları görür ve yeni
+     * skorlardan hesaplanmamış ağırlık yayınlanmaz. Okuyucular beklemez.
+     */
+    @Override
+    public void updateScores(int[] nodeIds, double[] active, double[] interaction, double[] connection) {
+        UserNode[] updated = resolveScoreUpdate(nodeIds, active, interaction, connection);
+        Set<Integer> updatedIds = new HashSet<>();
+        for (int nodeId : nodeIds) updatedIds.add(nodeId);
+        UserNode[] written = new UserNode[updatedIds.size()];
+        double[] writtenScores = new double[3 * written.length];
+        long epoch = 0;
+        try {
+            synchronized (nodeLock) {
+                lockAll();
+                try {
+                    epoch = epochCounter.incrementAndGet();
+                    NodeAttributeStore store = getAttributeStore();
+                    for (int i = 0; i < nodeIds.length; i++) {
+                        int ordinal = updated[i].getOrdinal();
+                        ScoreVersion history = scoreHistory.get(ordinal);
+                        if (history == null || history.retiredEpoch != epoch) { // Tekrarlanan düğümde ilk değer saklanır
+                            scoreHistory.put(ordinal, new ScoreVersion(store.getActive(ordinal),
+                                    store.getInteraction(ordinal), store.getConnection(ordinal), epoch, history));
+                        }
+                        store.set(ordinal, active[i], interaction[i], connection[i]);
+                    }
+
+                    for (int nodeId : updatedIds) {
+                        Adjacency nodeAdjacency = adjacency.get(nodeId);
+                        for (EdgeVersion current : nodeAdjacency.index.values()) {
+                            int otherId = current.edge.getDestination().getId();
+                            if (otherId < nodeId && updatedIds.contains(otherId)) {
+                                continue; // Diğer uçtan işlendi
+                            }
+                            double weight = 1.0 + NodeAttributeStore.distance(current.edge.getSource(), current.edge.getDestination());
+                            if (weight == current.edge.getWeight()) {
+                                continue;
+                            }
+                            Adjacency otherAdjacency = adjacency.get(otherId);
+                            supersede(nodeId, nodeAdjacency, otherId, current, weight, epoch);
+                            supersede(otherId, otherAdjacency, nodeId, otherAdjacency.index.get(nodeId), weight, epoch);
+                        }
+                    }
+
+                    // Yazılan değerler kilit altında alınır; olay sonradan okumaz
+                    int w = 0;
+                    for (int nodeId : updatedIds) {
+                        UserNode node = getNode(nodeId);
+                        int ordinal = node.getOrdinal();
+                        written[w] = node;
+                        writtenScores[3 * w] = store.getActive(ordinal);
+                        writtenScores[3 * w + 1] = store.getInteraction(ordinal);
+                        writtenScores[3 * w + 2] = store.getConnection(ordinal);
+                        w++;
+                    }
+                } finally {
+                    unlockAll();
+                }
+                scoreEventLock.lock(); // Sonraki güncelleme ancak bu olaylar yayılınca sıraya girer
+            }
+        } finally {
+            if (epoch != 0) commit(epoch);
+        }
+        try {
+            for (int w = 0; w < written.length; w++) {
+                fireScoresWritten(written[w], writtenScores[3 * w], writtenScores[3 * w + 1], writtenScores[3 * w + 2]);
+            }
+        } finally {
+            scoreEventLock.unlock();
+        }
+        for (UserNode node : written) {
+            fireScoresChanged(node);
+        }
+        reclaim();
+    }
+
+    // Tüm şeritler tutulurken çağrılır
+    private void supersede(int nodeId, Adjacency adj, int destinationId, EdgeVersion current,
+                           double weight, long epoch) {
+        RelationshipEdge edge = new RelationshipEdge(current.edge.getSource(), current.edge.getDestination(), weight);
+        EdgeVersion version = new EdgeVersion(edge, epoch, current);
+        current.retiredEpoch = epoch;
+        adj.index.put(destinationId, version);
+        adj.append(version);
+        retiredNodes.add(nodeId);
+    }
+
+    private void lockAll() {
+        for (ReentrantLock stripe : stripes) stripe.lock();
+    }
+
+    private void unlockAll() {
+        for (int i = STRIPE_COUNT - 1; i >= 0; i--) stripes[i].unlock();
+    }
+
+    // --- GERİ KAZANIM ---
+
+    // Hiçbir okuyucunun bundan eski bir epoch'u göremeyeceği sınır
+    private long reclaimHorizon() {
+        synchronized (pinnedEpochs) {
+            return pinnedEpochs.isEmpty() ? visibleEpoch : Math.min(visibleEpoch, pinnedEpochs.firstKey());
+        }
+    }
+
+    /**
+     * Sınırdan önce emekli olmuş kenar sürümlerini segmentlerden çıkarır,
+     * sınırdan eski zincirleri keser ve gereksiz eski skorları siler.
+     * Güncel okumalar seqlock ile bu sırada yeniden denenir.
+     */
+    private void reclaim() {
+        if (retiredNodes.isEmpty() && scoreHistory.isEmpty()) {
+            return;
+        }
+        synchronized (reclaimLock) {
+            long horizon = reclaimHorizon();
+            reclaimSequence++;
+            try {
+                for (Iterator<Integer> it = retiredNodes.iterator(); it.hasNext(); ) {
+                    int nodeId = it.next();
+                    ReentrantLock stripe = stripes[stripeOf(nodeId)];
+                    stripe.lock();
+                    try {
+                        if (compact(adjacency.get(nodeId), horizon)) {
+                            it.remove();
+                        }
+                    } finally {
+                        stripe.unlock();
+                    }
+                }
+            } finally {
+                reclaimSequence++;
+            }
+            synchronized (nodeLock) {
+                for (Iterator<ScoreVersion> it = scoreHistory.values().iterator(); it.hasNext(); ) {
+                    ScoreVersion version = it.next();
+                    if (version.retiredEpoch <= horizon) {
+                        it.remove();
+                        continue;
+                    }
+                    // Zincirde retiredEpoch azalır: ilk eski kayıttan sonrası kesilir
+                    while (version.previous != null && version.previous.retiredEpoch > horizon) {
+                        version = version.previous;
+                    }
+                    version.previous = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Düğümün şerit kilidi tutulurken segmenti yeniden kurar.
+     * @return Düğümde geri kazanılacak kayıt kalmadıysa true
+     */
+    private static boolean compact(Adjacency adj, long horizon) {
+        Segment segment = adj.segment;
+        EdgeVersion[] kept = new EdgeVersion[segment.array.length];
+        int size = 0;
+        boolean clean = true;
+        for (int i = 0; i < segment.size; i++) {
+            EdgeVersion version = segment.array[i];
+            if (version.retiredEpoch <= horizon) {
+                continue;
+            }
+            if (version.epoch <= horizon) {
+                version.previous = null;
+            } else if (version.previous != null) {
+                clean = false;
+            }
+            if (version.retiredEpoch != Long.MAX_VALUE) {
+                clean = false;
+            }
+            kept[size++] = version;
+        }
+        adj.segment = new Segment(kept, size);
+        return clean;
+    }
+
+    private int stripeOf(int nodeId) {
+        return (nodeId * 0x9E3779B9 >>> 16) & (STRIPE_COUNT - 1);
+    }
+
+    // Şeritler her zaman artan sırayla alınır (kilitlenme olmaz)
+    private void lockPair(int first, int second) {
+        stripes[Math.min(first, second)].lock();
+        if (first != second) {
+            stripes[Math.max(first, second)].lock();
+        }
+    }
+
+    private void unlockPair(int first, int second) {
+        if (first != second) {
+            stripes[Math.max(first, second)].unlock();
+        }
+        stripes[Math.min(first, second)].unlock();
+    }
+
+    // --- EPOCH'A GÖRE OKUMA (KİLİTSİZ) ---
+
+    // epoch anında görünen sürüm: epoch'u en büyük olup <= epoch olan
+    private static EdgeVersion versionAt(EdgeVersion version, long epoch) {
+        while (version != null && version.epoch > epoch) {
+            version = version.previous;
+        }
+        return version;
+    }
+
+    RelationshipEdge edgeAt(int sourceId, int destinationId, long epoch) {
+        Adjacency adj = adjacency.get(sourceId);
+        if (adj == null) {
+            return null;
+        }
+        EdgeVersion version = versionAt(adj.index.get(destinationId), epoch);
+        return version == null ? null : version.edge;
+    }
+
+    List<RelationshipEdge> edgesAt(int nodeId, long epoch) {
+        Adjacency adj = adjacency.get(nodeId);
+        if (adj == null) {
+            return Collections.emptyList();
+        }
+        Segment segment = adj.segment;
+        List<RelationshipEdge> result = new ArrayList<>(segment.size);
+        for (int i = 0; i < segment.size; i++) {
+            EdgeVersion version = segment.array[i];
+            if (version.epoch > epoch) {
+                break; // Dizi epoch sırasında büyür
+            }
+            if (version.retiredEpoch > epoch) {
+                result.add(version.edge);
+            }
+        }
+        return result;
+    }
+
+    int nodeCountAt(long epoch) {
+        int count = nodeCount;
+        long[] epochs = nodeEpochs;
+        // Ordinal sırası epoch sırasıdır: ikili arama ile son görünür düğüm
+        int low = 0, high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (epochs[mid] <= epoch) low = mid + 1;
+            else high = mid;
+        }
+        return low;
+    }
+
+    UserNode nodeAt(int nodeId, long epoch) {
+        UserNode node = nodes.get(nodeId);
+        if (node == null || nodeEpochs[node.getOrdinal()] > epoch) {
+            return null;
+        }
+        return node;
+    }
+
+    List<UserNode> nodesAt(long epoch) {
+        int count = nodeCountAt(epoch);
+        return Collections.unmodifiableList(Arrays.asList(nodesByOrdinal).subList(0, count));
+    }
+
+    List<RelationshipEdge> allEdgesAt(long epoch) {
+        int[] sources, destinations;
+        int count = 0;
+        synchronized (edgeLog) {
+            // Farklı şeritlerdeki yazarlar sırayı karıştırabilir: sona kadar süzülür
+            sources = new int[edgeCount];
+            destinations = new int[edgeCount];
+            for (int i = 0; i < edgeCount; i++) {
+                if (edgeEpochs[i] <= epoch) {
+                    sources[count] = edgeSources[i];
+                    destinations[count++] = edgeDestinations[i];
+                }
+            }
+        }
+        List<RelationshipEdge> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(edgeAt(sources[i], destinations[i], epoch));
+        }
+        return result;
+    }
+
+    /**
+     * epoch anındaki skor sütunlarının kopyası (anlık görüntünün CSR'ı için).
+     */
+    NodeAttributeStore attributesAt(long epoch) {
+        int count = nodeCountAt(epoch);
+        synchronized (nodeLock) {
+            NodeAttributeStore store = getAttributeStore();
+            double[] active = store.copyActive(count);
+            double[] interaction = store.copyInteraction(count);
+            double[] connection = store.copyConnection(count);
+            for (Map.Entry<Integer, ScoreVersion> entry : scoreHistory.entrySet()) {
+                int ordinal = entry.getKey();
+                if (ordinal >= count) {
+                    continue;
+                }
+                // epoch'tan sonra emekli olan en eski değer o anda geçerliydi
+                ScoreVersion match = null;
+                for (ScoreVersion version = entry.getValue(); version != null && version.retiredEpoch > epoch;
+                     version = version.previous) {
+                    match = version;
+                }
+                if (match != null) {
+                    active[ordinal] = match.active;
+                    interaction[ordinal] = match.interaction;
+                    connection[ordinal] = match.connection;
+                }
+            }
+            return new NodeAttributeStore(active, interaction, connection);
+        }
+    }
+
+    /**
+     * Son commit edilen sürümü okur. Okuma bir geri kazanımla çakışırsa
+     * (sıra numarası tek ya da değişmiş) yeni epoch ile tekrarlanır.
+     */
+    private <T> T readLatest(LongFunction<T> read) {
+        while (true) {
+            long sequence = reclaimSequence;
+            if ((sequence & 1) == 0) {
+                T result = read.apply(visibleEpoch);
+                if (reclaimSequence == sequence) {
+                    return result;
+                }
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    // --- GÜNCEL OKUMALAR (son commit edilen sürüm) ---
+
+    @Override
+    public boolean hasEdge(int sourceId, int destinationId) {
+        return getEdge(sourceId, destinationId) != null;
+    }
+
+    @Override
+    public RelationshipEdge getEdge(int sourceId, int destinationId) {
+        return readLatest(epoch -> edgeAt(sourceId, destinationId, epoch));
+    }
+
+    @Override
+    public List<UserNode> getNeighbors(int nodeId) {
+        List<RelationshipEdge> outgoing = readLatest(epoch -> edgesAt(nodeId, epoch));
+        List<UserNode> neighbors = new ArrayList<>(outgoing.size());
+        for (RelationshipEdge edge : outgoing) {
+            neighbors.add(edge.getDestination());
+        }
+        return neighbors;
+    }
+
+    @Override
+    public Collection<RelationshipEdge> getEdges(int nodeId) {
+        return Collections.unmodifiableList(readLatest(epoch -> edgesAt(nodeId, epoch)));
+    }
+
+    @Override
+    public UserNode getNode(int nodeId) {
+        return nodeAt(nodeId, visibleEpoch);
+    }
+
+    @Override
+    public Collection<UserNode> getAllNodes() {
+        return nodesAt(visibleEpoch);
+    }
+
+    @Override
+    public int getNodeCount() {
+        return nodeCountAt(visibleEpoch);
+    }
+
+    @Override
+    public UserNode getNodeByOrdinal(int ordinal) {
+        return nodesByOrdinal[ordinal];
+    }
+
+    @Override
+    public List<RelationshipEdge> getAllEdges() {
+        return readLatest(this::allEdgesAt);
+    }
+
+    /**
+     * Son sürümün CSR görüntüsü. Anlık görüntü üzerinden kurulduğu için
+     * yazarları durdurmaz; aynı epoch için önbellekten döner.
+     */
+    @Override
+    public CsrGraph freeze() {
+        CsrCache cache = csrCache;
+        if (cache != null && cache.epoch == visibleEpoch) {
+            return cache.graph;
+        }
+        try (GraphSnapshot snapshot = openSnapshot()) {
+            CsrGraph graph = snapshot.freeze();
+            csrCache = new CsrCache(graph, snapshot.getEpoch());
+            return graph;
+        }
+    }
+
+    @Override
+    public CsrGraph getCachedSnapshot() {
+        CsrCache cache = csrCache;
+        return cache != null && cache.epoch == visibleEpoch ? cache.graph : null;
+    }
+}
@@ -0,0 +1,275 @@
+package model;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+/**
+ * SocialGraph'ın değişmez (immutable) CSR (Compressed Sparse Row) anlık görüntüsü.
+ *
+ * Düğümler 0..n-1 arası yoğun sıra numaralarıyla (ordinal) indekslenir.
+ * v düğümünün komşuları targets[offsets[v] .. offsets[v+1]) aralığındadır,
+ * aynı indeksteki weights elemanı o kenarın ağırlığıdır. Her satır hedef
+ * ordinaline göre sıralıdır, böylece kenar araması ikili arama ile yapılır.
+ *
+ * Okuma ağırlıklı analizler (BFS, Dijkstra, bileşenler...) bu yapı üzerinde
+ * kutulama (boxing) ve nesne takibi olmadan çalışır. Düğüm skorları da
+ * ordinal ile indekslenen sütunlar olarak kopyalanır.
+ *
+ * Değişmez olan dizilerdir (yapı, ağırlıklar, skor sütunları). from ile
+ * alınan görüntüde getNodeByOrdinal grafın kendi (canlı) düğüm nesnelerini
+ * döner; algoritma sonuçları böylece arayüzdeki düğümlerle aynı nesnelerdir.
+ * Bu düğümlerin getActiveScore gibi okumaları grafın güncel skorlarını
+ * verir: updateScores'tan sonra getNodeByOrdinal(i).getActiveScore(),
+ * getActiveScores()[i] ile (görüntü anındaki değer) aynı olmayabilir.
+ * Görüntü anındaki skorlar için sütunlar kullanılmalıdır. of ve permute
+ * ise düğümleri kendi sütunları üzerinde görünüm olarak kurar.
+ */
+public final class CsrGraph {
+    private final UserNode[] nodes;   // ordinal -> düğüm
+    private final int[] ids;          // ordinal -> kullanıcı ID
+    private final int[] sortedIds;    // ID'ye göre sıralı (ID -> ordinal araması için)
+    private final int[] sortedOrdinals;
+    private final int[] offsets;      // uzunluk n + 1
+    private final int[] targets;      // uzunluk m (yönlü kenar sayısı)
+    private final double[] weights;   // uzunluk m
+    private final double[] active;    // ordinal -> skor sütunları
+    private final double[] interaction;
+    private final double[] connection;
+
+    private CsrGraph(UserNode[] nodes, int[] offsets, int[] targets, double[] weights,
+                     double[] active, double[] interaction, double[] connection) {
+        this.nodes = nodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.active = active;
+        this.interaction = interaction;
+        this.connection = connection;
+
+        int n = nodes.length;
+        this.ids = new int[n];
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            ids[i] = nodes[i].getId();
+            keys[i] = ((long) ids[i] << 32) | i;
+        }
+        Arrays.sort(keys);
+        this.sortedIds = new int[n];
+        this.sortedOrdinals = new int[n];
+        for (int i = 0; i < n; i++) {
+            sortedIds[i] = (int) (keys[i] >> 32);
+            sortedOrdinals[i] = (int) keys[i];
+        }
+    }
+
+    /**
+     * Verilen graftan CSR görüntüsü oluşturur.
+     * Ordinaller grafın skor deposundaki sıra numaralarıdır (ekleme sırası).
+     * Skor sütunları kopyalanır, düğüm nesneleri grafınkilerdir (canlıdır).
+     */
+    public static CsrGraph from(SocialGraph graph) {
+        int n = graph.getNodeCount();
+        UserNode[] nodes = new UserNode[n];
+        for (int i = 0; i < n; i++) {
+            nodes[i] = graph.getNodeByOrdinal(i);
+        }
+        NodeAttributeStore store = graph.getAttributeStore();
+        double[] active = store.copyActive(n);
+        double[] interaction = store.copyInteraction(n);
+        double[] connection = store.copyConnection(n);
+
+        // 1. Geçiş: dereceler -> offsets
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + graph.getEdges(nodes[i].getId()).size();
+        }
+
+        // 2. Geçiş: hedefler
+        int[] targets = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int pos = offsets[i];
+            for (RelationshipEdge edge : graph.getEdges(nodes[i].getId())) {
+                targets[pos++] = edge.getDestination().getOrdinal();
+            }
+        }
+        sortRows(offsets, targets);
+
+        // 3. Geçiş: ağırlıklar sütunlardan tek döngüde hesaplanır
+        // (RelationshipEdge ile aynı formül, aynı sonuç)
+        double[] weights = new double[offsets[n]];
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                weights[e] = 1.0 + NodeAttributeStore.featureDistance(active, interaction, connection, v, targets[e]);
+            }
+        }
+
+        return new CsrGraph(nodes, offsets, targets, weights, active, interaction, connection);
+    }
+
+    /**
+     * Ham dizilerden CSR görüntüsü oluşturur (ikili dosyadan yükleme için).
+     * Diziler kopyalanmaz; her satırın hedef ordinaline göre sıralı olduğu varsayılır.
+     * Düğümler, verilen skor sütunları üzerinde görünüm olarak oluşturulur.
+     */
+    public static CsrGraph of(int[] ids, double[] active, double[] interaction, double[] connection,
+                              int[] offsets, int[] targets, double[] weights) {
+        int n = ids.length;
+        if (active.length != n || interaction.length != n || connection.length != n
+                || offsets.length != n + 1 || targets.length != weights.length
+                || offsets[n] != targets.length) {
+            throw new IllegalArgumentException("CSR dizi boyutları tutarsız");
+        }
+        return new CsrGraph(views(ids, active, interaction, connection), offsets, targets, weights,
+                active, interaction, connection);
+    }
+
+    // Skor sütunları üzerinde düğüm görünümleri; i. düğümün ordinali i'dir
+    private static UserNode[] views(int[] ids, double[] active, double[] interaction, double[] connection) {
+        NodeAttributeStore store = new NodeAttributeStore(active, interaction, connection);
+        UserNode[] nodes = new UserNode[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            nodes[i] = new UserNode(ids[i], store, i);
+        }
+        return nodes;
+    }
+
+    /**
+     * Ordinalleri yeniden numaralandırılmış kopya döner (bkz. NodeOrdering).
+     * Kullanıcı ID'leri, skorlar ve ağırlıklar düğümleriyle birlikte taşınır;
+     * getOrdinal(id) yeni yerleşimi gösterir. Düğümler, of'taki gibi taşınmış
+     * skor sütunları üzerinde yeni görünümlerdir: getNodeByOrdinal(i).getOrdinal() == i.
+     * @param order order[yeniOrdinal] = eskiOrdinal (bir permütasyon olmalıdır)
+     */
+    public CsrGraph permute(int[] order) {
+        int n = nodes.length;
+        if (order.length != n) {
+            throw new IllegalArgumentException("Sıra uzunluğu düğüm sayısına eşit olmalıdır");
+        }
+        int[] rank = new int[n];
+        Arrays.fill(rank, -1);
+        for (int i = 0; i < n; i++) {
+            if (order[i] < 0 || order[i] >= n || rank[order[i]] >= 0) {
+                throw new IllegalArgumentException("Geçersiz permütasyon: " + order[i]);
+            }
+            rank[order[i]] = i;
+        }
+
+        int[] newIds = new int[n];
+        double[] newActive = new double[n];
+        double[] newInteraction = new double[n];
+        double[] newConnection = new double[n];
+        int[] newOffsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            int old = order[i];
+            newIds[i] = ids[old];
+            newActive[i] = active[old];
+            newInteraction[i] = interaction[old];
+            newConnection[i] = connection[old];
+            newOffsets[i + 1] = newOffsets[i] + getDegree(old);
+        }
+
+        // Satırlar paralel taşınır; (yeni hedef, eski kenar indeksi) çiftleriyle
+        // sıralanarak ağırlıklar hedefleriyle birlikte kalır
+        int[] newTargets = new int[targets.length];
+        double[] newWeights = new double[weights.length];
+        IntStream.range(0, n).parallel().forEach(i -> {
+            int old = order[i];
+            int degree = getDegree(old);
+            long[] row = new long[degree];
+            for (int k = 0; k < degree; k++) {
+                int e = offsets[old] + k;
+                row[k] = ((long) rank[targets[e]] << 32) | e;
+            }
+            Arrays.sort(row);
+            int base = newOffsets[i];
+            for (int k = 0; k < degree; k++) {
+                newTargets[base + k] = (int) (row[k] >>> 32);
+                newWeights[base + k] = weights[(int) row[k]];
+            }
+        });
+        return new CsrGraph(views(newIds, newActive, newInteraction, newConnection), newOffsets, newTargets,
+                newWeights, newActive, newInteraction, newConnection);
+    }
+
+    /**
+     * Her satırı hedef ordinaline göre sıralar.
+     */
+    private static void sortRows(int[] offsets, int[] targets) {
+        for (int v = 0; v + 1 < offsets.length; v++) {
+            Arrays.sort(targets, offsets[v], offsets[v + 1]);
+        }
+    }
+
+    // --- BOYUTLAR ---
+    public int getNodeCount() { return nodes.length; }
+
+    /** Yönlü kenar sayısı (her yönsüz ilişki iki kez sayılır). */
+    public int getEdgeCount() { return targets.length; }
+
+    // --- ORDINAL <-> ID DÖNÜŞÜMLERİ ---
+
+    /**
+     * Kullanıcı ID'sinin ordinalini döner, düğüm yoksa -1.
+     */
+    public int getOrdinal(int nodeId) {
+        int idx = Arrays.binarySearch(sortedIds, nodeId);
+        return idx >= 0 ? sortedOrdinals[idx] : -1;
+    }
+
+    public int getId(int ordinal) { return ids[ordinal]; }
+
+    public UserNode getNodeByOrdinal(int ordinal) { return nodes[ordinal]; }
+
+    // --- KOMŞULUK ---
+    public int getDegree(int ordinal) { return offsets[ordinal + 1] - offsets[ordinal]; }
+
+    /**
+     * Ham CSR dizileri. Performans için kopyalanmadan döner; DEĞİŞTİRİLMEMELİDİR.
+     */
+    public int[] getOffsets() { return offsets; }
+    public int[] getTargets() { return targets; }
+    public double[] getWeights() { return weights; }
+
+    // --- SKOR SÜTUNLARI ---
+    public double[] getActiveScores() { return active; }
+    public double[] getInteractionScores() { return interaction; }
+    public double[] getConnectionScores() { return connection; }
+
+    /**
+     * İki düğüm arasındaki özellik uzaklığı (A* heuristic'i için).
+     */
+    public double featureDistance(int u, int v) {
+        return NodeAttributeStore.featureDistance(active, interaction, connection, u, v);
+    }
+
+    /**
+     * u -> v kenarının CSR indeksini döner (ikili arama), yoksa -1.
+     */
+    public int findEdge(int u, int v) {
+        int idx = Arrays.binarySearch(targets, offsets[u], offsets[u + 1], v);
+        return idx >= 0 ? idx : -1;
+    }
+
+    public boolean hasEdge(int u, int v) {
+        return findEdge(u, v) >= 0;
+    }
+
+    /**
+     * u -> v kenarının ağırlığı, kenar yoksa sonsuz.
+     */
+    public double getEdgeWeight(int u, int v) {
+        int idx = findEdge(u, v);
+        return idx >= 0 ? weights[idx] : Double.POSITIVE_INFINITY;
+    }
+
+    /**
+     * Ordinal listesini UserNode listesine çevirir (algoritma sonuçları için).
+     */
+    public List<UserNode> toNodes(int[] ordinals, int length) {
+        List<UserNode> result = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            result.add(nodes[ordinals[i]]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,32 @@
+package model;
+
+/**
+ * Graf değişikliklerini dinleyen bileşenler için arayüz.
+ *
+ * Önbellekler, günlükler (log) ve artımlı hesaplamalar kendilerini
+ * SocialGraph.addChangeListener ile kaydeder; değişiklik tamamlandıktan
+ * sonra ilgili metot çağrılır. Varsayılan metotlar boştur, yalnızca
+ * gereken olaylar ezilir (override).
+ */
+public interface GraphChangeListener {
+
+    default void onNodeAdded(UserNode node) {
+    }
+
+    // Yönsüz ilişki için bir kez, ekleme yönündeki kenarla çağrılır
+    default void onEdgeAdded(RelationshipEdge edge) {
+    }
+
+    // Düğümün skorları ve ona bağlı kenar ağırlıkları güncellendikten sonra
+    default void onScoresChanged(UserNode node) {
+    }
+
+    /**
+     * onScoresChanged'den önce, yazılan değerlerle çağrılır. Aynı düğüme
+     * yapılan güncellemeler için çağrı sırası yazma sırasıdır; eşzamanlı
+     * grafta bu sıra bir kilit altında korunur, bu yüzden dinleyici kısa
+     * tutulmalı ve beklememelidir (örn. günlüğe kayıt ekleyip dönmek).
+     */
+    default void onScoresWritten(UserNode node, double active, double interaction, double connection) {
+    }
+}
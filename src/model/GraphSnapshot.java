@@ -0,0 +1,147 @@
+package model;
+
+import java.util.*;
+
+/**
+ * ConcurrentSocialGraph'ın sabitlenmiş (pinned) bir sürümü üzerindeki salt
+ * okunur görünüm.
+ *
+ * Uzun süren analizler (ConnectedComponents, Welsh-Powell...) bu görünüm
+ * üzerinde çalıştırıldığında, arka planda yapılan eklemeler sonucu
+ * etkilemez ve ConcurrentModificationException oluşmaz. Görünüm bir
+ * SocialGraph olduğu için tüm algoritmalar değişiklik yapılmadan kullanılır.
+ *
+ * Kullanım bittiğinde close() çağrılmalıdır (try-with-resources önerilir);
+ * böylece o sürüme ait eski kayıtlar geri kazanılabilir.
+ */
+public final class GraphSnapshot extends SocialGraph implements AutoCloseable {
+    private final ConcurrentSocialGraph owner;
+    private final long epoch;
+    private boolean closed;
+    private CsrGraph csr;
+    private NodeAttributeStore attributes;
+
+    GraphSnapshot(ConcurrentSocialGraph owner, long epoch) {
+        this.owner = owner;
+        this.epoch = epoch;
+    }
+
+    /**
+     * Görünümün sabitlendiği epoch.
+     */
+    public long getEpoch() {
+        return epoch;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!closed) {
+            closed = true;
+            owner.unpin(epoch);
+        }
+    }
+
+    // --- DEĞİŞİKLİKLER DESTEKLENMEZ ---
+
+    @Override
+    public void addNode(UserNode node) {
+        throw new UnsupportedOperationException("Anlık görüntü salt okunurdur");
+    }
+
+    @Override
+    public UserNode addNode(int id, double active, double interaction, double connection) {
+        throw new UnsupportedOperationException("Anlık görüntü salt okunurdur");
+    }
+
+    @Override
+    public void addEdge(UserNode source, UserNode destination) {
+        throw new UnsupportedOperationException("Anlık görüntü salt okunurdur");
+    }
+
+    @Override
+    public int addEdges(int[] sourceIds, int[] destinationIds) {
+        throw new UnsupportedOperationException("Anlık görüntü salt okunurdur");
+    }
+
+    @Override
+    public void updateScores(int[] nodeIds, double[] active, double[] interaction, double[] connection) {
+        throw new UnsupportedOperationException("Anlık görüntü salt okunurdur");
+    }
+
+    // --- SABİT EPOCH'TA OKUMA ---
+
+    @Override
+    public boolean hasEdge(int sourceId, int destinationId) {
+        return owner.edgeAt(sourceId, destinationId, epoch) != null;
+    }
+
+    @Override
+    public RelationshipEdge getEdge(int sourceId, int destinationId) {
+        return owner.edgeAt(sourceId, destinationId, epoch);
+    }
+
+    @Override
+    public List<UserNode> getNeighbors(int nodeId) {
+        List<RelationshipEdge> outgoing = owner.edgesAt(nodeId, epoch);
+        List<UserNode> neighbors = new ArrayList<>(outgoing.size());
+        for (RelationshipEdge edge : outgoing) {
+            neighbors.add(edge.getDestination());
+        }
+        return neighbors;
+    }
+
+    @Override
+    public Collection<RelationshipEdge> getEdges(int nodeId) {
+        return Collections.unmodifiableList(owner.edgesAt(nodeId, epoch));
+    }
+
+    @Override
+    public UserNode getNode(int nodeId) {
+        return owner.nodeAt(nodeId, epoch);
+    }
+
+    @Override
+    public Collection<UserNode> getAllNodes() {
+        return owner.nodesAt(epoch);
+    }
+
+    @Override
+    public int getNodeCount() {
+        return owner.nodeCountAt(epoch);
+    }
+
+    @Override
+    public UserNode getNodeByOrdinal(int ordinal) {
+        return owner.getNodeByOrdinal(ordinal);
+    }
+
+    // Bu epoch'taki skorlar (CSR ağırlıkları kenar sürümleriyle tutarlı olur)
+    @Override
+    synchronized NodeAttributeStore getAttributeStore() {
+        if (attributes == null) {
+            attributes = owner.attributesAt(epoch);
+        }
+        return attributes;
+    }
+
+    @Override
+    public List<RelationshipEdge> getAllEdges() {
+        return owner.allEdgesAt(epoch);
+    }
+
+    /**
+     * Bu sürümün CSR görüntüsü (ilk çağrıda kurulur).
+     */
+    @Override
+    public synchronized CsrGraph freeze() {
+        if (csr == null) {
+            csr = CsrGraph.from(this);
+        }
+        return csr;
+    }
+
+    @Override
+    public synchronized CsrGraph getCachedSnapshot() {
+        return csr;
+    }
+}
@@ -0,0 +1,113 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Düğüm özelliklerinin sütun tabanlı (struct-of-arrays) deposu.
+ *
+ * Aktiflik, etkileşim ve bağlantı skorları düğüm sıra numarası (ordinal)
+ * ile indekslenen üç ayrı double dizisinde tutulur. UserNode nesneleri bu
+ * diziler üzerinde hafif bir görünümdür (flyweight); ağırlık ve heuristic
+ * hesapları nesne takibi yapmadan ardışık bellekten okur.
+ */
+public class NodeAttributeStore {
+    private double[] active;
+    private double[] interaction;
+    private double[] connection;
+    private int size;
+
+    public NodeAttributeStore() {
+        this(16);
+    }
+
+    public NodeAttributeStore(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        this.active = new double[capacity];
+        this.interaction = new double[capacity];
+        this.connection = new double[capacity];
+    }
+
+    /**
+     * Hazır sütun dizilerini kopyalamadan sarar (dosyadan yükleme için).
+     */
+    NodeAttributeStore(double[] active, double[] interaction, double[] connection) {
+        this.active = active;
+        this.interaction = interaction;
+        this.connection = connection;
+        this.size = active.length;
+    }
+
+    /**
+     * Yeni bir satır ekler ve ordinalini döner.
+     */
+    public int add(double activeScore, double interactionScore, double connectionScore) {
+        if (size == active.length) {
+            int capacity = Math.max(16, size * 2);
+            active = Arrays.copyOf(active, capacity);
+            interaction = Arrays.copyOf(interaction, capacity);
+            connection = Arrays.copyOf(connection, capacity);
+        }
+        active[size] = activeScore;
+        interaction[size] = interactionScore;
+        connection[size] = connectionScore;
+        return size++;
+    }
+
+    /**
+     * Var olan satırın skorlarını değiştirir. Kenar ağırlıklarını güncellemek
+     * için SocialGraph.updateScores kullanılmalıdır.
+     */
+    void set(int ordinal, double activeScore, double interactionScore, double connectionScore) {
+        active[ordinal] = activeScore;
+        interaction[ordinal] = interactionScore;
+        connection[ordinal] = connectionScore;
+    }
+
+    public int size() { return size; }
+
+    public double getActive(int ordinal) { return active[ordinal]; }
+    public double getInteraction(int ordinal) { return interaction[ordinal]; }
+    public double getConnection(int ordinal) { return connection[ordinal]; }
+
+    /**
+     * Sütunların ilk length elemanının kopyaları (CSR görüntüsü için).
+     */
+    public double[] copyActive(int length) { return Arrays.copyOf(active, length); }
+    public double[] copyInteraction(int length) { return Arrays.copyOf(interaction, length); }
+    public double[] copyConnection(int length) { return Arrays.copyOf(connection, length); }
+
+    /**
+     * İki satır arasındaki özellik uzaklığı (Öklid).
+     */
+    public double distance(int a, int b) {
+        return featureDistance(active, interaction, connection, a, b);
+    }
+
+    /**
+     * Sütun dizileri üzerinde Öklid uzaklığı; CsrGraph de aynı formülü kullanır.
+     */
+    static double featureDistance(double[] active, double[] interaction, double[] connection, int a, int b) {
+        double diffActive = active[a] - active[b];
+        double diffInteraction = interaction[a] - interaction[b];
+        double diffConnection = connection[a] - connection[b];
+        return Math.sqrt(diffActive * diffActive +
+                diffInteraction * diffInteraction +
+                diffConnection * diffConnection);
+    }
+
+    /**
+     * İki düğüm arasındaki özellik uzaklığı. Düğümler aynı depoyu
+     * paylaşıyorsa doğrudan sütunlardan okunur.
+     */
+    public static double distance(UserNode a, UserNode b) {
+        if (a.getStore() == b.getStore()) {
+            return a.getStore().distance(a.getOrdinal(), b.getOrdinal());
+        }
+        double diffActive = a.getActiveScore() - b.getActiveScore();
+        double diffInteraction = a.getInteractionScore() - b.getInteractionScore();
+        double diffConnection = a.getConnectionScore() - b.getConnectionScore();
+        return Math.sqrt(diffActive * diffActive +
+                diffInteraction * diffInteraction +
+                diffConnection * diffConnection);
+    }
+}
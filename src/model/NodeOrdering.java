@@ -0,0 +1,116 @@
+package model;
+
+import java.util.Arrays;
+
+/**
+ * Önbellek yerelliği için düğüm sıralamaları.
+ *
+ * Kullanıcı ID'leri ve ekleme sırası graf yapısıyla ilgisizdir; bu yüzden
+ * komşular bellekte dağınık durur ve gezintide her adım bir önbellek
+ * ıskası olur. Buradaki yöntemler yeni bir sıra (order[yeniOrdinal] =
+ * eskiOrdinal) üretir; CsrGraph.permute ile uygulanır. Kullanıcı ID'leri
+ * değişmez, yalnızca iç ordinal uzayı yeniden numaralanır.
+ */
+public final class NodeOrdering {
+
+    private NodeOrdering() {
+    }
+
+    /**
+     * Dereceye göre azalan sıra: yüksek dereceli merkez düğümler (en sık
+     * erişilenler) bellekte yan yana toplanır. Eşit derecede eski sıra korunur.
+     */
+    public static int[] byDegree(CsrGraph graph) {
+        int n = graph.getNodeCount();
+        long[] keys = new long[n];
+        for (int v = 0; v < n; v++) {
+            // Derece büyükten küçüğe, sonra ordinal küçükten büyüğe
+            keys[v] = ((long) (Integer.MAX_VALUE - graph.getDegree(v)) << 32) | v;
+        }
+        Arrays.parallelSort(keys);
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * BFS ziyaret sırası: her bileşen en yüksek dereceli düğümünden başlar.
+     * Birlikte gezilen düğümler ardışık ordinal alır.
+     */
+    public static int[] byBfs(CsrGraph graph) {
+        return traverse(graph, byDegree(graph), false);
+    }
+
+    /**
+     * Reverse Cuthill-McKee: her bileşen en düşük dereceli düğümden başlar,
+     * komşular artan derece sırasıyla kuyruğa alınır ve sonuç ters çevrilir.
+     * Komşuluk matrisinin bant genişliğini küçültür; komşu ordinaller
+     * arasındaki farklar da küçülür (CompressedGraph için daha az bayt).
+     */
+    public static int[] reverseCuthillMcKee(CsrGraph graph) {
+        int[] ascending = byDegree(graph);
+        reverse(ascending);
+        int[] order = traverse(graph, ascending, true);
+        reverse(order);
+        return order;
+    }
+
+    /**
+     * starts sırasındaki ilk ziyaret edilmemiş düğümden BFS başlatarak tüm
+     * bileşenleri gezer. sortByDegree true ise komşular artan dereceyle eklenir.
+     */
+    private static int[] traverse(CsrGraph graph, int[] starts, boolean sortByDegree) {
+        int n = graph.getNodeCount();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        boolean[] visited = new boolean[n];
+        int[] order = new int[n];
+        long[] scratch = new long[16];
+        int tail = 0;
+        int head = 0;
+
+        for (int start : starts) {
+            if (visited[start]) {
+                continue;
+            }
+            visited[start] = true;
+            order[tail++] = start;
+            while (head < tail) {
+                int v = order[head++];
+                int first = tail;
+                for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                    int u = targets[e];
+                    if (!visited[u]) {
+                        visited[u] = true;
+                        order[tail++] = u;
+                    }
+                }
+                if (sortByDegree && tail - first > 1) {
+                    int count = tail - first;
+                    if (scratch.length < count) {
+                        scratch = new long[Math.max(count, scratch.length * 2)];
+                    }
+                    for (int i = 0; i < count; i++) {
+                        int u = order[first + i];
+                        scratch[i] = ((long) graph.getDegree(u) << 32) | u;
+                    }
+                    Arrays.sort(scratch, 0, count);
+                    for (int i = 0; i < count; i++) {
+                        order[first + i] = (int) scratch[i];
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    private static void reverse(int[] values) {
+        for (int i = 0, j = values.length - 1; i < j; i++, j--) {
+            int t = values[i];
+            values[i] = values[j];
+            values[j] = t;
+        }
+    }
+}
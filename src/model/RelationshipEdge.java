@@ -11,18 +11,23 @@ public class RelationshipEdge {
         this.weight = calculateDynamicWeight();
     }
 
+    // Ağırlığı toplu olarak önceden hesaplanmış kenar (SocialGraph.addEdges)
+    RelationshipEdge(UserNode source, UserNode destination, double weight) {
+        this.source = source;
+        this.destination = destination;
+        this.weight = weight;
+    }
+
     //Dinamik Ağırlık Hesaplama
     // Formül: 1 + Sqrt((DiffAktiflik^2) + (DiffEtkilesim^2) + (DiffBaglanti^2))
+    // Skorlar NodeAttributeStore sütunlarından okunur
     private double calculateDynamicWeight() {
-        double diffActive = source.getActiveScore() - destination.getActiveScore();
-        double diffInteraction = source.getInteractionScore() - destination.getInteractionScore();
-        double diffConnection = source.getConnectionScore() - destination.getConnectionScore();
-
-        double sumOfSquares = (diffActive * diffActive) +
-                (diffInteraction * diffInteraction) +
-                (diffConnection * diffConnection);
+        return 1.0 + NodeAttributeStore.distance(source, destination);
+    }
 
-        return 1.0 + Math.sqrt(sumOfSquares);
+    // Uçların skorları değişince (SocialGraph.updateScores) çağrılır
+    void recalculateWeight() {
+        this.weight = calculateDynamicWeight();
     }
 
     public double getWeight() { return weight; }
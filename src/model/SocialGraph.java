@@ -1,25 +1,108 @@
 package model;
 
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.IntStream;
 
 public class SocialGraph {
     // Değişkenler (Final yapmak iyi pratiktir ama şimdilik böyle kalsın)
     private Map<Integer, UserNode> nodes;
-    private Map<Integer, List<RelationshipEdge>> adjacencyList;
+    // Komşuluk: kaynak ID -> (hedef ID -> kenar). Ekleme sırası korunur ve
+    // hasEdge/getEdgeWeight aramaları derece taraması yerine O(1) olur.
+    private Map<Integer, Map<Integer, RelationshipEdge>> adjacencyList;
     private List<RelationshipEdge> edges;
 
+    // Düğüm skorları sütun tabanlı depoda; ordinal = ekleme sırası
+    private NodeAttributeStore attributes;
+    private List<UserNode> nodesByOrdinal;
+
+    // Son alınan CSR görüntüsü; graf değişince geçersiz kılınır
+    private CsrGraph snapshot;
+
+    // Değişiklik dinleyicileri (önbellekler, günlük, artımlı analizler)
+    private final List<GraphChangeListener> listeners = new CopyOnWriteArrayList<>();
+
+    // Açıksa canlı bağlı bileşen takibi (trackComponents)
+    private volatile ComponentTracker componentTracker;
+
     public SocialGraph() {
         this.nodes = new HashMap<>();
         this.adjacencyList = new HashMap<>();
         this.edges = new ArrayList<>();
+        this.attributes = new NodeAttributeStore();
+        this.nodesByOrdinal = new ArrayList<>();
+    }
+
+    /**
+     * CSR görüntüsünden (örn. dosyadan yüklenmiş) değiştirilebilir graf kurar.
+     * Ağırlıklar aynı skorlardan yeniden hesaplandığı için birebir aynıdır.
+     */
+    public static SocialGraph fromSnapshot(CsrGraph csr) {
+        return fromSnapshot(csr, new SocialGraph());
+    }
+
+    /**
+     * CSR görüntüsünü verilen boş grafa yükler (örn. ConcurrentSocialGraph).
+     * @return Aynı graf
+     */
+    public static <G extends SocialGraph> G fromSnapshot(CsrGraph csr, G graph) {
+        if (graph.getNodeCount() != 0) {
+            throw new IllegalArgumentException("Hedef graf boş olmalıdır");
+        }
+        int n = csr.getNodeCount();
+        UserNode[] created = new UserNode[n];
+        for (int v = 0; v < n; v++) {
+            UserNode source = csr.getNodeByOrdinal(v);
+            created[v] = graph.addNode(source.getId(), source.getActiveScore(),
+                    source.getInteractionScore(), source.getConnectionScore());
+            created[v].setX(source.getX());
+            created[v].setY(source.getY());
+        }
+        int[] offsets = csr.getOffsets();
+        int[] targets = csr.getTargets();
+        for (int v = 0; v < n; v++) {
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                if (v < targets[e]) { // Yönsüz: her ilişkiyi bir kez ekle
+                    graph.addEdge(created[v], created[targets[e]]);
+                }
+            }
+        }
+        return graph;
     }
 
     public void addNode(UserNode node) {
         if (nodes.containsKey(node.getId())) {
             throw new IllegalArgumentException("Düğüm zaten mevcut: " + node.getId());
         }
+        checkDetached(node);
+        // Skorları grafın deposuna taşı, düğüm artık o satırın görünümü olur
+        int ordinal = attributes.add(node.getActiveScore(), node.getInteractionScore(), node.getConnectionScore());
+        node.attach(attributes, ordinal);
+        nodesByOrdinal.add(node);
+
         nodes.put(node.getId(), node);
-        adjacencyList.put(node.getId(), new ArrayList<>());
+        adjacencyList.put(node.getId(), new LinkedHashMap<>());
+        snapshot = null;
+        fireNodeAdded(node);
+    }
+
+    /**
+     * Skorları doğrudan sütun deposuna yazarak düğüm ekler (ara nesne oluşmaz).
+     * @return Grafın deposuna bağlı düğüm görünümü
+     */
+    public UserNode addNode(int id, double active, double interaction, double connection) {
+        if (nodes.containsKey(id)) {
+            throw new IllegalArgumentException("Düğüm zaten mevcut: " + id);
+        }
+        int ordinal = attributes.add(active, interaction, connection);
+        UserNode node = new UserNode(id, attributes, ordinal);
+        nodesByOrdinal.add(node);
+
+        nodes.put(id, node);
+        adjacencyList.put(id, new LinkedHashMap<>());
+        snapshot = null;
+        fireNodeAdded(node);
+        return node;
     }
 
     public void addEdge(UserNode source, UserNode destination) {
@@ -28,7 +111,11 @@ public class SocialGraph {
         }
         // Düğümler yoksa hata fırlatmak yerine ekleyebiliriz veya hata fırlatabiliriz.
         // Mevcut yapıda hata fırlatıyoruz:
-        if (!nodes.containsKey(source.getId()) || !nodes.containsKey(destination.getId())) {
+        // Kenar, çağıranın nesnesiyle değil grafın kendi düğümleriyle kurulur:
+        // graf dışındaki aynı ID'li bir nesnenin ordinali bu grafa ait değildir
+        UserNode ownSource = nodes.get(source.getId());
+        UserNode ownDestination = nodes.get(destination.getId());
+        if (ownSource == null || ownDestination == null) {
             throw new IllegalArgumentException("Düğümler graf içinde olmalıdır");
         }
 
@@ -36,20 +123,180 @@ public class SocialGraph {
             return;
         }
 
-        RelationshipEdge edge1 = new RelationshipEdge(source, destination);
-        RelationshipEdge edge2 = new RelationshipEdge(destination, source); // Yönsüz olduğu için
+        RelationshipEdge edge1 = new RelationshipEdge(ownSource, ownDestination);
+        RelationshipEdge edge2 = new RelationshipEdge(ownDestination, ownSource); // Yönsüz olduğu için
+        insertEdge(edge1, edge2);
+    }
+
+    // Başka bir grafın deposuna bağlı düğüm eklenemez (ordinali o grafa aittir)
+    static void checkDetached(UserNode node) {
+        if (node.isAttached()) {
+            throw new IllegalArgumentException("Düğüm başka bir grafa bağlı: " + node.getId());
+        }
+    }
 
-        adjacencyList.get(source.getId()).add(edge1);
-        adjacencyList.get(destination.getId()).add(edge2);
+    /**
+     * Toplu kenar ekleme (içe aktarma için).
+     * Önce tüm çiftler doğrulanır, ağırlıklar sütunlardan paralel hesaplanır,
+     * sonra kenarlar tek geçişte eklenir. Zaten var olan kenarlar atlanır.
+     * @return Yeni eklenen (yönsüz) kenar sayısı
+     */
+    public int addEdges(int[] sourceIds, int[] destinationIds) {
+        if (sourceIds.length != destinationIds.length) {
+            throw new IllegalArgumentException("Kaynak ve hedef dizileri aynı uzunlukta olmalıdır");
+        }
+        int count = sourceIds.length;
+        UserNode[] sources = new UserNode[count];
+        UserNode[] destinations = new UserNode[count];
+        for (int i = 0; i < count; i++) {
+            if (sourceIds[i] == destinationIds[i]) {
+                throw new IllegalArgumentException("Self-loop'a izin verilmez");
+            }
+            sources[i] = nodes.get(sourceIds[i]);
+            destinations[i] = nodes.get(destinationIds[i]);
+            if (sources[i] == null || destinations[i] == null) {
+                throw new IllegalArgumentException("Düğümler graf içinde olmalıdır");
+            }
+        }
+
+        // Ağırlık yalnızca iki ucun skorlarına bağlı ve simetrik: her çift için bir kez
+        double[] weights = new double[count];
+        IntStream.range(0, count).parallel().forEach(i ->
+                weights[i] = 1.0 + NodeAttributeStore.distance(sources[i], destinations[i]));
+
+        int added = 0;
+        for (int i = 0; i < count; i++) {
+            if (hasEdge(sourceIds[i], destinationIds[i])) {
+                continue;
+            }
+            insertEdge(new RelationshipEdge(sources[i], destinations[i], weights[i]),
+                    new RelationshipEdge(destinations[i], sources[i], weights[i]));
+            added++;
+        }
+        return added;
+    }
+
+    // Kenarı iki yönde komşuluğa ekler (edge2, edge1'in tersidir)
+    private void insertEdge(RelationshipEdge edge1, RelationshipEdge edge2) {
+        int sourceId = edge1.getSource().getId();
+        int destinationId = edge1.getDestination().getId();
+        adjacencyList.get(sourceId).put(destinationId, edge1);
+        adjacencyList.get(destinationId).put(sourceId, edge2);
         edges.add(edge1);
+        snapshot = null;
+        fireEdgeAdded(edge1);
     }
 
-    public boolean hasEdge(int sourceId, int destinationId) {
-        if (!adjacencyList.containsKey(sourceId)) {
-            return false;
+    // --- SKOR GÜNCELLEME ---
+
+    /**
+     * Tek bir düğümün skorlarını günceller; yalnızca ona bağlı kenarların
+     * ağırlıkları (iki yönde) yeniden hesaplanır.
+     */
+    public void updateScores(int nodeId, double active, double interaction, double connection) {
+        updateScores(new int[]{nodeId}, new double[]{active}, new double[]{interaction}, new double[]{connection});
+    }
+
+    /**
+     * Toplu skor güncelleme. Önce tüm skorlar yazılır, sonra etkilenen her
+     * kenar bir kez yeniden hesaplanır; iki ucu da güncellenen kenar iki kez
+     * hesaplanmaz. Aynı düğüm birden çok kez verilirse son değer geçerlidir.
+     */
+    public void updateScores(int[] nodeIds, double[] active, double[] interaction, double[] connection) {
+        UserNode[] updated = resolveScoreUpdate(nodeIds, active, interaction, connection);
+        for (int i = 0; i < nodeIds.length; i++) {
+            attributes.set(updated[i].getOrdinal(), active[i], interaction[i], connection[i]);
+        }
+
+        Set<Integer> updatedIds = new HashSet<>();
+        for (int nodeId : nodeIds) updatedIds.add(nodeId);
+        for (int nodeId : updatedIds) {
+            for (RelationshipEdge edge : adjacencyList.get(nodeId).values()) {
+                int otherId = edge.getDestination().getId();
+                if (otherId < nodeId && updatedIds.contains(otherId)) {
+                    continue; // Diğer uçtan işlendi
+                }
+                edge.recalculateWeight();
+                adjacencyList.get(otherId).get(nodeId).recalculateWeight();
+            }
+        }
+        snapshot = null;
+        for (int nodeId : updatedIds) {
+            UserNode node = nodes.get(nodeId);
+            fireScoresWritten(node, node.getActiveScore(), node.getInteractionScore(), node.getConnectionScore());
+        }
+        for (int nodeId : updatedIds) {
+            fireScoresChanged(nodes.get(nodeId));
+        }
+    }
+
+    // Toplu güncelleme argümanlarını doğrular, düğümleri çözer
+    UserNode[] resolveScoreUpdate(int[] nodeIds, double[] active, double[] interaction, double[] connection) {
+        if (active.length != nodeIds.length || interaction.length != nodeIds.length
+                || connection.length != nodeIds.length) {
+            throw new IllegalArgumentException("Skor dizileri düğüm dizisiyle aynı uzunlukta olmalıdır");
+        }
+        UserNode[] resolved = new UserNode[nodeIds.length];
+        for (int i = 0; i < nodeIds.length; i++) {
+            resolved[i] = getNode(nodeIds[i]);
+            if (resolved[i] == null) {
+                throw new IllegalArgumentException("Düğüm bulunamadı: " + nodeIds[i]);
+            }
         }
-        return adjacencyList.get(sourceId).stream()
-                .anyMatch(edge -> edge.getDestination().getId() == destinationId);
+        return resolved;
+    }
+
+    // --- DEĞİŞİKLİK DİNLEYİCİLERİ ---
+
+    public void addChangeListener(GraphChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeChangeListener(GraphChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Bağlı bileşenlerin canlı takibini açar (bkz. ComponentTracker). Mevcut
+     * graf bir kez işlenir, sonraki eklemeler artımlıdır. Tekrar çağrılırsa
+     * aynı izleyici döner.
+     */
+    public synchronized ComponentTracker trackComponents() {
+        if (componentTracker == null) {
+            ComponentTracker tracker = new ComponentTracker(this);
+            addChangeListener(tracker); // Önce kayıt: işleme sırasındaki eklemeler kaçmaz
+            tracker.seed();
+            componentTracker = tracker;
+        }
+        return componentTracker;
+    }
+
+    /**
+     * Bileşen takibi açıksa izleyici, değilse null
+     */
+    public ComponentTracker getComponentTracker() {
+        return componentTracker;
+    }
+
+    void fireNodeAdded(UserNode node) {
+        for (GraphChangeListener listener : listeners) listener.onNodeAdded(node);
+    }
+
+    void fireEdgeAdded(RelationshipEdge edge) {
+        for (GraphChangeListener listener : listeners) listener.onEdgeAdded(edge);
+    }
+
+    void fireScoresWritten(UserNode node, double active, double interaction, double connection) {
+        for (GraphChangeListener listener : listeners) listener.onScoresWritten(node, active, interaction, connection);
+    }
+
+    void fireScoresChanged(UserNode node) {
+        for (GraphChangeListener listener : listeners) listener.onScoresChanged(node);
+    }
+
+    public boolean hasEdge(int sourceId, int destinationId) {
+        Map<Integer, RelationshipEdge> outgoing = adjacencyList.get(sourceId);
+        return outgoing != null && outgoing.containsKey(destinationId);
     }
 
     // --- BFS İÇİN GEREKLİ DÜZELTME BURADA ---
@@ -60,7 +307,7 @@ public class SocialGraph {
             return new ArrayList<>();
         }
         List<UserNode> neighbors = new ArrayList<>();
-        for (RelationshipEdge edge : adjacencyList.get(nodeId)) {
+        for (RelationshipEdge edge : adjacencyList.get(nodeId).values()) {
             neighbors.add(edge.getDestination());
         }
         return neighbors;
@@ -81,22 +328,68 @@ public class SocialGraph {
         return nodes.values();
     }
 
+    public int getNodeCount() {
+        return nodes.size();
+    }
+
+    /**
+     * Ordinal sırasına göre düğüm (bkz. UserNode.getOrdinal); CsrGraph ve
+     * CSR kurmadan gezen algoritmalar kullanır.
+     */
+    public UserNode getNodeByOrdinal(int ordinal) {
+        return nodesByOrdinal.get(ordinal);
+    }
+
+    NodeAttributeStore getAttributeStore() {
+        return attributes;
+    }
+
     public List<RelationshipEdge> getAllEdges() {
         return new ArrayList<>(edges);
     }
 
+    /**
+     * Bir düğümden çıkan kenarları getirir (salt okunur görünüm)
+     */
+    public Collection<RelationshipEdge> getEdges(int nodeId) {
+        Map<Integer, RelationshipEdge> outgoing = adjacencyList.get(nodeId);
+        return outgoing == null ? Collections.emptyList() : Collections.unmodifiableCollection(outgoing.values());
+    }
+
+    /**
+     * Grafın değişmez CSR görüntüsünü döner.
+     * Graf değişmediği sürece aynı görüntü tekrar kullanılır.
+     */
+    public CsrGraph freeze() {
+        if (snapshot == null) {
+            snapshot = CsrGraph.from(this);
+        }
+        return snapshot;
+    }
+
+    /**
+     * freeze() ile kurulmuş görüntü hâlâ güncelse onu, değilse null döner;
+     * görüntü kurmaz. Tek sorguluk aramalar bununla, graf değiştikten sonra
+     * O(n + m) yeniden kurulum yerine komşuluk listesinde gezmeyi seçer.
+     */
+    public CsrGraph getCachedSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * İki düğüm arasındaki kenarı getirir (yoksa null)
+     */
+    public RelationshipEdge getEdge(int sourceId, int destinationId) {
+        Map<Integer, RelationshipEdge> outgoing = adjacencyList.get(sourceId);
+        return outgoing == null ? null : outgoing.get(destinationId);
+    }
+
     /**
      * İki düğüm arasındaki kenarın ağırlığını getirir
      */
     public double getEdgeWeight(int sourceId, int destinationId) {
-        if (!adjacencyList.containsKey(sourceId)) {
-            return Double.POSITIVE_INFINITY;
-        }
-        return adjacencyList.get(sourceId).stream()
-                .filter(edge -> edge.getDestination().getId() == destinationId)
-                .findFirst()
-                .map(RelationshipEdge::getWeight)
-                .orElse(Double.POSITIVE_INFINITY);
+        RelationshipEdge edge = getEdge(sourceId, destinationId);
+        return edge == null ? Double.POSITIVE_INFINITY : edge.getWeight();
     }
 
     /**
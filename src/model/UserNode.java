@@ -3,12 +3,15 @@ package model;
 import java.awt.Color; // Renk kütüphanesi eklendi
 
 // Kullanıcı (Düğüm) Sınıfı
+// Skorlar (Aktiflik, Etkileşim, Bağl. Sayısı) NodeAttributeStore sütunlarında
+// tutulur; bu sınıf yalnızca (depo, ordinal) üzerinde hafif bir görünümdür.
 public class UserNode {
     private int id;
     private String name; // İsteğe bağlı
-    private double activeScore;      // Özellik I (Aktiflik)
-    private double interactionScore; // Özellik II (Etkileşim)
-    private double connectionScore;  // Özellik III (Bağl. Sayısı)
+    private NodeAttributeStore store;
+    private int ordinal;
+    // Bir grafın (veya CSR görüntüsünün) deposuna bağlıysa true
+    private boolean attached;
 
     // Görselleştirme koordinatları (UI için)
     private int x, y;
@@ -18,12 +21,40 @@ public class UserNode {
     private Color color = Color.LIGHT_GRAY;
 
     public UserNode(int id, double active, double interaction, double connection) {
+        // Graf dışındaki düğüm kendi tek satırlık deposunu taşır;
+        // SocialGraph.addNode ile grafın deposuna taşınır.
         this.id = id;
-        this.activeScore = active;
-        this.interactionScore = interaction;
-        this.connectionScore = connection;
+        this.store = new NodeAttributeStore(1);
+        this.ordinal = store.add(active, interaction, connection);
     }
 
+    // Doğrudan grafın deposundaki bir satıra bağlı görünüm (kopya yok)
+    UserNode(int id, NodeAttributeStore store, int ordinal) {
+        this.id = id;
+        this.store = store;
+        this.ordinal = ordinal;
+        this.attached = true;
+    }
+
+    // Düğümü başka bir depodaki satıra taşır (SocialGraph.addNode kullanır)
+    void attach(NodeAttributeStore store, int ordinal) {
+        if (attached) {
+            throw new IllegalArgumentException("Düğüm başka bir grafa bağlı: " + id);
+        }
+        this.store = store;
+        this.ordinal = ordinal;
+        this.attached = true;
+    }
+
+    // Düğüm bir grafın deposuna bağlı mı (graf dışında oluşturulan düğüm için false)
+    boolean isAttached() { return attached; }
+
+    NodeAttributeStore getStore() { return store; }
+
+    // Depo içindeki sıra numarası (CsrGraph ordinaliyle aynıdır); bağlı
+    // olduğu grafta 0..n-1 aralığındadır, algoritmalar dizi indeksi olarak kullanır
+    public int getOrdinal() { return ordinal; }
+
     // --- UI KOORDİNAT METOTLARI ---
     public int getX() { return x; }
     public void setX(int x) { this.x = x; }
@@ -37,9 +68,9 @@ public class UserNode {
 
     // --- TEMEL GETTER METOTLARI ---
     public int getId() { return id; }
-    public double getActiveScore() { return activeScore; }
-    public double getInteractionScore() { return interactionScore; }
-    public double getConnectionScore() { return connectionScore; }
+    public double getActiveScore() { return store.getActive(ordinal); }
+    public double getInteractionScore() { return store.getInteraction(ordinal); }
+    public double getConnectionScore() { return store.getConnection(ordinal); }
 
     @Override
     public String toString() {
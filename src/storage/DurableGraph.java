@@ -0,0 +1,339 @@
+package storage;
+
+import model.ConcurrentSocialGraph;
+import model.CsrGraph;
+import model.GraphChangeListener;
+import model.GraphSnapshot;
+import model.RelationshipEdge;
+import model.SocialGraph;
+import model.UserNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Kalıcı (dayanıklı) graf: anlık görüntü dosyası + değişiklik günlüğü.
+ *
+ * Dizin içeriği:
+ * <pre>
+ *   snapshot-NESIL.sgrf   NESIL'den önceki tüm segmentleri içeren GraphFile
+ *   wal-NESIL.log         MutationLog segmentleri
+ * </pre>
+ * Açılışta en yeni anlık görüntü yüklenir, ardından nesli ona eşit veya
+ * büyük segmentler sırayla yeniden oynatılır; son segmentin yarım kalmış
+ * kuyruğu kesilir. Sonra grafa günlük dinleyicisi bağlanır: addNode,
+ * addEdge ve updateScores kayıtları grup commit ile diske yazılır.
+ *
+ * Sıkıştırma (checkpoint): günlük yeni segmente döndürülür, grafın CSR
+ * görüntüsü arka planda yeni anlık görüntü olarak yazılır; eski
+ * segmentler ve görüntüler ancak yeni görüntü yerine taşındıktan sonra
+ * silinir. Segment eşik boyutu aşılınca checkpoint otomatik başlar.
+ *
+ * Not: düz SocialGraph iş parçacığı güvenli değildir; checkpoint() grafı
+ * değiştiren iş parçacığından çağrılmalıdır (otomatik tetikleme öyledir) ve
+ * CSR görüntüsü o iş parçacığında kurulur. ConcurrentSocialGraph ile her
+ * yerden çağrılabilir; çağıran yalnızca sürümü sabitler, görüntü arka
+ * planda kurulur.
+ */
+public final class DurableGraph implements AutoCloseable {
+    private static final long DEFAULT_CHECKPOINT_BYTES = 64L << 20; // 64 MB
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".sgrf";
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final SocialGraph graph;
+    private final MutationLog log;
+    private final GraphChangeListener checkpointTrigger;
+    private final ExecutorService checkpointExecutor;
+    private final long recoveredRecords;
+    private volatile long checkpointBytes = DEFAULT_CHECKPOINT_BYTES;
+    private CompletableFuture<Path> runningCheckpoint;
+    private boolean closed;
+
+    private DurableGraph(Path directory, SocialGraph graph, MutationLog log, long recoveredRecords) {
+        this.directory = directory;
+        this.graph = graph;
+        this.log = log;
+        this.recoveredRecords = recoveredRecords;
+        this.checkpointExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "graph-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checkpointTrigger = new GraphChangeListener() {
+            @Override
+            public void onNodeAdded(UserNode node) {
+                maybeCheckpoint();
+            }
+
+            @Override
+            public void onEdgeAdded(RelationshipEdge edge) {
+                maybeCheckpoint();
+            }
+
+            @Override
+            public void onScoresChanged(UserNode node) {
+                maybeCheckpoint();
+            }
+        };
+    }
+
+    /**
+     * Dizindeki grafı yeni bir SocialGraph'a kurtarır; her kayıt fsync ile onaylanır.
+     */
+    public static DurableGraph open(Path directory) throws IOException {
+        return open(directory, new SocialGraph(), true);
+    }
+
+    /**
+     * Dizindeki grafı verilen boş grafa (örn. ConcurrentSocialGraph) kurtarır.
+     * @param syncOnCommit true ise her değişiklik, kaydı fsync edilene kadar
+     *                     bekler (eşzamanlı yazarlar aynı fsync'i paylaşır);
+     *                     false ise kayıtlar arka planda toplu yazılır ve
+     *                     kalıcılık sync() ile beklenir
+     */
+    public static DurableGraph open(Path directory, SocialGraph graph, boolean syncOnCommit) throws IOException {
+        if (graph.getNodeCount() != 0) {
+            throw new IllegalArgumentException("Hedef graf boş olmalıdır");
+        }
+        Files.createDirectories(directory);
+        deleteTemporaryFiles(directory);
+
+        long snapshotGeneration = -1;
+        for (long generation : generations(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            snapshotGeneration = Math.max(snapshotGeneration, generation);
+        }
+        if (snapshotGeneration >= 0) {
+            SocialGraph.fromSnapshot(GraphFile.load(snapshotPath(directory, snapshotGeneration)), graph);
+        }
+
+        // Anlık görüntüden sonraki segmentler sırayla oynatılır
+        List<Long> segments = new ArrayList<>();
+        for (long generation : generations(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (generation >= snapshotGeneration) {
+                segments.add(generation);
+            }
+        }
+        Collections.sort(segments);
+        List<MutationLog.Record> deferred = new ArrayList<>();
+        long[] applied = new long[1];
+        for (int i = 0; i < segments.size(); i++) {
+            Path segment = MutationLog.segmentPath(directory, segments.get(i));
+            long validLength = MutationLog.replay(segment, graph, deferred, applied);
+            if (validLength < Files.size(segment)) {
+                if (i != segments.size() - 1) {
+                    throw new IOException("Günlük segmenti bozuk: " + segment);
+                }
+                truncate(segment, validLength); // Çökme sırasında yarım kalmış son çerçeve
+            }
+        }
+        // Düğüm kaydı uygulanınca çözülmeyen kayıtlar; düğümü günlükte yoksa hata
+        for (MutationLog.Record record : deferred) {
+            if (!record.apply(graph)) {
+                throw new IOException("Günlükte olmayan düğüme ait kayıt: " + record.id);
+            }
+        }
+
+        long next = Math.max(snapshotGeneration, segments.isEmpty() ? 0 : segments.get(segments.size() - 1)) + 1;
+        MutationLog log = new MutationLog(directory, next, syncOnCommit);
+        DurableGraph durable = new DurableGraph(directory, graph, log, applied[0]);
+        graph.addChangeListener(log);
+        graph.addChangeListener(durable.checkpointTrigger);
+        return durable;
+    }
+
+    public SocialGraph getGraph() {
+        return graph;
+    }
+
+    /**
+     * Açılışta günlükten yeniden oynatılan kayıt sayısı.
+     */
+    public long getRecoveredRecordCount() {
+        return recoveredRecords;
+    }
+
+    /**
+     * Açılıştan beri günlüğe eklenen kayıt sayısı.
+     */
+    public long getLoggedRecordCount() {
+        return log.getAppendedRecords();
+    }
+
+    /**
+     * Yapılan fsync sayısı; kayıt sayısından küçükse grup commit devrededir.
+     */
+    public long getSyncCount() {
+        return log.getSyncCount();
+    }
+
+    /**
+     * Otomatik checkpoint için segment eşiği (bayt). 0 veya negatif: kapalı.
+     */
+    public void setCheckpointThreshold(long bytes) {
+        this.checkpointBytes = bytes;
+    }
+
+    /**
+     * Eklenen tüm kayıtlar kalıcı olana kadar bekler.
+     */
+    public void sync() throws IOException {
+        log.sync();
+    }
+
+    private void maybeCheckpoint() {
+        long threshold = checkpointBytes;
+        if (threshold > 0 && log.getSegmentBytes() >= threshold) {
+            checkpoint();
+        }
+    }
+
+    /**
+     * Arka planda yeni anlık görüntü yazıp eski günlük segmentlerini siler.
+     * Bir checkpoint zaten sürüyorsa onu döner.
+     * @return Yazılan anlık görüntünün yolu ile tamamlanan iş
+     */
+    public synchronized CompletableFuture<Path> checkpoint() {
+        if (closed) {
+            throw new IllegalStateException("Graf kapatıldı");
+        }
+        if (runningCheckpoint != null && !runningCheckpoint.isDone()) {
+            return runningCheckpoint;
+        }
+        long generation;
+        try {
+            generation = log.rotate();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // Döndürmeden sonra alınan görüntü eski segmentlerin hepsini içerir
+        // (kayıtlar commit'ten sonra eklenir); yeni segmentle çakışan kayıtlar
+        // kurtarmada atlanır
+        if (graph instanceof ConcurrentSocialGraph) {
+            // Sürüm O(1) sabitlenir; CSR kurulumu yazma yolunu bekletmez
+            GraphSnapshot snapshot = ((ConcurrentSocialGraph) graph).openSnapshot();
+            runningCheckpoint = CompletableFuture.supplyAsync(() -> {
+                try (snapshot) {
+                    return writeSnapshot(snapshot.freeze(), generation);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, checkpointExecutor);
+        } else {
+            // Düz SocialGraph başka iş parçacığından okunamaz: görüntü burada alınır
+            CsrGraph csr = graph.freeze();
+            runningCheckpoint = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return writeSnapshot(csr, generation);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, checkpointExecutor);
+        }
+        return runningCheckpoint;
+    }
+
+    private Path writeSnapshot(CsrGraph csr, long generation) throws IOException {
+        Path target = snapshotPath(directory, generation);
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        GraphFile.save(csr, temporary);
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+        syncDirectory(directory);
+
+        for (long old : generations(directory, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (old < generation) Files.deleteIfExists(snapshotPath(directory, old));
+        }
+        for (long old : generations(directory, SEGMENT_PREFIX, SEGMENT_SUFFIX)) {
+            if (old < generation) Files.deleteIfExists(MutationLog.segmentPath(directory, old));
+        }
+        return target;
+    }
+
+    /**
+     * Bekleyen kayıtları yazar, süren checkpoint'in bitmesini bekler ve günlüğü kapatır.
+     */
+    @Override
+    public void close() throws IOException {
+        CompletableFuture<Path> pending;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            pending = runningCheckpoint;
+        }
+        graph.removeChangeListener(checkpointTrigger);
+        graph.removeChangeListener(log);
+        try {
+            if (pending != null) {
+                pending.join();
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        } finally {
+            checkpointExecutor.shutdown();
+            log.close();
+        }
+    }
+
+    // --- DOSYA YARDIMCILARI ---
+
+    private static Path snapshotPath(Path directory, long generation) {
+        return directory.resolve(String.format(SNAPSHOT_PREFIX + "%016x" + SNAPSHOT_SUFFIX, generation));
+    }
+
+    private static List<Long> generations(Path directory, String prefix, String suffix) throws IOException {
+        List<Long> result = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, prefix + "*" + suffix)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    result.add(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()), 16));
+                } catch (NumberFormatException e) {
+                    // Bizim yazmadığımız dosya: yok say
+                }
+            }
+        }
+        return result;
+    }
+
+    private static void deleteTemporaryFiles(Path directory) throws IOException {
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.tmp")) {
+            for (Path path : stream) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static void truncate(Path path, long length) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+            channel.force(true);
+        }
+    }
+
+    // Taşıma işleminin kalıcı olması için dizin fsync'i (desteklenmeyen sistemlerde atlanır)
+    private static void syncDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Windows dizin açmayı desteklemez
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package storage;
+
+import model.CsrGraph;
+import model.UserNode;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sürümlü ikili graf dosyası (CSR düzeni).
+ *
+ * Dosya düzeni (little-endian, her bölüm 8 bayta hizalı):
+ * <pre>
+ *   Başlık (32 bayt): magic "SGRF", sürüm, düğüm sayısı n, (boş), yönlü kenar sayısı m, (boş)
+ *   int[n]    ids
+ *   int[n]    x, int[n] y               (UI koordinatları)
+ *   double[n] active, interaction, connection
+ *   int[n+1]  offsets
+ *   int[m]    targets
+ *   double[m] weights
+ * </pre>
+ * Yükleme her bölümü FileChannel.map ile eşler ve toplu (bulk) olarak
+ * dizilere aktarır; satır satır ayrıştırma ya da kenar ekleme yapılmaz.
+ */
+public final class GraphFile {
+    public static final int MAGIC = 0x46524753; // "SGRF" (little-endian)
+    public static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+    private static final int MAX_MAP_BYTES = 1 << 30;
+
+    private GraphFile() {
+    }
+
+    /**
+     * CSR görüntüsünü dosyaya yazar (varsa üzerine yazar).
+     */
+    public static void save(CsrGraph graph, Path path) throws IOException {
+        int n = graph.getNodeCount();
+        int m = graph.getEdgeCount();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(0).putLong(m).putLong(0);
+
+            int[] column = new int[n];
+            for (int i = 0; i < n; i++) column[i] = graph.getId(i);
+            writeInts(channel, buffer, column, n);
+            for (int i = 0; i < n; i++) column[i] = graph.getNodeByOrdinal(i).getX();
+            writeInts(channel, buffer, column, n);
+            for (int i = 0; i < n; i++) column[i] = graph.getNodeByOrdinal(i).getY();
+            writeInts(channel, buffer, column, n);
+
+            writeDoubles(channel, buffer, graph.getActiveScores(), n);
+            writeDoubles(channel, buffer, graph.getInteractionScores(), n);
+            writeDoubles(channel, buffer, graph.getConnectionScores(), n);
+
+            writeInts(channel, buffer, graph.getOffsets(), n + 1);
+            writeInts(channel, buffer, graph.getTargets(), m);
+            writeDoubles(channel, buffer, graph.getWeights(), m);
+
+            flush(channel, buffer);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Dosyayı belleğe eşleyerek CSR görüntüsü olarak yükler.
+     */
+    public static CsrGraph load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int[] sizes = readHeader(channel, path);
+            int n = sizes[0];
+            int m = sizes[1];
+
+            long position = HEADER_SIZE;
+            int[] ids = new int[n];
+            int[] xs = new int[n];
+            int[] ys = new int[n];
+            position = readInts(channel, position, ids);
+            position = readInts(channel, position, xs);
+            position = readInts(channel, position, ys);
+
+            double[] active = new double[n];
+            double[] interaction = new double[n];
+            double[] connection = new double[n];
+            position = readDoubles(channel, position, active);
+            position = readDoubles(channel, position, interaction);
+            position = readDoubles(channel, position, connection);
+
+            int[] offsets = new int[n + 1];
+            int[] targets = new int[m];
+            double[] weights = new double[m];
+            position = readInts(channel, position, offsets);
+            checkOffsets(offsets, m);
+            position = readInts(channel, position, targets);
+            checkTargets(offsets, targets);
+            readDoubles(channel, position, weights);
+
+            CsrGraph graph = CsrGraph.of(ids, active, interaction, connection, offsets, targets, weights);
+            for (int i = 0; i < n; i++) {
+                UserNode node = graph.getNodeByOrdinal(i);
+                node.setX(xs[i]);
+                node.setY(ys[i]);
+            }
+            return graph;
+        }
+    }
+
+    /**
+     * Dosyayı grafı belleğe kurmadan satır satır okumak için açar.
+     * Yalnızca ID ve offsets bölümleri (O(n)) okunur; kenarlar istendikçe
+     * eşlenmiş bölümden kopyalanır. Parçalara dağıtım gibi, tüm CSR'ın tek
+     * süreçte tutulmasının gerekmediği işler içindir.
+     */
+    public static Reader open(Path path) throws IOException {
+        return new Reader(path);
+    }
+
+    /**
+     * Akışlı graf dosyası okuyucusu (bkz. open). İş parçacığı güvenli değildir.
+     */
+    public static final class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final int nodeCount;
+        private final int edgeCount;
+        private final int[] ids;
+        private final int[] offsets;
+        private final IntBuffer[] targetChunks;
+
+        private Reader(Path path) throws IOException {
+            channel = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                int[] sizes = readHeader(channel, path);
+                nodeCount = sizes[0];
+                edgeCount = sizes[1];
+                int n = nodeCount;
+                ids = new int[n];
+                readInts(channel, HEADER_SIZE, ids);
+                long position = HEADER_SIZE + 3 * align(4L * n) + 3 * 8L * n;
+                offsets = new int[n + 1];
+                position = readInts(channel, position, offsets);
+                checkOffsets(offsets, edgeCount);
+
+                int chunk = MAX_MAP_BYTES / Integer.BYTES;
+                targetChunks = new IntBuffer[(edgeCount + chunk - 1) / chunk];
+                for (int c = 0; c < targetChunks.length; c++) {
+                    int count = Math.min(chunk, edgeCount - c * chunk);
+                    targetChunks[c] = map(channel, position + (long) Integer.BYTES * c * chunk,
+                            (long) Integer.BYTES * count).asIntBuffer();
+                }
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        public int getNodeCount() {
+            return nodeCount;
+        }
+
+        public int getEdgeCount() {
+            return edgeCount;
+        }
+
+        /** ordinal -> ID (paylaşılan dizi; değiştirilmemeli) */
+        public int[] getIds() {
+            return ids;
+        }
+
+        /** Doğrulanmış satır başları (paylaşılan dizi; değiştirilmemeli) */
+        public int[] getOffsets() {
+            return offsets;
+        }
+
+        public int getDegree(int ordinal) {
+            return offsets[ordinal + 1] - offsets[ordinal];
+        }
+
+        /**
+         * Düğümün komşu ordinallerini row dizisinin başına kopyalar;
+         * load ile aynı doğrulama yapılır.
+         * @return Derece
+         */
+        public int readRow(int ordinal, int[] row) throws IOException {
+            int chunk = MAX_MAP_BYTES / Integer.BYTES;
+            int start = offsets[ordinal];
+            int degree = offsets[ordinal + 1] - start;
+            for (int done = 0; done < degree; ) {
+                int e = start + done;
+                IntBuffer buffer = targetChunks[e / chunk];
+                int count = Math.min(degree - done, buffer.limit() - e % chunk);
+                buffer.position(e % chunk);
+                buffer.get(row, done, count);
+                done += count;
+            }
+            int previous = -1;
+            for (int i = 0; i < degree; i++) {
+                int target = row[i];
+                if (target < 0 || target >= nodeCount) {
+                    throw new IOException("Geçersiz graf dosyası (kenar " + (start + i) + " hedefi aralık dışı: " + target + ")");
+                }
+                if (target <= previous) {
+                    throw new IOException("Geçersiz graf dosyası (düğüm " + ordinal + " satırı sıralı değil)");
+                }
+                previous = target;
+            }
+            return degree;
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close(); // Eşlemeler GC'ye kadar geçerli kalır
+        }
+    }
+
+    // Başlığı ve dosya boyutunu doğrular; {n, m} döner
+    private static int[] readHeader(FileChannel channel, Path path) throws IOException {
+        if (channel.size() < HEADER_SIZE) {
+            throw new IOException("Geçersiz graf dosyası (başlık eksik): " + path);
+        }
+        ByteBuffer header = map(channel, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("Geçersiz graf dosyası (magic uyuşmuyor): " + path);
+        }
+        int version = header.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Desteklenmeyen graf dosyası sürümü: " + version);
+        }
+        int n = header.getInt(8);
+        long edgeCount = header.getLong(16);
+        if (n < 0 || edgeCount < 0 || edgeCount > Integer.MAX_VALUE) {
+            throw new IOException("Geçersiz graf boyutları: n=" + n + ", m=" + edgeCount);
+        }
+        int m = (int) edgeCount;
+
+        long expected = HEADER_SIZE + 3 * align(4L * n) + 3 * 8L * n
+                + align(4L * (n + 1)) + align(4L * m) + 8L * m;
+        if (channel.size() < expected) {
+            throw new IOException("Graf dosyası kesik: " + channel.size() + " < " + expected + " bayt");
+        }
+        return new int[]{n, m};
+    }
+
+    // --- DOĞRULAMA ---
+
+    // Bozuk dosya algoritmalarda dizi taşmasına yol açmadan yüklemede reddedilir
+    private static void checkOffsets(int[] offsets, int m) throws IOException {
+        if (offsets[0] != 0) {
+            throw new IOException("Geçersiz graf dosyası (offsets[0] = " + offsets[0] + ")");
+        }
+        for (int v = 0; v + 1 < offsets.length; v++) {
+            if (offsets[v + 1] < offsets[v]) {
+                throw new IOException("Geçersiz graf dosyası (offsets azalıyor: düğüm " + v + ")");
+            }
+        }
+        if (offsets[offsets.length - 1] != m) {
+            throw new IOException("Geçersiz graf dosyası (offsets[n] = "
+                    + offsets[offsets.length - 1] + ", m = " + m + ")");
+        }
+    }
+
+    // Hedefler [0, n) aralığında ve her satırda kesin artan (ikili arama için) olmalı
+    private static void checkTargets(int[] offsets, int[] targets) throws IOException {
+        int n = offsets.length - 1;
+        for (int v = 0; v < n; v++) {
+            int previous = -1;
+            for (int e = offsets[v]; e < offsets[v + 1]; e++) {
+                int target = targets[e];
+                if (target < 0 || target >= n) {
+                    throw new IOException("Geçersiz graf dosyası (kenar " + e + " hedefi aralık dışı: " + target + ")");
+                }
+                if (target <= previous) {
+                    throw new IOException("Geçersiz graf dosyası (düğüm " + v + " satırı sıralı değil)");
+                }
+                previous = target;
+            }
+        }
+    }
+
+    // --- YAZMA YARDIMCILARI ---
+
+    private static void writeInts(FileChannel channel, ByteBuffer buffer, int[] values, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            if (buffer.remaining() < Integer.BYTES) flush(channel, buffer);
+            buffer.putInt(values[i]);
+        }
+        if ((length & 1) == 1) { // 8 bayt hizalama
+            if (buffer.remaining() < Integer.BYTES) flush(channel, buffer);
+            buffer.putInt(0);
+        }
+    }
+
+    private static void writeDoubles(FileChannel channel, ByteBuffer buffer, double[] values, int length) throws IOException {
+        for (int i = 0; i < length; i++) {
+            if (buffer.remaining() < Double.BYTES) flush(channel, buffer);
+            buffer.putDouble(values[i]);
+        }
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // --- OKUMA YARDIMCILARI ---
+
+    // Tek bir eşleme 2 GB ile sınırlı olduğu için büyük bölümler parça parça eşlenir
+    private static long readInts(FileChannel channel, long position, int[] target) throws IOException {
+        int chunk = MAX_MAP_BYTES / Integer.BYTES;
+        for (int done = 0; done < target.length; done += chunk) {
+            int count = Math.min(chunk, target.length - done);
+            map(channel, position + (long) Integer.BYTES * done, (long) Integer.BYTES * count)
+                    .asIntBuffer().get(target, done, count);
+        }
+        return position + align((long) Integer.BYTES * target.length);
+    }
+
+    private static long readDoubles(FileChannel channel, long position, double[] target) throws IOException {
+        int chunk = MAX_MAP_BYTES / Double.BYTES;
+        for (int done = 0; done < target.length; done += chunk) {
+            int count = Math.min(chunk, target.length - done);
+            map(channel, position + (long) Double.BYTES * done, (long) Double.BYTES * count)
+                    .asDoubleBuffer().get(target, done, count);
+        }
+        return position + (long) Double.BYTES * target.length;
+    }
+
+    private static ByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        return mapped.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,468 @@
+package storage;
+
+import model.SocialGraph;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+/**
+ * Düğüm ve kenar listesi dosyaları için paralel toplu içe aktarıcı.
+ *
+ * Desteklenen satırlar (ayraç: virgül, sekme, noktalı virgül veya boşluk):
+ * <pre>
+ *   düğüm dosyası: id, aktiflik, etkileşim, bağlantı
+ *   kenar dosyası: kaynakId, hedefId
+ * </pre>
+ * '#' ile başlayan satırlar ve harfle başlayan başlık satırları atlanır.
+ *
+ * Dosya satır sınırlarına hizalanmış parçalara bölünür; her parça belleğe
+ * eşlenip baytlar üzerinde doğrudan ayrıştırılır (satır başına String
+ * oluşturulmaz). Kenarlar yönsüz çift olarak paketlenip toplu sıralama ile
+ * tekilleştirilir ve SocialGraph.addEdges ile tek seferde eklenir.
+ */
+public class GraphImporter {
+    private static final int DEFAULT_CHUNK_SIZE = 64 << 20; // 64 MB
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private Consumer<ImportStats> progressListener;
+
+    public GraphImporter() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    public GraphImporter(ForkJoinPool pool, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Parça boyutu pozitif olmalıdır");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Her parça bittiğinde o ana kadarki istatistiklerle çağrılır (herhangi bir iş parçacığından).
+     */
+    public void setProgressListener(Consumer<ImportStats> progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Düğüm dosyasını grafa aktarır. Zaten var olan ID'ler atlanır.
+     */
+    public ImportStats importNodes(SocialGraph graph, Path path) throws IOException {
+        ImportStats stats = new ImportStats("düğüm");
+        List<NodeChunk> chunks = parseAll(path, stats, NodeChunk::new);
+
+        for (NodeChunk chunk : chunks) {
+            for (int i = 0; i < chunk.ids.size; i++) {
+                int id = chunk.ids.values[i];
+                if (graph.getNode(id) != null) {
+                    stats.duplicates++;
+                    continue;
+                }
+                graph.addNode(id, chunk.active.values[i], chunk.interaction.values[i], chunk.connection.values[i]);
+                stats.imported++;
+            }
+        }
+        stats.finish();
+        return stats;
+    }
+
+    /**
+     * Kenar listesi dosyasını grafa aktarır. Self-loop'lar ve graf içinde
+     * olmayan düğümlere giden kenarlar atlanır, tekrarlar toplu olarak elenir.
+     */
+    public ImportStats importEdges(SocialGraph graph, Path path) throws IOException {
+        ImportStats stats = new ImportStats("kenar");
+        List<EdgeChunk> chunks = parseAll(path, stats, EdgeChunk::new);
+
+        int total = 0;
+        for (EdgeChunk chunk : chunks) {
+            total += chunk.pairs.size;
+        }
+        long[] pairs = new long[total];
+        int pos = 0;
+        for (EdgeChunk chunk : chunks) {
+            System.arraycopy(chunk.pairs.values, 0, pairs, pos, chunk.pairs.size);
+            pos += chunk.pairs.size;
+            stats.skipped += chunk.selfLoops;
+        }
+
+        // Toplu tekilleştirme: (min, max) çiftleri sıralanır, ardışık tekrarlar atılır
+        pool.submit(() -> Arrays.parallelSort(pairs)).join();
+        int unique = 0;
+        for (int i = 0; i < total; i++) {
+            if (unique == 0 || pairs[i] != pairs[unique - 1]) {
+                pairs[unique++] = pairs[i];
+            }
+        }
+        stats.duplicates += total - unique;
+
+        int[] sources = new int[unique];
+        int[] destinations = new int[unique];
+        int valid = 0;
+        for (int i = 0; i < unique; i++) {
+            int source = (int) (pairs[i] >> 32);
+            int destination = (int) pairs[i];
+            if (graph.getNode(source) == null || graph.getNode(destination) == null) {
+                stats.skipped++;
+                continue;
+            }
+            sources[valid] = source;
+            destinations[valid] = destination;
+            valid++;
+        }
+
+        int added = graph.addEdges(Arrays.copyOf(sources, valid), Arrays.copyOf(destinations, valid));
+        stats.duplicates += valid - added; // Grafta zaten var olanlar
+        stats.imported = added;
+        stats.finish();
+        return stats;
+    }
+
+    // --- PARÇALAMA ---
+
+    private interface ChunkFactory<T extends Chunk> {
+        T create();
+    }
+
+    private <T extends Chunk> List<T> parseAll(Path path, ImportStats stats, ChunkFactory<T> factory) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            stats.totalBytes = size;
+            long[] bounds = chunkBounds(channel, size);
+
+            List<T> chunks = new ArrayList<>();
+            for (int i = 0; i + 1 < bounds.length; i++) {
+                chunks.add(factory.create());
+            }
+            try {
+                pool.submit(() -> IntStream.range(0, chunks.size()).parallel().forEach(i -> {
+                    T chunk = chunks.get(i);
+                    try {
+                        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+                                bounds[i], bounds[i + 1] - bounds[i]);
+                        chunk.parse(buffer, bounds[i]);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    stats.add(chunk.lines, bounds[i + 1] - bounds[i]);
+                    if (progressListener != null) {
+                        progressListener.accept(stats);
+                    }
+                })).join();
+            } catch (RuntimeException e) {
+                // ForkJoin istisnayı sarmalayabilir; asıl IOException'ı bul
+                for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    }
+                }
+                throw e;
+            }
+            return chunks;
+        }
+    }
+
+    /**
+     * Dosyayı yaklaşık chunkSize boyutunda, her biri satır başında başlayan parçalara böler.
+     */
+    private long[] chunkBounds(FileChannel channel, long size) throws IOException {
+        List<Long> bounds = new ArrayList<>();
+        bounds.add(0L);
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+        long position = chunkSize;
+        while (position < size) {
+            // position'dan sonraki ilk satır sonunu bul
+            long boundary = -1;
+            long scan = position;
+            while (boundary < 0 && scan < size) {
+                probe.clear();
+                int read = channel.read(probe, scan);
+                if (read <= 0) break;
+                for (int k = 0; k < read; k++) {
+                    if (probe.get(k) == '\n') {
+                        boundary = scan + k + 1;
+                        break;
+                    }
+                }
+                scan += read;
+            }
+            if (boundary < 0 || boundary >= size) break;
+            bounds.add(boundary);
+            position = boundary + chunkSize;
+        }
+        bounds.add(size);
+
+        long[] result = new long[bounds.size()];
+        for (int i = 0; i < result.length; i++) result[i] = bounds.get(i);
+        return result;
+    }
+
+    // --- AYRIŞTIRMA ---
+
+    private abstract static class Chunk {
+        long lines;
+        ByteBuffer buffer;
+        int pos;
+        int end;
+        long baseOffset;
+
+        void parse(ByteBuffer buffer, long baseOffset) throws IOException {
+            this.buffer = buffer;
+            this.pos = 0;
+            this.end = buffer.limit();
+            this.baseOffset = baseOffset;
+            while (pos < end) {
+                byte c = buffer.get(pos);
+                if (c == '\n' || c == '\r') {
+                    pos++;
+                    continue;
+                }
+                lines++;
+                if (c == '#' || Character.isLetter(c)) {
+                    skipLine(); // Yorum veya başlık satırı
+                    continue;
+                }
+                parseLine();
+                skipLine();
+            }
+            this.buffer = null; // Eşlemeyi erken bırakabilmek için
+        }
+
+        abstract void parseLine() throws IOException;
+
+        void skipLine() {
+            while (pos < end && buffer.get(pos) != '\n') pos++;
+        }
+
+        void skipDelimiters() {
+            while (pos < end) {
+                byte c = buffer.get(pos);
+                if (c != ',' && c != '\t' && c != ';' && c != ' ') break;
+                pos++;
+            }
+        }
+
+        int parseInt() throws IOException {
+            skipDelimiters();
+            boolean negative = false;
+            if (pos < end && buffer.get(pos) == '-') {
+                negative = true;
+                pos++;
+            }
+            int start = pos;
+            long value = 0;
+            while (pos < end) {
+                int digit = buffer.get(pos) - '0';
+                if (digit < 0 || digit > 9) break;
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE + 1L) throw error("sayı int sınırını aşıyor");
+                pos++;
+            }
+            if (pos == start) throw error("tam sayı bekleniyordu");
+            value = negative ? -value : value;
+            if (value > Integer.MAX_VALUE) throw error("sayı int sınırını aşıyor");
+            return (int) value;
+        }
+
+        /**
+         * Hızlı yol: en fazla 15 anlamlı basamaklı, üssüz sayılar tek bir bölme ile
+         * tam doğru yuvarlanır. Diğer biçimler (üs, NaN...) Double.parseDouble'a düşer.
+         */
+        double parseDouble() throws IOException {
+            skipDelimiters();
+            int start = pos;
+            while (pos < end && !isSeparator(buffer.get(pos))) pos++;
+            if (pos == start) throw error("ondalık sayı bekleniyordu");
+
+            int i = start;
+            boolean negative = false;
+            byte first = buffer.get(i);
+            if (first == '-' || first == '+') {
+                negative = first == '-';
+                i++;
+            }
+            long mantissa = 0;
+            int digits = 0;
+            int scale = 0;
+            boolean seenDot = false;
+            boolean fast = i < pos;
+            for (; fast && i < pos; i++) {
+                byte c = buffer.get(i);
+                if (c >= '0' && c <= '9') {
+                    if (digits == 15) {
+                        fast = false;
+                        break;
+                    }
+                    mantissa = mantissa * 10 + (c - '0');
+                    if (mantissa != 0) digits++;
+                    if (seenDot) scale++;
+                } else if (c == '.' && !seenDot) {
+                    seenDot = true;
+                } else {
+                    fast = false;
+                }
+            }
+            if (fast && scale < POWERS_OF_TEN.length) {
+                double value = mantissa / POWERS_OF_TEN[scale];
+                return negative ? -value : value;
+            }
+
+            byte[] raw = new byte[pos - start];
+            for (int k = 0; k < raw.length; k++) raw[k] = buffer.get(start + k);
+            try {
+                return Double.parseDouble(new String(raw, StandardCharsets.US_ASCII));
+            } catch (NumberFormatException e) {
+                throw error("ondalık sayı ayrıştırılamadı");
+            }
+        }
+
+        static boolean isSeparator(byte c) {
+            return c == ',' || c == '\t' || c == ';' || c == ' ' || c == '\n' || c == '\r';
+        }
+
+        IOException error(String message) {
+            return new IOException("Satır ayrıştırılamadı (" + message + "), bayt: " + (baseOffset + pos));
+        }
+    }
+
+    private static final double[] POWERS_OF_TEN = new double[23];
+    static {
+        POWERS_OF_TEN[0] = 1.0;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10.0;
+    }
+
+    private static final class NodeChunk extends Chunk {
+        final IntList ids = new IntList();
+        final DoubleList active = new DoubleList();
+        final DoubleList interaction = new DoubleList();
+        final DoubleList connection = new DoubleList();
+
+        @Override
+        void parseLine() throws IOException {
+            ids.add(parseInt());
+            active.add(parseDouble());
+            interaction.add(parseDouble());
+            connection.add(parseDouble());
+        }
+    }
+
+    private static final class EdgeChunk extends Chunk {
+        final LongList pairs = new LongList(); // (min << 32) | max
+        long selfLoops;
+
+        @Override
+        void parseLine() throws IOException {
+            int source = parseInt();
+            int destination = parseInt();
+            if (source == destination) {
+                selfLoops++;
+                return;
+            }
+            int low = Math.min(source, destination);
+            int high = Math.max(source, destination);
+            pairs.add(((long) low << 32) | (high & 0xFFFFFFFFL));
+        }
+    }
+
+    // --- İLKEL BÜYÜYEN DİZİLER ---
+
+    private static final class IntList {
+        int[] values = new int[1024];
+        int size;
+
+        void add(int value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    private static final class LongList {
+        long[] values = new long[1024];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    private static final class DoubleList {
+        double[] values = new double[1024];
+        int size;
+
+        void add(double value) {
+            if (size == values.length) values = Arrays.copyOf(values, size * 2);
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * İçe aktarma istatistikleri ve verim raporu.
+     */
+    public static class ImportStats {
+        private final String kind;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong lines = new AtomicLong();
+        private final AtomicLong bytes = new AtomicLong();
+        private volatile long endNanos;
+        long totalBytes;
+        long imported;
+        long duplicates;
+        long skipped;
+
+        ImportStats(String kind) {
+            this.kind = kind;
+        }
+
+        void add(long chunkLines, long chunkBytes) {
+            lines.addAndGet(chunkLines);
+            bytes.addAndGet(chunkBytes);
+        }
+
+        void finish() {
+            endNanos = System.nanoTime();
+        }
+
+        public long getLines() { return lines.get(); }
+        public long getBytesProcessed() { return bytes.get(); }
+        public long getTotalBytes() { return totalBytes; }
+        public long getImported() { return imported; }
+        public long getDuplicates() { return duplicates; }
+        public long getSkipped() { return skipped; }
+
+        public double getElapsedSeconds() {
+            long end = endNanos != 0 ? endNanos : System.nanoTime();
+            return (end - startNanos) / 1e9;
+        }
+
+        public double getLinesPerSecond() {
+            return getLines() / Math.max(getElapsedSeconds(), 1e-9);
+        }
+
+        public double getMegabytesPerSecond() {
+            return getBytesProcessed() / (1024.0 * 1024.0) / Math.max(getElapsedSeconds(), 1e-9);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s içe aktarma: %d satır, %d eklendi, %d tekrar, %d atlandı | " +
+                            "%.1f%% | %.0f satır/s, %.1f MB/s, %.2f s",
+                    kind, getLines(), imported, duplicates, skipped,
+                    totalBytes == 0 ? 100.0 : 100.0 * getBytesProcessed() / totalBytes,
+                    getLinesPerSecond(), getMegabytesPerSecond(), getElapsedSeconds());
+        }
+    }
+}
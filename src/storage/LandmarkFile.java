@@ -0,0 +1,155 @@
+package storage;
+
+import algorithms.LandmarkIndex;
+import model.CsrGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * İşaret noktası (ALT) tablolarının ikili dosyası.
+ *
+ * Dosya düzeni (little-endian):
+ * <pre>
+ *   Başlık (32 bayt): magic "SGLM", sürüm, düğüm sayısı n, nokta sayısı k,
+ *                     yönlü kenar sayısı m, graf parmak izi
+ *   int[k]    işaret noktası ordinalleri (8 bayta hizalı)
+ *   double[n * k] mesafe tablosu (düğüm öncelikli)
+ * </pre>
+ * Tablo, kurulduğu CSR görüntüsüne bağlıdır. Parmak izi ID'ler, komşuluk
+ * ve ağırlıklardan hesaplanır; yüklemede verilen grafla uyuşmazsa hata
+ * verilir. Tipik kullanım: tablo, GraphFile ile kaydedilen görüntüyle
+ * birlikte saklanır; yüklendikten sonra güncel grafa
+ * LandmarkIndex.refresh ile artımlı olarak taşınır.
+ */
+public final class LandmarkFile {
+    public static final int MAGIC = 0x4D4C4753; // "SGLM" (little-endian)
+    public static final int VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private LandmarkFile() {
+    }
+
+    public static void save(LandmarkIndex index, Path path) throws IOException {
+        CsrGraph graph = index.getGraph();
+        int n = graph.getNodeCount();
+        int k = index.getLandmarkCount();
+        double[] table = index.getTable();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(k)
+                    .putLong(graph.getEdgeCount()).putLong(fingerprint(graph));
+            for (int i = 0; i < k; i++) {
+                buffer.putInt(index.getLandmark(i));
+            }
+            if ((k & 1) == 1) {
+                buffer.putInt(0); // 8 bayt hizalama
+            }
+            for (double value : table) {
+                if (buffer.remaining() < Double.BYTES) flush(channel, buffer);
+                buffer.putDouble(value);
+            }
+            flush(channel, buffer);
+            channel.force(true);
+        }
+    }
+
+    /**
+     * Tabloyu yükler.
+     * @param graph Tablonun kurulduğu görüntü (örn. GraphFile.load ile)
+     */
+    public static LandmarkIndex load(Path path, CsrGraph graph) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = read(channel, 0, HEADER_SIZE);
+            if (header.getInt(0) != MAGIC) {
+                throw new IOException("Geçersiz işaret noktası dosyası (magic uyuşmuyor): " + path);
+            }
+            int version = header.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Desteklenmeyen işaret noktası dosyası sürümü: " + version);
+            }
+            int n = header.getInt(8);
+            int k = header.getInt(12);
+            if (n != graph.getNodeCount() || header.getLong(16) != graph.getEdgeCount()
+                    || header.getLong(24) != fingerprint(graph)) {
+                throw new IOException("İşaret noktası dosyası bu graf görüntüsüne ait değil: " + path);
+            }
+            if (k <= 0 || (long) n * k > Integer.MAX_VALUE - 8) {
+                throw new IOException("Geçersiz işaret noktası sayısı: " + k);
+            }
+            long landmarkBytes = ((long) Integer.BYTES * k + 7) & ~7L;
+            long expected = HEADER_SIZE + landmarkBytes + (long) Double.BYTES * n * k;
+            if (channel.size() < expected) {
+                throw new IOException("İşaret noktası dosyası kesik: " + channel.size() + " < " + expected + " bayt");
+            }
+
+            int[] landmarks = new int[k];
+            read(channel, HEADER_SIZE, Integer.BYTES * k).asIntBuffer().get(landmarks);
+            double[] table = new double[n * k];
+            long position = HEADER_SIZE + landmarkBytes;
+            int chunk = BUFFER_SIZE / Double.BYTES;
+            for (int done = 0; done < table.length; done += chunk) {
+                int count = Math.min(chunk, table.length - done);
+                read(channel, position + (long) Double.BYTES * done, Double.BYTES * count)
+                        .asDoubleBuffer().get(table, done, count);
+            }
+            try {
+                return LandmarkIndex.of(graph, landmarks, table);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Bozuk işaret noktası dosyası: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Görüntünün ID, komşuluk ve ağırlıklarından 64 bit parmak izi.
+     */
+    static long fingerprint(CsrGraph graph) {
+        long hash = 0xcbf29ce484222325L;
+        for (int v = 0; v < graph.getNodeCount(); v++) {
+            hash = mix(hash, graph.getId(v));
+        }
+        for (int offset : graph.getOffsets()) {
+            hash = mix(hash, offset);
+        }
+        for (int target : graph.getTargets()) {
+            hash = mix(hash, target);
+        }
+        for (double weight : graph.getWeights()) {
+            hash = mix(hash, Double.doubleToLongBits(weight));
+        }
+        return hash;
+    }
+
+    private static long mix(long hash, long value) {
+        hash ^= value;
+        hash *= 0x100000001b3L;
+        return hash ^ (hash >>> 29);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Beklenmeyen dosya sonu");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,468 @@
+package storage;
+
+import model.GraphChangeListener;
+import model.RelationshipEdge;
+import model.SocialGraph;
+import model.UserNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Graf değişiklikleri için yalnızca sona eklenen günlük (write-ahead log).
+ *
+ * Segment düzeni (little-endian):
+ * <pre>
+ *   Başlık (16 bayt): magic "SGWL", sürüm, nesil (long)
+ *   Çerçeve: int uzunluk, int crc32, kayıtlar...
+ *   Kayıt:   byte tür + alanlar
+ *     NODE   id, aktiflik, etkileşim, bağlantı   (int + 3 double)
+ *     EDGE   kaynakId, hedefId                   (2 int)
+ *     SCORES id, aktiflik, etkileşim, bağlantı   (int + 3 double)
+ * </pre>
+ * Grup commit: değişiklikler bellekteki tampona eklenir, yazıcı iş parçacığı
+ * biriken tüm kayıtları tek çerçevede yazıp tek fsync yapar. fsync sürerken
+ * gelen kayıtlar bir sonraki çerçeveye girer; bekleyen tüm çağıranlar aynı
+ * fsync ile serbest kalır. Yarım yazılmış son çerçeve kurtarmada CRC ile
+ * tespit edilip kesilir.
+ */
+final class MutationLog implements GraphChangeListener, AutoCloseable {
+    static final int MAGIC = 0x4C574753; // "SGWL" (little-endian)
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 16;
+    private static final int FRAME_HEADER_SIZE = 8;
+    private static final byte NODE = 1;
+    private static final byte EDGE = 2;
+    private static final byte SCORES = 3;
+
+    private final Path directory;
+    private final boolean syncOnCommit;
+
+    // Tampon ve sayaçlar; lock üzerinde senkronize
+    private final Object lock = new Object();
+    private ByteBuffer pending = newBuffer(1 << 16);
+    private ByteBuffer spare = newBuffer(1 << 16);
+    private long appendedRecords;
+    private long durableRecords;
+    private long segmentBytes;
+    private long syncCount;
+    private IOException failure;
+    private boolean closed;
+
+    // Dosyaya yazan tek taraf: yazıcı iş parçacığı veya rotate(); writeLock altında
+    private final Object writeLock = new Object();
+    private FileChannel channel;
+    private long generation;
+
+    private final Thread writer;
+    private final CRC32 crc = new CRC32();
+
+    MutationLog(Path directory, long generation, boolean syncOnCommit) throws IOException {
+        this.directory = directory;
+        this.syncOnCommit = syncOnCommit;
+        this.generation = generation;
+        this.channel = createSegment(directory, generation);
+        this.writer = new Thread(this::writeLoop, "mutation-log-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    static Path segmentPath(Path directory, long generation) {
+        return directory.resolve(String.format("wal-%016x.log", generation));
+    }
+
+    private static FileChannel createSegment(Path directory, long generation) throws IOException {
+        FileChannel created = FileChannel.open(segmentPath(directory, generation), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.WRITE);
+        ByteBuffer header = newBuffer(HEADER_SIZE);
+        header.putInt(MAGIC).putInt(VERSION).putLong(generation).flip();
+        while (header.hasRemaining()) {
+            created.write(header);
+        }
+        created.force(true);
+        return created;
+    }
+
+    private static ByteBuffer newBuffer(int capacity) {
+        return ByteBuffer.allocate(capacity).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    // --- KAYIT EKLEME (GraphChangeListener) ---
+
+    @Override
+    public void onNodeAdded(UserNode node) {
+        append(NODE, node.getId(), 0, node.getActiveScore(), node.getInteractionScore(), node.getConnectionScore());
+    }
+
+    @Override
+    public void onEdgeAdded(RelationshipEdge edge) {
+        append(EDGE, edge.getSource().getId(), edge.getDestination().getId(), 0, 0, 0);
+    }
+
+    // Değerler olayla gelir: eşzamanlı güncellemeler yazıldıkları sırayla kaydedilir
+    @Override
+    public void onScoresWritten(UserNode node, double active, double interaction, double connection) {
+        appendRecord(SCORES, node.getId(), 0, active, interaction, connection);
+    }
+
+    // Kayıt onScoresWritten'da eklendi; burada yalnızca kalıcılık beklenir
+    @Override
+    public void onScoresChanged(UserNode node) {
+        if (syncOnCommit) {
+            try {
+                sync();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private void append(byte type, int first, int second, double active, double interaction, double connection) {
+        long record = appendRecord(type, first, second, active, interaction, connection);
+        if (syncOnCommit) {
+            try {
+                awaitDurable(record);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    // Kaydı tampona ekler, beklemez; kaydın sıra numarasını döner
+    private long appendRecord(byte type, int first, int second, double active, double interaction, double connection) {
+        long record;
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Günlük kapatıldı");
+            }
+            if (pending.remaining() < 1 + 4 + 3 * Double.BYTES) {
+                pending = newBuffer(pending.capacity() * 2).put(pending.flip());
+            }
+            pending.put(type).putInt(first);
+            if (type == EDGE) {
+                pending.putInt(second);
+            } else {
+                pending.putDouble(active).putDouble(interaction).putDouble(connection);
+            }
+            record = ++appendedRecords;
+            lock.notifyAll();
+        }
+        return record;
+    }
+
+    /**
+     * Şu ana kadar eklenen tüm kayıtlar diske yazılıp fsync yapılana kadar bekler.
+     */
+    void sync() throws IOException {
+        long target;
+        synchronized (lock) {
+            target = appendedRecords;
+        }
+        awaitDurable(target);
+    }
+
+    private void awaitDurable(long record) throws IOException {
+        synchronized (lock) {
+            boolean interrupted = false;
+            while (durableRecords < record && failure == null) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true; // Kayıt zaten tamponda: fsync'i beklemeye devam et
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (failure != null && durableRecords < record) {
+                throw new IOException("Günlük yazılamadı", failure);
+            }
+        }
+    }
+
+    // --- YAZICI ---
+
+    private void writeLoop() {
+        while (true) {
+            synchronized (lock) {
+                while (pending.position() == 0 && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        // close() bayrağı ile çıkılır
+                    }
+                }
+                if (pending.position() == 0) {
+                    return; // Kapatıldı ve tampon boş
+                }
+            }
+            try {
+                synchronized (writeLock) {
+                    writeBatch();
+                }
+            } catch (IOException e) {
+                synchronized (lock) {
+                    failure = e;
+                    lock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    // writeLock tutulurken: biriken kayıtları tek çerçevede yazar ve fsync yapar
+    private void writeBatch() throws IOException {
+        ByteBuffer batch;
+        long records;
+        synchronized (lock) {
+            if (failure != null) {
+                throw new IOException("Günlük yazılamadı", failure); // Kaybolan çerçeveden sonrakiler kalıcı sayılmaz
+            }
+            if (pending.position() == 0) {
+                return; // rotate() zaten yazdı
+            }
+            batch = pending;
+            pending = spare;
+            spare = null;
+            records = appendedRecords;
+        }
+        try {
+            batch.flip();
+            crc.reset();
+            crc.update(batch.duplicate());
+            ByteBuffer frame = newBuffer(FRAME_HEADER_SIZE);
+            frame.putInt(batch.remaining()).putInt((int) crc.getValue()).flip();
+            long written = FRAME_HEADER_SIZE + batch.remaining();
+            ByteBuffer[] buffers = {frame, batch};
+            while (batch.hasRemaining()) {
+                channel.write(buffers);
+            }
+            channel.force(false);
+            synchronized (lock) {
+                durableRecords = records;
+                segmentBytes += written;
+                syncCount++;
+            }
+        } catch (IOException e) {
+            synchronized (lock) {
+                failure = e;
+            }
+            throw e;
+        } finally {
+            // Yazma hata verse de tampon geri verilir; sonraki writeBatch null tamponla karşılaşmaz
+            synchronized (lock) {
+                spare = batch.clear();
+                lock.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Bekleyen kayıtları mevcut segmente yazar ve yeni nesilde segment açar.
+     * Dönüş anına kadar eklenen tüm kayıtlar eski segmentlerdedir.
+     * @return Yeni segmentin nesli
+     */
+    long rotate() throws IOException {
+        synchronized (writeLock) {
+            writeBatch();
+            FileChannel next = createSegment(directory, generation + 1);
+            channel.close();
+            channel = next;
+            generation++;
+            synchronized (lock) {
+                segmentBytes = 0;
+            }
+            return generation;
+        }
+    }
+
+    /**
+     * Son rotate'ten beri segmente yazılan bayt sayısı.
+     */
+    long getSegmentBytes() {
+        synchronized (lock) {
+            return segmentBytes;
+        }
+    }
+
+    long getAppendedRecords() {
+        synchronized (lock) {
+            return appendedRecords;
+        }
+    }
+
+    long getSyncCount() {
+        synchronized (lock) {
+            return syncCount;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (writeLock) {
+            channel.close();
+        }
+        synchronized (lock) {
+            if (failure != null) {
+                throw new IOException("Günlük yazılamadı", failure);
+            }
+        }
+    }
+
+    // --- KURTARMA ---
+
+    /**
+     * Segmentteki kayıtları grafa uygular. Tekrar uygulanan kayıtlar (anlık
+     * görüntüde zaten olan düğüm/kenar) atlanır. Henüz eklenmemiş bir düğüme
+     * ait kayıtlar deferred listesine bırakılır ve düğüm kaydı (bu veya
+     * sonraki bir segmentte) uygulandığında çözülür.
+     * @return Geçerli son çerçevenin bittiği konum; dosya daha uzunsa kuyruk yarım yazılmıştır
+     */
+    static long replay(Path path, SocialGraph graph, List<Record> deferred, long[] appliedRecords) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return 0;
+            }
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Günlük segmenti çok büyük: " + path);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Geçersiz günlük dosyası (magic uyuşmuyor): " + path);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Desteklenmeyen günlük sürümü: " + buffer.getInt(4));
+            }
+            CRC32 crc = new CRC32();
+            long position = HEADER_SIZE;
+            while (position + FRAME_HEADER_SIZE <= size) {
+                int length = buffer.getInt((int) position);
+                int checksum = buffer.getInt((int) position + 4);
+                long end = position + FRAME_HEADER_SIZE + length;
+                if (length <= 0 || end > size) {
+                    break;
+                }
+                ByteBuffer frame = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+                frame.limit((int) end).position((int) position + FRAME_HEADER_SIZE);
+                crc.reset();
+                crc.update(frame.duplicate());
+                if ((int) crc.getValue() != checksum) {
+                    break;
+                }
+                appliedRecords[0] += applyFrame(frame, graph, deferred);
+                position = end;
+            }
+            return position;
+        }
+    }
+
+    private static int applyFrame(ByteBuffer frame, SocialGraph graph, List<Record> deferred) throws IOException {
+        int records = 0;
+        while (frame.hasRemaining()) {
+            byte type = frame.get();
+            Record record;
+            if (type == EDGE) {
+                record = new Record(type, frame.getInt(), frame.getInt(), 0, 0, 0);
+            } else if (type == NODE || type == SCORES) {
+                record = new Record(type, frame.getInt(), 0, frame.getDouble(), frame.getDouble(), frame.getDouble());
+            } else {
+                throw new IOException("Bilinmeyen günlük kaydı türü: " + type);
+            }
+            if (!record.apply(graph)) {
+                deferred.add(record);
+            } else if (type == NODE && !deferred.isEmpty()) {
+                resolveDeferred(record.id, graph, deferred);
+            }
+            records++;
+        }
+        return records;
+    }
+
+    /**
+     * Düğüm kaydı uygulandığında o düğümü bekleyen kayıtları hemen çözer.
+     * Eşzamanlı yazarlarda düğüm kaydı, düğümün o anki puanlarıyla puan
+     * kayıtlarından sonra yazılabilir; bu yüzden bekleyen puan kayıtları
+     * düğüm kaydından eskidir ve atılır (sona bırakılsalar sonraki puan
+     * kayıtlarını geri alırlardı). Diğer ucu da var olan kenarlar uygulanır.
+     */
+    private static void resolveDeferred(int id, SocialGraph graph, List<Record> deferred) {
+        Iterator<Record> iterator = deferred.iterator();
+        while (iterator.hasNext()) {
+            Record pending = iterator.next();
+            if (pending.type == EDGE) {
+                if ((pending.id == id || pending.destination == id) && pending.apply(graph)) {
+                    iterator.remove();
+                }
+            } else if (pending.id == id) {
+                iterator.remove();
+            }
+        }
+    }
+
+    /**
+     * Çözülmüş tek günlük kaydı.
+     */
+    static final class Record {
+        final byte type;
+        final int id;          // Düğüm ID'si veya kenarın kaynağı
+        final int destination; // Yalnızca EDGE
+        final double active, interaction, connection;
+
+        Record(byte type, int id, int destination, double active, double interaction, double connection) {
+            this.type = type;
+            this.id = id;
+            this.destination = destination;
+            this.active = active;
+            this.interaction = interaction;
+            this.connection = connection;
+        }
+
+        /**
+         * Kaydı uygular; ilgili düğüm henüz yoksa false döner.
+         */
+        boolean apply(SocialGraph graph) {
+            switch (type) {
+                case NODE:
+                    if (graph.getNode(id) == null) {
+                        graph.addNode(id, active, interaction, connection);
+                    }
+                    return true;
+                case EDGE:
+                    UserNode source = graph.getNode(id);
+                    UserNode target = graph.getNode(destination);
+                    if (source == null || target == null) {
+                        return false;
+                    }
+                    graph.addEdge(source, target); // Var olan kenar atlanır
+                    return true;
+                default:
+                    if (graph.getNode(id) == null) {
+                        return false;
+                    }
+                    graph.updateScores(id, active, interaction, connection);
+                    return true;
+            }
+        }
+    }
+}